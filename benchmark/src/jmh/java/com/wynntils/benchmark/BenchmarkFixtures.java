@@ -0,0 +1,78 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.benchmark;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import net.minecraft.SharedConstants;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.Bootstrap;
+
+/**
+ * Loads the fixture data in resources/fixtures. Minecraft is bootstrapped, as for the unit tests,
+ * but the client is never started.
+ */
+public final class BenchmarkFixtures {
+    static {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+    }
+
+    private BenchmarkFixtures() {}
+
+    /**
+     * Makes sure Minecraft is bootstrapped, for benchmarks that do not load any fixtures.
+     */
+    public static void bootstrap() {
+        // The static initializer does the work
+    }
+
+    /**
+     * Loads a JSON array of chat components, in the format of chat packets.
+     */
+    public static List<Component> loadComponents(String name) {
+        List<Component> components = new ArrayList<>();
+        for (JsonElement element : loadArray(name)) {
+            components.add(Component.Serializer.fromJson(element));
+        }
+        return components;
+    }
+
+    /**
+     * Loads a JSON array of item lores, where each lore is an array of chat components.
+     */
+    public static List<List<Component>> loadLores(String name) {
+        List<List<Component>> lores = new ArrayList<>();
+        for (JsonElement lore : loadArray(name)) {
+            List<Component> lines = new ArrayList<>();
+            for (JsonElement line : lore.getAsJsonArray()) {
+                lines.add(Component.Serializer.fromJson(line));
+            }
+            lores.add(lines);
+        }
+        return lores;
+    }
+
+    private static JsonArray loadArray(String name) {
+        String path = "/fixtures/" + name;
+        try (InputStream in = BenchmarkFixtures.class.getResourceAsStream(path)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing fixture " + path);
+            }
+            return JsonParser.parseReader(new InputStreamReader(in, StandardCharsets.UTF_8))
+                    .getAsJsonArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.benchmark;
+
+import com.wynntils.core.text.CodedString;
+import com.wynntils.handlers.chat.type.MessageType;
+import com.wynntils.handlers.chat.type.RecipientType;
+import com.wynntils.utils.mc.ComponentUtils;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.minecraft.network.chat.Component;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The per-message work ChatHandler does before posting a chat event: coding the message and
+ * classifying its recipient. Each invocation handles all messages in the fixture.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ChatBenchmark {
+    private List<Component> messages;
+    private List<CodedString> codedMessages;
+
+    @Setup
+    public void setup() {
+        messages = BenchmarkFixtures.loadComponents("chat_messages.json");
+        codedMessages = messages.stream().map(ComponentUtils::getCoded).toList();
+    }
+
+    @Benchmark
+    public void getCoded(Blackhole blackhole) {
+        for (Component message : messages) {
+            blackhole.consume(ComponentUtils.getCoded(message));
+        }
+    }
+
+    @Benchmark
+    public void classifyRecipient(Blackhole blackhole) {
+        for (CodedString codedMessage : codedMessages) {
+            blackhole.consume(RecipientType.fromMessage(codedMessage, MessageType.FOREGROUND));
+        }
+    }
+}
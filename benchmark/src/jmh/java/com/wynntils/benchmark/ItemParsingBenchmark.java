@@ -0,0 +1,59 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.benchmark;
+
+import com.wynntils.core.text.CodedString;
+import com.wynntils.models.wynnitem.parsing.LoreTokenizer;
+import com.wynntils.utils.mc.ComponentUtils;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.minecraft.network.chat.Component;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Tokenizes the lore of the captured items, which is the lore parsing WynnItemParser does for
+ * every item. Getting the tooltip of an item stack needs a running client, so the lore lines are
+ * loaded directly. Each invocation handles all items in the fixture.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ItemParsingBenchmark {
+    private List<List<Component>> lores;
+    private List<List<CodedString>> normalizedLores;
+
+    @Setup
+    public void setup() {
+        lores = BenchmarkFixtures.loadLores("item_lores.json");
+        normalizedLores = lores.stream()
+                .map(lore -> lore.stream()
+                        .map(line -> ComponentUtils.getCoded(line).getNormalized())
+                        .toList())
+                .toList();
+    }
+
+    @Benchmark
+    public void tokenizeLore(Blackhole blackhole) {
+        for (List<Component> lore : lores) {
+            blackhole.consume(LoreTokenizer.tokenize(lore));
+        }
+    }
+
+    @Benchmark
+    public void tokenizeNormalizedLines(Blackhole blackhole) {
+        for (List<CodedString> lore : normalizedLores) {
+            for (CodedString line : lore) {
+                blackhole.consume(LoreTokenizer.tokenizeLine(line));
+            }
+        }
+    }
+}
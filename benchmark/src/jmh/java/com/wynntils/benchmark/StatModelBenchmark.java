@@ -0,0 +1,114 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.benchmark;
+
+import com.wynntils.models.gear.type.GearInfo;
+import com.wynntils.models.gear.type.GearMetaInfo;
+import com.wynntils.models.gear.type.GearRequirements;
+import com.wynntils.models.gear.type.GearRestrictions;
+import com.wynntils.models.gear.type.GearTier;
+import com.wynntils.models.gear.type.GearType;
+import com.wynntils.models.stats.StatModel;
+import com.wynntils.models.stats.type.FixedStats;
+import com.wynntils.models.stats.type.StatListOrdering;
+import com.wynntils.models.stats.type.StatPossibleValues;
+import com.wynntils.models.stats.type.StatType;
+import com.wynntils.models.wynnitem.type.ItemMaterial;
+import com.wynntils.utils.type.Pair;
+import com.wynntils.utils.type.RangedValue;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.minecraft.world.item.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Sorts the stats of randomly generated gear, as done for every gear tooltip and chat encoding.
+ * Sorted stats are memoized per gear, so the first invocation fills the cache and the rest measure
+ * cache hits; the ordering list benchmark measures sorting without the cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StatModelBenchmark {
+    private static final int GEAR_COUNT = 1000;
+
+    @Param({"DEFAULT", "WYNNCRAFT", "LEGACY"})
+    private StatListOrdering ordering;
+
+    private StatModel statModel;
+    private List<GearInfo> gears;
+
+    @Setup
+    public void setup() {
+        // The item materials need Minecraft to be bootstrapped
+        BenchmarkFixtures.bootstrap();
+
+        statModel = new StatModel();
+        gears = createRandomGears(new Random(47));
+    }
+
+    @Benchmark
+    public void getSortedStats(Blackhole blackhole) {
+        for (GearInfo gearInfo : gears) {
+            blackhole.consume(statModel.getSortedStats(gearInfo, ordering));
+        }
+    }
+
+    @Benchmark
+    public void sortByOrderingList(Blackhole blackhole) {
+        List<StatType> orderingList = statModel.getOrderingList(ordering);
+
+        for (GearInfo gearInfo : gears) {
+            List<StatType> sortedStats = new ArrayList<>(gearInfo.getVariableStats());
+            sortedStats.sort((a, b) -> Integer.compare(orderingList.indexOf(a), orderingList.indexOf(b)));
+            blackhole.consume(sortedStats);
+        }
+    }
+
+    private List<GearInfo> createRandomGears(Random random) {
+        List<StatType> allStats = statModel.getAllStatTypes();
+
+        List<GearInfo> randomGears = new ArrayList<>();
+        for (int i = 0; i < GEAR_COUNT; i++) {
+            List<StatType> stats = new ArrayList<>(allStats);
+            Collections.shuffle(stats, random);
+
+            List<Pair<StatType, StatPossibleValues>> variableStats = new ArrayList<>();
+            for (StatType statType : stats.subList(0, 1 + random.nextInt(15))) {
+                variableStats.add(
+                        Pair.of(statType, new StatPossibleValues(statType, RangedValue.of(1, 10), 5, false)));
+            }
+
+            randomGears.add(new GearInfo(
+                    "Gear " + i,
+                    GearType.SPEAR,
+                    GearTier.LEGENDARY,
+                    0,
+                    new GearMetaInfo(
+                            GearRestrictions.NONE,
+                            new ItemMaterial(ItemStack.EMPTY),
+                            List.of(),
+                            Optional.empty(),
+                            Optional.empty(),
+                            false),
+                    new GearRequirements(1, Optional.empty(), List.of(), Optional.empty()),
+                    new FixedStats(0, List.of(), Optional.empty(), List.of(), List.of(), List.of()),
+                    variableStats));
+        }
+        return randomGears;
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.benchmark;
+
+import com.wynntils.core.text.PartStyle;
+import com.wynntils.core.text.StyledText;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.minecraft.network.chat.Component;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Converts the captured chat messages to and from {@link StyledText}. Each invocation handles all
+ * messages in the fixture.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StyledTextBenchmark {
+    private List<Component> messages;
+    private List<StyledText> styledTexts;
+
+    @Setup
+    public void setup() {
+        messages = BenchmarkFixtures.loadComponents("chat_messages.json");
+        styledTexts = messages.stream().map(StyledText::fromComponent).toList();
+    }
+
+    @Benchmark
+    public void fromComponent(Blackhole blackhole) {
+        for (Component message : messages) {
+            blackhole.consume(StyledText.fromComponent(message));
+        }
+    }
+
+    @Benchmark
+    public void getString(Blackhole blackhole) {
+        getString(PartStyle.StyleType.DEFAULT, blackhole);
+    }
+
+    @Benchmark
+    public void getStringWithoutFormatting(Blackhole blackhole) {
+        getString(PartStyle.StyleType.NONE, blackhole);
+    }
+
+    @Benchmark
+    public void getStringFull(Blackhole blackhole) {
+        getString(PartStyle.StyleType.FULL, blackhole);
+    }
+
+    private void getString(PartStyle.StyleType styleType, Blackhole blackhole) {
+        for (StyledText styledText : styledTexts) {
+            blackhole.consume(styledText.getString(styleType));
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.commands;
+
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.suggestion.SuggestionProvider;
+import com.wynntils.core.WynntilsMod;
+import com.wynntils.core.commands.Command;
+import com.wynntils.features.debug.PacketRecorderFeature;
+import com.wynntils.mc.replay.PacketRecordingReader;
+import com.wynntils.mc.replay.PacketReplayer;
+import com.wynntils.mc.replay.RecordedPacket;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.stream.Stream;
+import net.minecraft.ChatFormatting;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.commands.SharedSuggestionProvider;
+import net.minecraft.network.chat.Component;
+
+public class ReplayPacketsCommand extends Command {
+    private static final String RECORDING_EXTENSION = ".wpr";
+
+    private static final SuggestionProvider<CommandSourceStack> RECORDING_SUGGESTION_PROVIDER =
+            (context, suggestions) -> SharedSuggestionProvider.suggest(
+                    Stream.of(Objects.requireNonNullElse(PacketRecorderFeature.RECORDINGS_DIR.list(), new String[0]))
+                            .filter(name -> name.endsWith(RECORDING_EXTENSION))
+                            .map(StringArgumentType::escapeIfRequired),
+                    suggestions);
+
+    @Override
+    public String getCommandName() {
+        return "replaypackets";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Replay a packet recording through the handlers";
+    }
+
+    @Override
+    public LiteralArgumentBuilder<CommandSourceStack> getCommandBuilder(
+            LiteralArgumentBuilder<CommandSourceStack> base) {
+        return base.then(Commands.argument("recording", StringArgumentType.string())
+                        .suggests(RECORDING_SUGGESTION_PROVIDER)
+                        .executes(this::replayRecording))
+                .executes(this::syntaxError);
+    }
+
+    private int replayRecording(CommandContext<CommandSourceStack> context) {
+        String fileName = StringArgumentType.getString(context, "recording");
+        if (!fileName.endsWith(RECORDING_EXTENSION)) {
+            fileName += RECORDING_EXTENSION;
+        }
+
+        File file = new File(PacketRecorderFeature.RECORDINGS_DIR, fileName);
+        if (!file.isFile()) {
+            context.getSource()
+                    .sendFailure(Component.literal("Recording " + fileName + " not found")
+                            .withStyle(ChatFormatting.RED));
+            return 0;
+        }
+
+        List<RecordedPacket> packets;
+        try {
+            packets = PacketRecordingReader.readAll(file);
+        } catch (IOException e) {
+            WynntilsMod.warn("Could not read packet recording " + file.getAbsolutePath(), e);
+            context.getSource()
+                    .sendFailure(Component.literal("Could not read " + fileName + ": " + e.getMessage())
+                            .withStyle(ChatFormatting.RED));
+            return 0;
+        }
+
+        // Commands run on the render thread, where the handlers expect the events. Replaying at the
+        // recorded pace would freeze the game, so the packets are replayed back to back.
+        PacketReplayer.Result result;
+        try {
+            result = new PacketReplayer().replay(packets, PacketReplayer.Speed.MAXIMAL);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+
+        context.getSource()
+                .sendSuccess(
+                        Component.literal(String.format(
+                                        Locale.ROOT,
+                                        "Replayed %d packets as %d events in %.1f ms (%.0f packets/s)",
+                                        result.packetCount(),
+                                        result.eventCount(),
+                                        result.elapsedNanos() / 1_000_000d,
+                                        result.packetsPerSecond()))
+                                .withStyle(ChatFormatting.GREEN),
+                        false);
+        return 1;
+    }
+
+    private int syntaxError(CommandContext<CommandSourceStack> context) {
+        context.getSource().sendFailure(Component.literal("Missing argument").withStyle(ChatFormatting.RED));
+        return 0;
+    }
+}
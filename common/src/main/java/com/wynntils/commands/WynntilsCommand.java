@@ -12,15 +12,18 @@ import com.wynntils.core.commands.Command;
 import com.wynntils.core.components.Handlers;
 import com.wynntils.core.components.Managers;
 import com.wynntils.core.components.Models;
+import com.wynntils.core.mod.type.TaskStats;
 import com.wynntils.core.net.ApiResponse;
 import com.wynntils.core.net.UrlId;
 import com.wynntils.core.net.athena.UpdateManager;
+import com.wynntils.core.net.type.UrlMetrics;
 import com.wynntils.utils.FileUtils;
 import com.wynntils.utils.mc.McUtils;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
@@ -73,7 +76,10 @@ public class WynntilsCommand extends Command {
                         .then(Commands.literal("profile")
                                 .then(Commands.literal("reset").executes(this::profileReset))
                                 .then(Commands.literal("showAnnotations").executes(this::profileShowAnnotations))
-                                .then(Commands.literal("showOverlays").executes(this::profileShowOverlays))))
+                                .then(Commands.literal("showDownloads").executes(this::profileShowDownloads))
+                                .then(Commands.literal("showLabels").executes(this::profileShowLabels))
+                                .then(Commands.literal("showOverlays").executes(this::profileShowOverlays))
+                                .then(Commands.literal("showTasks").executes(this::profileShowTasks))))
                 .then(Commands.literal("discord").executes(this::discordLink))
                 .then(Commands.literal("donate").executes(this::donateLink))
                 .then(Commands.literal("help").executes(this::help))
@@ -88,7 +94,10 @@ public class WynntilsCommand extends Command {
 
     private int profileReset(CommandContext<CommandSourceStack> context) {
         Handlers.Item.resetProfiling();
+        Handlers.Label.resetParserStats();
         Managers.Overlay.resetProfiling();
+        Managers.TickScheduler.resetTaskStats();
+        Managers.Net.resetUrlMetrics();
         context.getSource()
                 .sendSuccess(
                         Component.translatable("commands.wynntils.debug.profile.cleared")
@@ -116,6 +125,59 @@ public class WynntilsCommand extends Command {
         return 1;
     }
 
+    private int profileShowDownloads(CommandContext<CommandSourceStack> context) {
+        StringBuilder resList = new StringBuilder();
+        Managers.Net.getUrlMetrics().stream()
+                .sorted(Comparator.comparingLong(UrlMetrics::totalNanos).reversed())
+                .limit(10)
+                .forEach(metrics -> resList.append("%7d ms, %7d c, %4d 304, %4d err, %7d kB  %s\n"
+                        .formatted(
+                                metrics.totalNanos() / 1_000_000,
+                                metrics.requestCount(),
+                                metrics.notModifiedCount(),
+                                metrics.failureCount(),
+                                metrics.totalBytes() / 1024,
+                                metrics.url())));
+
+        context.getSource().sendSuccess(Component.literal(resList.toString()).withStyle(ChatFormatting.AQUA), false);
+
+        return 1;
+    }
+
+    private int profileShowLabels(CommandContext<CommandSourceStack> context) {
+        StringBuilder resList = new StringBuilder();
+        Handlers.Label.getParserStats().stream()
+                .sorted(Comparator.comparingLong(TaskStats::totalNanos).reversed())
+                .limit(10)
+                .forEach(stats -> resList.append("%7d ms, %7d c, avg: %7.4f ms/c  %s\n"
+                        .formatted(
+                                stats.totalNanos() / 1_000_000,
+                                stats.runCount(),
+                                stats.getAverageMillis(),
+                                stats.label())));
+
+        context.getSource().sendSuccess(Component.literal(resList.toString()).withStyle(ChatFormatting.AQUA), false);
+
+        return 1;
+    }
+
+    private int profileShowTasks(CommandContext<CommandSourceStack> context) {
+        StringBuilder resList = new StringBuilder();
+        Managers.TickScheduler.getTaskStats().stream()
+                .sorted(Comparator.comparingLong(TaskStats::totalNanos).reversed())
+                .limit(10)
+                .forEach(stats -> resList.append("%7d ms, %7d c, avg: %7.2f ms/c  %s\n"
+                        .formatted(
+                                stats.totalNanos() / 1_000_000,
+                                stats.runCount(),
+                                stats.getAverageMillis(),
+                                stats.label())));
+
+        context.getSource().sendSuccess(Component.literal(resList.toString()).withStyle(ChatFormatting.AQUA), false);
+
+        return 1;
+    }
+
     private void showProfilingData(
             CommandContext<CommandSourceStack> context,
             Map<Class<?>, Integer> profilingTimes,
@@ -14,6 +14,8 @@ import com.wynntils.core.components.Managers;
 import com.wynntils.core.components.Model;
 import com.wynntils.core.components.Models;
 import com.wynntils.core.events.EventBusWrapper;
+import com.wynntils.core.mod.StartupLoader;
+import com.wynntils.core.mod.StartupTimeline;
 import com.wynntils.core.mod.event.WynntilsCrashEvent;
 import com.wynntils.core.mod.type.CrashType;
 import com.wynntils.utils.mc.McUtils;
@@ -42,6 +44,8 @@ public final class WynntilsMod {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MOD_ID);
     private static final File MOD_STORAGE_ROOT = new File(McUtils.mc().gameDirectory, MOD_ID);
+    // How long after features are loaded we keep recording downloads and parsing for the startup timeline
+    private static final int STARTUP_TIMELINE_TICKS = 20 * 60;
 
     private static ModLoader modLoader;
     private static String version = "";
@@ -180,6 +184,9 @@ public final class WynntilsMod {
                 modLoader,
                 Minecraft.getInstance().getLaunchedVersion());
 
+        StartupTimeline.Span initSpan = StartupTimeline.begin(StartupTimeline.CATEGORY_INIT, "Components");
+        LOGGER.info("Wynntils: Using startup mode {}", StartupLoader.getMode());
+
         WynntilsMod.eventBus = EventBusWrapper.createEventBus();
 
         registerComponents(Managers.class, Manager.class);
@@ -187,9 +194,14 @@ public final class WynntilsMod {
         registerComponents(Models.class, Model.class);
 
         // Init storage for loaded components immediately
-        Managers.Storage.initComponents();
+        StartupTimeline.time(
+                StartupTimeline.CATEGORY_INIT, "Component storage", () -> Managers.Storage.initComponents());
 
         addCrashCallbacks();
+
+        StartupLoader.onComponentsInitialized();
+
+        initSpan.end();
     }
 
     private static void registerComponents(Class<?> registryClass, Class<? extends CoreComponent> componentClass) {
@@ -201,6 +213,9 @@ public final class WynntilsMod {
                 .forEach(field -> {
                     try {
                         CoreComponent component = (CoreComponent) field.get(null);
+                        // The first access constructs all components of the holder class
+                        StartupTimeline.endComponentSpan();
+
                         WynntilsMod.registerEventListener(component);
                         Managers.Storage.registerStorageable(component);
                         components.add(component);
@@ -223,12 +238,12 @@ public final class WynntilsMod {
 
     private static void initFeatures() {
         // Init all features and functions. Now resources (i.e I18n) are available.
-        Managers.Feature.init();
-        Managers.Function.init();
+        StartupTimeline.time(StartupTimeline.CATEGORY_INIT, "Features", () -> Managers.Feature.init());
+        StartupTimeline.time(StartupTimeline.CATEGORY_INIT, "Functions", () -> Managers.Function.init());
 
         // Init config and data from files
-        Managers.Config.init();
-        Managers.Storage.initFeatures();
+        StartupTimeline.time(StartupTimeline.CATEGORY_INIT, "Config", () -> Managers.Config.init());
+        StartupTimeline.time(StartupTimeline.CATEGORY_INIT, "Feature storage", () -> Managers.Storage.initFeatures());
 
         LOGGER.info(
                 "Wynntils: {} features and {} functions are now loaded and ready",
@@ -236,6 +251,9 @@ public final class WynntilsMod {
                 Managers.Function.getFunctions().size());
 
         initCompleted = true;
+
+        // Write the timeline once the downloads started during startup have most likely finished
+        Managers.TickScheduler.scheduleLater("Startup timeline", StartupTimeline::finish, STARTUP_TIMELINE_TICKS);
     }
 
     private static void addCrashCallbacks() {
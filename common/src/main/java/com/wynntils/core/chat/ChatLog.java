@@ -0,0 +1,49 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.core.chat;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import net.minecraft.client.GuiMessage;
+
+/**
+ * The message history of every chat tab. Each tab keeps its own bounded history, so busy tabs
+ * never push out the messages of quiet ones. A message shown in several tabs is stored once and
+ * referenced from each of them.
+ */
+public final class ChatLog {
+    // The vanilla chat component does not keep more than this many messages either
+    public static final int MAX_TAB_MESSAGES = 100;
+
+    private final Map<ChatTab, Deque<GuiMessage>> tabMessages = new HashMap<>();
+
+    public synchronized void addMessage(GuiMessage message, List<ChatTab> tabs) {
+        for (ChatTab tab : tabs) {
+            Deque<GuiMessage> messages = tabMessages.computeIfAbsent(tab, k -> new ArrayDeque<>());
+            messages.addFirst(message);
+
+            if (messages.size() > MAX_TAB_MESSAGES) {
+                messages.removeLast();
+            }
+        }
+    }
+
+    /**
+     * Returns the messages of the given tab, newest first, like ChatComponent keeps them.
+     */
+    public synchronized List<GuiMessage> getMessages(ChatTab tab) {
+        Deque<GuiMessage> messages = tabMessages.get(tab);
+        if (messages == null) return List.of();
+
+        return List.copyOf(messages);
+    }
+
+    public synchronized void clear() {
+        tabMessages.clear();
+    }
+}
@@ -7,16 +7,18 @@ package com.wynntils.core.chat;
 import com.wynntils.core.WynntilsMod;
 import com.wynntils.core.components.Manager;
 import com.wynntils.core.components.Managers;
+import com.wynntils.core.text.CodedString;
 import com.wynntils.core.text.StyledText;
 import com.wynntils.features.chat.ChatTabsFeature;
 import com.wynntils.handlers.chat.event.ChatMessageReceivedEvent;
 import com.wynntils.handlers.chat.type.RecipientType;
 import com.wynntils.mc.event.ChatPacketReceivedEvent;
 import com.wynntils.mc.event.ClientsideMessageEvent;
-import com.wynntils.mc.event.TickEvent;
 import com.wynntils.models.worlds.event.WorldStateEvent;
 import com.wynntils.models.worlds.type.WorldState;
 import com.wynntils.utils.mc.McUtils;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -25,6 +27,8 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
 import net.minecraft.ChatFormatting;
+import net.minecraft.client.GuiMessage;
+import net.minecraft.client.GuiMessageTag;
 import net.minecraft.client.gui.components.ChatComponent;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.MutableComponent;
@@ -34,8 +38,9 @@ import net.minecraftforge.eventbus.api.SubscribeEvent;
 public final class ChatTabManager extends Manager {
     private ChatTab focusedTab = null;
 
-    private final Map<ChatTab, ChatComponent> chatTabData = new ConcurrentHashMap<>();
+    private final ChatLog chatLog = new ChatLog();
     private final Map<ChatTab, Boolean> unreadMessages = new ConcurrentHashMap<>();
+    private final Map<ChatTab, Integer> scrollPositions = new HashMap<>();
 
     public ChatTabManager() {
         super(List.of());
@@ -88,17 +93,13 @@ public final class ChatTabManager extends Manager {
     @SubscribeEvent
     public void onWorldStateChange(WorldStateEvent event) {
         if (event.getNewState() == WorldState.NOT_CONNECTED) {
-            chatTabData.clear();
+            chatLog.clear();
             unreadMessages.clear();
+            scrollPositions.clear();
             setFocusedTab(null);
         }
     }
 
-    @SubscribeEvent
-    public void onTick(TickEvent event) {
-        chatTabData.values().forEach(ChatComponent::tick);
-    }
-
     @SubscribeEvent(priority = EventPriority.LOWEST)
     public void onChatPacket(ChatPacketReceivedEvent.Player event) {
         // FIXME: I don't believe this ever happens?
@@ -114,20 +115,27 @@ public final class ChatTabManager extends Manager {
 
     public void setFocusedTab(ChatTab focused) {
         if (Objects.equals(focusedTab, focused)) {
-            // do not create new chat component if we are already focused on the tab
+            // do not rebuild the chat if we are already focused on the tab
             return;
         }
 
-        ChatTab oldFocused = focusedTab;
+        // The chat component is kept, so the sent message history survives switching tabs,
+        // and only its messages are replaced with those of the new tab
+        ChatComponent chat = McUtils.mc().gui.getChat();
+        if (focusedTab != null) {
+            scrollPositions.put(focusedTab, chat.chatScrollbarPos);
+        }
 
         focusedTab = focused;
+        chat.clearMessages(false);
 
-        if (focusedTab == null) {
-            McUtils.mc().gui.chat = new ChatComponent(McUtils.mc());
-        } else {
-            chatTabData.putIfAbsent(focusedTab, new ChatComponent(McUtils.mc()));
+        if (focusedTab != null) {
             unreadMessages.put(focusedTab, false);
-            McUtils.mc().gui.chat = chatTabData.get(focusedTab);
+
+            // Rebuilding the lines keeps the original message times, so messages fade as before
+            chat.allMessages.addAll(chatLog.getMessages(focusedTab));
+            chat.rescaleChat();
+            chat.scrollChat(scrollPositions.getOrDefault(focusedTab, 0));
         }
     }
 
@@ -140,57 +148,79 @@ public final class ChatTabManager extends Manager {
     }
 
     public void matchMessage(ClientsideMessageEvent event) {
+        addMessage(event.getComponent(), getMatchingTabs(RecipientType.CLIENTSIDE, event.getOriginalCodedString()));
+    }
+
+    public void matchMessage(ChatMessageReceivedEvent event) {
+        addMessage(event.getMessage(), getMatchingTabs(event.getRecipientType(), event.getOriginalCodedString()));
+    }
+
+    private List<ChatTab> getMatchingTabs(RecipientType recipientType, CodedString message) {
+        // Tabs often share the same regex, so every distinct regex is only run once per message
+        Map<String, Boolean> regexResults = new HashMap<>();
+
         // Firstly, find the FIRST matching tab with high priority
         for (ChatTab chatTab : getChatTabs()) {
             if (!chatTab.isConsuming()) continue;
 
-            if (matchMessageFromEvent(chatTab, event)) {
-                addMessageToTab(chatTab, event.getComponent());
-                return;
+            if (matchesTab(chatTab, recipientType, message, regexResults)) {
+                return List.of(chatTab);
             }
         }
 
         // Secondly, match ALL tabs with low priority
+        List<ChatTab> matchingTabs = new ArrayList<>();
         for (ChatTab chatTab : getChatTabs()) {
             if (chatTab.isConsuming()) continue;
 
-            if (matchMessageFromEvent(chatTab, event)) {
-                addMessageToTab(chatTab, event.getComponent());
+            if (matchesTab(chatTab, recipientType, message, regexResults)) {
+                matchingTabs.add(chatTab);
             }
         }
-    }
 
-    public void matchMessage(ChatMessageReceivedEvent event) {
-        // Firstly, find the FIRST matching tab with high priority
-        for (ChatTab chatTab : getChatTabs()) {
-            if (!chatTab.isConsuming()) continue;
+        return matchingTabs;
+    }
 
-            if (matchMessageFromEvent(chatTab, event)) {
-                addMessageToTab(chatTab, event.getMessage());
-                return;
-            }
+    private boolean matchesTab(
+            ChatTab chatTab, RecipientType recipientType, CodedString message, Map<String, Boolean> regexResults) {
+        if (chatTab.getFilteredTypes() != null
+                && !chatTab.getFilteredTypes().isEmpty()
+                && !chatTab.getFilteredTypes().contains(recipientType)) {
+            return false;
         }
 
-        // Secondly, match ALL tabs with low priority
-        for (ChatTab chatTab : getChatTabs()) {
-            if (chatTab.isConsuming()) continue;
+        Optional<Pattern> regex = chatTab.getCustomRegex();
+        if (regex.isEmpty()) return true;
+
+        return regexResults.computeIfAbsent(
+                chatTab.getCustomRegexString(),
+                k -> message.getMatcher(regex.get()).matches());
+    }
+
+    private void addMessage(Component message, List<ChatTab> tabs) {
+        if (tabs.isEmpty()) return;
+
+        chatLog.addMessage(new GuiMessage(McUtils.mc().gui.getGuiTicks(), message, null, getMessageTag()), tabs);
 
-            if (matchMessageFromEvent(chatTab, event)) {
-                addMessageToTab(chatTab, event.getMessage());
+        for (ChatTab tab : tabs) {
+            if (tab.equals(focusedTab)) {
+                addMessageToChat(message);
+            } else {
+                unreadMessages.put(tab, true);
             }
         }
     }
 
-    private void addMessageToTab(ChatTab tab, Component message) {
-        chatTabData.putIfAbsent(tab, new ChatComponent(McUtils.mc()));
+    private void addMessageToChat(Component message) {
+        ChatComponent chat = McUtils.mc().gui.getChat();
 
         try {
-            chatTabData.get(tab).addMessage(message);
+            chat.addMessage(message);
         } catch (Throwable t) {
             MutableComponent warning = Component.literal(
                             "<< WARNING: A chat message was lost due to a crash in a mod other than Wynntils. See log for details. >>")
                     .withStyle(ChatFormatting.RED);
-            chatTabData.get(tab).addMessage(warning);
+            chat.addMessage(warning);
             // We have seen many issues with badly written mods that inject into addMessage, and
             // throws exceptions. Instead of considering it a Wynntils crash, dump it to the log and
             // ignore it. We can't resend the message to the chat, since that could cause an infinite loop,
@@ -200,34 +230,10 @@ public final class ChatTabManager extends Manager {
                     + StyledText.fromComponent(message).getString());
             WynntilsMod.warn("This is not a Wynntils bug. Here is the exception that we caught.", t);
         }
-
-        if (focusedTab != tab) {
-            unreadMessages.put(tab, true);
-        }
-    }
-
-    private boolean matchMessageFromEvent(ChatTab chatTab, ChatMessageReceivedEvent event) {
-        if (chatTab.getFilteredTypes() != null
-                && !chatTab.getFilteredTypes().isEmpty()
-                && !chatTab.getFilteredTypes().contains(event.getRecipientType())) {
-            return false;
-        }
-
-        Optional<Pattern> regex = chatTab.getCustomRegex();
-        return regex.isEmpty()
-                || event.getOriginalCodedString().getMatcher(regex.get()).matches();
     }
 
-    private boolean matchMessageFromEvent(ChatTab chatTab, ClientsideMessageEvent event) {
-        if (chatTab.getFilteredTypes() != null
-                && !chatTab.getFilteredTypes().isEmpty()
-                && !chatTab.getFilteredTypes().contains(RecipientType.CLIENTSIDE)) {
-            return false;
-        }
-
-        Optional<Pattern> regex = chatTab.getCustomRegex();
-        if (regex.isEmpty()) return true;
-
-        return event.getOriginalCodedString().getMatcher(regex.get()).matches();
+    private GuiMessageTag getMessageTag() {
+        // This is the same tag ChatComponent.addMessage(Component) would use
+        return McUtils.mc().isSingleplayer() ? GuiMessageTag.systemSinglePlayer() : GuiMessageTag.system();
     }
 }
@@ -22,6 +22,7 @@ import com.wynntils.commands.LocateCommand;
 import com.wynntils.commands.LootrunCommand;
 import com.wynntils.commands.MapCommand;
 import com.wynntils.commands.QuestCommand;
+import com.wynntils.commands.ReplayPacketsCommand;
 import com.wynntils.commands.ServersCommand;
 import com.wynntils.commands.TerritoryCommand;
 import com.wynntils.commands.WynntilsCommand;
@@ -177,6 +178,7 @@ public final class CommandManager extends Manager {
         registerCommand(new LootrunCommand());
         registerCommand(new MapCommand());
         registerCommand(new QuestCommand());
+        registerCommand(new ReplayPacketsCommand());
         registerCommand(new ServersCommand());
         registerCommand(new TerritoryCommand());
 
@@ -5,10 +5,15 @@
 package com.wynntils.core.components;
 
 import com.google.common.base.CaseFormat;
+import com.wynntils.core.mod.StartupTimeline;
 import com.wynntils.core.storage.Storageable;
 import java.util.Locale;
 
 public abstract class CoreComponent implements Storageable {
+    protected CoreComponent() {
+        StartupTimeline.onComponentConstructing(this);
+    }
+
     @Override
     public String getStorageJsonName() {
         String name = this.getClass().getSimpleName().replace(getComponentType(), "");
@@ -13,6 +13,8 @@ import com.wynntils.models.character.CharacterModel;
 import com.wynntils.models.character.CharacterSelectionModel;
 import com.wynntils.models.characterstats.CharacterStatsModel;
 import com.wynntils.models.characterstats.CombatXpModel;
+import com.wynntils.models.chathistory.ChatHistoryModel;
+import com.wynntils.models.containers.ContainerIndexModel;
 import com.wynntils.models.containers.ContainerModel;
 import com.wynntils.models.containers.LootChestModel;
 import com.wynntils.models.containers.PlayerInventoryModel;
@@ -63,6 +65,7 @@ public final class Models {
     public static final BossBarModel BossBar = new BossBarModel();
     public static final CharacterModel Character = new CharacterModel();
     public static final CharacterSelectionModel CharacterSelection = new CharacterSelectionModel();
+    public static final ChatHistoryModel ChatHistory = new ChatHistoryModel();
     public static final CompassModel Compass = new CompassModel();
     public static final ContainerModel Container = new ContainerModel();
     public static final CosmeticsModel Cosmetics = new CosmeticsModel();
@@ -101,12 +104,14 @@ public final class Models {
     public static final PartyModel Party = new PartyModel(WorldState);
     public static final PingModel Ping = new PingModel(WorldState);
     public static final ProfessionModel Profession = new ProfessionModel(Character);
-    public static final QuestModel Quest = new QuestModel(CombatXp);
+    public static final QuestModel Quest = new QuestModel(Character, CombatXp, WorldState);
     public static final SeaskipperModel Seaskipper = new SeaskipperModel(Item);
     public static final ShamanMaskModel ShamanMask = new ShamanMaskModel(WorldState);
     public static final ShamanTotemModel ShamanTotem = new ShamanTotemModel(WorldState);
     public static final SpellModel Spell = new SpellModel(Character);
-    public static final DiscoveryModel Discovery = new DiscoveryModel(CombatXp, Compass, Quest, Territory);
+    public static final ContainerIndexModel ContainerIndex = new ContainerIndexModel(Container, Item);
+    public static final DiscoveryModel Discovery =
+            new DiscoveryModel(Character, CombatXp, Compass, Quest, Territory, WorldState);
     public static final EmeraldModel Emerald = new EmeraldModel(Item);
     public static final GearTooltipModel GearTooltip = new GearTooltipModel(Character, Quest);
     public static final HorseModel Horse = new HorseModel(Item);
@@ -14,12 +14,14 @@ import com.wynntils.core.features.overlays.OverlayManager;
 import com.wynntils.core.features.properties.StartDisabled;
 import com.wynntils.core.keybinds.KeyBindManager;
 import com.wynntils.core.mod.CrashReportManager;
+import com.wynntils.core.mod.StartupTimeline;
 import com.wynntils.core.mod.type.CrashType;
 import com.wynntils.features.GammabrightFeature;
 import com.wynntils.features.LootrunFeature;
 import com.wynntils.features.TerritoryDefenseMessageFeature;
 import com.wynntils.features.TranslationFeature;
 import com.wynntils.features.chat.ChatCoordinatesFeature;
+import com.wynntils.features.chat.ChatHistoryFeature;
 import com.wynntils.features.chat.ChatItemFeature;
 import com.wynntils.features.chat.ChatMentionFeature;
 import com.wynntils.features.chat.ChatTabsFeature;
@@ -49,6 +51,7 @@ import com.wynntils.features.debug.ConnectionProgressFeature;
 import com.wynntils.features.debug.ItemDebugTooltipsFeature;
 import com.wynntils.features.debug.LogItemInfoFeature;
 import com.wynntils.features.debug.PacketDebuggerFeature;
+import com.wynntils.features.debug.PacketRecorderFeature;
 import com.wynntils.features.embellishments.MythicFoundSoundFeature;
 import com.wynntils.features.embellishments.WybelSoundFeature;
 import com.wynntils.features.inventory.BulkBuyFeature;
@@ -157,6 +160,7 @@ public final class FeatureManager extends Manager {
         registerFeature(new ItemDebugTooltipsFeature());
         registerFeature(new LogItemInfoFeature());
         registerFeature(new PacketDebuggerFeature());
+        registerFeature(new PacketRecorderFeature());
 
         // always on
         registerFeature(new LootrunFeature());
@@ -175,6 +179,7 @@ public final class FeatureManager extends Manager {
         registerFeature(new BulkBuyFeature());
         registerFeature(new ChangelogFeature());
         registerFeature(new ChatCoordinatesFeature());
+        registerFeature(new ChatHistoryFeature());
         registerFeature(new ChatItemFeature());
         registerFeature(new ChatMentionFeature());
         registerFeature(new ChatRedirectFeature());
@@ -282,6 +287,8 @@ public final class FeatureManager extends Manager {
         FEATURES.put(feature, FeatureState.DISABLED);
         FEATURE_INSTANCES.put(feature.getClass(), feature);
 
+        StartupTimeline.Span span =
+                StartupTimeline.begin(StartupTimeline.CATEGORY_FEATURE, feature.getClass().getSimpleName());
         try {
             initializeFeature(feature);
         } catch (AssertionError ae) {
@@ -299,6 +306,8 @@ public final class FeatureManager extends Manager {
                     exception,
                     false,
                     true);
+        } finally {
+            span.end();
         }
     }
 
@@ -60,9 +60,9 @@ public final class JsonManager extends Manager {
 
     /**
      * Write a json object to a file, taking care to preserve the file against corruption since
-     * it contains precious data.
+     * it contains precious data. Returns false if the file could not be written.
      */
-    public void savePreciousJson(File jsonFile, JsonObject jsonObject) {
+    public boolean savePreciousJson(File jsonFile, JsonObject jsonObject) {
         FileUtils.mkdir(jsonFile.getParentFile());
 
         if (jsonFile.exists()) {
@@ -75,8 +75,10 @@ public final class JsonManager extends Manager {
         try (OutputStreamWriter fileWriter =
                 new OutputStreamWriter(new FileOutputStream(jsonFile), StandardCharsets.UTF_8)) {
             GSON.toJson(jsonObject, fileWriter);
+            return true;
         } catch (IOException e) {
             WynntilsMod.error("Failed to save json file " + jsonFile, e);
+            return false;
         }
     }
 
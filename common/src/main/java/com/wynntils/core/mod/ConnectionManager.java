@@ -60,6 +60,8 @@ public final class ConnectionManager extends Manager {
 
     private void connect(String hostName) {
         isConnected = true;
+        // Data only needed in-game might not have been loaded yet
+        StartupLoader.startDeferredLoads();
         WynntilsMod.postEvent(new WynncraftConnectionEvent.Connected(hostName));
     }
 
@@ -0,0 +1,85 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.core.mod;
+
+/**
+ * A handle to a task scheduled with the TickSchedulerManager. Scheduling the same runnable
+ * several times gives independent tasks, each with its own handle.
+ */
+public final class ScheduledTask {
+    private final String label;
+    private final Runnable runnable;
+    // Ticks from when the scheduler picks up the task until its first run
+    private final int delay;
+    // Ticks between runs of a repeating task, or 0 if the task only runs once
+    private final int period;
+
+    private volatile boolean cancelled;
+    private volatile boolean done;
+
+    // Only used by the scheduler, on the main thread
+    private long targetTick;
+
+    ScheduledTask(String label, Runnable runnable, int delay, int period) {
+        this.label = label;
+        this.runnable = runnable;
+        this.delay = delay;
+        this.period = period;
+    }
+
+    /**
+     * Cancels the task. A task that is currently running will finish, but it will not run again.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /** Whether a task has run for the last time, or has been cancelled */
+    public boolean isDone() {
+        return done || cancelled;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    Runnable getRunnable() {
+        return runnable;
+    }
+
+    int getDelay() {
+        return delay;
+    }
+
+    int getPeriod() {
+        return period;
+    }
+
+    public boolean isRepeating() {
+        return period > 0;
+    }
+
+    void setDone() {
+        done = true;
+    }
+
+    long getTargetTick() {
+        return targetTick;
+    }
+
+    void setTargetTick(long targetTick) {
+        this.targetTick = targetTick;
+    }
+
+    @Override
+    public String toString() {
+        return "ScheduledTask{" + "label='" + label + "', period=" + period + ", cancelled=" + cancelled + ", done="
+                + done + '}';
+    }
+}
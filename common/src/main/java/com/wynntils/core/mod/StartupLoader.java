@@ -0,0 +1,163 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.core.mod;
+
+import com.wynntils.core.WynntilsMod;
+import com.wynntils.core.mod.type.StartupMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the data loading that components start while they are being constructed. Depending on the
+ * {@link StartupMode}, selected with the {@code wynntils.startup.mode} system property, loads run
+ * right away, on worker threads, or are deferred until the data is first needed.
+ *
+ * Components are still constructed one by one, in the order given by the component holders, as
+ * they are static singletons that depend on each other; it is their data loading that is moved
+ * off the construction path.
+ */
+public final class StartupLoader {
+    private static final StartupMode MODE = StartupMode.fromString(System.getProperty("wynntils.startup.mode"));
+    private static final int WORKER_THREADS =
+            Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+    private static final long WORKER_KEEP_ALIVE_SECONDS = 30;
+
+    private static final List<DeferredLoad> pendingDeferredLoads = new ArrayList<>();
+    // Loads started while components are still being constructed, waiting to be run on the workers
+    private static final List<Runnable> queuedLoads = new ArrayList<>();
+    private static boolean componentsInitialized;
+    private static ExecutorService executor;
+
+    private StartupLoader() {}
+
+    public static StartupMode getMode() {
+        return MODE;
+    }
+
+    /**
+     * Loads data needed right after startup, such as data used on the title screen or by item tooltips.
+     */
+    public static void load(String name, Runnable loader) {
+        if (MODE == StartupMode.PARALLEL) {
+            submit(() -> runLoad(name, loader));
+            return;
+        }
+
+        runLoad(name, loader);
+    }
+
+    /**
+     * Loads data that is only needed in-game. Unless deferring is enabled, this is the same as
+     * {@link #load(String, Runnable)}; otherwise the load starts on the first call to
+     * {@link DeferredLoad#ensureStarted()}, or when we connect to Wynncraft.
+     */
+    public static DeferredLoad loadDeferred(String name, Runnable loader) {
+        DeferredLoad deferredLoad = new DeferredLoad(name, loader);
+
+        if (MODE == StartupMode.SERIAL) {
+            deferredLoad.ensureStarted();
+        } else {
+            synchronized (pendingDeferredLoads) {
+                pendingDeferredLoads.add(deferredLoad);
+            }
+        }
+
+        return deferredLoad;
+    }
+
+    /**
+     * Called once all components have been constructed and registered. Only then are loads handed to
+     * the workers, so they never see a component that is still being constructed.
+     */
+    public static void onComponentsInitialized() {
+        List<Runnable> loads;
+        synchronized (queuedLoads) {
+            componentsInitialized = true;
+
+            loads = List.copyOf(queuedLoads);
+            queuedLoads.clear();
+        }
+
+        loads.forEach(getExecutor()::execute);
+    }
+
+    public static void startDeferredLoads() {
+        List<DeferredLoad> loads;
+        synchronized (pendingDeferredLoads) {
+            if (pendingDeferredLoads.isEmpty()) return;
+
+            loads = List.copyOf(pendingDeferredLoads);
+            pendingDeferredLoads.clear();
+        }
+
+        loads.forEach(DeferredLoad::ensureStarted);
+    }
+
+    private static void submit(Runnable load) {
+        synchronized (queuedLoads) {
+            if (!componentsInitialized) {
+                queuedLoads.add(load);
+                return;
+            }
+        }
+
+        getExecutor().execute(load);
+    }
+
+    private static void runLoad(String name, Runnable loader) {
+        try {
+            StartupTimeline.time(StartupTimeline.CATEGORY_DATA, name, loader);
+        } catch (Throwable t) {
+            WynntilsMod.error("Failed to load data for " + name, t);
+        }
+    }
+
+    private static synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            AtomicInteger threadCount = new AtomicInteger();
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                    WORKER_THREADS,
+                    WORKER_THREADS,
+                    WORKER_KEEP_ALIVE_SECONDS,
+                    TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "wynntils-startup-" + threadCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        // Same class loading issue with Forge EventBus as in NetResult
+                        thread.setContextClassLoader(WynntilsMod.class.getClassLoader());
+                        return thread;
+                    });
+            // The workers are only needed during startup, so let them go when idle
+            pool.allowCoreThreadTimeOut(true);
+            executor = pool;
+        }
+
+        return executor;
+    }
+
+    public static final class DeferredLoad {
+        private final String name;
+        private final Runnable loader;
+        private final AtomicBoolean started = new AtomicBoolean();
+
+        private DeferredLoad(String name, Runnable loader) {
+            this.name = name;
+            this.loader = loader;
+        }
+
+        public void ensureStarted() {
+            if (!started.compareAndSet(false, true)) return;
+
+            load(name, loader);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.core.mod;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.wynntils.core.WynntilsMod;
+import com.wynntils.core.components.CoreComponent;
+import com.wynntils.utils.FileUtils;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Records what the mod spends its startup time on: constructing each core component, initializing
+ * each feature, and downloading and parsing each data file. The timeline is written in the Chrome
+ * trace event format, so it can be opened in chrome://tracing or Perfetto.
+ *
+ * The timeline is only recorded when the {@code wynntils.startup.timeline} system property is set
+ * to true. Recording stops when {@link #finish()} is called, which also writes the timeline, so
+ * nothing is collected during normal play.
+ */
+public final class StartupTimeline {
+    public static final String CATEGORY_COMPONENT = "component";
+    public static final String CATEGORY_DATA = "data";
+    public static final String CATEGORY_DOWNLOAD = "download";
+    public static final String CATEGORY_FEATURE = "feature";
+    public static final String CATEGORY_INIT = "init";
+    public static final String CATEGORY_PARSE = "parse";
+
+    private static final File TIMELINE_FILE = new File(WynntilsMod.getModStorageDir("debug"), "startup-timeline.json");
+    private static final long START_NANOS = System.nanoTime();
+
+    private static final List<SpanRecord> spans = new ArrayList<>();
+    private static volatile boolean recording = Boolean.getBoolean("wynntils.startup.timeline");
+
+    // Only touched from the thread running the static initializers of the component holders
+    private static Span componentSpan;
+
+    private StartupTimeline() {}
+
+    public static Span begin(String category, String name) {
+        return new Span(category, name, System.nanoTime());
+    }
+
+    public static void time(String category, String name, Runnable runnable) {
+        Span span = begin(category, name);
+        try {
+            runnable.run();
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Called as a component starts being constructed. Components are constructed one after
+     * another by the static initializers of their holder classes, so a component's span simply
+     * lasts until the next component starts, or until {@link #endComponentSpan()} is called.
+     */
+    public static void onComponentConstructing(CoreComponent component) {
+        if (!recording) return;
+        // Components created as part of constructing another one count towards the outer one
+        if (!isConstructedByHolder(component.getClass())) return;
+
+        endComponentSpan();
+        componentSpan = begin(CATEGORY_COMPONENT, component.getClass().getSimpleName());
+    }
+
+    public static void endComponentSpan() {
+        if (componentSpan == null) return;
+
+        componentSpan.end();
+        componentSpan = null;
+    }
+
+    /**
+     * Writes the timeline, and stops recording any further spans.
+     */
+    public static void finish() {
+        if (!recording) return;
+
+        recording = false;
+        endComponentSpan();
+        dump();
+    }
+
+    private static void dump() {
+        List<SpanRecord> snapshot;
+        synchronized (spans) {
+            snapshot = List.copyOf(spans);
+        }
+
+        JsonArray events = new JsonArray();
+        Map<Long, String> threadNames = new HashMap<>();
+        for (SpanRecord span : snapshot) {
+            JsonObject event = new JsonObject();
+            event.addProperty("name", span.name());
+            event.addProperty("cat", span.category());
+            event.addProperty("ph", "X");
+            event.addProperty("ts", (span.startNanos() - START_NANOS) / 1000);
+            event.addProperty("dur", (span.endNanos() - span.startNanos()) / 1000);
+            event.addProperty("pid", 1);
+            event.addProperty("tid", span.threadId());
+            events.add(event);
+
+            threadNames.putIfAbsent(span.threadId(), span.threadName());
+        }
+
+        // Metadata events, so the viewer shows thread names instead of ids
+        threadNames.forEach((threadId, threadName) -> {
+            JsonObject args = new JsonObject();
+            args.addProperty("name", threadName);
+
+            JsonObject event = new JsonObject();
+            event.addProperty("name", "thread_name");
+            event.addProperty("ph", "M");
+            event.addProperty("pid", 1);
+            event.addProperty("tid", threadId);
+            event.add("args", args);
+            events.add(event);
+        });
+
+        JsonObject timeline = new JsonObject();
+        timeline.add("traceEvents", events);
+        timeline.addProperty("displayTimeUnit", "ms");
+
+        FileUtils.mkdir(TIMELINE_FILE.getParentFile());
+        try (Writer writer = Files.newBufferedWriter(TIMELINE_FILE.toPath(), StandardCharsets.UTF_8)) {
+            WynntilsMod.GSON.toJson(timeline, writer);
+        } catch (IOException e) {
+            WynntilsMod.warn("Could not write startup timeline to " + TIMELINE_FILE, e);
+            return;
+        }
+
+        WynntilsMod.info("Wynntils: Startup timeline with " + snapshot.size() + " spans written to " + TIMELINE_FILE);
+    }
+
+    private static void record(String category, String name, long startNanos, long endNanos) {
+        if (!recording) return;
+
+        Thread thread = Thread.currentThread();
+        SpanRecord span = new SpanRecord(category, name, startNanos, endNanos, thread.getId(), thread.getName());
+        synchronized (spans) {
+            spans.add(span);
+        }
+    }
+
+    private static boolean isConstructedByHolder(Class<?> componentClass) {
+        // Skip the constructors of the component itself and its superclasses; whatever
+        // called them is what constructed the component
+        Optional<StackWalker.StackFrame> caller = StackWalker.getInstance(
+                        StackWalker.Option.RETAIN_CLASS_REFERENCE)
+                .walk(frames -> frames.dropWhile(frame -> frame.getDeclaringClass() == StartupTimeline.class)
+                        .dropWhile(frame -> frame.getMethodName().equals("<init>")
+                                && frame.getDeclaringClass().isAssignableFrom(componentClass))
+                        .findFirst());
+
+        return caller.isPresent() && caller.get().getMethodName().equals("<clinit>");
+    }
+
+    public static final class Span {
+        private final String category;
+        private final String name;
+        private final long startNanos;
+
+        private Span(String category, String name, long startNanos) {
+            this.category = category;
+            this.name = name;
+            this.startNanos = startNanos;
+        }
+
+        public void end() {
+            record(category, name, startNanos, System.nanoTime());
+        }
+    }
+
+    private record SpanRecord(
+            String category, String name, long startNanos, long endNanos, long threadId, String threadName) {}
+}
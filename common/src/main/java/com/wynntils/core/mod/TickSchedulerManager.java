@@ -4,43 +4,145 @@
  */
 package com.wynntils.core.mod;
 
+import com.wynntils.core.WynntilsMod;
 import com.wynntils.core.components.Manager;
+import com.wynntils.core.mod.type.TaskStats;
 import com.wynntils.mc.event.TickAlwaysEvent;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 
+/**
+ * Runs tasks a given number of ticks from now, on the main thread. Tasks are kept in a hashed
+ * timing wheel, so each tick only has to look at the tasks in its own wheel slot.
+ */
 public final class TickSchedulerManager extends Manager {
-    private final Map<Runnable, Integer> tasks = new ConcurrentHashMap<>();
+    // Must be a power of two
+    private static final int WHEEL_SIZE = 64;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final String DEFAULT_LABEL = "unlabeled";
+
+    // Tasks can be scheduled from any thread, but only the main thread puts them on the wheel
+    private final Queue<ScheduledTask> newTasks = new ConcurrentLinkedQueue<>();
+    private final List<List<ScheduledTask>> wheel = new ArrayList<>(WHEEL_SIZE);
+    private final Map<String, TaskStats> taskStats = new ConcurrentHashMap<>();
+
+    private long currentTick = 0;
 
     public TickSchedulerManager() {
         super(List.of());
+
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel.add(new ArrayList<>());
+        }
+    }
+
+    public ScheduledTask scheduleLater(Runnable runnable, int ticksDelay) {
+        return scheduleLater(DEFAULT_LABEL, runnable, ticksDelay);
+    }
+
+    public ScheduledTask scheduleLater(String label, Runnable runnable, int ticksDelay) {
+        return schedule(new ScheduledTask(label, runnable, Math.max(ticksDelay, 0), 0));
     }
 
-    public void scheduleLater(Runnable runnable, int ticksDelay) {
-        tasks.put(runnable, ticksDelay);
+    public ScheduledTask scheduleNextTick(Runnable runnable) {
+        return scheduleLater(DEFAULT_LABEL, runnable, 0);
     }
 
-    public void scheduleNextTick(Runnable runnable) {
-        tasks.put(runnable, 0);
+    public ScheduledTask scheduleNextTick(String label, Runnable runnable) {
+        return scheduleLater(label, runnable, 0);
+    }
+
+    /**
+     * Runs the task after {@code ticksDelay} ticks, and then every {@code ticksPeriod} ticks until
+     * it is cancelled.
+     */
+    public ScheduledTask scheduleRepeating(String label, Runnable runnable, int ticksDelay, int ticksPeriod) {
+        if (ticksPeriod < 1) {
+            throw new IllegalArgumentException("Repeating task " + label + " must have a period of at least 1 tick");
+        }
+
+        return schedule(new ScheduledTask(label, runnable, Math.max(ticksDelay, 0), ticksPeriod));
+    }
+
+    public Collection<TaskStats> getTaskStats() {
+        return taskStats.values();
+    }
+
+    public void resetTaskStats() {
+        taskStats.clear();
     }
 
     @SubscribeEvent
     public void onTick(TickAlwaysEvent e) {
-        Iterator<Map.Entry<Runnable, Integer>> it = tasks.entrySet().iterator();
+        currentTick++;
+
+        ScheduledTask newTask;
+        while ((newTask = newTasks.poll()) != null) {
+            addToWheel(newTask, currentTick + newTask.getDelay());
+        }
+
+        List<ScheduledTask> slot = wheel.get((int) (currentTick & WHEEL_MASK));
+        if (slot.isEmpty()) return;
+
+        // Tasks further than a full turn of the wheel away stay in the slot until their tick comes
+        List<ScheduledTask> dueTasks = new ArrayList<>();
+        Iterator<ScheduledTask> it = slot.iterator();
         while (it.hasNext()) {
-            Map.Entry<Runnable, Integer> entry = it.next();
-            int ticksLeft = entry.getValue();
-            if (ticksLeft == 0) {
-                // Run the task
-                entry.getKey().run();
-                // Remove it from the map
+            ScheduledTask task = it.next();
+            if (task.isCancelled()) {
                 it.remove();
-            } else {
-                entry.setValue(ticksLeft - 1);
+            } else if (task.getTargetTick() <= currentTick) {
+                it.remove();
+                dueTasks.add(task);
             }
         }
+
+        // Anything these tasks schedule is picked up next tick, so the wheel does not change while they run
+        for (ScheduledTask task : dueTasks) {
+            runTask(task);
+        }
+    }
+
+    private ScheduledTask schedule(ScheduledTask task) {
+        newTasks.add(task);
+        return task;
+    }
+
+    private void addToWheel(ScheduledTask task, long targetTick) {
+        if (task.isCancelled()) return;
+
+        task.setTargetTick(targetTick);
+        wheel.get((int) (targetTick & WHEEL_MASK)).add(task);
+    }
+
+    private void runTask(ScheduledTask task) {
+        // It might have been cancelled by a task that ran before it
+        if (task.isCancelled()) return;
+
+        long startTime = System.nanoTime();
+        try {
+            task.getRunnable().run();
+        } catch (Throwable t) {
+            // Do not let a single broken task stop all other tasks from running
+            WynntilsMod.error("Exception in scheduled task " + task.getLabel(), t);
+        }
+        long duration = System.nanoTime() - startTime;
+
+        taskStats.compute(
+                task.getLabel(),
+                (label, stats) -> (stats == null ? new TaskStats(label, 0, 0, 0) : stats).withRun(duration));
+
+        if (task.isRepeating() && !task.isCancelled()) {
+            addToWheel(task, currentTick + task.getPeriod());
+        } else {
+            task.setDone();
+        }
     }
 }
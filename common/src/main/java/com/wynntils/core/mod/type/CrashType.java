@@ -10,6 +10,7 @@ public enum CrashType {
     FEATURE("Feature"),
     OVERLAY("Overlay"),
     KEYBIND("Key Bind"),
+    LABEL_PARSER("Label Parser"),
     SCREEN("Screen");
 
     private final String name;
@@ -0,0 +1,27 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.core.mod.type;
+
+import java.util.Locale;
+
+public enum StartupMode {
+    // Components load their data as they are constructed
+    SERIAL,
+    // Like SERIAL, but data that is only needed in-game waits until first use, or until we connect to Wynncraft
+    DEFERRED,
+    // Like DEFERRED, but all other data loads run on worker threads once every component is constructed,
+    // so construction does not wait for them
+    PARALLEL;
+
+    public static StartupMode fromString(String str) {
+        if (str == null) return SERIAL;
+
+        try {
+            return StartupMode.valueOf(str.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return SERIAL;
+        }
+    }
+}
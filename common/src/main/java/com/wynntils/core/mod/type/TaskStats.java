@@ -0,0 +1,18 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.core.mod.type;
+
+/**
+ * How often tasks with a given label have run, and how long they took in total.
+ */
+public record TaskStats(String label, long runCount, long totalNanos, long maxNanos) {
+    public TaskStats withRun(long nanos) {
+        return new TaskStats(label, runCount + 1, totalNanos + nanos, Math.max(maxNanos, nanos));
+    }
+
+    public double getAverageMillis() {
+        return runCount == 0 ? 0 : totalNanos / (runCount * 1_000_000.0);
+    }
+}
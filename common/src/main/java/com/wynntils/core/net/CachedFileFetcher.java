@@ -0,0 +1,241 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.core.net;
+
+import com.wynntils.core.net.type.UrlMetrics;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Fetches files into the local download cache.
+ *
+ * <ul>
+ *   <li>If we have the file already, the request is made conditional on the ETag and
+ *   Last-Modified values it was served with, and a 304 response keeps the cached copy.</li>
+ *   <li>Responses may be gzip encoded, and are decoded while being written.</li>
+ *   <li>Concurrent fetches of the same URI share a single request.</li>
+ *   <li>Latency and transferred bytes are tracked per URL.</li>
+ * </ul>
+ *
+ * The file is written to a temporary file first, and only replaces the cached copy once complete.
+ */
+public final class CachedFileFetcher {
+    private static final String VALIDATORS_SUFFIX = ".validators";
+    private static final String PARTIAL_SUFFIX = ".part";
+    private static final String ETAG_KEY = "etag";
+    private static final String LAST_MODIFIED_KEY = "lastModified";
+
+    private final HttpClient httpClient;
+    private final Map<URI, CompletableFuture<FetchResult>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, UrlMetrics> metrics = new ConcurrentHashMap<>();
+
+    public CachedFileFetcher(HttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    /**
+     * Fetches the resource of the request into {@code localFile}. If a fetch of the same URI is
+     * already running, its result is shared instead of making a new request.
+     */
+    public CompletableFuture<FetchResult> fetch(HttpRequest request, File localFile) {
+        URI uri = request.uri();
+
+        CompletableFuture<FetchResult> future = new CompletableFuture<>();
+        CompletableFuture<FetchResult> existing = inFlight.putIfAbsent(uri, future);
+        if (existing != null) return existing;
+
+        long startNanos = System.nanoTime();
+        httpClient
+                .sendAsync(createConditionalRequest(request, localFile), HttpResponse.BodyHandlers.ofInputStream())
+                .thenApply(response -> handleResponse(response, localFile, startNanos))
+                .whenComplete((result, throwable) -> {
+                    inFlight.remove(uri, future);
+
+                    if (throwable != null) {
+                        metrics.compute(uri.toString(), (url, old) -> (old == null ? UrlMetrics.empty(url) : old)
+                                .withFailure(System.nanoTime() - startNanos));
+                        future.completeExceptionally(throwable);
+                    } else {
+                        future.complete(result);
+                    }
+                });
+
+        return future;
+    }
+
+    /**
+     * Makes the next fetch into {@code localFile} unconditional, for when the cached copy is known to
+     * be wrong. The server would otherwise confirm it as up to date, since it has the same validators.
+     */
+    public static void dropValidators(File localFile) throws IOException {
+        Files.deleteIfExists(getValidatorsFile(localFile).toPath());
+    }
+
+    public Collection<UrlMetrics> getMetrics() {
+        return metrics.values();
+    }
+
+    public void resetMetrics() {
+        metrics.clear();
+    }
+
+    private HttpRequest createConditionalRequest(HttpRequest request, File localFile) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(request, (name, value) -> true)
+                .setHeader("Accept-Encoding", "gzip");
+
+        // Without the file, we have nothing to revalidate
+        if (!localFile.exists()) return builder.build();
+
+        Properties validators = readValidators(localFile);
+        String etag = validators.getProperty(ETAG_KEY);
+        if (etag != null) {
+            builder.setHeader("If-None-Match", etag);
+        }
+        String lastModified = validators.getProperty(LAST_MODIFIED_KEY);
+        if (lastModified != null) {
+            builder.setHeader("If-Modified-Since", lastModified);
+        }
+
+        return builder.build();
+    }
+
+    private FetchResult handleResponse(HttpResponse<InputStream> response, File localFile, long startNanos) {
+        String url = response.uri().toString();
+        int status = response.statusCode();
+
+        try (CountingInputStream body = new CountingInputStream(response.body())) {
+            if (status == 304 && localFile.exists()) {
+                recordResponse(url, startNanos, 0, true);
+                return new FetchResult(response.headers(), false);
+            }
+
+            if (status < 200 || status >= 300) {
+                throw new IOException("Got HTTP status " + status + " for " + url);
+            }
+
+            File partialFile = new File(localFile.getPath() + PARTIAL_SUFFIX);
+            Files.createDirectories(localFile.getAbsoluteFile().getParentFile().toPath());
+
+            Optional<String> encoding = response.headers().firstValue("Content-Encoding");
+            boolean gzipped = encoding.isPresent() && encoding.get().toLowerCase(Locale.ROOT).contains("gzip");
+            try (InputStream decoded = gzipped ? new GZIPInputStream(body) : body) {
+                Files.copy(decoded, partialFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            Files.move(partialFile.toPath(), localFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            writeValidators(localFile, response.headers());
+
+            recordResponse(url, startNanos, body.getCount(), false);
+            return new FetchResult(response.headers(), true);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void recordResponse(String url, long startNanos, long bytes, boolean notModified) {
+        long nanos = System.nanoTime() - startNanos;
+        metrics.compute(
+                url, (key, old) -> (old == null ? UrlMetrics.empty(key) : old).withResponse(nanos, bytes, notModified));
+    }
+
+    private static Properties readValidators(File localFile) {
+        Properties validators = new Properties();
+        File validatorsFile = getValidatorsFile(localFile);
+        if (!validatorsFile.exists()) return validators;
+
+        try (Reader reader = Files.newBufferedReader(validatorsFile.toPath(), StandardCharsets.UTF_8)) {
+            validators.load(reader);
+        } catch (IOException e) {
+            // Just make an unconditional request
+            validators.clear();
+        }
+        return validators;
+    }
+
+    private static void writeValidators(File localFile, HttpHeaders headers) throws IOException {
+        Properties validators = new Properties();
+        headers.firstValue("ETag").ifPresent(etag -> validators.setProperty(ETAG_KEY, etag));
+        headers.firstValue("Last-Modified")
+                .ifPresent(lastModified -> validators.setProperty(LAST_MODIFIED_KEY, lastModified));
+
+        File validatorsFile = getValidatorsFile(localFile);
+        if (validators.isEmpty()) {
+            Files.deleteIfExists(validatorsFile.toPath());
+            return;
+        }
+
+        try (Writer writer = Files.newBufferedWriter(validatorsFile.toPath(), StandardCharsets.UTF_8)) {
+            validators.store(writer, null);
+        }
+    }
+
+    private static File getValidatorsFile(File localFile) {
+        return new File(localFile.getPath() + VALIDATORS_SUFFIX);
+    }
+
+    /**
+     * The headers of the response, and whether the cached file was replaced, as opposed to being
+     * confirmed as up to date by the server.
+     */
+    public record FetchResult(HttpHeaders headers, boolean modified) {}
+
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+
+        private long getCount() {
+            return count;
+        }
+    }
+}
@@ -5,18 +5,14 @@
 package com.wynntils.core.net;
 
 import com.wynntils.core.WynntilsMod;
-import com.wynntils.core.components.Managers;
 import com.wynntils.core.net.event.NetResultProcessedEvent;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.IOException;
 import java.io.InputStream;
 import java.net.http.HttpHeaders;
 import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.nio.file.Path;
 import java.util.OptionalLong;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
@@ -24,29 +20,45 @@ import org.apache.commons.io.FileUtils;
 
 public class Download extends NetResult {
     private final File localFile;
+    // Completes with true if something else, like the static data bundle, has put the file in the cache
+    private final CompletableFuture<Boolean> prefetchFuture;
 
-    // Saved since we might need to get timestamps from the HttpResponse
-    private CompletableFuture<HttpResponse<Path>> httpResponse = null;
+    // Saved since we might need to get timestamps from the response headers
+    private CompletableFuture<CachedFileFetcher.FetchResult> fetchResult = null;
 
     public Download(String desc, File localFile, NetResultProcessedEvent processedEvent) {
         super("DL:" + desc, null, processedEvent); // Only use cached file
         this.localFile = localFile;
+        this.prefetchFuture = null;
     }
 
     public Download(String desc, File localFile, HttpRequest request, NetResultProcessedEvent processedEvent) {
+        this(desc, localFile, request, null, processedEvent);
+    }
+
+    /**
+     * Waits for the prefetch first, and only makes the request if the prefetch did not provide the file.
+     */
+    public Download(
+            String desc,
+            File localFile,
+            HttpRequest request,
+            CompletableFuture<Boolean> prefetchFuture,
+            NetResultProcessedEvent processedEvent) {
         super("DL:" + desc, request, processedEvent);
         this.localFile = localFile;
+        this.prefetchFuture = prefetchFuture;
     }
 
     public long getResponseTimestamp() {
-        if (httpResponse == null) {
+        if (fetchResult == null) {
             // We have either not yet made the request, or we have read from the cache
             // In either case, the best we can do is to return the current time
             return System.currentTimeMillis();
         }
 
         try {
-            HttpHeaders headers = httpResponse.get().headers();
+            HttpHeaders headers = fetchResult.get().headers();
             OptionalLong a = headers.firstValueAsLong("timestamp");
             if (a.isEmpty()) return System.currentTimeMillis();
             return a.getAsLong();
@@ -68,19 +80,22 @@ public class Download extends NetResult {
         if (request == null) {
             // File is already in downloaded, just read from the cache
             return CompletableFuture.supplyAsync(this::getFileInputStreamFromCache);
+        } else if (prefetchFuture != null) {
+            return prefetchFuture.thenCompose(prefetched -> prefetched
+                    ? CompletableFuture.completedFuture(getFileInputStreamFromCache())
+                    : downloadToCache());
         } else {
-            prepareForDownload();
-            return getDownloadInputStreamFuture().thenApply(response -> getFileInputStreamFromCache());
+            return downloadToCache();
         }
     }
 
-    private CompletableFuture<HttpResponse<Path>> getDownloadInputStreamFuture() {
-        CompletableFuture<HttpResponse<Path>> future =
-                Managers.Net.HTTP_CLIENT.sendAsync(request, HttpResponse.BodyHandlers.ofFile(localFile.toPath()));
+    private CompletableFuture<InputStream> downloadToCache() {
+        // The fetcher keeps the cached copy if the server says it is still up to date
+        CompletableFuture<CachedFileFetcher.FetchResult> future = NetManager.FILE_FETCHER.fetch(request, localFile);
 
-        // We must save the response so we can get the timestamp
-        this.httpResponse = future;
-        return future;
+        // We must save the result so we can get the timestamp
+        this.fetchResult = future;
+        return future.thenApply(result -> getFileInputStreamFromCache());
     }
 
     private InputStream getFileInputStreamFromCache() {
@@ -92,13 +107,4 @@ public class Download extends NetResult {
             return new ByteArrayInputStream(new byte[0]);
         }
     }
-
-    private void prepareForDownload() {
-        FileUtils.deleteQuietly(localFile);
-        try {
-            FileUtils.forceMkdirParent(localFile);
-        } catch (IOException e) {
-            WynntilsMod.error("Failed to create directories needed for " + localFile, e);
-        }
-    }
 }
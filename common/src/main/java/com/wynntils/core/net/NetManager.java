@@ -9,30 +9,50 @@ import com.wynntils.core.WynntilsMod;
 import com.wynntils.core.components.Manager;
 import com.wynntils.core.components.Managers;
 import com.wynntils.core.net.event.NetResultProcessedEvent;
+import com.wynntils.core.net.type.UrlMetrics;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 import net.minecraft.Util;
 import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
 
 public final class NetManager extends Manager {
     static final HttpClient HTTP_CLIENT = HttpClient.newHttpClient();
+    // Shared by both NetManager instances, so requests made during bootstrapping are coalesced and measured too
+    static final CachedFileFetcher FILE_FETCHER = new CachedFileFetcher(HTTP_CLIENT);
 
     private static final int REQUEST_TIMEOUT_MILLIS = 10000;
     private static final File CACHE_DIR = WynntilsMod.getModStorageDir("cache");
+    private static final File SNAPSHOT_DIR = new File(CACHE_DIR, "snapshots");
+    private static final int SNAPSHOT_MAGIC = 0x57534e50;
     private static final String USER_AGENT = String.format(
             "Wynntils Artemis\\%s (%s) %s",
             WynntilsMod.getVersion(),
             WynntilsMod.isDevelopmentEnvironment() ? "dev" : "client",
             WynntilsMod.getModLoader());
 
+    private final StaticDataBundle staticDataBundle = new StaticDataBundle(CACHE_DIR);
+
     public NetManager(UrlManager urlManager) {
         // NetManager is involved in a circular dependency with UrlManager. This means
         // it will be instantiated twice, first as a throw-away instance local to UrlManager
@@ -66,6 +86,11 @@ public final class NetManager extends Manager {
         File localFile = new File(CACHE_DIR, localFileName);
 
         if (urlInfo.md5().isPresent()) {
+            if (staticDataBundle.isAvailableFor(urlId)) {
+                return downloadFromBundle(
+                        uri, localFile, urlInfo.md5().get(), new NetResultProcessedEvent.ForUrlId(urlId));
+            }
+
             return download(uri, localFile, urlInfo.md5().get(), new NetResultProcessedEvent.ForUrlId(urlId));
         }
 
@@ -86,9 +111,94 @@ public final class NetManager extends Manager {
             return new Download(localFile.getName(), localFile, processedEvent);
         }
 
+        dropValidators(localFile);
         return download(uri, localFile, processedEvent);
     }
 
+    private Download downloadFromBundle(
+            URI uri, File localFile, String expectedHash, NetResultProcessedEvent processedEvent) {
+        if (checkLocalHash(localFile, expectedHash)) {
+            return new Download(localFile.getName(), localFile, processedEvent);
+        }
+
+        dropValidators(localFile);
+
+        // Fall back to downloading the file on its own if the bundle did not have the right version
+        CompletableFuture<Boolean> prefetchFuture = staticDataBundle
+                .fetch(createGetRequest(staticDataBundle.getUri()))
+                .thenApply(ignored -> checkLocalHash(localFile, expectedHash));
+        return new Download(localFile.getName(), localFile, createGetRequest(uri), prefetchFuture, processedEvent);
+    }
+
+    /**
+     * Returns a key identifying the current version of all the given data files, as listed in the
+     * URL list, or an empty optional if not all of them have a known hash.
+     */
+    public Optional<String> getSnapshotSourceKey(List<UrlId> sources) {
+        StringBuilder key = new StringBuilder();
+        for (UrlId urlId : sources) {
+            UrlManager.UrlInfo urlInfo = Managers.Url.getUrlInfo(urlId);
+            if (urlInfo == null || urlInfo.md5().isEmpty()) return Optional.empty();
+
+            key.append(urlId.getId()).append(':').append(urlInfo.md5().get()).append(';');
+        }
+        return Optional.of(key.toString());
+    }
+
+    /**
+     * Reads a snapshot of parsed data, if one was written by this version of the mod, with the
+     * same codec version, from the same source data.
+     */
+    public <T> Optional<T> readSnapshot(String name, String sourceKey, SnapshotCodec<T> codec) {
+        File snapshotFile = getSnapshotFile(name);
+        if (!snapshotFile.exists()) return Optional.empty();
+
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new GZIPInputStream(new FileInputStream(snapshotFile))))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) return Optional.empty();
+            if (in.readInt() != codec.getVersion()) return Optional.empty();
+            if (!in.readUTF().equals(WynntilsMod.getVersion())) return Optional.empty();
+            if (!in.readUTF().equals(sourceKey)) return Optional.empty();
+
+            return Optional.of(codec.read(in));
+        } catch (IOException | RuntimeException e) {
+            WynntilsMod.warn("Could not read snapshot " + name + ", deleting it", e);
+            FileUtils.deleteQuietly(snapshotFile);
+            return Optional.empty();
+        }
+    }
+
+    public <T> void writeSnapshot(String name, String sourceKey, SnapshotCodec<T> codec, T value) {
+        File snapshotFile = getSnapshotFile(name);
+        File tempFile = new File(SNAPSHOT_DIR, snapshotFile.getName() + ".part");
+
+        try {
+            FileUtils.forceMkdir(SNAPSHOT_DIR);
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(tempFile))))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(codec.getVersion());
+                out.writeUTF(WynntilsMod.getVersion());
+                out.writeUTF(sourceKey);
+                codec.write(out, value);
+            }
+
+            // Replace the old snapshot in one go, so a crash can not leave a half-written one behind
+            Files.move(tempFile.toPath(), snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            WynntilsMod.warn("Could not write snapshot " + name, e);
+            FileUtils.deleteQuietly(tempFile);
+        }
+    }
+
+    public Collection<UrlMetrics> getUrlMetrics() {
+        return FILE_FETCHER.getMetrics();
+    }
+
+    public void resetUrlMetrics() {
+        FILE_FETCHER.resetMetrics();
+    }
+
     public File getCacheDir() {
         return CACHE_DIR;
     }
@@ -141,6 +251,19 @@ public final class NetManager extends Manager {
         }
     }
 
+    private File getSnapshotFile(String name) {
+        return new File(SNAPSHOT_DIR, name + ".bin.gz");
+    }
+
+    private void dropValidators(File localFile) {
+        // The cached file is outdated or broken, so do not let the server confirm it as up to date
+        try {
+            CachedFileFetcher.dropValidators(localFile);
+        } catch (IOException e) {
+            WynntilsMod.warn("Error when removing cache validators for " + localFile.getPath(), e);
+        }
+    }
+
     private boolean checkLocalHash(File localFile, String expectedHash) {
         if (!localFile.exists()) return false;
 
@@ -8,6 +8,7 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import com.wynntils.core.WynntilsMod;
+import com.wynntils.core.mod.StartupTimeline;
 import com.wynntils.core.net.event.NetResultProcessedEvent;
 import java.io.IOException;
 import java.io.InputStream;
@@ -83,8 +84,14 @@ public abstract class NetResult {
     }
 
     private void doHandle(Consumer<InputStream> onCompletion, Consumer<Throwable> onError) {
+        StartupTimeline.Span downloadSpan = StartupTimeline.begin(StartupTimeline.CATEGORY_DOWNLOAD, desc);
+
         // The wrappingHandler will make sure we close the input stream
         CompletableFuture<Void> future = getInputStreamFuture()
+                .thenApply(inputStream -> {
+                    downloadSpan.end();
+                    return inputStream;
+                })
                 .thenAccept(wrappingHandler(onCompletion, onError))
                 .exceptionally(t -> {
                     WynntilsMod.warn("Failure in net manager [doHandle], processing " + desc, t);
@@ -100,7 +107,7 @@ public abstract class NetResult {
                 //        https://github.com/MinecraftForge/EventBus/issues/44
                 Thread.currentThread().setContextClassLoader(WynntilsMod.class.getClassLoader());
 
-                handler.accept(inputStream);
+                StartupTimeline.time(StartupTimeline.CATEGORY_PARSE, desc, () -> handler.accept(inputStream));
 
                 if (processedEvent != null) {
                     WynntilsMod.postEventOnMainThread(processedEvent);
@@ -0,0 +1,24 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.core.net;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Converts parsed data to and from the binary form kept by {@link NetManager#writeSnapshot}, so
+ * it can be restored without parsing the downloaded data again.
+ */
+public interface SnapshotCodec<T> {
+    /**
+     * Must be increased whenever the binary layout changes, so snapshots in the old layout are ignored.
+     */
+    int getVersion();
+
+    void write(DataOutput out, T value) throws IOException;
+
+    T read(DataInput in) throws IOException;
+}
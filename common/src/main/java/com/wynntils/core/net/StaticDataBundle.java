@@ -0,0 +1,97 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.core.net;
+
+import com.wynntils.core.WynntilsMod;
+import com.wynntils.core.components.Managers;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import org.apache.commons.io.FileUtils;
+
+/**
+ * Fetches all static data files as one zip archive, instead of making a request per file. The
+ * archive entries are named by url id, and are unpacked into the download cache, where the
+ * normal hash check picks them up.
+ *
+ * This is enabled with the {@code wynntils.data.bundle} system property, and only if the URL
+ * list has an entry for the bundle.
+ */
+final class StaticDataBundle {
+    private static final boolean ENABLED = Boolean.getBoolean("wynntils.data.bundle");
+    private static final String STATIC_DATA_PREFIX = "dataStatic";
+
+    private final File cacheDir;
+    private CompletableFuture<Void> unpackFuture;
+
+    StaticDataBundle(File cacheDir) {
+        this.cacheDir = cacheDir;
+    }
+
+    boolean isAvailableFor(UrlId urlId) {
+        if (!ENABLED) return false;
+        // The URL list is needed to find the bundle in the first place
+        if (urlId == UrlId.DATA_STATIC_URLS || urlId == UrlId.DATA_STATIC_BUNDLE) return false;
+        if (!urlId.getId().startsWith(STATIC_DATA_PREFIX)) return false;
+
+        return Managers.Url.getUrlInfo(UrlId.DATA_STATIC_BUNDLE) != null;
+    }
+
+    /**
+     * Downloads and unpacks the bundle, the first time this is called. The future completes
+     * when the bundle has been unpacked, or when fetching it has failed.
+     */
+    synchronized CompletableFuture<Void> fetch(HttpRequest request) {
+        if (unpackFuture == null) {
+            unpackFuture = NetManager.HTTP_CLIENT
+                    .sendAsync(request, HttpResponse.BodyHandlers.ofInputStream())
+                    .thenAccept(response -> unpack(response.body()))
+                    .exceptionally(t -> {
+                        WynntilsMod.warn("Could not fetch static data bundle, downloading files one by one", t);
+                        return null;
+                    });
+        }
+
+        return unpackFuture;
+    }
+
+    URI getUri() {
+        return URI.create(Managers.Url.getUrlInfo(UrlId.DATA_STATIC_BUNDLE).url());
+    }
+
+    private void unpack(InputStream inputStream) {
+        int fileCount = 0;
+        try (ZipInputStream zip = new ZipInputStream(inputStream)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                if (entry.isDirectory()) continue;
+
+                // Only accept files we know about, so the archive can not write anywhere else
+                Optional<UrlId> urlId = UrlId.from(entry.getName());
+                if (urlId.isEmpty() || !urlId.get().getId().startsWith(STATIC_DATA_PREFIX)) continue;
+
+                File localFile = new File(cacheDir, urlId.get().getId());
+                File tempFile = new File(cacheDir, urlId.get().getId() + ".part");
+                FileUtils.forceMkdirParent(localFile);
+                Files.copy(zip, tempFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                Files.move(tempFile.toPath(), localFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                fileCount++;
+            }
+        } catch (IOException e) {
+            WynntilsMod.warn("Could not unpack static data bundle", e);
+        }
+
+        WynntilsMod.info("Unpacked " + fileCount + " files from static data bundle");
+    }
+}
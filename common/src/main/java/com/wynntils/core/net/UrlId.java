@@ -29,6 +29,7 @@ public enum UrlId {
     DATA_ATHENA_SERVER_LIST("dataAthenaServerList"),
     DATA_ATHENA_TERRITORY_LIST("dataAthenaTerritoryList"),
     DATA_STATIC_ABILITIES("dataStaticAbilities"),
+    DATA_STATIC_BUNDLE("dataStaticBundle", true),
     DATA_STATIC_COMBAT_LOCATIONS("dataStaticCombatLocations"),
     DATA_STATIC_DISCOVERIES("dataStaticDiscoveries"),
     DATA_STATIC_GEAR("dataStaticGear"),
@@ -52,15 +53,26 @@ public enum UrlId {
     LINK_WYNNTILS_STATUS("linkWynntilsStatus");
 
     private final String id;
+    // Optional URLs do not have to be present in urls.json; features using them are disabled without them
+    private final boolean optional;
 
     UrlId(String id) {
+        this(id, false);
+    }
+
+    UrlId(String id, boolean optional) {
         this.id = id;
+        this.optional = optional;
     }
 
     public String getId() {
         return id;
     }
 
+    public boolean isOptional() {
+        return optional;
+    }
+
     public static Optional<UrlId> from(String str) {
         for (UrlId urlId : values()) {
             if (urlId.getId().equals(str)) {
@@ -206,7 +206,7 @@ public final class UrlManager extends Manager {
 
         // Sanity check that we got all ids
         for (UrlId urlId : UrlId.values()) {
-            if (!newMap.containsKey(urlId)) {
+            if (!urlId.isOptional() && !newMap.containsKey(urlId)) {
                 WynntilsMod.warn("Missing URL in urls.json: " + urlId);
                 return Pair.of(-1, Map.of());
             }
@@ -0,0 +1,47 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.core.net.type;
+
+/**
+ * How often a URL has been fetched, how long it took and how many bytes were transferred.
+ */
+public record UrlMetrics(
+        String url,
+        long requestCount,
+        long notModifiedCount,
+        long failureCount,
+        long totalBytes,
+        long totalNanos,
+        long maxNanos) {
+    public static UrlMetrics empty(String url) {
+        return new UrlMetrics(url, 0, 0, 0, 0, 0, 0);
+    }
+
+    public UrlMetrics withResponse(long nanos, long bytes, boolean notModified) {
+        return new UrlMetrics(
+                url,
+                requestCount + 1,
+                notModifiedCount + (notModified ? 1 : 0),
+                failureCount,
+                totalBytes + bytes,
+                totalNanos + nanos,
+                Math.max(maxNanos, nanos));
+    }
+
+    public UrlMetrics withFailure(long nanos) {
+        return new UrlMetrics(
+                url,
+                requestCount + 1,
+                notModifiedCount,
+                failureCount + 1,
+                totalBytes,
+                totalNanos + nanos,
+                Math.max(maxNanos, nanos));
+    }
+
+    public double getAverageMillis() {
+        return requestCount == 0 ? 0 : totalNanos / (requestCount * 1_000_000.0);
+    }
+}
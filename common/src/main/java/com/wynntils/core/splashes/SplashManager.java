@@ -8,6 +8,7 @@ import com.google.common.reflect.TypeToken;
 import com.wynntils.core.WynntilsMod;
 import com.wynntils.core.components.Manager;
 import com.wynntils.core.components.Managers;
+import com.wynntils.core.mod.StartupLoader;
 import com.wynntils.core.net.Download;
 import com.wynntils.core.net.NetManager;
 import com.wynntils.core.net.UrlId;
@@ -26,7 +27,7 @@ public final class SplashManager extends Manager {
 
     public SplashManager(NetManager netManager) {
         super(List.of(netManager));
-        updateCurrentSplash();
+        StartupLoader.load("Splashes", this::updateCurrentSplash);
     }
 
     @Override
@@ -8,22 +8,30 @@ import com.wynntils.core.components.Managers;
 
 public class Storage<T> {
     private T value;
+    private volatile boolean pendingLoad = false;
 
     public Storage(T value) {
         this.value = value;
     }
 
     public T get() {
+        if (pendingLoad) {
+            Managers.Storage.loadPending(this);
+        }
         return value;
     }
 
     public void store(T value) {
+        if (pendingLoad) {
+            // Make sure the value on disk does not overwrite the new value later on
+            Managers.Storage.loadPending(this);
+        }
         this.value = value;
         touched();
     }
 
     public void touched() {
-        Managers.Storage.persist();
+        Managers.Storage.persist(this);
     }
 
     // This must only be called by StorageManager when restoring value from disk
@@ -31,4 +39,13 @@ public class Storage<T> {
     void set(Object value) {
         this.value = (T) value;
     }
+
+    // This must only be called by StorageManager when postponing loading of the value from disk
+    void setPendingLoad(boolean pendingLoad) {
+        this.pendingLoad = pendingLoad;
+    }
+
+    boolean isPendingLoad() {
+        return pendingLoad;
+    }
 }
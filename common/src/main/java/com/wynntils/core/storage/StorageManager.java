@@ -12,31 +12,50 @@ import com.wynntils.core.components.Managers;
 import com.wynntils.core.features.FeatureManager;
 import com.wynntils.core.json.JsonManager;
 import com.wynntils.core.mod.event.WynncraftConnectionEvent;
+import com.wynntils.utils.FileUtils;
 import com.wynntils.utils.mc.McUtils;
 import java.io.File;
 import java.lang.reflect.Field;
 import java.lang.reflect.Type;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import org.apache.commons.lang3.reflect.FieldUtils;
 
+/**
+ * Storages are persisted in one file per {@link Storageable} (a "shard"), in a directory per user.
+ * Only shards which have been touched since the last save are written back to disk.
+ */
 public final class StorageManager extends Manager {
     private static final long SAVE_INTERVAL = 10_000;
+    // Shards of lazy storageables larger than this are not parsed until first accessed
+    private static final long LAZY_LOAD_MIN_SIZE = 64 * 1024;
 
     private static final File STORAGE_DIR = WynntilsMod.getModStorageDir("storage");
     private static final String FILE_SUFFIX = ".data.json";
-    private final File userStorageFile;
+    private static final String MIGRATED_SUFFIX = ".migrated";
+    private final File legacyUserStorageFile;
+    private final File userStorageDir;
 
     private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(1);
-    private final Map<String, Storage<?>> storages = new TreeMap<>();
     private final Map<Storage<?>, Type> storageTypes = new HashMap<>();
     private final Map<Storage<?>, Storageable> storageOwner = new HashMap<>();
+    private final Map<Storageable, Map<String, Storage<?>>> ownedStorages = new LinkedHashMap<>();
+
+    private final Set<Storageable> loadedStorageables = new HashSet<>();
+    private final Set<Storageable> dirtyStorageables = ConcurrentHashMap.newKeySet();
+
+    // The single-file storage used by earlier versions; only read when migrating
+    private JsonObject legacyStorageJson;
 
     private long lastPersisted;
     private boolean scheduledPersist;
@@ -45,7 +64,9 @@ public final class StorageManager extends Manager {
 
     public StorageManager(JsonManager jsonManager, FeatureManager feature) {
         super(List.of(jsonManager, feature));
-        userStorageFile = new File(STORAGE_DIR, McUtils.mc().getUser().getUuid() + FILE_SUFFIX);
+        String userUuid = McUtils.mc().getUser().getUuid();
+        legacyUserStorageFile = new File(STORAGE_DIR, userUuid + FILE_SUFFIX);
+        userStorageDir = new File(STORAGE_DIR, userUuid);
     }
 
     public void initComponents() {
@@ -60,8 +81,18 @@ public final class StorageManager extends Manager {
 
         storageInitialized = true;
 
+        if (legacyStorageJson != null) {
+            // All storageables are registered now, so the legacy file has been fully migrated
+            writeToJson();
+            FileUtils.moveFile(
+                    legacyUserStorageFile, new File(legacyUserStorageFile.getPath() + MIGRATED_SUFFIX));
+            legacyStorageJson = null;
+        }
+
         // We might have missed a persist call in between feature init and storage manager init
-        persist();
+        if (!dirtyStorageables.isEmpty()) {
+            schedulePersist();
+        }
     }
 
     public void registerStorageable(Storageable storageable) {
@@ -75,7 +106,9 @@ public final class StorageManager extends Manager {
             try {
                 Storage<?> storage = (Storage<?>) FieldUtils.readField(storageField, storageable, true);
                 String jsonName = baseName + "." + storageField.getName();
-                storages.put(jsonName, storage);
+                ownedStorages
+                        .computeIfAbsent(storageable, k -> new TreeMap<>())
+                        .put(jsonName, storage);
 
                 Type valueType = Managers.Json.getJsonValueType(storageField);
                 storageTypes.put(storage, valueType);
@@ -92,9 +125,32 @@ public final class StorageManager extends Manager {
         writeToJson();
     }
 
-    void persist() {
+    void persist(Storage<?> storage) {
+        Storageable owner = storageOwner.get(storage);
+        if (owner == null) return;
+
+        // Remember the change even if we are not initialized yet; it is written once we are
+        dirtyStorageables.add(owner);
+
         // We cannot persist before the storage is initialized, or we will overwrite our storage
-        if (!storageInitialized || scheduledPersist) return;
+        if (!storageInitialized) return;
+
+        schedulePersist();
+    }
+
+    synchronized void loadPending(Storage<?> storage) {
+        // Another thread might have loaded it while we were waiting for the lock
+        if (!storage.isPendingLoad()) return;
+
+        Storageable owner = storageOwner.get(storage);
+        Map<String, Storage<?>> shardStorages = ownedStorages.get(owner);
+
+        JsonObject shardJson = Managers.Json.loadPreciousJson(getShardFile(owner));
+        applyShard(owner, shardStorages, shardJson);
+    }
+
+    private synchronized void schedulePersist() {
+        if (scheduledPersist) return;
 
         long now = System.currentTimeMillis();
         long delay = Math.max((lastPersisted + SAVE_INTERVAL) - now, 0);
@@ -110,29 +166,74 @@ public final class StorageManager extends Manager {
         scheduledPersist = true;
     }
 
-    private void readFromJson() {
-        JsonObject storageJson = Managers.Json.loadPreciousJson(userStorageFile);
-        storages.forEach((jsonName, storage) -> {
-            if (!storageJson.has(jsonName)) return;
+    private synchronized void readFromJson() {
+        ownedStorages.forEach((owner, shardStorages) -> {
+            // Storageables are only read once, even if this is called again for newly registered ones
+            if (!loadedStorageables.add(owner)) return;
 
-            // read value and update option
-            JsonElement jsonElem = storageJson.get(jsonName);
-            Object value = Managers.Json.GSON.fromJson(jsonElem, storageTypes.get(storage));
-            storage.set(value);
+            File shardFile = getShardFile(owner);
+            if (shardFile.exists()) {
+                if (owner.isStorageLazyLoaded() && shardFile.length() >= LAZY_LOAD_MIN_SIZE) {
+                    shardStorages.values().forEach(storage -> storage.setPendingLoad(true));
+                    return;
+                }
+
+                applyShard(owner, shardStorages, Managers.Json.loadPreciousJson(shardFile));
+                return;
+            }
+
+            // No shard yet; check if there is anything to migrate from the single-file storage
+            JsonObject legacyJson = getLegacyStorageJson();
+            if (legacyJson == null) return;
+            if (shardStorages.keySet().stream().noneMatch(legacyJson::has)) return;
 
-            Storageable owner = storageOwner.get(storage);
-            owner.onStorageLoad();
+            applyShard(owner, shardStorages, legacyJson);
+            dirtyStorageables.add(owner);
         });
     }
 
-    private void writeToJson() {
-        JsonObject storageJson = new JsonObject();
+    private void applyShard(Storageable owner, Map<String, Storage<?>> shardStorages, JsonObject shardJson) {
+        shardStorages.forEach((jsonName, storage) -> {
+            storage.setPendingLoad(false);
+            if (!shardJson.has(jsonName)) return;
 
-        storages.forEach((jsonName, storage) -> {
-            JsonElement jsonElem = Managers.Json.GSON.toJsonTree(storage.get(), storageTypes.get(storage));
-            storageJson.add(jsonName, jsonElem);
+            // read value and update storage
+            JsonElement jsonElem = shardJson.get(jsonName);
+            Object value = Managers.Json.GSON.fromJson(jsonElem, storageTypes.get(storage));
+            storage.set(value);
         });
 
-        Managers.Json.savePreciousJson(userStorageFile, storageJson);
+        owner.onStorageLoad();
+    }
+
+    private synchronized void writeToJson() {
+        for (Storageable owner : List.copyOf(dirtyStorageables)) {
+            // Clear the flag before serializing, so changes made while writing trigger another save
+            dirtyStorageables.remove(owner);
+            Map<String, Storage<?>> shardStorages = ownedStorages.get(owner);
+
+            JsonObject shardJson = new JsonObject();
+            shardStorages.forEach((jsonName, storage) -> {
+                JsonElement jsonElem = Managers.Json.GSON.toJsonTree(storage.get(), storageTypes.get(storage));
+                shardJson.add(jsonName, jsonElem);
+            });
+
+            if (!Managers.Json.savePreciousJson(getShardFile(owner), shardJson)) {
+                // Keep the shard dirty, so the change is not lost and is written on the next save
+                dirtyStorageables.add(owner);
+            }
+        }
+    }
+
+    private JsonObject getLegacyStorageJson() {
+        if (legacyStorageJson == null && legacyUserStorageFile.exists()) {
+            legacyStorageJson = Managers.Json.loadPreciousJson(legacyUserStorageFile);
+        }
+
+        return legacyStorageJson;
+    }
+
+    private File getShardFile(Storageable storageable) {
+        return new File(userStorageDir, storageable.getStorageJsonName() + FILE_SUFFIX);
     }
 }
@@ -8,4 +8,13 @@ public interface Storageable {
     String getStorageJsonName();
 
     default void onStorageLoad() {}
+
+    /**
+     * Storageables which only read their storages on demand can return true here. Their storage
+     * file is then not parsed at startup if it is large, but on the first access to any of their storages.
+     * Note that {@link #onStorageLoad()} is postponed until that access as well.
+     */
+    default boolean isStorageLazyLoaded() {
+        return false;
+    }
 }
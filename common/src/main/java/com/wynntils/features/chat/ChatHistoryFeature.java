@@ -0,0 +1,101 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.features.chat;
+
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.tree.LiteralCommandNode;
+import com.wynntils.core.components.Managers;
+import com.wynntils.core.components.Models;
+import com.wynntils.core.config.Category;
+import com.wynntils.core.config.Config;
+import com.wynntils.core.config.ConfigCategory;
+import com.wynntils.core.config.ConfigHolder;
+import com.wynntils.core.config.RegisterConfig;
+import com.wynntils.core.features.Feature;
+import com.wynntils.core.features.properties.RegisterCommand;
+import com.wynntils.core.features.properties.StartDisabled;
+import com.wynntils.handlers.chat.event.ChatMessageReceivedEvent;
+import com.wynntils.models.chathistory.type.ChatHistoryEntry;
+import com.wynntils.utils.mc.McUtils;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import net.minecraft.ChatFormatting;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.MutableComponent;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+
+@StartDisabled
+@ConfigCategory(Category.CHAT)
+public class ChatHistoryFeature extends Feature {
+    private static final int MAX_SEARCH_RESULTS = 20;
+    private static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    @RegisterCommand
+    private final LiteralCommandNode<CommandSourceStack> searchCommand = Commands.literal("search")
+            .then(Commands.argument("query", StringArgumentType.greedyString())
+                    .executes(this::searchHistory))
+            .build();
+
+    @RegisterConfig
+    public final Config<Integer> retentionDays = new Config<>(30);
+
+    @RegisterConfig
+    public final Config<Integer> maxSizeMegabytes = new Config<>(100);
+
+    @Override
+    public void onEnable() {
+        Models.ChatHistory.setLimits(retentionDays.get(), maxSizeMegabytes.get());
+    }
+
+    @Override
+    protected void onConfigUpdate(ConfigHolder configHolder) {
+        Models.ChatHistory.setLimits(retentionDays.get(), maxSizeMegabytes.get());
+    }
+
+    // Record messages before any other feature gets to cancel or change them
+    @SubscribeEvent(priority = EventPriority.HIGHEST)
+    public void onChatReceived(ChatMessageReceivedEvent event) {
+        Models.ChatHistory.addMessage(event.getRecipientType(), event.getOriginalCodedString());
+    }
+
+    private int searchHistory(CommandContext<CommandSourceStack> context) {
+        String query = context.getArgument("query", String.class);
+
+        // Searching reads from disk, so post the results when they are ready
+        Models.ChatHistory.search(query, MAX_SEARCH_RESULTS)
+                .thenAccept(results -> Managers.TickScheduler.scheduleNextTick(() -> showResults(query, results)));
+        return 1;
+    }
+
+    private void showResults(String query, List<ChatHistoryEntry> results) {
+        if (results.isEmpty()) {
+            McUtils.sendMessageToClient(
+                    Component.literal(getTranslation("noResults")).withStyle(ChatFormatting.RED));
+            return;
+        }
+
+        MutableComponent response = Component.literal(getTranslation("results") + " " + query)
+                .withStyle(ChatFormatting.AQUA);
+
+        // Show the oldest result first, so the newest ends up at the bottom of the chat
+        for (int i = results.size() - 1; i >= 0; i--) {
+            ChatHistoryEntry entry = results.get(i);
+            String timestamp = LocalDateTime.ofInstant(Instant.ofEpochMilli(entry.timestamp()), ZoneId.systemDefault())
+                    .format(TIMESTAMP_FORMATTER);
+
+            response.append(Component.literal("\n[" + timestamp + "] ").withStyle(ChatFormatting.GRAY))
+                    .append(entry.getMessage().asSingleLiteralComponentWithCodedString());
+        }
+
+        McUtils.sendMessageToClient(response);
+    }
+}
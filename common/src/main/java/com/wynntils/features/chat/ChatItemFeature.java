@@ -15,13 +15,13 @@ import com.wynntils.handlers.chat.event.ChatMessageReceivedEvent;
 import com.wynntils.mc.event.KeyInputEvent;
 import com.wynntils.mc.mixin.accessors.ChatScreenAccessor;
 import com.wynntils.mc.mixin.accessors.ItemStackInfoAccessor;
+import com.wynntils.models.gear.type.EncodedGear;
 import com.wynntils.models.items.FakeItemStack;
 import com.wynntils.models.items.items.game.GearItem;
 import com.wynntils.utils.mc.McUtils;
 import com.wynntils.utils.type.IterationDecision;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.regex.Matcher;
 import net.minecraft.ChatFormatting;
 import net.minecraft.client.gui.components.EditBox;
 import net.minecraft.client.gui.screens.ChatScreen;
@@ -53,16 +53,19 @@ public class ChatItemFeature extends Feature {
         }
 
         // replace encoded strings with placeholders for less confusion
-        Matcher m = Models.Gear.gearChatEncodingMatcher(chatInput.getValue());
-        while (m.find()) {
-            String encodedItem = m.group();
-            StringBuilder name = new StringBuilder(m.group("Name"));
+        String input = chatInput.getValue();
+        EncodedGear encodedGear = Models.Gear.findEncodedGear(input, 0);
+        while (encodedGear != null) {
+            String encodedItem = input.substring(encodedGear.start(), encodedGear.end());
+            StringBuilder name = new StringBuilder(encodedGear.name());
             while (chatItems.containsKey(name.toString())) { // avoid overwriting entries
                 name.append("_");
             }
 
             chatInput.setValue(chatInput.getValue().replace(encodedItem, "<" + name + ">"));
             chatItems.put(name.toString(), encodedItem);
+
+            encodedGear = Models.Gear.findEncodedGear(input, encodedGear.end());
         }
     }
 
@@ -74,17 +77,18 @@ public class ChatItemFeature extends Feature {
 
         StyledText modified = styledText.iterate((part, changes) -> {
             StyledTextPart partToReplace = part;
-            Matcher matcher =
-                    Models.Gear.gearChatEncodingMatcher(partToReplace.getString(null, PartStyle.StyleType.NONE));
-
-            while (matcher.find()) {
-                GearItem decodedItem = Models.Gear.fromEncodedString(matcher.group());
-                if (decodedItem == null) continue;
+            String unformattedString = partToReplace.getString(null, PartStyle.StyleType.NONE);
+            EncodedGear encodedGear = Models.Gear.findEncodedGear(unformattedString, 0);
 
-                String unformattedString = partToReplace.getString(null, PartStyle.StyleType.NONE);
+            while (encodedGear != null) {
+                GearItem decodedItem = Models.Gear.fromEncodedGear(encodedGear);
+                if (decodedItem == null) {
+                    encodedGear = Models.Gear.findEncodedGear(unformattedString, encodedGear.end());
+                    continue;
+                }
 
-                String firstPart = unformattedString.substring(0, matcher.start());
-                String lastPart = unformattedString.substring(matcher.end());
+                String firstPart = unformattedString.substring(0, encodedGear.start());
+                String lastPart = unformattedString.substring(encodedGear.end());
 
                 PartStyle partStyle = partToReplace.getPartStyle();
 
@@ -98,7 +102,8 @@ public class ChatItemFeature extends Feature {
                 changes.add(last);
 
                 partToReplace = last;
-                matcher = Models.Gear.gearChatEncodingMatcher(lastPart);
+                unformattedString = lastPart;
+                encodedGear = Models.Gear.findEncodedGear(unformattedString, 0);
             }
 
             return IterationDecision.CONTINUE;
@@ -0,0 +1,75 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.features.debug;
+
+import com.wynntils.core.WynntilsMod;
+import com.wynntils.core.config.Category;
+import com.wynntils.core.config.ConfigCategory;
+import com.wynntils.core.features.Feature;
+import com.wynntils.core.features.properties.StartDisabled;
+import com.wynntils.mc.event.PacketEvent.PacketReceivedEvent;
+import com.wynntils.mc.replay.PacketRecordingWriter;
+import com.wynntils.utils.FileUtils;
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import net.minecraft.network.protocol.Packet;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+
+/**
+ * Records the packets that the handlers parse to a file, from when the feature is enabled until it is
+ * disabled. The recordings can be replayed with /replaypackets.
+ */
+@StartDisabled
+@ConfigCategory(Category.DEBUG)
+public class PacketRecorderFeature extends Feature {
+    public static final File RECORDINGS_DIR = WynntilsMod.getModStorageDir("packets");
+    private static final DateTimeFormatter FILE_NAME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
+
+    private volatile PacketRecordingWriter writer;
+
+    @Override
+    public void onEnable() {
+        FileUtils.mkdir(RECORDINGS_DIR);
+        File file = new File(RECORDINGS_DIR, LocalDateTime.now().format(FILE_NAME_FORMATTER) + ".wpr");
+
+        try {
+            writer = new PacketRecordingWriter(file);
+            WynntilsMod.info("Recording packets to " + file.getAbsolutePath());
+        } catch (IOException e) {
+            WynntilsMod.error("Could not start recording packets to " + file.getAbsolutePath(), e);
+        }
+    }
+
+    @Override
+    public void onDisable() {
+        if (writer == null) return;
+
+        try {
+            writer.close();
+        } catch (IOException e) {
+            WynntilsMod.error("Could not finish packet recording", e);
+        }
+        writer = null;
+    }
+
+    // Record the packets as received, before anything can cancel them
+    @SubscribeEvent(priority = EventPriority.HIGHEST)
+    public void onPacketReceived(PacketReceivedEvent<?> e) {
+        PacketRecordingWriter currentWriter = writer;
+        if (currentWriter == null) return;
+
+        Packet<?> packet = e.getPacket();
+        if (!PacketRecordingWriter.isRecorded(packet)) return;
+
+        try {
+            currentWriter.write(System.currentTimeMillis(), packet);
+        } catch (IOException ex) {
+            WynntilsMod.error("Could not record packet " + packet.getClass().getSimpleName(), ex);
+        }
+    }
+}
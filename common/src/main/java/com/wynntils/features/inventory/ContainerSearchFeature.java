@@ -11,8 +11,10 @@ import com.wynntils.core.config.Config;
 import com.wynntils.core.config.ConfigCategory;
 import com.wynntils.core.config.RegisterConfig;
 import com.wynntils.core.features.Feature;
+import com.wynntils.core.mod.ScheduledTask;
 import com.wynntils.core.text.CodedString;
 import com.wynntils.mc.event.ContainerCloseEvent;
+import com.wynntils.mc.event.ContainerRenderEvent;
 import com.wynntils.mc.event.ContainerSetContentEvent;
 import com.wynntils.mc.event.ContainerSetSlotEvent;
 import com.wynntils.mc.event.InventoryKeyPressEvent;
@@ -27,10 +29,16 @@ import com.wynntils.utils.colors.CommonColors;
 import com.wynntils.utils.colors.CustomColor;
 import com.wynntils.utils.mc.ComponentUtils;
 import com.wynntils.utils.mc.McUtils;
+import com.wynntils.utils.render.FontRenderer;
 import com.wynntils.utils.render.RenderUtils;
+import com.wynntils.utils.render.type.HorizontalAlignment;
+import com.wynntils.utils.render.type.TextShadow;
+import com.wynntils.utils.render.type.VerticalAlignment;
 import com.wynntils.utils.wynn.ContainerUtils;
+import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import net.minecraft.client.gui.screens.Screen;
 import net.minecraft.client.gui.screens.inventory.AbstractContainerScreen;
 import net.minecraft.core.NonNullList;
@@ -65,7 +73,14 @@ public class ContainerSearchFeature extends Feature {
 
     private SearchWidget lastSearchWidget;
     private SearchableContainerType currentSearchableContainerType;
+    private String currentContainerName;
     private boolean autoSearching = false;
+    // 1 when paging forward, -1 when paging back to an earlier page known to have matches
+    private int autoSearchDirection = 1;
+    private ScheduledTask autoSearchTask;
+
+    // Pages which had matching items when they were last viewed, according to the container index
+    private List<Integer> indexedMatchingPages = List.of();
 
     @SubscribeEvent
     public void onScreenInit(ScreenInitEvent event) {
@@ -81,10 +96,32 @@ public class ContainerSearchFeature extends Feature {
         if (searchableContainerType == null) return;
 
         currentSearchableContainerType = searchableContainerType;
+        currentContainerName = Models.ContainerIndex.getContainerName(searchableContainerType, title);
 
         addSearchWidget(screen, renderX, renderY);
     }
 
+    @SubscribeEvent
+    public void onContainerRender(ContainerRenderEvent event) {
+        if (lastSearchWidget == null || indexedMatchingPages.isEmpty()) return;
+
+        AbstractContainerScreen<?> screen = event.getScreen();
+        String pagesText = "Pages: "
+                + indexedMatchingPages.stream().map(String::valueOf).collect(Collectors.joining(", "));
+
+        FontRenderer.getInstance()
+                .renderText(
+                        event.getPoseStack(),
+                        CodedString.fromString(pagesText),
+                        screen.leftPos,
+                        screen.topPos - 14,
+                        0,
+                        highlightColor.get(),
+                        HorizontalAlignment.LEFT,
+                        VerticalAlignment.TOP,
+                        TextShadow.NORMAL);
+    }
+
     @SubscribeEvent
     public void onRenderSlot(SlotRenderEvent.Pre e) {
         ItemStack itemStack = e.getSlot().getItem();
@@ -102,6 +139,8 @@ public class ContainerSearchFeature extends Feature {
         forceUpdateSearch();
 
         if (autoSearching && McUtils.mc().screen instanceof AbstractContainerScreen<?> abstractContainerScreen) {
+            // Do not let a pending retry click a second time
+            cancelAutoSearchTask();
             tryAutoSearch(abstractContainerScreen);
         }
     }
@@ -115,8 +154,12 @@ public class ContainerSearchFeature extends Feature {
     public void onContainerClose(ContainerCloseEvent.Post event) {
         lastSearchWidget = null;
         currentSearchableContainerType = null;
+        currentContainerName = null;
+        indexedMatchingPages = List.of();
         autoSearching = false;
+        autoSearchDirection = 1;
         guildBankLastSearch = 0;
+        cancelAutoSearchTask();
     }
 
     @SubscribeEvent
@@ -129,39 +172,88 @@ public class ContainerSearchFeature extends Feature {
 
         autoSearching = true;
         matchItems(lastSearchWidget.getTextBoxInput(), abstractContainerScreen);
+        autoSearchDirection = getAutoSearchDirection();
 
         tryAutoSearch(abstractContainerScreen);
     }
 
     private void tryAutoSearch(AbstractContainerScreen<?> abstractContainerScreen) {
         if (!autoSearching) return;
-        if (currentSearchableContainerType == SearchableContainerType.GUILD_BANK) {
+        // Only page back as far as the earliest page known to have matches
+        if (autoSearchDirection < 0 && getIndexedPagesAhead(autoSearchDirection).isEmpty()) {
+            autoSearching = false;
+            return;
+        }
+        // Pages already seen without matches this session do not need to be fully loaded before moving on,
+        // as long as a page further on is known to have matches
+        if (currentSearchableContainerType == SearchableContainerType.GUILD_BANK && !canSkipCurrentPage()) {
             long diff = System.currentTimeMillis() - guildBankLastSearch;
             if (diff < GUILD_BANK_SEARCH_DELAY) {
-                Managers.TickScheduler.scheduleLater(
-                        () -> tryAutoSearch(abstractContainerScreen), (int) (GUILD_BANK_SEARCH_DELAY - diff) / 50);
+                cancelAutoSearchTask();
+                autoSearchTask = Managers.TickScheduler.scheduleLater(
+                        "Container auto search",
+                        () -> tryAutoSearch(abstractContainerScreen),
+                        (int) (GUILD_BANK_SEARCH_DELAY - diff) / 50);
                 return;
             }
             guildBankLastSearch = System.currentTimeMillis();
         }
 
-        CodedString name = ComponentUtils.getCoded(abstractContainerScreen
-                .getMenu()
-                .getItems()
-                .get(currentSearchableContainerType.getNextItemSlot())
-                .getHoverName());
-
-        if (!name.getMatcher(currentSearchableContainerType.getNextItemPattern())
-                .matches()) {
+        int slot = autoSearchDirection > 0
+                ? currentSearchableContainerType.getNextItemSlot()
+                : currentSearchableContainerType.getPreviousItemSlot();
+        ItemStack pageItem = abstractContainerScreen.getMenu().getItems().get(slot);
+
+        boolean hasPage = autoSearchDirection > 0
+                ? ComponentUtils.getCoded(pageItem.getHoverName())
+                        .getMatcher(currentSearchableContainerType.getNextItemPattern())
+                        .matches()
+                : !pageItem.isEmpty();
+        if (!hasPage) {
             autoSearching = false;
             return;
         }
 
         ContainerUtils.clickOnSlot(
-                currentSearchableContainerType.getNextItemSlot(),
+                slot,
                 abstractContainerScreen.getMenu().containerId,
                 GLFW.GLFW_MOUSE_BUTTON_LEFT,
                 abstractContainerScreen.getMenu().getItems());
+        // This click bypasses ContainerClickEvent, so let the index know
+        Models.ContainerIndex.onPageTurned(autoSearchDirection);
+    }
+
+    private void cancelAutoSearchTask() {
+        if (autoSearchTask == null) return;
+
+        autoSearchTask.cancel();
+        autoSearchTask = null;
+    }
+
+    private boolean canSkipCurrentPage() {
+        if (!Models.ContainerIndex.isCurrentPageConfirmed()) return false;
+
+        return !getIndexedPagesAhead(autoSearchDirection).isEmpty();
+    }
+
+    /**
+     * Pages forward, unless the index only knows of matches on earlier pages, in which case the search
+     * goes straight back to them.
+     */
+    private int getAutoSearchDirection() {
+        if (currentSearchableContainerType.getPreviousItemSlot() == -1) return 1;
+        if (!getIndexedPagesAhead(1).isEmpty()) return 1;
+
+        return getIndexedPagesAhead(-1).isEmpty() ? 1 : -1;
+    }
+
+    private List<Integer> getIndexedPagesAhead(int direction) {
+        if (!currentSearchableContainerType.isIndexed()) return List.of();
+
+        int currentPage = Models.ContainerIndex.getCurrentPage();
+        return indexedMatchingPages.stream()
+                .filter(page -> Integer.signum(page - currentPage) == direction)
+                .toList();
     }
 
     private SearchableContainerType getCurrentSearchableContainerType(CodedString title) {
@@ -206,7 +298,7 @@ public class ContainerSearchFeature extends Feature {
         NonNullList<ItemStack> playerItems = McUtils.inventory().items;
         for (ItemStack itemStack : screen.getMenu().getItems()) {
             Optional<WynnItem> wynnItemOpt = Models.Item.getWynnItem(itemStack);
-            if (wynnItemOpt.isEmpty()) return;
+            if (wynnItemOpt.isEmpty()) continue;
             if (playerItems.contains(itemStack)) continue;
 
             String name =
@@ -218,6 +310,11 @@ public class ContainerSearchFeature extends Feature {
                 autoSearching = false;
             }
         }
+
+        if (currentSearchableContainerType != null && currentSearchableContainerType.isIndexed()) {
+            indexedMatchingPages = Models.ContainerIndex.getMatchingPages(
+                    currentSearchableContainerType, currentContainerName, searchStr);
+        }
     }
 
     private void forceUpdateSearch() {
@@ -12,8 +12,8 @@ import com.wynntils.core.config.RegisterConfig;
 import com.wynntils.core.features.Feature;
 import com.wynntils.mc.event.HotbarSlotRenderEvent;
 import com.wynntils.mc.event.SlotRenderEvent;
+import com.wynntils.models.items.CacheKey;
 import com.wynntils.models.items.WynnItem;
-import com.wynntils.models.items.WynnItemCache;
 import com.wynntils.models.items.items.game.EmeraldPouchItem;
 import com.wynntils.models.items.items.game.IngredientItem;
 import com.wynntils.models.items.items.game.MaterialItem;
@@ -31,6 +31,8 @@ import net.minecraftforge.eventbus.api.SubscribeEvent;
 
 @ConfigCategory(Category.INVENTORY)
 public class ItemHighlightFeature extends Feature {
+    private static final CacheKey<HighlightInfo> HIGHLIGHT_KEY = CacheKey.create("highlight");
+
     @RegisterConfig
     public final Config<Boolean> normalHighlightEnabled = new Config<>(true);
 
@@ -178,7 +180,7 @@ public class ItemHighlightFeature extends Feature {
 
         WynnItem wynnItem = wynnItemOpt.get();
         HighlightInfo highlight = wynnItem.getCache()
-                .getOrCalculate(WynnItemCache.HIGHLIGHT_KEY, () -> calculateHighlightInfo(wynnItemOpt.get()));
+                .getOrCalculate(HIGHLIGHT_KEY, () -> calculateHighlightInfo(wynnItemOpt.get()));
         if (highlight == null) return CustomColor.NONE;
 
         if (!highlight.isHighlightEnabled()) return CustomColor.NONE;
@@ -15,8 +15,8 @@ import com.wynntils.core.features.Feature;
 import com.wynntils.mc.event.HotbarSlotRenderEvent;
 import com.wynntils.mc.event.SlotRenderEvent;
 import com.wynntils.models.elements.type.Skill;
+import com.wynntils.models.items.CacheKey;
 import com.wynntils.models.items.WynnItem;
-import com.wynntils.models.items.WynnItemCache;
 import com.wynntils.models.items.items.game.AmplifierItem;
 import com.wynntils.models.items.items.game.DungeonKeyItem;
 import com.wynntils.models.items.items.game.EmeraldPouchItem;
@@ -40,6 +40,8 @@ import net.minecraftforge.eventbus.api.SubscribeEvent;
 
 @ConfigCategory(Category.INVENTORY)
 public class ItemTextOverlayFeature extends Feature {
+    private static final CacheKey<TextOverlayInfo> OVERLAY_KEY = CacheKey.create("overlay");
+
     @RegisterConfig
     public final Config<Boolean> amplifierTierEnabled = new Config<>(true);
 
@@ -129,7 +131,7 @@ public class ItemTextOverlayFeature extends Feature {
 
         WynnItem wynnItem = wynnItemOpt.get();
         TextOverlayInfo overlayProperty =
-                wynnItem.getCache().getOrCalculate(WynnItemCache.OVERLAY_KEY, () -> calculateOverlay(wynnItem));
+                wynnItem.getCache().getOrCalculate(OVERLAY_KEY, () -> calculateOverlay(wynnItem));
         if (overlayProperty == null) return;
 
         if (!overlayProperty.isTextOverlayEnabled()) return;
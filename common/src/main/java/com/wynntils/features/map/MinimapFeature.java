@@ -250,8 +250,8 @@ public class MinimapFeature extends Feature {
 
             Poi[] pois = poisToRender.toArray(Poi[]::new);
             for (Poi poi : pois) {
-                float dX = (poi.getLocation().getX() - (float) playerX) / scale.get();
-                float dZ = (poi.getLocation().getZ() - (float) playerZ) / scale.get();
+                float dX = (poi.getRenderedX() - (float) playerX) / scale.get();
+                float dZ = (poi.getRenderedZ() - (float) playerZ) / scale.get();
 
                 if (followPlayerRotation.get()) {
                     float tempdX = dX * cosRotationRadians - dZ * sinRotationRadians;
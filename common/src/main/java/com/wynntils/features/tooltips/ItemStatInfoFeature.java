@@ -9,6 +9,7 @@ import com.wynntils.core.components.Models;
 import com.wynntils.core.config.Category;
 import com.wynntils.core.config.Config;
 import com.wynntils.core.config.ConfigCategory;
+import com.wynntils.core.config.ConfigHolder;
 import com.wynntils.core.config.RegisterConfig;
 import com.wynntils.core.features.Feature;
 import com.wynntils.mc.event.ItemTooltipRenderEvent;
@@ -17,6 +18,7 @@ import com.wynntils.models.gear.tooltip.GearTooltipStyle;
 import com.wynntils.models.gear.tooltip.TooltipIdentificationDecorator;
 import com.wynntils.models.gear.type.GearInfo;
 import com.wynntils.models.gear.type.GearInstance;
+import com.wynntils.models.items.CacheKey;
 import com.wynntils.models.items.WynnItemCache;
 import com.wynntils.models.items.items.game.GearItem;
 import com.wynntils.models.stats.StatCalculator;
@@ -29,7 +31,7 @@ import com.wynntils.utils.mc.McUtils;
 import com.wynntils.utils.type.Pair;
 import com.wynntils.utils.wynn.ColorScaleUtils;
 import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.Set;
@@ -41,7 +43,13 @@ import org.lwjgl.glfw.GLFW;
 
 @ConfigCategory(Category.TOOLTIPS)
 public class ItemStatInfoFeature extends Feature {
+    private static final CacheKey<CachedName> TOOLTIP_NAME_KEY = CacheKey.create("tooltipName");
+
     private final Set<GearItem> brokenItems = new HashSet<>();
+    private final IdentificationDecorator identificationDecorator = new IdentificationDecorator();
+
+    // Incremented on every config change, to invalidate cached tooltips depending on the config
+    private int configGeneration = 0;
 
     @RegisterConfig
     public final Config<Boolean> showStars = new Config<>(true);
@@ -98,14 +106,14 @@ public class ItemStatInfoFeature extends Feature {
                             () -> Models.GearTooltip.fromParsedItemStack(event.getItemStack(), gearItem));
             if (builder == null) return;
 
-            IdentificationDecorator decorator = identificationDecorations.get() ? new IdentificationDecorator() : null;
+            IdentificationDecorator decorator = identificationDecorations.get() ? identificationDecorator : null;
             GearTooltipStyle currentIdentificationStyle = new GearTooltipStyle(
                     identificationsOrdering.get(),
                     groupIdentifications.get(),
                     showBestValueLastAlways.get(),
                     showStars.get());
-            LinkedList<Component> tooltips = new LinkedList<>(
-                    builder.getTooltipLines(Models.Character.getClassType(), currentIdentificationStyle, decorator));
+            List<Component> tooltips =
+                    builder.getTooltipLines(Models.Character.getClassType(), currentIdentificationStyle, decorator);
 
             Optional<GearInstance> optionalGearInstance = gearItem.getGearInstance();
             if (optionalGearInstance.isPresent()) {
@@ -114,7 +122,7 @@ public class ItemStatInfoFeature extends Feature {
                 // Update name depending on overall percentage; this needs to be done every rendering
                 // for rainbow/defective effects
                 if (overallPercentageInName.get() && gearInstance.hasOverallValue()) {
-                    updateItemName(gearInfo, gearInstance, tooltips);
+                    tooltips.set(0, getItemName(gearItem, gearInfo, gearInstance, tooltips.get(0)));
                 }
             }
 
@@ -134,22 +142,44 @@ public class ItemStatInfoFeature extends Feature {
         }
     }
 
-    private void updateItemName(GearInfo gearInfo, GearInstance gearInstance, LinkedList<Component> tooltips) {
-        MutableComponent name;
+    @Override
+    protected void onConfigUpdate(ConfigHolder configHolder) {
+        configGeneration++;
+    }
+
+    private Component getItemName(GearItem gearItem, GearInfo gearInfo, GearInstance gearInstance, Component name) {
         if (perfect.get() && gearInstance.isPerfect()) {
-            name = ComponentUtils.makeRainbowStyle("Perfect " + gearInfo.name());
-        } else if (defective.get() && gearInstance.isDefective()) {
-            name = ComponentUtils.makeObfuscated(
+            return ComponentUtils.makeRainbowStyle("Perfect " + gearInfo.name());
+        }
+        if (defective.get() && gearInstance.isDefective()) {
+            return ComponentUtils.makeObfuscated(
                     "Defective " + gearInfo.name(), obfuscationChanceStart.get(), obfuscationChanceEnd.get());
-        } else {
-            name = tooltips.getFirst().copy();
-            name.append(ColorScaleUtils.getPercentageTextComponent(
-                    gearInstance.getOverallPercentage(), colorLerp.get(), decimalPlaces.get()));
         }
-        tooltips.removeFirst();
-        tooltips.addFirst(name);
+
+        // Only the animated names above need to be recreated every rendering
+        CachedName cachedName = gearItem.getCache().get(TOOLTIP_NAME_KEY);
+        if (cachedName != null && cachedName.configGeneration() == configGeneration) {
+            return cachedName.name();
+        }
+
+        MutableComponent percentageName = name.copy();
+        percentageName.append(ColorScaleUtils.getPercentageTextComponent(
+                gearInstance.getOverallPercentage(), colorLerp.get(), decimalPlaces.get()));
+        gearItem.getCache().store(TOOLTIP_NAME_KEY, new CachedName(percentageName, configGeneration));
+        return percentageName;
     }
 
+    private record CachedName(Component name, int configGeneration) {}
+
+    private enum SuffixType {
+        INNER_ROLL,
+        RANGE,
+        REROLL,
+        PERCENT
+    }
+
+    private record DecorationKey(SuffixType suffixType, int configGeneration) {}
+
     private class IdentificationDecorator implements TooltipIdentificationDecorator {
         @Override
         public MutableComponent getSuffix(
@@ -161,15 +191,29 @@ public class ItemStatInfoFeature extends Feature {
                 return Component.literal(" [NEW]").withStyle(ChatFormatting.GOLD);
             }
 
+            return switch (getSuffixType()) {
+                case INNER_ROLL -> getInnerRollSuffix(style, statActualValue, possibleValues);
+                case RANGE -> getRangeSuffix(style, statActualValue, possibleValues);
+                case REROLL -> getRerollSuffix(style, statActualValue, possibleValues);
+                case PERCENT -> getPercentSuffix(style, statActualValue, possibleValues);
+            };
+        }
+
+        @Override
+        public Object getDecorationKey() {
+            return new DecorationKey(getSuffixType(), configGeneration);
+        }
+
+        private SuffixType getSuffixType() {
             if (KeyboardUtils.isKeyDown(GLFW.GLFW_KEY_LEFT_SHIFT)
                     && KeyboardUtils.isKeyDown(GLFW.GLFW_KEY_LEFT_CONTROL)) {
-                return getInnerRollSuffix(style, statActualValue, possibleValues);
+                return SuffixType.INNER_ROLL;
             } else if (KeyboardUtils.isKeyDown(GLFW.GLFW_KEY_LEFT_SHIFT)) {
-                return getRangeSuffix(style, statActualValue, possibleValues);
+                return SuffixType.RANGE;
             } else if (KeyboardUtils.isKeyDown(GLFW.GLFW_KEY_LEFT_CONTROL)) {
-                return getRerollSuffix(style, statActualValue, possibleValues);
+                return SuffixType.REROLL;
             } else {
-                return getPercentSuffix(style, statActualValue, possibleValues);
+                return SuffixType.PERCENT;
             }
         }
 
@@ -280,7 +280,7 @@ public final class ChatHandler extends Handler {
         // Wait a tick for slowdown, and then send the event
         delayedDialogue = dialog;
         delayedType = type;
-        Managers.TickScheduler.scheduleNextTick(() -> {
+        Managers.TickScheduler.scheduleNextTick("Delayed NPC dialogue", () -> {
             if (delayedDialogue != null) {
                 List<Component> dialogToSend = delayedDialogue;
                 delayedDialogue = null;
@@ -297,7 +297,7 @@ public final class ChatHandler extends Handler {
         StyledText styledText = StyledText.fromComponent(message);
 
         // But it can weirdly enough actually also be a foreground NPC chat message...
-        if (getRecipientType(coded, MessageType.FOREGROUND) == RecipientType.NPC) {
+        if (RecipientType.fromMessage(coded, MessageType.FOREGROUND) == RecipientType.NPC) {
             // In this case, do *not* save this as last chat, since it will soon disappear
             // from history!
             postNpcDialogue(List.of(message), NpcDialogueType.CONFIRMATIONLESS, false);
@@ -329,7 +329,7 @@ public final class ChatHandler extends Handler {
         // Normally § codes are stripped from the log; need this to be able to debug chat formatting
         WynntilsMod.info(
                 "[CHAT] " + codedMessage.getInternalCodedStringRepresentation().replace("§", "&"));
-        RecipientType recipientType = getRecipientType(codedMessage, messageType);
+        RecipientType recipientType = RecipientType.fromMessage(codedMessage, messageType);
 
         if (recipientType == RecipientType.NPC) {
             if (shouldSeparateNPC()) {
@@ -361,18 +361,6 @@ public final class ChatHandler extends Handler {
         WynntilsMod.postEvent(event);
     }
 
-    private RecipientType getRecipientType(CodedString codedMessage, MessageType messageType) {
-        // Check if message match a recipient category
-        for (RecipientType recipientType : RecipientType.values()) {
-            if (recipientType.matchPattern(codedMessage, messageType)) {
-                return recipientType;
-            }
-        }
-
-        // If no specific recipient matched, it is an "info" message
-        return RecipientType.INFO;
-    }
-
     private boolean shouldSeparateNPC() {
         return dialogExtractionDependents.stream().anyMatch(Feature::isEnabled);
     }
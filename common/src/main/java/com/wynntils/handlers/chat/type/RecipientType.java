@@ -46,6 +46,18 @@ public enum RecipientType {
         return msg.getMatcher(pattern).find();
     }
 
+    public static RecipientType fromMessage(CodedString msg, MessageType messageType) {
+        // Check if message match a recipient category
+        for (RecipientType recipientType : values()) {
+            if (recipientType.matchPattern(msg, messageType)) {
+                return recipientType;
+            }
+        }
+
+        // If no specific recipient matched, it is an "info" message
+        return INFO;
+    }
+
     public static RecipientType fromName(String string) {
         for (RecipientType type : values()) {
             if (type.name.equalsIgnoreCase(string)) {
@@ -6,12 +6,22 @@ package com.wynntils.handlers.labels;
 
 import com.wynntils.core.WynntilsMod;
 import com.wynntils.core.components.Handler;
+import com.wynntils.core.mod.type.CrashType;
+import com.wynntils.core.mod.type.TaskStats;
 import com.wynntils.core.text.CodedString;
 import com.wynntils.handlers.labels.event.EntityLabelChangedEvent;
 import com.wynntils.handlers.labels.event.EntityLabelVisibilityEvent;
+import com.wynntils.handlers.labels.event.LabelIdentifiedEvent;
+import com.wynntils.mc.event.RemoveEntitiesEvent;
 import com.wynntils.mc.event.SetEntityDataEvent;
+import com.wynntils.models.worlds.event.WorldStateEvent;
 import com.wynntils.utils.mc.ComponentUtils;
 import com.wynntils.utils.mc.McUtils;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.syncher.SynchedEntityData;
@@ -20,6 +30,20 @@ import net.minecraftforge.eventbus.api.EventPriority;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 
 public class LabelHandler extends Handler {
+    private final List<LabelParser> parsers = new ArrayList<>();
+    // Parsers by the formatting code of the labels they recognize; parsers without codes are in all lists
+    private final Map<Character, List<LabelParser>> parsersByStyleCode = new HashMap<>();
+    private final List<LabelParser> anyStyleParsers = new ArrayList<>();
+    private final Map<Integer, LabelClassification> classifications = new HashMap<>();
+    private final Map<LabelParser, TaskStats> parserStats = new HashMap<>();
+    // Keep this as a field just of performance reasons to skip a new allocation in classifyLabel()
+    private final List<LabelParser> crashedParsers = new ArrayList<>();
+
+    public void registerParser(LabelParser parser) {
+        parsers.add(parser);
+        rebuildDispatch();
+    }
+
     @SubscribeEvent(priority = EventPriority.HIGHEST)
     public void onEntitySetData(SetEntityDataEvent event) {
         Entity entity = McUtils.mc().level.getEntity(event.getId());
@@ -44,7 +68,127 @@ public class LabelHandler extends Handler {
                 if (newName.equals(oldName)) return;
 
                 WynntilsMod.postEvent(new EntityLabelChangedEvent(entity, newName, oldName));
+
+                LabelIdentifiedEvent identifiedEvent = classifyLabel(entity.getId(), entity, newName);
+                if (identifiedEvent != null) {
+                    WynntilsMod.postEvent(identifiedEvent);
+                }
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public void onEntitiesRemoved(RemoveEntitiesEvent event) {
+        for (int id : event.getEntityIds()) {
+            classifications.remove(id);
+        }
+    }
+
+    @SubscribeEvent
+    public void onWorldStateChange(WorldStateEvent event) {
+        classifications.clear();
+    }
+
+    /**
+     * Finds the parser that recognizes the label, and returns the event it created. The label is
+     * only given to the parsers for the formatting code it starts with, and the parser that
+     * recognized the previous label of the entity is asked first. If the label is the same as
+     * the last classified label of the entity, null is returned without asking any parser.
+     */
+    public LabelIdentifiedEvent classifyLabel(int entityId, Entity entity, CodedString label) {
+        LabelClassification previous = classifications.get(entityId);
+        if (previous != null && previous.label().equals(label)) return null;
+
+        LabelParser previousParser = previous != null ? previous.parser() : null;
+        LabelParser matchedParser = null;
+        LabelIdentifiedEvent event = null;
+
+        List<LabelParser> candidates = getCandidates(label);
+        if (previousParser != null && candidates.contains(previousParser)) {
+            event = tryParser(previousParser, entity, label);
+            if (event != null) {
+                matchedParser = previousParser;
+            }
+        }
+
+        if (event == null) {
+            for (LabelParser parser : candidates) {
+                if (parser == previousParser) continue;
+
+                event = tryParser(parser, entity, label);
+                if (event != null) {
+                    matchedParser = parser;
+                    break;
+                }
+            }
+        }
+
+        // Hopefully we have none :)
+        if (!crashedParsers.isEmpty()) {
+            parsers.removeAll(crashedParsers);
+            crashedParsers.clear();
+            rebuildDispatch();
+        }
+
+        classifications.put(entityId, new LabelClassification(label, matchedParser));
+        return event;
+    }
+
+    public Collection<TaskStats> getParserStats() {
+        return parserStats.values();
+    }
+
+    public void resetParserStats() {
+        parserStats.clear();
+    }
+
+    private List<LabelParser> getCandidates(CodedString label) {
+        String codedLabel = label.getInternalCodedStringRepresentation();
+        if (codedLabel.length() < 2 || codedLabel.charAt(0) != '§') return anyStyleParsers;
+
+        return parsersByStyleCode.getOrDefault(codedLabel.charAt(1), anyStyleParsers);
+    }
+
+    private LabelIdentifiedEvent tryParser(LabelParser parser, Entity entity, CodedString label) {
+        long startTime = System.nanoTime();
+        try {
+            return parser.getEvent(entity, label);
+        } catch (Throwable t) {
+            // We can't disable it right away since we might be iterating over the parsers
+            crashedParsers.add(parser);
+
+            String parserName = parser.getClass().getSimpleName();
+            WynntilsMod.reportCrash(parser.getClass().getName(), parserName, CrashType.LABEL_PARSER, t);
+            WynntilsMod.warn("Problematic label:" + label);
+            return null;
+        } finally {
+            long duration = System.nanoTime() - startTime;
+            parserStats.compute(
+                    parser,
+                    (p, stats) -> (stats == null ? new TaskStats(p.getClass().getSimpleName(), 0, 0, 0) : stats)
+                            .withRun(duration));
+        }
+    }
+
+    private void rebuildDispatch() {
+        parsersByStyleCode.clear();
+        anyStyleParsers.clear();
+
+        for (LabelParser parser : parsers) {
+            String styleCodes = parser.getStyleCodes();
+            if (styleCodes.isEmpty()) {
+                anyStyleParsers.add(parser);
+                parsersByStyleCode.values().forEach(list -> list.add(parser));
+                continue;
+            }
+
+            for (char styleCode : styleCodes.toCharArray()) {
+                parsersByStyleCode
+                        .computeIfAbsent(styleCode, code -> new ArrayList<>(anyStyleParsers))
+                        .add(parser);
             }
         }
     }
+
+    private record LabelClassification(CodedString label, LabelParser parser) {}
 }
@@ -0,0 +1,23 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.handlers.labels;
+
+import com.wynntils.core.text.CodedString;
+import com.wynntils.handlers.labels.event.LabelIdentifiedEvent;
+import net.minecraft.world.entity.Entity;
+
+public interface LabelParser {
+    /**
+     * The formatting codes (the character after §) that the labels recognized by this parser start
+     * with. LabelHandler only asks the parser about labels starting with one of these; if this is
+     * empty, the parser is asked about every label.
+     */
+    String getStyleCodes();
+
+    /**
+     * Returns the event to post for this label, or null if this parser does not recognize it.
+     */
+    LabelIdentifiedEvent getEvent(Entity entity, CodedString label);
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.handlers.labels.event;
+
+import com.wynntils.core.text.CodedString;
+import net.minecraft.world.entity.Entity;
+import net.minecraftforge.eventbus.api.Event;
+
+/**
+ * The base of the events posted when a {@link com.wynntils.handlers.labels.LabelParser} recognizes
+ * a changed entity label. Each parser posts its own subclass, with the values parsed from the label.
+ */
+public abstract class LabelIdentifiedEvent extends Event {
+    private final Entity entity;
+    private final CodedString label;
+
+    protected LabelIdentifiedEvent(Entity entity, CodedString label) {
+        this.entity = entity;
+        this.label = label;
+    }
+
+    public Entity getEntity() {
+        return entity;
+    }
+
+    public CodedString getLabel() {
+        return label;
+    }
+}
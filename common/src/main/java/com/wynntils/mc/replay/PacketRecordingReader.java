@@ -0,0 +1,115 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.mc.replay;
+
+import io.netty.buffer.Unpooled;
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import net.minecraft.SharedConstants;
+import net.minecraft.network.ConnectionProtocol;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.PacketFlow;
+
+/**
+ * Reads a recording written by {@link PacketRecordingWriter}. Recordings made with another protocol
+ * version are rejected, as the packet ids and layouts may have changed.
+ */
+public final class PacketRecordingReader implements Closeable {
+    private static final int MAX_FRAME_LENGTH = 8 * 1024 * 1024;
+
+    private final DataInputStream in;
+    private long timeMillis;
+
+    public PacketRecordingReader(InputStream inputStream) throws IOException {
+        in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(inputStream)));
+
+        if (in.readInt() != PacketRecordingWriter.MAGIC) {
+            throw new IOException("Not a packet recording");
+        }
+        int formatVersion = in.readInt();
+        if (formatVersion != PacketRecordingWriter.FORMAT_VERSION) {
+            throw new IOException("Unsupported packet recording format " + formatVersion);
+        }
+        int protocolVersion = in.readInt();
+        if (protocolVersion != SharedConstants.getProtocolVersion()) {
+            throw new IOException("Packet recording was made with protocol " + protocolVersion + ", expected "
+                    + SharedConstants.getProtocolVersion());
+        }
+    }
+
+    public PacketRecordingReader(File file) throws IOException {
+        this(new FileInputStream(file));
+    }
+
+    public static List<RecordedPacket> readAll(File file) throws IOException {
+        try (PacketRecordingReader reader = new PacketRecordingReader(file)) {
+            return reader.readAll();
+        }
+    }
+
+    /**
+     * Reads the next packet, or returns null at the end of the recording.
+     */
+    public RecordedPacket next() throws IOException {
+        int firstByte = in.read();
+        if (firstByte < 0) return null;
+
+        int length = readVarInt(firstByte);
+        if (length <= 0 || length > MAX_FRAME_LENGTH) {
+            throw new IOException("Invalid packet frame length " + length);
+        }
+
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        FriendlyByteBuf frame = new FriendlyByteBuf(Unpooled.wrappedBuffer(bytes));
+
+        timeMillis += frame.readVarLong();
+        int packetId = frame.readVarInt();
+        Packet<?> packet = ConnectionProtocol.PLAY.createPacket(PacketFlow.CLIENTBOUND, packetId, frame);
+        if (packet == null) {
+            throw new IOException("Unknown clientbound packet id " + packetId);
+        }
+        if (frame.isReadable()) {
+            throw new IOException("Packet " + packet.getClass().getSimpleName() + " was larger than expected");
+        }
+
+        return new RecordedPacket(timeMillis, packet);
+    }
+
+    public List<RecordedPacket> readAll() throws IOException {
+        List<RecordedPacket> packets = new ArrayList<>();
+        RecordedPacket packet;
+        while ((packet = next()) != null) {
+            packets.add(packet);
+        }
+        return packets;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private int readVarInt(int firstByte) throws IOException {
+        int value = firstByte & 0x7F;
+        if ((firstByte & 0x80) == 0) return value;
+
+        for (int shift = 7; shift < 35; shift += 7) {
+            byte b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Var int is too long");
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.mc.replay;
+
+import io.netty.buffer.Unpooled;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+import net.minecraft.SharedConstants;
+import net.minecraft.network.ConnectionProtocol;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.PacketFlow;
+import net.minecraft.network.protocol.game.ClientboundBossEventPacket;
+import net.minecraft.network.protocol.game.ClientboundContainerClosePacket;
+import net.minecraft.network.protocol.game.ClientboundContainerSetContentPacket;
+import net.minecraft.network.protocol.game.ClientboundOpenScreenPacket;
+import net.minecraft.network.protocol.game.ClientboundPlayerChatPacket;
+import net.minecraft.network.protocol.game.ClientboundSetDisplayObjectivePacket;
+import net.minecraft.network.protocol.game.ClientboundSetEntityDataPacket;
+import net.minecraft.network.protocol.game.ClientboundSetObjectivePacket;
+import net.minecraft.network.protocol.game.ClientboundSetScorePacket;
+import net.minecraft.network.protocol.game.ClientboundSystemChatPacket;
+
+/**
+ * Writes clientbound packets to a gzipped recording, which can be read back with
+ * {@link PacketRecordingReader}.
+ *
+ * <p>The recording starts with a header of {@link #MAGIC}, {@link #FORMAT_VERSION} and the protocol
+ * version of the game. Each packet is then written as a frame of the frame length, the milliseconds
+ * since the previous packet, the packet id in the play protocol and the packet data. The numbers in
+ * a frame are written as var ints, like in the network protocol.
+ *
+ * <p>Packets are written as they arrive on the network thread, so writing is synchronized.
+ */
+public final class PacketRecordingWriter implements Closeable {
+    public static final int MAGIC = 0x57505243;
+    public static final int FORMAT_VERSION = 1;
+
+    /* The packets that are handled by ChatHandler, ScoreboardHandler, ContainerQueryHandler,
+     * LabelHandler and BossBarHandler; see PacketReplayer for how they are replayed. */
+    private static final Set<Class<? extends Packet<?>>> RECORDED_PACKETS = Set.of(
+            ClientboundSystemChatPacket.class,
+            ClientboundPlayerChatPacket.class,
+            ClientboundSetObjectivePacket.class,
+            ClientboundSetScorePacket.class,
+            ClientboundSetDisplayObjectivePacket.class,
+            ClientboundOpenScreenPacket.class,
+            ClientboundContainerClosePacket.class,
+            ClientboundContainerSetContentPacket.class,
+            ClientboundSetEntityDataPacket.class,
+            ClientboundBossEventPacket.class);
+
+    private final DataOutputStream out;
+    private final FriendlyByteBuf frame = new FriendlyByteBuf(Unpooled.buffer());
+    private long lastTimeMillis = -1;
+    private boolean closed;
+
+    public PacketRecordingWriter(OutputStream outputStream) throws IOException {
+        out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(outputStream)));
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(SharedConstants.getProtocolVersion());
+    }
+
+    public PacketRecordingWriter(File file) throws IOException {
+        this(new FileOutputStream(file));
+    }
+
+    public static boolean isRecorded(Packet<?> packet) {
+        return RECORDED_PACKETS.contains(packet.getClass());
+    }
+
+    /**
+     * Writes the packet, unless the writer has already been closed.
+     */
+    public synchronized void write(long timeMillis, Packet<?> packet) throws IOException {
+        if (closed) return;
+
+        int packetId = ConnectionProtocol.PLAY.getPacketId(PacketFlow.CLIENTBOUND, packet);
+        if (packetId < 0) {
+            throw new IOException("Packet " + packet.getClass().getSimpleName() + " is not a clientbound play packet");
+        }
+
+        // The first packet has no previous packet, so it gets a delta of 0
+        long delta = lastTimeMillis < 0 ? 0 : Math.max(0, timeMillis - lastTimeMillis);
+        lastTimeMillis = timeMillis;
+
+        frame.clear();
+        frame.writeVarLong(delta);
+        frame.writeVarInt(packetId);
+        packet.write(frame);
+
+        writeVarInt(frame.readableBytes());
+        frame.readBytes(out, frame.readableBytes());
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) return;
+
+        closed = true;
+        frame.release();
+        out.close();
+    }
+
+    private void writeVarInt(int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+}
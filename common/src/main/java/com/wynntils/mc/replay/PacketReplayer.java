@@ -0,0 +1,226 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.mc.replay;
+
+import com.wynntils.core.WynntilsMod;
+import com.wynntils.core.text.CodedString;
+import com.wynntils.mc.event.BossHealthUpdateEvent;
+import com.wynntils.mc.event.ChatPacketReceivedEvent;
+import com.wynntils.mc.event.ContainerSetContentEvent;
+import com.wynntils.mc.event.MenuEvent;
+import com.wynntils.mc.event.PacketEvent;
+import com.wynntils.mc.event.ScoreboardSetDisplayObjectiveEvent;
+import com.wynntils.mc.event.ScoreboardSetObjectiveEvent;
+import com.wynntils.mc.event.ScoreboardSetScoreEvent;
+import com.wynntils.mc.event.SetEntityDataEvent;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import net.minecraft.client.gui.components.LerpingBossEvent;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.game.ClientboundBossEventPacket;
+import net.minecraft.network.protocol.game.ClientboundContainerClosePacket;
+import net.minecraft.network.protocol.game.ClientboundContainerSetContentPacket;
+import net.minecraft.network.protocol.game.ClientboundOpenScreenPacket;
+import net.minecraft.network.protocol.game.ClientboundPlayerChatPacket;
+import net.minecraft.network.protocol.game.ClientboundSetDisplayObjectivePacket;
+import net.minecraft.network.protocol.game.ClientboundSetEntityDataPacket;
+import net.minecraft.network.protocol.game.ClientboundSetObjectivePacket;
+import net.minecraft.network.protocol.game.ClientboundSetScorePacket;
+import net.minecraft.network.protocol.game.ClientboundSystemChatPacket;
+import net.minecraft.world.BossEvent;
+import net.minecraftforge.eventbus.api.Event;
+
+/**
+ * Replays recorded packets by posting the same events as ConnectionMixin, ClientPacketListenerMixin
+ * and BossHealthOverlayMixin do for them, so they reach ChatHandler, ScoreboardHandler,
+ * ContainerQueryHandler, LabelHandler and BossBarHandler without a server.
+ *
+ * <p>The handlers still need a running client, as they read the local player, the level and the open
+ * screen, and expect to be called on the render thread. ReplayPacketsCommand replays a recording in
+ * game.
+ *
+ * <p>The vanilla packet handling is not run, except for keeping the boss bar map that is passed to
+ * {@link BossHealthUpdateEvent} up to date. Events are posted to the event bus by default; tests and
+ * benchmarks can pass their own consumer to look at the posted events instead.
+ */
+public final class PacketReplayer {
+    private final Consumer<Event> poster;
+    private final Map<UUID, LerpingBossEvent> bossEvents = new ConcurrentHashMap<>();
+    private int eventCount;
+
+    public PacketReplayer() {
+        this(WynntilsMod::postEvent);
+    }
+
+    public PacketReplayer(Consumer<Event> poster) {
+        this.poster = poster;
+    }
+
+    /**
+     * Replays the packets in order. At {@link Speed#RECORDED}, this waits between the packets as long
+     * as they were apart when recorded; at {@link Speed#MAXIMAL}, the packets are replayed back to back.
+     */
+    public Result replay(List<RecordedPacket> packets, Speed speed) throws InterruptedException {
+        int startEventCount = eventCount;
+        long startNanos = System.nanoTime();
+        long startMillis = System.currentTimeMillis();
+        long firstTimeMillis = packets.isEmpty() ? 0 : packets.get(0).timeMillis();
+
+        for (RecordedPacket recordedPacket : packets) {
+            if (speed == Speed.RECORDED) {
+                long waitMillis =
+                        startMillis + (recordedPacket.timeMillis() - firstTimeMillis) - System.currentTimeMillis();
+                if (waitMillis > 0) {
+                    Thread.sleep(waitMillis);
+                }
+            }
+
+            replay(recordedPacket.packet());
+        }
+
+        return new Result(packets.size(), eventCount - startEventCount, System.nanoTime() - startNanos);
+    }
+
+    public void replay(Packet<?> packet) {
+        PacketEvent.PacketReceivedEvent<?> receivedEvent = new PacketEvent.PacketReceivedEvent<>(packet);
+        post(receivedEvent);
+        if (receivedEvent.isCanceled()) return;
+
+        if (packet instanceof ClientboundSystemChatPacket chatPacket) {
+            Component message = chatPacket.content();
+            post(
+                    chatPacket.overlay()
+                            ? new ChatPacketReceivedEvent.GameInfo(message)
+                            : new ChatPacketReceivedEvent.System(message));
+        } else if (packet instanceof ClientboundPlayerChatPacket playerChatPacket) {
+            // Fall back to the signed content, like PlayerChatMessage.decoratedContent does
+            Component message = Objects.requireNonNullElseGet(
+                    playerChatPacket.unsignedContent(),
+                    () -> Component.literal(playerChatPacket.body().content()));
+            post(new ChatPacketReceivedEvent.Player(message));
+        } else if (packet instanceof ClientboundSetObjectivePacket objectivePacket) {
+            post(new ScoreboardSetObjectiveEvent(
+                    objectivePacket.getObjectiveName(),
+                    objectivePacket.getDisplayName(),
+                    objectivePacket.getRenderType(),
+                    objectivePacket.getMethod()));
+        } else if (packet instanceof ClientboundSetScorePacket scorePacket) {
+            post(new ScoreboardSetScoreEvent(
+                    CodedString.fromString(scorePacket.getOwner()),
+                    scorePacket.getObjectiveName(),
+                    scorePacket.getScore(),
+                    scorePacket.getMethod()));
+        } else if (packet instanceof ClientboundSetDisplayObjectivePacket displayObjectivePacket) {
+            post(new ScoreboardSetDisplayObjectiveEvent(
+                    displayObjectivePacket.getSlot(), displayObjectivePacket.getObjectiveName()));
+        } else if (packet instanceof ClientboundOpenScreenPacket openScreenPacket) {
+            post(new MenuEvent.MenuOpenedEvent(
+                    openScreenPacket.getType(), openScreenPacket.getTitle(), openScreenPacket.getContainerId()));
+        } else if (packet instanceof ClientboundContainerClosePacket closePacket) {
+            post(new MenuEvent.MenuClosedEvent(closePacket.getContainerId()));
+        } else if (packet instanceof ClientboundContainerSetContentPacket contentPacket) {
+            ContainerSetContentEvent.Pre preEvent = new ContainerSetContentEvent.Pre(
+                    contentPacket.getItems(),
+                    contentPacket.getCarriedItem(),
+                    contentPacket.getContainerId(),
+                    contentPacket.getStateId());
+            post(preEvent);
+            if (preEvent.isCanceled()) return;
+
+            post(new ContainerSetContentEvent.Post(
+                    contentPacket.getItems(),
+                    contentPacket.getCarriedItem(),
+                    contentPacket.getContainerId(),
+                    contentPacket.getStateId()));
+        } else if (packet instanceof ClientboundSetEntityDataPacket entityDataPacket) {
+            post(new SetEntityDataEvent(entityDataPacket));
+        } else if (packet instanceof ClientboundBossEventPacket bossEventPacket) {
+            BossHealthUpdateEvent bossEvent = new BossHealthUpdateEvent(bossEventPacket, bossEvents);
+            post(bossEvent);
+            if (bossEvent.isCanceled()) return;
+
+            bossEventPacket.dispatch(new BossEventsUpdater());
+        }
+    }
+
+    private void post(Event event) {
+        eventCount++;
+        poster.accept(event);
+    }
+
+    public enum Speed {
+        RECORDED,
+        MAXIMAL
+    }
+
+    public record Result(int packetCount, int eventCount, long elapsedNanos) {
+        public double packetsPerSecond() {
+            return elapsedNanos == 0 ? 0 : packetCount * 1_000_000_000d / elapsedNanos;
+        }
+    }
+
+    /* Does what BossHealthOverlay.update does with the packets that were not canceled */
+    private final class BossEventsUpdater implements ClientboundBossEventPacket.Handler {
+        @Override
+        public void add(
+                UUID id,
+                Component name,
+                float progress,
+                BossEvent.BossBarColor color,
+                BossEvent.BossBarOverlay overlay,
+                boolean darkenScreen,
+                boolean playMusic,
+                boolean createWorldFog) {
+            bossEvents.put(
+                    id,
+                    new LerpingBossEvent(id, name, progress, color, overlay, darkenScreen, playMusic, createWorldFog));
+        }
+
+        @Override
+        public void remove(UUID id) {
+            bossEvents.remove(id);
+        }
+
+        @Override
+        public void updateProgress(UUID id, float progress) {
+            LerpingBossEvent bossEvent = bossEvents.get(id);
+            if (bossEvent == null) return;
+
+            bossEvent.setProgress(progress);
+        }
+
+        @Override
+        public void updateName(UUID id, Component name) {
+            LerpingBossEvent bossEvent = bossEvents.get(id);
+            if (bossEvent == null) return;
+
+            bossEvent.setName(name);
+        }
+
+        @Override
+        public void updateStyle(UUID id, BossEvent.BossBarColor color, BossEvent.BossBarOverlay overlay) {
+            LerpingBossEvent bossEvent = bossEvents.get(id);
+            if (bossEvent == null) return;
+
+            bossEvent.setColor(color);
+            bossEvent.setOverlay(overlay);
+        }
+
+        @Override
+        public void updateProperties(UUID id, boolean darkenScreen, boolean playMusic, boolean createWorldFog) {
+            LerpingBossEvent bossEvent = bossEvents.get(id);
+            if (bossEvent == null) return;
+
+            bossEvent.setDarkenScreen(darkenScreen);
+            bossEvent.setPlayBossMusic(playMusic);
+            bossEvent.setCreateWorldFog(createWorldFog);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.mc.replay;
+
+import net.minecraft.network.protocol.Packet;
+
+/**
+ * A clientbound packet read from a recording, with the time it was received at, in
+ * milliseconds since the first packet of the recording.
+ */
+public record RecordedPacket(long timeMillis, Packet<?> packet) {}
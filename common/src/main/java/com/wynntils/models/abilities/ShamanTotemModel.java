@@ -5,15 +5,16 @@
 package com.wynntils.models.abilities;
 
 import com.wynntils.core.WynntilsMod;
+import com.wynntils.core.components.Handlers;
 import com.wynntils.core.components.Managers;
 import com.wynntils.core.components.Model;
 import com.wynntils.core.components.Models;
-import com.wynntils.core.text.CodedString;
-import com.wynntils.handlers.labels.event.EntityLabelChangedEvent;
 import com.wynntils.mc.event.AddEntityEvent;
 import com.wynntils.mc.event.ChangeCarriedItemEvent;
 import com.wynntils.mc.event.RemoveEntitiesEvent;
 import com.wynntils.models.abilities.event.TotemEvent;
+import com.wynntils.models.abilities.event.TotemTimerLabelEvent;
+import com.wynntils.models.abilities.labels.TotemTimerLabelParser;
 import com.wynntils.models.abilities.type.ShamanTotem;
 import com.wynntils.models.character.event.CharacterUpdateEvent;
 import com.wynntils.models.spells.event.SpellEvent;
@@ -24,8 +25,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import net.minecraft.core.Position;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.decoration.ArmorStand;
@@ -43,12 +42,13 @@ public class ShamanTotemModel extends Model {
     private long totemCastTimestamp = 0;
     private int nextTotemSlot = 1;
 
-    private static final Pattern SHAMAN_TOTEM_TIMER = Pattern.compile("§c(\\d+)s");
     private static final double TOTEM_SEARCH_RADIUS = 1.0;
     private static final int CAST_DELAY_MAX_MS = 450;
 
     public ShamanTotemModel(WorldStateModel worldStateModel) {
         super(List.of(worldStateModel));
+
+        Handlers.Label.registerParser(new TotemTimerLabelParser());
     }
 
     @SubscribeEvent
@@ -150,19 +150,11 @@ public class ShamanTotemModel extends Model {
     }
 
     @SubscribeEvent
-    public void onTotemRename(EntityLabelChangedEvent e) {
+    public void onTotemRename(TotemTimerLabelEvent e) {
         if (!Models.WorldState.onWorld()) return;
 
         Entity entity = e.getEntity();
-        if (!(entity instanceof ArmorStand)) return;
-
-        CodedString name = e.getName();
-        if (name.isEmpty()) return;
-
-        Matcher m = name.getMatcher(SHAMAN_TOTEM_TIMER);
-        if (!m.find()) return;
-
-        int parsedTime = Integer.parseInt(m.group(1));
+        int parsedTime = e.getTime();
         Position position = entity.position();
 
         int entityId = entity.getId();
@@ -0,0 +1,26 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.abilities.event;
+
+import com.wynntils.core.text.CodedString;
+import com.wynntils.handlers.labels.event.LabelIdentifiedEvent;
+import net.minecraft.world.entity.Entity;
+
+/**
+ * Fired when a label that looks like a shaman totem timer changes. The label is not necessarily
+ * bound to a totem of the player; see {@link TotemEvent.Updated} for that.
+ */
+public final class TotemTimerLabelEvent extends LabelIdentifiedEvent {
+    private final int time;
+
+    public TotemTimerLabelEvent(Entity entity, CodedString label, int time) {
+        super(entity, label);
+        this.time = time;
+    }
+
+    public int getTime() {
+        return time;
+    }
+}
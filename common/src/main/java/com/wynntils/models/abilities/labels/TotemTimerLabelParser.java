@@ -0,0 +1,33 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.abilities.labels;
+
+import com.wynntils.core.text.CodedString;
+import com.wynntils.handlers.labels.LabelParser;
+import com.wynntils.handlers.labels.event.LabelIdentifiedEvent;
+import com.wynntils.models.abilities.event.TotemTimerLabelEvent;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.decoration.ArmorStand;
+
+public final class TotemTimerLabelParser implements LabelParser {
+    private static final Pattern SHAMAN_TOTEM_TIMER = Pattern.compile("§c(\\d+)s");
+
+    @Override
+    public String getStyleCodes() {
+        return "c";
+    }
+
+    @Override
+    public LabelIdentifiedEvent getEvent(Entity entity, CodedString label) {
+        if (!(entity instanceof ArmorStand)) return null;
+
+        Matcher matcher = label.getMatcher(SHAMAN_TOTEM_TIMER);
+        if (!matcher.find()) return null;
+
+        return new TotemTimerLabelEvent(entity, label, Integer.parseInt(matcher.group(1)));
+    }
+}
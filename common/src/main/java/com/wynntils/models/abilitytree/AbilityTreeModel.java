@@ -9,6 +9,7 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.wynntils.core.components.Managers;
 import com.wynntils.core.components.Model;
+import com.wynntils.core.mod.StartupLoader;
 import com.wynntils.core.net.Download;
 import com.wynntils.core.net.UrlId;
 import com.wynntils.models.abilitytree.parser.AbilityTreeParser;
@@ -30,10 +31,12 @@ public class AbilityTreeModel extends Model {
     private Map<ClassType, AbilityTreeInfo> ABILIIY_TREE_MAP = new HashMap<>();
     private ParsedAbilityTree currentAbilityTree;
 
+    private final StartupLoader.DeferredLoad dataLoad;
+
     public AbilityTreeModel() {
         super(List.of());
 
-        reloadData();
+        dataLoad = StartupLoader.loadDeferred("Ability trees", this::reloadData);
     }
 
     @Override
@@ -62,14 +65,12 @@ public class AbilityTreeModel extends Model {
             return AbilityTreeNodeState.LOCKED;
         }
 
-        return currentAbilityTree.nodes().keySet().stream()
-                .filter(n -> n.equals(node))
-                .map(currentAbilityTree.nodes()::get)
-                .findFirst()
-                .orElse(AbilityTreeNodeState.LOCKED);
+        return currentAbilityTree.getNodeState(node);
     }
 
     public AbilityTreeInfo getAbilityTree(ClassType type) {
+        dataLoad.ensureStarted();
+
         return ABILIIY_TREE_MAP.get(type);
     }
 }
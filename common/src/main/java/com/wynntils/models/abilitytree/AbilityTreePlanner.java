@@ -0,0 +1,278 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.abilitytree;
+
+import com.wynntils.models.abilitytree.type.AbilityTreeInfo;
+import com.wynntils.models.abilitytree.type.AbilityTreePlan;
+import com.wynntils.models.abilitytree.type.AbilityTreeSkillNode;
+import com.wynntils.models.abilitytree.type.ArchetypeRequirement;
+import com.wynntils.utils.type.Pair;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Plans builds on an ability tree, without needing the ability tree container, e.g. to find out
+ * what it takes to get a set of abilities. The tree is indexed once: nodes are referred to by their
+ * position in the tree, and sets of nodes are bit sets.
+ * <p>
+ * A node can be unlocked if it is connected to an unlocked node, and it is not blocked by any
+ * unlocked node. The root node is always part of a plan.
+ */
+public final class AbilityTreePlanner {
+    private static final int ROOT_NODE_ID = 1;
+
+    private final List<AbilityTreeSkillNode> nodes;
+    private final Map<Integer, Integer> indexById = new HashMap<>();
+    private final Map<String, Integer> indexByName = new HashMap<>();
+    private final int[][] neighbors;
+    // Blocking goes both ways, so these sets are symmetric
+    private final BitSet[] blocks;
+    private final int rootIndex;
+
+    public AbilityTreePlanner(AbilityTreeInfo abilityTree) {
+        this.nodes = List.copyOf(abilityTree.nodes());
+
+        int size = nodes.size();
+        for (int i = 0; i < size; i++) {
+            AbilityTreeSkillNode node = nodes.get(i);
+            indexById.put(node.id(), i);
+            indexByName.putIfAbsent(node.name(), i);
+        }
+
+        // Connections are stored in the direction they were found in, but they can be walked both ways
+        BitSet[] connections = new BitSet[size];
+        blocks = new BitSet[size];
+        for (int i = 0; i < size; i++) {
+            connections[i] = new BitSet(size);
+            blocks[i] = new BitSet(size);
+        }
+        for (int i = 0; i < size; i++) {
+            AbilityTreeSkillNode node = nodes.get(i);
+
+            for (int connectedId : node.connections()) {
+                Integer other = indexById.get(connectedId);
+                if (other == null || other == i) continue;
+
+                connections[i].set(other);
+                connections[other].set(i);
+            }
+            for (String blockedName : node.blocks()) {
+                Integer other = indexByName.get(blockedName);
+                if (other == null || other == i) continue;
+
+                blocks[i].set(other);
+                blocks[other].set(i);
+            }
+        }
+
+        neighbors = new int[size][];
+        for (int i = 0; i < size; i++) {
+            neighbors[i] = connections[i].stream().toArray();
+        }
+
+        rootIndex = indexById.getOrDefault(ROOT_NODE_ID, 0);
+    }
+
+    public Optional<AbilityTreeSkillNode> getNode(String name) {
+        return Optional.ofNullable(indexByName.get(name)).map(nodes::get);
+    }
+
+    /**
+     * Plans the cheapest way, found greedily, to unlock the given abilities and the abilities they
+     * require. The targets are connected to the plan from the top of the tree down, each using the
+     * path with the lowest ability point cost that avoids blocked nodes.
+     */
+    public AbilityTreePlan plan(Collection<AbilityTreeSkillNode> targets) {
+        List<AbilityTreeSkillNode> unreachable = new ArrayList<>();
+        List<Pair<AbilityTreeSkillNode, AbilityTreeSkillNode>> conflicts = new ArrayList<>();
+
+        if (nodes.isEmpty()) {
+            unreachable.addAll(targets);
+            return new AbilityTreePlan(List.of(), 0, Map.of(), unreachable, conflicts, List.of());
+        }
+
+        BitSet required = getRequiredNodes(targets, unreachable);
+
+        BitSet planned = new BitSet(nodes.size());
+        BitSet excluded = new BitSet(nodes.size());
+        IntArrayList order = new IntArrayList();
+        addToPlan(rootIndex, planned, excluded, order, conflicts);
+
+        int[] requiredOrdered = required.stream()
+                .boxed()
+                .sorted(Comparator.comparing(index -> nodes.get(index).location()))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        for (int target : requiredOrdered) {
+            if (planned.get(target)) continue;
+
+            if (excluded.get(target)) {
+                // An already planned node blocks this one
+                BitSet blockers = (BitSet) blocks[target].clone();
+                blockers.and(planned);
+                blockers.stream().forEach(blocker -> conflicts.add(Pair.of(nodes.get(blocker), nodes.get(target))));
+                continue;
+            }
+
+            int[] path = findPath(target, planned, excluded);
+            if (path == null) {
+                unreachable.add(nodes.get(target));
+                continue;
+            }
+
+            for (int index : path) {
+                addToPlan(index, planned, excluded, order, conflicts);
+            }
+        }
+
+        List<AbilityTreeSkillNode> plannedNodes = new ArrayList<>(order.size());
+        int cost = 0;
+        Map<String, Integer> archetypeCounts = new TreeMap<>();
+        for (int index : order) {
+            AbilityTreeSkillNode node = nodes.get(index);
+            plannedNodes.add(node);
+            cost += node.cost();
+            if (node.archetype() != null) {
+                archetypeCounts.merge(node.archetype(), 1, Integer::sum);
+            }
+        }
+
+        return new AbilityTreePlan(
+                List.copyOf(plannedNodes),
+                cost,
+                Collections.unmodifiableMap(archetypeCounts),
+                List.copyOf(unreachable),
+                List.copyOf(conflicts),
+                getMissingArchetypes(plannedNodes, archetypeCounts));
+    }
+
+    private BitSet getRequiredNodes(Collection<AbilityTreeSkillNode> targets, List<AbilityTreeSkillNode> unknown) {
+        BitSet required = new BitSet(nodes.size());
+
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (AbilityTreeSkillNode target : targets) {
+            Integer index = indexById.get(target.id());
+            if (index == null || !nodes.get(index).equals(target)) {
+                unknown.add(target);
+                continue;
+            }
+            queue.add(index);
+        }
+
+        // Add the abilities the targets require, and the abilities those require
+        while (!queue.isEmpty()) {
+            int index = queue.poll();
+            if (required.get(index)) continue;
+            required.set(index);
+
+            String requiredAbility = nodes.get(index).requiredAbility();
+            if (requiredAbility == null) continue;
+
+            Integer requiredIndex = indexByName.get(requiredAbility);
+            if (requiredIndex != null) {
+                queue.add(requiredIndex);
+            }
+        }
+
+        return required;
+    }
+
+    private void addToPlan(
+            int index,
+            BitSet planned,
+            BitSet excluded,
+            IntArrayList order,
+            List<Pair<AbilityTreeSkillNode, AbilityTreeSkillNode>> conflicts) {
+        BitSet blockedPlanned = (BitSet) blocks[index].clone();
+        blockedPlanned.and(planned);
+        blockedPlanned.stream().forEach(other -> conflicts.add(Pair.of(nodes.get(other), nodes.get(index))));
+
+        planned.set(index);
+        excluded.or(blocks[index]);
+        order.add(index);
+    }
+
+    /**
+     * Finds the cheapest path from any planned node to the target, not passing excluded nodes.
+     * Returns the nodes of the path that are not yet planned, in unlock order, or null if there is
+     * no such path.
+     */
+    private int[] findPath(int target, BitSet planned, BitSet excluded) {
+        int[] cost = new int[nodes.size()];
+        int[] previous = new int[nodes.size()];
+        Arrays.fill(cost, Integer.MAX_VALUE);
+        Arrays.fill(previous, -1);
+
+        // Entries are {cost, index}
+        PriorityQueue<int[]> queue = new PriorityQueue<>(Comparator.comparingInt(entry -> entry[0]));
+        planned.stream().forEach(index -> {
+            cost[index] = 0;
+            queue.add(new int[] {0, index});
+        });
+
+        while (!queue.isEmpty()) {
+            int[] entry = queue.poll();
+            int index = entry[1];
+            if (entry[0] > cost[index]) continue;
+            if (index == target) break;
+
+            for (int neighbor : neighbors[index]) {
+                if (planned.get(neighbor) || excluded.get(neighbor)) continue;
+
+                int neighborCost = cost[index] + Math.max(0, nodes.get(neighbor).cost());
+                if (neighborCost < cost[neighbor]) {
+                    cost[neighbor] = neighborCost;
+                    previous[neighbor] = index;
+                    queue.add(new int[] {neighborCost, neighbor});
+                }
+            }
+        }
+
+        if (cost[target] == Integer.MAX_VALUE) return null;
+
+        IntArrayList path = new IntArrayList();
+        for (int index = target; !planned.get(index); index = previous[index]) {
+            path.add(0, index);
+        }
+        return path.toIntArray();
+    }
+
+    private static List<ArchetypeRequirement> getMissingArchetypes(
+            List<AbilityTreeSkillNode> plannedNodes, Map<String, Integer> archetypeCounts) {
+        Map<String, Integer> missing = new TreeMap<>();
+
+        for (AbilityTreeSkillNode node : plannedNodes) {
+            ArchetypeRequirement requirement = node.requiredArchetype();
+            if (requirement == null) continue;
+
+            // The node itself does not count towards its own requirement
+            int count = archetypeCounts.getOrDefault(requirement.name(), 0);
+            if (requirement.name().equals(node.archetype())) {
+                count--;
+            }
+
+            if (count < requirement.required()) {
+                missing.merge(requirement.name(), requirement.required(), Math::max);
+            }
+        }
+
+        return missing.entrySet().stream()
+                .map(entry -> new ArchetypeRequirement(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.abilitytree.type;
+
+import com.wynntils.utils.type.Pair;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The result of planning a build on an ability tree.
+ *
+ * @param nodes The nodes to unlock, in an order they can be unlocked in
+ * @param cost The total ability point cost of the nodes
+ * @param archetypeCounts The number of planned nodes of each archetype
+ * @param unreachable Targets that can not be reached without passing a blocked node
+ * @param conflicts Pairs of planned nodes that block each other
+ * @param missingArchetypes Archetype requirements of planned nodes that the plan does not fulfill
+ */
+public record AbilityTreePlan(
+        List<AbilityTreeSkillNode> nodes,
+        int cost,
+        Map<String, Integer> archetypeCounts,
+        List<AbilityTreeSkillNode> unreachable,
+        List<Pair<AbilityTreeSkillNode, AbilityTreeSkillNode>> conflicts,
+        List<ArchetypeRequirement> missingArchetypes) {
+    public boolean isValid() {
+        return unreachable.isEmpty() && conflicts.isEmpty() && missingArchetypes.isEmpty();
+    }
+}
@@ -5,8 +5,57 @@
 package com.wynntils.models.abilitytree.type;
 
 import com.google.common.collect.ImmutableMap;
+import java.util.BitSet;
 
 /**
  * This class represents the current ability tree, where all nodes have a state.
+ * <p>
+ * Node ids are assigned in parse order, so they are dense, and the states are kept as bit sets
+ * indexed by node id. Nodes that are in none of the sets are locked.
  */
-public record ParsedAbilityTree(ImmutableMap<AbilityTreeSkillNode, AbilityTreeNodeState> nodes) {}
+public final class ParsedAbilityTree {
+    private final ImmutableMap<AbilityTreeSkillNode, AbilityTreeNodeState> nodes;
+    private final AbilityTreeSkillNode[] nodesById;
+    private final BitSet unlockable = new BitSet();
+    private final BitSet unlocked = new BitSet();
+    private final BitSet blocked = new BitSet();
+
+    public ParsedAbilityTree(ImmutableMap<AbilityTreeSkillNode, AbilityTreeNodeState> nodes) {
+        this.nodes = nodes;
+
+        int maxId = nodes.keySet().stream()
+                .mapToInt(AbilityTreeSkillNode::id)
+                .max()
+                .orElse(0);
+        this.nodesById = new AbilityTreeSkillNode[Math.max(0, maxId) + 1];
+
+        nodes.forEach((node, state) -> {
+            if (node.id() < 0) return;
+
+            nodesById[node.id()] = node;
+            switch (state) {
+                case UNLOCKABLE -> unlockable.set(node.id());
+                case UNLOCKED -> unlocked.set(node.id());
+                case BLOCKED -> blocked.set(node.id());
+                case LOCKED -> {}
+            }
+        });
+    }
+
+    public ImmutableMap<AbilityTreeSkillNode, AbilityTreeNodeState> nodes() {
+        return nodes;
+    }
+
+    public AbilityTreeNodeState getNodeState(AbilityTreeSkillNode node) {
+        int id = node.id();
+        if (id < 0 || id >= nodesById.length || !node.equals(nodesById[id])) {
+            return AbilityTreeNodeState.LOCKED;
+        }
+
+        if (unlocked.get(id)) return AbilityTreeNodeState.UNLOCKED;
+        if (unlockable.get(id)) return AbilityTreeNodeState.UNLOCKABLE;
+        if (blocked.get(id)) return AbilityTreeNodeState.BLOCKED;
+
+        return AbilityTreeNodeState.LOCKED;
+    }
+}
@@ -34,6 +34,9 @@ import net.minecraftforge.eventbus.api.EventPriority;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 
 public final class CharacterModel extends Model {
+    // The id used when we are not playing a character
+    public static final String NO_CHARACTER_ID = "-";
+
     private static final Pattern CLASS_MENU_CLASS_PATTERN = Pattern.compile("§e- §r§7Class: §r§f(.+)");
     private static final Pattern CLASS_MENU_LEVEL_PATTERN = Pattern.compile("§e- §r§7Level: §r§f(\\d+)");
     private static final Pattern INFO_MENU_CLASS_PATTERN = Pattern.compile("§7Class: §r§f(.+)");
@@ -59,7 +62,7 @@ public final class CharacterModel extends Model {
     // This field is basically the slot id of the class,
     // meaning that if a class changes slots, the ID will not be persistent.
     // This was implemented the same way by legacy.
-    private String id = "-";
+    private String id = NO_CHARACTER_ID;
 
     public CharacterModel() {
         super(List.of());
@@ -86,7 +89,7 @@ public final class CharacterModel extends Model {
     public String getId() {
         // We can't return an empty string, otherwise we risk making our config file messed up (empty string map key for
         // ItemLockFeature)
-        if (!hasCharacter) return "-";
+        if (!hasCharacter) return NO_CHARACTER_ID;
 
         return id;
     }
@@ -0,0 +1,256 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.chathistory;
+
+import com.wynntils.core.WynntilsMod;
+import com.wynntils.core.components.Model;
+import com.wynntils.core.mod.event.WynncraftConnectionEvent;
+import com.wynntils.core.text.CodedString;
+import com.wynntils.handlers.chat.type.RecipientType;
+import com.wynntils.models.chathistory.type.ChatHistoryEntry;
+import com.wynntils.utils.mc.McUtils;
+import java.io.File;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+
+/**
+ * Keeps a searchable history of all chat messages on disk, in one {@link ChatHistorySegment} per day.
+ * All disk access happens on a separate thread; messages are queued and written in batches.
+ */
+public final class ChatHistoryModel extends Model {
+    private static final File CHAT_HISTORY_DIR = WynntilsMod.getModStorageDir("chathistory");
+    private static final long FLUSH_INTERVAL_MS = 5_000;
+    // Indexes are saved at least this often while messages keep coming in
+    private static final long INDEX_SAVE_INTERVAL_MS = 60_000;
+    private static final int MAX_LOADED_SEGMENTS = 8;
+    private static final String TYPE_FILTER_PREFIX = "type:";
+    private static final long SHUTDOWN_FLUSH_TIMEOUT_MS = 2_000;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+
+    private volatile int retentionDays = 30;
+    private volatile long maxSizeBytes = 100L * 1024 * 1024;
+
+    private final List<ChatHistoryEntry> pendingEntries = new ArrayList<>();
+    private boolean flushScheduled;
+    private boolean shutdownHookAdded;
+
+    // Only accessed from the executor thread
+    private final Map<String, ChatHistorySegment> loadedSegments = new LinkedHashMap<>(16, 0.75f, true);
+    private long lastIndexSave = System.currentTimeMillis();
+    private File userHistoryDir;
+
+    public ChatHistoryModel() {
+        super(List.of());
+    }
+
+    /**
+     * Sets how long messages are kept, and how much disk space the history may use. Whole days are deleted,
+     * oldest first, once either limit is exceeded.
+     */
+    public void setLimits(int retentionDays, int maxSizeMegabytes) {
+        this.retentionDays = Math.max(1, retentionDays);
+        this.maxSizeBytes = Math.max(1, maxSizeMegabytes) * 1024L * 1024L;
+
+        executor.execute(this::pruneSegments);
+    }
+
+    @SubscribeEvent
+    public void onWynncraftDisconnect(WynncraftConnectionEvent.Disconnected event) {
+        executor.execute(() -> {
+            flush();
+            saveIndexes();
+        });
+    }
+
+    public void addMessage(RecipientType recipientType, CodedString message) {
+        ChatHistoryEntry entry = new ChatHistoryEntry(
+                System.currentTimeMillis(), recipientType, message.getInternalCodedStringRepresentation());
+
+        synchronized (pendingEntries) {
+            pendingEntries.add(entry);
+
+            // Disconnecting is not always noticed when the game is closed, so write pending messages on exit.
+            // Messages are only recorded while the feature is enabled, so there is nothing to do otherwise.
+            if (!shutdownHookAdded) {
+                Runtime.getRuntime().addShutdownHook(new Thread(this::flushOnShutdown, "Wynntils Chat History Flush"));
+                shutdownHookAdded = true;
+            }
+
+            if (flushScheduled) return;
+            flushScheduled = true;
+        }
+
+        executor.schedule(this::flush, FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Searches the history for messages containing all words of the query, newest first. Words of
+     * the form {@code type:<recipient type>} restrict the search to that kind of message.
+     */
+    public CompletableFuture<List<ChatHistoryEntry>> search(String query, int limit) {
+        return CompletableFuture.supplyAsync(() -> searchSegments(query, limit), executor);
+    }
+
+    private List<ChatHistoryEntry> searchSegments(String query, int limit) {
+        // Make sure we can find the latest messages too
+        flush();
+
+        Set<String> tokens = new HashSet<>();
+        for (String word : query.split("\\s+")) {
+            if (word.toLowerCase(Locale.ROOT).startsWith(TYPE_FILTER_PREFIX)) {
+                String typeName = word.substring(TYPE_FILTER_PREFIX.length()).toUpperCase(Locale.ROOT);
+                try {
+                    tokens.add(ChatHistorySegment.getRecipientToken(RecipientType.valueOf(typeName)));
+                } catch (IllegalArgumentException e) {
+                    return List.of();
+                }
+                continue;
+            }
+
+            tokens.addAll(ChatHistorySegment.tokenize(word));
+        }
+        if (tokens.isEmpty()) return List.of();
+
+        // Segment names are ISO dates, so they sort chronologically
+        List<String> segmentNames = new ArrayList<>(ChatHistorySegment.getSegmentNames(getUserHistoryDir()));
+        segmentNames.sort(Comparator.reverseOrder());
+
+        List<ChatHistoryEntry> results = new ArrayList<>();
+        for (String segmentName : segmentNames) {
+            try {
+                results.addAll(getSegment(segmentName).search(tokens, limit - results.size()));
+            } catch (IOException e) {
+                WynntilsMod.warn("Could not search chat history segment " + segmentName, e);
+            }
+
+            if (results.size() >= limit) break;
+        }
+
+        return results;
+    }
+
+    private void flush() {
+        List<ChatHistoryEntry> entries;
+        synchronized (pendingEntries) {
+            entries = List.copyOf(pendingEntries);
+            pendingEntries.clear();
+            flushScheduled = false;
+        }
+        if (entries.isEmpty()) return;
+
+        // Group entries by day, keeping their order
+        Map<String, List<ChatHistoryEntry>> entriesByDay = new LinkedHashMap<>();
+        for (ChatHistoryEntry entry : entries) {
+            String day = LocalDate.ofInstant(Instant.ofEpochMilli(entry.timestamp()), ZoneId.systemDefault())
+                    .toString();
+            entriesByDay.computeIfAbsent(day, k -> new ArrayList<>()).add(entry);
+        }
+
+        entriesByDay.forEach((day, dayEntries) -> {
+            try {
+                getSegment(day).append(dayEntries);
+            } catch (IOException e) {
+                WynntilsMod.warn("Could not write chat history for " + day, e);
+            }
+        });
+
+        if (System.currentTimeMillis() - lastIndexSave > INDEX_SAVE_INTERVAL_MS) {
+            saveIndexes();
+            pruneSegments();
+        }
+    }
+
+    private void pruneSegments() {
+        File dir = getUserHistoryDir();
+
+        // Segment names are ISO dates, so they sort chronologically
+        List<String> segmentNames = new ArrayList<>(ChatHistorySegment.getSegmentNames(dir));
+        segmentNames.sort(Comparator.naturalOrder());
+
+        String oldestKept = LocalDate.now().minusDays(retentionDays - 1L).toString();
+        long totalSize = 0;
+        for (String segmentName : segmentNames) {
+            totalSize += ChatHistorySegment.getSize(dir, segmentName);
+        }
+
+        // Never delete the newest segment, which is still being written to
+        for (String segmentName : segmentNames.subList(0, Math.max(0, segmentNames.size() - 1))) {
+            if (segmentName.compareTo(oldestKept) >= 0 && totalSize <= maxSizeBytes) break;
+
+            totalSize -= ChatHistorySegment.getSize(dir, segmentName);
+            loadedSegments.remove(segmentName);
+            ChatHistorySegment.delete(dir, segmentName);
+        }
+    }
+
+    private void flushOnShutdown() {
+        try {
+            executor.submit(() -> {
+                        flush();
+                        saveIndexes();
+                    })
+                    .get(SHUTDOWN_FLUSH_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            WynntilsMod.warn("Could not save the chat history on exit", e);
+        }
+    }
+
+    private File getUserHistoryDir() {
+        if (userHistoryDir == null) {
+            userHistoryDir = new File(CHAT_HISTORY_DIR, McUtils.mc().getUser().getUuid());
+        }
+        return userHistoryDir;
+    }
+
+    private void saveIndexes() {
+        lastIndexSave = System.currentTimeMillis();
+        loadedSegments.forEach((name, segment) -> saveIndex(name, segment));
+    }
+
+    private ChatHistorySegment getSegment(String name) {
+        ChatHistorySegment segment = loadedSegments.get(name);
+        if (segment != null) return segment;
+
+        segment = ChatHistorySegment.load(getUserHistoryDir(), name);
+        loadedSegments.put(name, segment);
+
+        if (loadedSegments.size() > MAX_LOADED_SEGMENTS) {
+            Map.Entry<String, ChatHistorySegment> eldest =
+                    loadedSegments.entrySet().iterator().next();
+            saveIndex(eldest.getKey(), eldest.getValue());
+            loadedSegments.remove(eldest.getKey());
+        }
+
+        return segment;
+    }
+
+    private static void saveIndex(String name, ChatHistorySegment segment) {
+        if (!segment.isIndexDirty()) return;
+
+        try {
+            segment.saveIndex();
+        } catch (IOException e) {
+            WynntilsMod.warn("Could not save chat history index for " + name, e);
+        }
+    }
+}
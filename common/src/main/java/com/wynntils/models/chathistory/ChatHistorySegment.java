@@ -0,0 +1,369 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.chathistory;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.wynntils.core.WynntilsMod;
+import com.wynntils.handlers.chat.type.RecipientType;
+import com.wynntils.models.chathistory.type.ChatHistoryEntry;
+import com.wynntils.utils.FileUtils;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The chat history of a single day. Messages are appended to a gzip file, one gzip member per
+ * flush, and an inverted index from normalized words (and recipient types) to message ids is kept
+ * next to it. The index also records where each gzip member starts, so a search only has to
+ * decompress the members that contain a hit.
+ */
+public final class ChatHistorySegment {
+    // Not WynntilsMod.GSON, since every entry has to be written as a single line
+    private static final Gson GSON = new Gson();
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MAX_TOKEN_LENGTH = 32;
+    private static final String RECIPIENT_TOKEN_PREFIX = "@";
+
+    private static final int INDEX_VERSION = 1;
+    private static final String DATA_SUFFIX = ".log.gz";
+    private static final String INDEX_SUFFIX = ".idx";
+
+    private final File dataFile;
+    private final File indexFile;
+
+    // First message id and byte offset of every gzip member in the data file
+    private final IntArrayList blockFirstIds = new IntArrayList();
+    private final LongArrayList blockOffsets = new LongArrayList();
+    private final Map<String, IntArrayList> postings = new HashMap<>();
+
+    private int messageCount;
+    private long indexedDataLength;
+    private boolean indexDirty;
+
+    private ChatHistorySegment(File dir, String name) {
+        this.dataFile = new File(dir, name + DATA_SUFFIX);
+        this.indexFile = new File(dir, name + INDEX_SUFFIX);
+    }
+
+    public static ChatHistorySegment load(File dir, String name) {
+        ChatHistorySegment segment = new ChatHistorySegment(dir, name);
+        if (!segment.readIndex()) {
+            segment.rebuildIndex();
+        }
+        return segment;
+    }
+
+    public static List<String> getSegmentNames(File dir) {
+        String[] fileNames = dir.list((d, fileName) -> fileName.endsWith(DATA_SUFFIX));
+        if (fileNames == null) return List.of();
+
+        List<String> names = new ArrayList<>();
+        for (String fileName : fileNames) {
+            names.add(fileName.substring(0, fileName.length() - DATA_SUFFIX.length()));
+        }
+        return names;
+    }
+
+    /**
+     * Returns the number of bytes the segment takes up on disk, including its index.
+     */
+    public static long getSize(File dir, String name) {
+        return new File(dir, name + DATA_SUFFIX).length() + new File(dir, name + INDEX_SUFFIX).length();
+    }
+
+    public static void delete(File dir, String name) {
+        FileUtils.deleteFile(new File(dir, name + DATA_SUFFIX));
+        FileUtils.deleteFile(new File(dir, name + INDEX_SUFFIX));
+    }
+
+    public static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (token.isEmpty()) continue;
+
+            tokens.add(token.length() > MAX_TOKEN_LENGTH ? token.substring(0, MAX_TOKEN_LENGTH) : token);
+        }
+        return tokens;
+    }
+
+    public static String getRecipientToken(RecipientType recipientType) {
+        return RECIPIENT_TOKEN_PREFIX + recipientType.name();
+    }
+
+    public void append(List<ChatHistoryEntry> entries) throws IOException {
+        FileUtils.mkdir(dataFile.getParentFile());
+
+        long offset = dataFile.length();
+        try (Writer writer = new OutputStreamWriter(
+                new GZIPOutputStream(new FileOutputStream(dataFile, true)), StandardCharsets.UTF_8)) {
+            for (ChatHistoryEntry entry : entries) {
+                writer.write(GSON.toJson(entry));
+                writer.write('\n');
+            }
+        }
+
+        blockFirstIds.add(messageCount);
+        blockOffsets.add(offset);
+        for (ChatHistoryEntry entry : entries) {
+            indexEntry(messageCount++, entry);
+        }
+
+        indexedDataLength = dataFile.length();
+        indexDirty = true;
+    }
+
+    /**
+     * Returns up to {@code limit} entries containing all the given tokens, newest first.
+     */
+    public List<ChatHistoryEntry> search(Set<String> tokens, int limit) throws IOException {
+        if (tokens.isEmpty() || limit <= 0) return List.of();
+
+        List<IntArrayList> tokenPostings = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            IntArrayList ids = postings.get(token);
+            if (ids == null) return List.of();
+
+            tokenPostings.add(ids);
+        }
+        tokenPostings.sort(Comparator.comparingInt(IntArrayList::size));
+
+        // Walk the rarest token's postings backwards, so we can stop as soon as we have enough hits
+        IntArrayList candidates = tokenPostings.get(0);
+        int[] cursors = new int[tokenPostings.size()];
+        for (int i = 1; i < tokenPostings.size(); i++) {
+            cursors[i] = tokenPostings.get(i).size() - 1;
+        }
+
+        IntArrayList hits = new IntArrayList();
+        for (int c = candidates.size() - 1; c >= 0 && hits.size() < limit; c--) {
+            int id = candidates.getInt(c);
+            if (containsInAll(tokenPostings, cursors, id)) {
+                hits.add(id);
+            }
+        }
+
+        // Read them in file order, and return them newest first
+        Collections.reverse(hits);
+        List<ChatHistoryEntry> entries = readEntries(hits);
+        Collections.reverse(entries);
+        return entries;
+    }
+
+    public boolean isIndexDirty() {
+        return indexDirty;
+    }
+
+    public void saveIndex() throws IOException {
+        FileUtils.mkdir(indexFile.getParentFile());
+
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(indexFile))))) {
+            out.writeInt(INDEX_VERSION);
+            out.writeLong(indexedDataLength);
+            out.writeInt(messageCount);
+
+            out.writeInt(blockFirstIds.size());
+            for (int i = 0; i < blockFirstIds.size(); i++) {
+                out.writeInt(blockFirstIds.getInt(i));
+                out.writeLong(blockOffsets.getLong(i));
+            }
+
+            out.writeInt(postings.size());
+            for (Map.Entry<String, IntArrayList> entry : postings.entrySet()) {
+                out.writeUTF(entry.getKey());
+
+                IntArrayList ids = entry.getValue();
+                out.writeInt(ids.size());
+                // Ids are ascending, so store them as deltas
+                int previous = 0;
+                for (int i = 0; i < ids.size(); i++) {
+                    out.writeInt(ids.getInt(i) - previous);
+                    previous = ids.getInt(i);
+                }
+            }
+        }
+
+        indexDirty = false;
+    }
+
+    private static boolean containsInAll(List<IntArrayList> tokenPostings, int[] cursors, int id) {
+        for (int i = 1; i < tokenPostings.size(); i++) {
+            IntArrayList ids = tokenPostings.get(i);
+            while (cursors[i] >= 0 && ids.getInt(cursors[i]) > id) {
+                cursors[i]--;
+            }
+            if (cursors[i] < 0 || ids.getInt(cursors[i]) != id) return false;
+        }
+        return true;
+    }
+
+    private void indexEntry(int id, ChatHistoryEntry entry) {
+        Set<String> tokens = tokenize(entry.getMessage().getUnformattedString());
+        if (entry.recipientType() != null) {
+            tokens.add(getRecipientToken(entry.recipientType()));
+        }
+
+        for (String token : tokens) {
+            postings.computeIfAbsent(token, k -> new IntArrayList()).add(id);
+        }
+    }
+
+    private List<ChatHistoryEntry> readEntries(IntArrayList ids) throws IOException {
+        List<ChatHistoryEntry> entries = new ArrayList<>(ids.size());
+
+        int i = 0;
+        while (i < ids.size()) {
+            int block = findBlock(ids.getInt(i));
+            int blockEnd = block + 1 < blockFirstIds.size() ? blockFirstIds.getInt(block + 1) : messageCount;
+
+            try (FileInputStream in = new FileInputStream(dataFile)) {
+                in.getChannel().position(blockOffsets.getLong(block));
+                BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(new GZIPInputStream(in), StandardCharsets.UTF_8));
+
+                int lineId = blockFirstIds.getInt(block);
+                while (i < ids.size() && ids.getInt(i) < blockEnd) {
+                    String line = reader.readLine();
+                    if (line == null) break;
+
+                    if (lineId == ids.getInt(i)) {
+                        parseEntry(line, entries);
+                        i++;
+                    }
+                    lineId++;
+                }
+            }
+
+            // Skip whatever we could not read from this block
+            while (i < ids.size() && ids.getInt(i) < blockEnd) {
+                i++;
+            }
+        }
+
+        return entries;
+    }
+
+    private int findBlock(int id) {
+        int low = 0;
+        int high = blockFirstIds.size() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (blockFirstIds.getInt(mid) <= id) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private boolean readIndex() {
+        if (!indexFile.exists() || !dataFile.exists()) return false;
+
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new GZIPInputStream(new FileInputStream(indexFile))))) {
+            if (in.readInt() != INDEX_VERSION) return false;
+
+            indexedDataLength = in.readLong();
+            // The data file was written to after the index was saved, e.g. after a crash
+            if (indexedDataLength != dataFile.length()) return false;
+
+            messageCount = in.readInt();
+
+            int blockCount = in.readInt();
+            for (int i = 0; i < blockCount; i++) {
+                blockFirstIds.add(in.readInt());
+                blockOffsets.add(in.readLong());
+            }
+
+            int tokenCount = in.readInt();
+            for (int i = 0; i < tokenCount; i++) {
+                String token = in.readUTF();
+                int size = in.readInt();
+
+                IntArrayList ids = new IntArrayList(size);
+                int previous = 0;
+                for (int j = 0; j < size; j++) {
+                    previous += in.readInt();
+                    ids.add(previous);
+                }
+                postings.put(token, ids);
+            }
+
+            return true;
+        } catch (IOException e) {
+            WynntilsMod.warn("Could not read chat history index " + indexFile.getName() + ", rebuilding it", e);
+            return false;
+        }
+    }
+
+    private void rebuildIndex() {
+        blockFirstIds.clear();
+        blockOffsets.clear();
+        postings.clear();
+        messageCount = 0;
+        indexedDataLength = dataFile.length();
+        indexDirty = true;
+
+        if (!dataFile.exists()) return;
+
+        // We do not know where the gzip members start, so the whole file becomes a single block
+        blockFirstIds.add(0);
+        blockOffsets.add(0);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new FileInputStream(dataFile)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                List<ChatHistoryEntry> parsed = new ArrayList<>(1);
+                parseEntry(line, parsed);
+                // Unreadable lines still take up an id, so ids keep matching line numbers
+                if (!parsed.isEmpty()) {
+                    indexEntry(messageCount, parsed.get(0));
+                }
+                messageCount++;
+            }
+        } catch (IOException e) {
+            // A partially written member after a crash; keep what we could read
+            WynntilsMod.warn("Chat history segment " + dataFile.getName() + " is truncated", e);
+        }
+    }
+
+    private static void parseEntry(String line, List<ChatHistoryEntry> entries) {
+        try {
+            ChatHistoryEntry entry = GSON.fromJson(line, ChatHistoryEntry.class);
+            if (entry != null && entry.codedMessage() != null) {
+                entries.add(entry);
+            }
+        } catch (JsonParseException e) {
+            WynntilsMod.warn("Skipping unreadable chat history line: " + line);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.chathistory.type;
+
+import com.wynntils.core.text.CodedString;
+import com.wynntils.handlers.chat.type.RecipientType;
+
+public record ChatHistoryEntry(long timestamp, RecipientType recipientType, String codedMessage) {
+    public CodedString getMessage() {
+        return CodedString.fromString(codedMessage);
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.containers;
+
+import com.wynntils.models.containers.type.IndexedContainerItem;
+import com.wynntils.models.containers.type.IndexedContainerPage;
+import com.wynntils.models.containers.type.SearchableContainerType;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * The remembered container pages, with an inverted index from the tokens of their items to the
+ * pages having them. Pages captured since the last {@link #clearSession()} are confirmed; other
+ * pages may have been changed since, for instance by another guild member.
+ */
+public final class ContainerContentIndex {
+    private static final Pattern TOKEN_SPLIT_PATTERN = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private Map<String, IndexedContainerPage> pages;
+
+    // Inverted index from token to the keys of all pages with an item having that token
+    private final TreeMap<String, Set<String>> tokenIndex = new TreeMap<>();
+    private final Set<String> confirmedPageKeys = new HashSet<>();
+
+    public ContainerContentIndex(Map<String, IndexedContainerPage> pages) {
+        load(pages);
+    }
+
+    /**
+     * Indexes the given pages, replacing all pages indexed before. The map is updated when pages are added.
+     */
+    public void load(Map<String, IndexedContainerPage> pages) {
+        this.pages = pages;
+
+        tokenIndex.clear();
+        pages.values().forEach(this::addToTokenIndex);
+    }
+
+    /**
+     * Adds or replaces the page, and marks it as confirmed. Returns false if the page was already indexed
+     * with the same items.
+     */
+    public boolean putPage(IndexedContainerPage page) {
+        confirmedPageKeys.add(page.getKey());
+
+        IndexedContainerPage oldPage = pages.get(page.getKey());
+        if (page.equals(oldPage)) return false;
+
+        if (oldPage != null) {
+            removeFromTokenIndex(oldPage);
+        }
+        pages.put(page.getKey(), page);
+        addToTokenIndex(page);
+        return true;
+    }
+
+    public boolean isConfirmed(SearchableContainerType type, String containerName, int page) {
+        return confirmedPageKeys.contains(IndexedContainerPage.getKey(type, containerName, page));
+    }
+
+    public void clearSession() {
+        confirmedPageKeys.clear();
+    }
+
+    /**
+     * Returns the pages of the given container that had items matching the search when they were last viewed,
+     * in page order. An item matches if every word of the search is the start of a word of its name or lore.
+     */
+    public List<Integer> getMatchingPages(SearchableContainerType type, String containerName, String search) {
+        List<String> searchTokens = tokenize(search);
+        if (searchTokens.isEmpty()) return List.of();
+
+        // Find candidate pages from the token index, and only check the items on those pages
+        Set<String> candidatePageKeys = null;
+        for (String searchToken : searchTokens) {
+            Set<String> pageKeys = new HashSet<>();
+            tokenIndex
+                    .subMap(searchToken, true, searchToken + Character.MAX_VALUE, true)
+                    .values()
+                    .forEach(pageKeys::addAll);
+
+            if (candidatePageKeys == null) {
+                candidatePageKeys = pageKeys;
+            } else {
+                candidatePageKeys.retainAll(pageKeys);
+            }
+        }
+
+        return candidatePageKeys.stream()
+                .map(pages::get)
+                .filter(page -> page.type() == type && page.containerName().equals(containerName))
+                .filter(page -> page.items().stream().anyMatch(item -> matches(item, searchTokens)))
+                .map(IndexedContainerPage::page)
+                .sorted(Comparator.naturalOrder())
+                .toList();
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SPLIT_PATTERN.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private boolean matches(IndexedContainerItem item, List<String> searchTokens) {
+        return searchTokens.stream()
+                .allMatch(searchToken -> item.tokens().stream().anyMatch(token -> token.startsWith(searchToken)));
+    }
+
+    private void addToTokenIndex(IndexedContainerPage page) {
+        String key = page.getKey();
+        for (IndexedContainerItem item : page.items()) {
+            for (String token : item.tokens()) {
+                tokenIndex.computeIfAbsent(token, k -> new HashSet<>()).add(key);
+            }
+        }
+    }
+
+    private void removeFromTokenIndex(IndexedContainerPage page) {
+        String key = page.getKey();
+        for (IndexedContainerItem item : page.items()) {
+            for (String token : item.tokens()) {
+                Set<String> pageKeys = tokenIndex.get(token);
+                if (pageKeys == null) continue;
+
+                pageKeys.remove(key);
+                if (pageKeys.isEmpty()) {
+                    tokenIndex.remove(token);
+                }
+            }
+        }
+    }
+}
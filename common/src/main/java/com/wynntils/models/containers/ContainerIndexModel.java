@@ -0,0 +1,215 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.containers;
+
+import com.wynntils.core.components.Managers;
+import com.wynntils.core.components.Model;
+import com.wynntils.core.components.Models;
+import com.wynntils.core.storage.Storage;
+import com.wynntils.core.text.CodedString;
+import com.wynntils.mc.event.ContainerClickEvent;
+import com.wynntils.mc.event.ContainerCloseEvent;
+import com.wynntils.mc.event.ContainerSetContentEvent;
+import com.wynntils.mc.event.ContainerSetSlotEvent;
+import com.wynntils.mc.event.MenuEvent;
+import com.wynntils.models.containers.type.IndexedContainerItem;
+import com.wynntils.models.containers.type.IndexedContainerPage;
+import com.wynntils.models.containers.type.SearchableContainerType;
+import com.wynntils.models.items.ItemModel;
+import com.wynntils.models.worlds.event.WorldStateEvent;
+import com.wynntils.utils.mc.ComponentUtils;
+import com.wynntils.utils.mc.LoreUtils;
+import com.wynntils.utils.mc.McUtils;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import net.minecraft.client.gui.screens.inventory.AbstractContainerScreen;
+import net.minecraft.world.item.ItemStack;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+
+/**
+ * Remembers the contents of bank, misc bucket and guild bank pages whenever they are viewed,
+ * so they can be searched without paging through the container.
+ */
+public final class ContainerIndexModel extends Model {
+    private static final int PLAYER_INVENTORY_SIZE = 36;
+
+    private final Storage<Map<String, IndexedContainerPage>> indexedPages = new Storage<>(new TreeMap<>());
+    private final ContainerContentIndex index = new ContainerContentIndex(indexedPages.get());
+
+    private SearchableContainerType currentType;
+    private String currentContainerName;
+    private int currentPage;
+    private boolean currentPageConfirmed;
+    private int currentContainerId = -1;
+    private boolean captureScheduled = false;
+
+    public ContainerIndexModel(ContainerModel containerModel, ItemModel itemModel) {
+        super(List.of(containerModel, itemModel));
+    }
+
+    @Override
+    public void onStorageLoad() {
+        index.load(indexedPages.get());
+    }
+
+    public int getCurrentPage() {
+        return currentPage;
+    }
+
+    /**
+     * Returns whether the contents of the current page were already seen earlier in this session, before
+     * the page was opened this time.
+     */
+    public boolean isCurrentPageConfirmed() {
+        return currentPageConfirmed;
+    }
+
+    /**
+     * Returns the pages of the given container that had items matching the search when they were last viewed,
+     * in page order.
+     */
+    public List<Integer> getMatchingPages(SearchableContainerType type, String containerName, String search) {
+        return index.getMatchingPages(type, containerName, search);
+    }
+
+    public String getContainerName(SearchableContainerType type, CodedString title) {
+        // Guild banks have different contents depending on guild and access level, all included in the title
+        if (type == SearchableContainerType.GUILD_BANK) return ComponentUtils.stripFormatting(title);
+
+        return "";
+    }
+
+    @SubscribeEvent
+    public void onMenuOpened(MenuEvent.MenuOpenedEvent event) {
+        CodedString title = ComponentUtils.getCoded(event.getTitle());
+        SearchableContainerType type = SearchableContainerType.getContainerType(title);
+        if (type == null || !type.isIndexed()) {
+            resetCurrentContainer();
+            return;
+        }
+
+        if (type == SearchableContainerType.GUILD_BANK) {
+            // The guild bank title does not show the page, so it is tracked from page turn clicks
+            if (currentType != SearchableContainerType.GUILD_BANK) {
+                currentPage = 1;
+            }
+        } else {
+            Matcher matcher = title.getMatcher(type.getTitlePattern());
+            if (!matcher.matches()) {
+                resetCurrentContainer();
+                return;
+            }
+            currentPage = Integer.parseInt(matcher.group(1));
+        }
+
+        currentType = type;
+        currentContainerName = getContainerName(type, title);
+        currentContainerId = event.getContainerId();
+        updateCurrentPageConfirmed();
+    }
+
+    @SubscribeEvent
+    public void onContainerClick(ContainerClickEvent event) {
+        if (currentType != SearchableContainerType.GUILD_BANK) return;
+
+        if (event.getSlotNum() == currentType.getNextItemSlot()) {
+            onPageTurned(1);
+        } else if (event.getSlotNum() == currentType.getPreviousItemSlot()) {
+            onPageTurned(-1);
+        }
+    }
+
+    @SubscribeEvent
+    public void onContainerSetContent(ContainerSetContentEvent.Post event) {
+        if (event.getContainerId() != currentContainerId) return;
+
+        captureCurrentPage();
+    }
+
+    @SubscribeEvent
+    public void onContainerSetSlot(ContainerSetSlotEvent.Post event) {
+        if (event.getContainerId() != currentContainerId || captureScheduled) return;
+
+        // Slots often arrive in bursts, so only capture once they have all arrived
+        captureScheduled = true;
+        Managers.TickScheduler.scheduleNextTick("Container index capture", () -> {
+            captureScheduled = false;
+            captureCurrentPage();
+        });
+    }
+
+    @SubscribeEvent
+    public void onContainerClose(ContainerCloseEvent.Post event) {
+        resetCurrentContainer();
+    }
+
+    /**
+     * Must be called when a page turn is requested by sending a click directly, bypassing ContainerClickEvent.
+     */
+    public void onPageTurned(int direction) {
+        if (currentType != SearchableContainerType.GUILD_BANK) return;
+
+        currentPage = Math.max(1, currentPage + direction);
+        updateCurrentPageConfirmed();
+    }
+
+    @SubscribeEvent
+    public void onWorldStateChange(WorldStateEvent event) {
+        // Others may change the guild bank while we are away, so only trust pages seen this session
+        index.clearSession();
+    }
+
+    private void captureCurrentPage() {
+        if (currentType == null) return;
+        if (!(McUtils.mc().screen instanceof AbstractContainerScreen<?> screen)) return;
+        if (screen.getMenu().containerId != currentContainerId) return;
+
+        List<ItemStack> menuItems = screen.getMenu().getItems();
+        int containerSize = menuItems.size() - PLAYER_INVENTORY_SIZE;
+
+        List<IndexedContainerItem> items = new ArrayList<>();
+        for (int slot = 0; slot < containerSize; slot++) {
+            if (slot == currentType.getNextItemSlot() || slot == currentType.getPreviousItemSlot()) continue;
+
+            ItemStack itemStack = menuItems.get(slot);
+            if (itemStack.isEmpty()) continue;
+            if (Models.Item.getWynnItem(itemStack).isEmpty()) continue;
+
+            items.add(indexItem(itemStack));
+        }
+
+        IndexedContainerPage page = new IndexedContainerPage(currentType, currentContainerName, currentPage, items);
+        if (index.putPage(page)) {
+            indexedPages.touched();
+        }
+    }
+
+    private IndexedContainerItem indexItem(ItemStack itemStack) {
+        String name = ComponentUtils.getUnformatted(itemStack.getHoverName()).toLowerCase(Locale.ROOT);
+
+        Set<String> tokens = new LinkedHashSet<>(ContainerContentIndex.tokenize(name));
+        for (CodedString loreLine : LoreUtils.getLore(itemStack)) {
+            tokens.addAll(ContainerContentIndex.tokenize(ComponentUtils.stripFormatting(loreLine)));
+        }
+
+        return new IndexedContainerItem(name, List.copyOf(tokens));
+    }
+
+    private void updateCurrentPageConfirmed() {
+        currentPageConfirmed = index.isConfirmed(currentType, currentContainerName, currentPage);
+    }
+
+    private void resetCurrentContainer() {
+        currentType = null;
+        currentContainerName = null;
+        currentContainerId = -1;
+    }
+}
@@ -0,0 +1,13 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.containers.type;
+
+import java.util.List;
+
+/**
+ * An item as remembered by the container index. The name is lowercase and unformatted, and the
+ * tokens are the distinct lowercase words of the name and lore, including stat names and values.
+ */
+public record IndexedContainerItem(String name, List<String> tokens) {}
@@ -0,0 +1,18 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.containers.type;
+
+import java.util.List;
+
+public record IndexedContainerPage(
+        SearchableContainerType type, String containerName, int page, List<IndexedContainerItem> items) {
+    public String getKey() {
+        return getKey(type, containerName, page);
+    }
+
+    public static String getKey(SearchableContainerType type, String containerName, int page) {
+        return type.name() + "/" + containerName + "/" + page;
+    }
+}
@@ -8,28 +8,55 @@ import com.wynntils.core.text.CodedString;
 import java.util.regex.Pattern;
 
 public enum SearchableContainerType {
-    BANK(Pattern.compile("§0\\[Pg. (\\d+)\\] §8(.*)'s?§0 Bank"), Pattern.compile("§f§lPage \\d+§a >§2>§a>§2>§a>"), 8),
+    BANK(
+            Pattern.compile("§0\\[Pg. (\\d+)\\] §8(.*)'s?§0 Bank"),
+            Pattern.compile("§f§lPage \\d+§a >§2>§a>§2>§a>"),
+            8,
+            17,
+            true),
     MISC_BUCKET(
             Pattern.compile("§0\\[Pg. (\\d+)\\] §8(.*)'s?§0 Misc. Bucket"),
             Pattern.compile("§f§lPage \\d+§a >§2>§a>§2>§a>"),
-            8),
-    GUILD_BANK(Pattern.compile(".+: Bank \\(.+\\)"), Pattern.compile("§a§lNext Page"), 27),
-    MEMBER_LIST(Pattern.compile(".+: Members"), Pattern.compile("§a§lNext Page"), 28);
+            8,
+            17,
+            true),
+    GUILD_BANK(Pattern.compile(".+: Bank \\(.+\\)"), Pattern.compile("§a§lNext Page"), 27, 9, true),
+    MEMBER_LIST(Pattern.compile(".+: Members"), Pattern.compile("§a§lNext Page"), 28, -1, false);
 
     private final Pattern titlePattern;
     private final Pattern nextItemPattern;
     private final int nextItemSlot;
+    private final int previousItemSlot;
+    private final boolean indexed;
 
-    SearchableContainerType(Pattern titlePattern, Pattern nextItemPattern, int nextItemSlot) {
+    SearchableContainerType(
+            Pattern titlePattern, Pattern nextItemPattern, int nextItemSlot, int previousItemSlot, boolean indexed) {
         this.titlePattern = titlePattern;
         this.nextItemPattern = nextItemPattern;
         this.nextItemSlot = nextItemSlot;
+        this.previousItemSlot = previousItemSlot;
+        this.indexed = indexed;
+    }
+
+    public Pattern getTitlePattern() {
+        return titlePattern;
     }
 
     public int getNextItemSlot() {
         return nextItemSlot;
     }
 
+    public int getPreviousItemSlot() {
+        return previousItemSlot;
+    }
+
+    /**
+     * @return True if the contents of this container are remembered by the container index
+     */
+    public boolean isIndexed() {
+        return indexed;
+    }
+
     public Pattern getNextItemPattern() {
         return nextItemPattern;
     }
@@ -5,31 +5,45 @@
 package com.wynntils.models.cosmetics;
 
 import com.mojang.blaze3d.platform.NativeImage;
+import com.mojang.blaze3d.systems.RenderSystem;
 import com.wynntils.core.WynntilsMod;
 import com.wynntils.core.components.Model;
 import com.wynntils.core.components.Models;
+import com.wynntils.mc.event.TickEvent;
+import com.wynntils.models.cosmetics.type.CapeFrame;
 import com.wynntils.models.cosmetics.type.WynntilsCapeLayer;
 import com.wynntils.models.cosmetics.type.WynntilsElytraLayer;
 import com.wynntils.models.cosmetics.type.WynntilsLayer;
 import com.wynntils.models.players.WynntilsUser;
 import com.wynntils.models.players.type.CosmeticInfo;
+import com.wynntils.models.worlds.event.WorldStateEvent;
+import com.wynntils.models.worlds.type.WorldState;
 import com.wynntils.utils.mc.McUtils;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Base64;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+import net.minecraft.Util;
 import net.minecraft.client.model.PlayerModel;
 import net.minecraft.client.model.geom.EntityModelSet;
+import net.minecraft.client.multiplayer.ClientLevel;
 import net.minecraft.client.player.AbstractClientPlayer;
 import net.minecraft.client.renderer.entity.RenderLayerParent;
 import net.minecraft.client.renderer.texture.DynamicTexture;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.entity.player.PlayerModelPart;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import org.apache.commons.codec.digest.DigestUtils;
 
 public class CosmeticsModel extends Model {
     private static final BiFunction<
@@ -50,7 +64,14 @@ public class CosmeticsModel extends Model {
                             WynntilsLayer>>
             REGISTERED_LAYERS = List.of(CAPE_LAYER, ELYTRA_LAYER);
 
-    private final Map<UUID, ResourceLocation[]> cosmeticTextures = new ConcurrentHashMap<>();
+    private static final int EVICTION_CHECK_TICKS = 100;
+    private static final long CAPE_ANIMATION_MILLIS = 2000;
+
+    // Cape textures by a hash of their content, shared by all users with the same cape
+    private final Map<String, CapeTexture> capeTextures = new ConcurrentHashMap<>();
+    // The hash of the cape texture used by each user in range
+    private final Map<UUID, String> userTextureHashes = new ConcurrentHashMap<>();
+    private int ticksUntilEvictionCheck = EVICTION_CHECK_TICKS;
 
     public CosmeticsModel() {
         super(List.of());
@@ -70,10 +91,18 @@ public class CosmeticsModel extends Model {
     public boolean shouldRenderCape(Player player, boolean elytra) {
         if (player.isInvisible() || !player.isModelPartShown(PlayerModelPart.CAPE)) return false;
 
-        if (Models.Player.getUser(player.getUUID()) == null || getUserCosmeticTexture(player.getUUID()) == null)
+        WynntilsUser user = Models.Player.getUser(player.getUUID());
+        if (user == null) return false;
+
+        CapeTexture capeTexture = getUserCapeTexture(player.getUUID());
+        if (capeTexture == null) {
+            // Textures are released when players go out of range, so load them again if they are back
+            loadCosmeticTextures(player.getUUID(), user);
             return false;
+        }
+        if (!capeTexture.isUploaded()) return false;
 
-        CosmeticInfo cosmetics = Models.Player.getUser(player.getUUID()).cosmetics();
+        CosmeticInfo cosmetics = user.cosmetics();
         return (elytra ? cosmetics.hasElytra() : cosmetics.hasCape());
     }
 
@@ -86,55 +115,134 @@ public class CosmeticsModel extends Model {
         return Models.Player.getUser(player.getUUID()).cosmetics().hasEars();
     }
 
-    public ResourceLocation getCapeTexture(Player player) {
-        ResourceLocation[] textures = getUserCosmeticTexture(player.getUUID());
-        if (textures == null) return null;
+    public CapeFrame getCapeFrame(Player player) {
+        CapeTexture capeTexture = getUserCapeTexture(player.getUUID());
+        if (capeTexture == null || !capeTexture.isUploaded()) return null;
 
-        int frames = textures.length;
-        if (frames == 1) return textures[0];
+        int frames = capeTexture.frames;
+        if (frames == 1) return new CapeFrame(capeTexture.location, 0, 1);
 
         // This makes animated capes cycle through all their frames in 2 seconds,
         // regardless of how many frames of animation are present. Could be changed to an account setting?
-        double percentage = ((System.currentTimeMillis() % 2000) / 2000d);
+        double percentage = ((System.currentTimeMillis() % CAPE_ANIMATION_MILLIS) / (double) CAPE_ANIMATION_MILLIS);
         int currentFrame = (int) (frames * percentage);
-        return textures[currentFrame];
+        return new CapeFrame(capeTexture.location, currentFrame, frames);
     }
 
+    /**
+     * Starts loading the cape texture of the user, unless it is already loaded. The texture is
+     * decoded off the render thread, and only uploaded on it. Users with the same cape share
+     * a single texture.
+     */
     public void loadCosmeticTextures(UUID uuid, WynntilsUser user) {
-        try {
-            if (user.cosmetics().texture() == null || user.cosmetics().texture().isEmpty()) return;
-            if (cosmeticTextures.containsKey(uuid)) return;
+        String texture = user.cosmetics().texture();
+        if (texture == null || texture.isEmpty()) return;
+
+        String hash = DigestUtils.sha1Hex(texture);
+        String currentHash = userTextureHashes.get(uuid);
+        if (hash.equals(currentHash)) return;
+        if (currentHash != null) {
+            // The user has changed their cape
+            releaseUserTexture(uuid);
+        }
+
+        CapeTexture capeTexture = capeTextures.computeIfAbsent(hash, h -> startLoading(h, texture));
+        capeTexture.refCount++;
+        userTextureHashes.put(uuid, hash);
+    }
 
-            byte[] textureBytes = Base64.getDecoder().decode(user.cosmetics().texture());
-            ByteArrayInputStream byteStream = new ByteArrayInputStream(textureBytes);
-            NativeImage image = NativeImage.read(byteStream);
+    @SubscribeEvent
+    public void onTick(TickEvent event) {
+        if (--ticksUntilEvictionCheck > 0) return;
+        ticksUntilEvictionCheck = EVICTION_CHECK_TICKS;
+
+        ClientLevel level = McUtils.mc().level;
+        Set<UUID> inRange = level == null
+                ? Set.of()
+                : level.players().stream().map(Entity::getUUID).collect(Collectors.toSet());
+        List<UUID> outOfRange = userTextureHashes.keySet().stream()
+                .filter(uuid -> !inRange.contains(uuid))
+                .toList();
+        outOfRange.forEach(this::releaseUserTexture);
+    }
+
+    @SubscribeEvent
+    public void onWorldStateChange(WorldStateEvent event) {
+        if (event.getNewState() != WorldState.NOT_CONNECTED) return;
 
-            int frames = (image.getHeight() * 2) / image.getWidth();
-            int frameHeight = image.getHeight() / frames;
+        List.copyOf(userTextureHashes.keySet()).forEach(this::releaseUserTexture);
+    }
 
-            ResourceLocation[] locations = new ResourceLocation[frames];
-            String baseLocation = "wynntils:capes/" + uuid.toString().replace("-", "");
+    private CapeTexture getUserCapeTexture(UUID uuid) {
+        String hash = userTextureHashes.get(uuid);
+        return hash == null ? null : capeTextures.get(hash);
+    }
 
-            if (frames == 1) { // not animated
-                locations[0] = new ResourceLocation(baseLocation);
-                McUtils.mc().getTextureManager().register(locations[0], new DynamicTexture(image));
-            } else { // animated
-                for (int i = 0; i < frames; i++) {
-                    NativeImage frame = new NativeImage(frameHeight * 2, frameHeight, false);
-                    image.copyRect(frame, 0, frameHeight * i, 0, 0, frameHeight * 2, frameHeight, false, false);
+    private CapeTexture startLoading(String hash, String texture) {
+        CapeTexture capeTexture = new CapeTexture(new ResourceLocation("wynntils:capes/" + hash));
 
-                    locations[i] = new ResourceLocation(baseLocation + "/" + i);
-                    McUtils.mc().getTextureManager().register(locations[i], new DynamicTexture(frame));
-                }
-            }
+        CompletableFuture.supplyAsync(() -> decodeTexture(texture), Util.backgroundExecutor())
+                .whenComplete((image, throwable) -> {
+                    if (throwable != null) {
+                        WynntilsMod.warn("Could not decode cape texture " + hash, throwable);
+                        return;
+                    }
+
+                    RenderSystem.recordRenderCall(() -> uploadTexture(capeTexture, image));
+                });
+
+        return capeTexture;
+    }
 
-            cosmeticTextures.put(uuid, locations);
+    private static NativeImage decodeTexture(String texture) {
+        byte[] textureBytes = Base64.getDecoder().decode(texture);
+        try {
+            return NativeImage.read(new ByteArrayInputStream(textureBytes));
         } catch (IOException e) {
-            WynntilsMod.warn("IOException occurred while loading cosmetics for user " + uuid, e);
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void uploadTexture(CapeTexture capeTexture, NativeImage image) {
+        // Everyone using it went out of range while it was being decoded
+        if (capeTexture.refCount == 0) {
+            image.close();
+            return;
+        }
+
+        // Capes are twice as wide as high, animated capes have their frames stacked vertically
+        capeTexture.frames = Math.max(1, (image.getHeight() * 2) / image.getWidth());
+        McUtils.mc().getTextureManager().register(capeTexture.location, new DynamicTexture(image));
+        capeTexture.uploaded = true;
+    }
+
+    private void releaseUserTexture(UUID uuid) {
+        String hash = userTextureHashes.remove(uuid);
+        if (hash == null) return;
+
+        CapeTexture capeTexture = capeTextures.get(hash);
+        if (capeTexture == null || --capeTexture.refCount > 0) return;
+
+        capeTextures.remove(hash);
+        if (capeTexture.uploaded) {
+            capeTexture.uploaded = false;
+            McUtils.mc().getTextureManager().release(capeTexture.location);
         }
     }
 
-    public ResourceLocation[] getUserCosmeticTexture(UUID uuid) {
-        return cosmeticTextures.getOrDefault(uuid, null);
+    private static final class CapeTexture {
+        private final ResourceLocation location;
+        // Only changed on the render thread
+        private int refCount;
+        private int frames = 1;
+        private volatile boolean uploaded;
+
+        private CapeTexture(ResourceLocation location) {
+            this.location = location;
+        }
+
+        private boolean isUploaded() {
+            return uploaded;
+        }
     }
 }
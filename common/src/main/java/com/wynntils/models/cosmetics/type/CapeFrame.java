@@ -0,0 +1,20 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.cosmetics.type;
+
+import com.mojang.blaze3d.vertex.VertexConsumer;
+import net.minecraft.resources.ResourceLocation;
+
+/**
+ * A cape texture, and which frame of it to show. Animated capes are a single texture with all
+ * frames stacked vertically.
+ */
+public record CapeFrame(ResourceLocation texture, int frame, int frameCount) {
+    public VertexConsumer wrap(VertexConsumer vertexConsumer) {
+        if (frameCount == 1) return vertexConsumer;
+
+        return new FrameVertexConsumer(vertexConsumer, frame, frameCount);
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.cosmetics.type;
+
+import com.mojang.blaze3d.vertex.VertexConsumer;
+
+/**
+ * Maps the texture coordinates of a model made for a single frame onto one frame of a texture
+ * with all frames stacked vertically.
+ */
+final class FrameVertexConsumer implements VertexConsumer {
+    private final VertexConsumer delegate;
+    private final float vOffset;
+    private final float vScale;
+
+    FrameVertexConsumer(VertexConsumer delegate, int frame, int frameCount) {
+        this.delegate = delegate;
+        this.vOffset = (float) frame / frameCount;
+        this.vScale = 1f / frameCount;
+    }
+
+    // All methods return this, not the delegate, so chained calls keep going through the mapping
+
+    @Override
+    public VertexConsumer vertex(double x, double y, double z) {
+        delegate.vertex(x, y, z);
+        return this;
+    }
+
+    @Override
+    public VertexConsumer color(int red, int green, int blue, int alpha) {
+        delegate.color(red, green, blue, alpha);
+        return this;
+    }
+
+    @Override
+    public VertexConsumer uv(float u, float v) {
+        delegate.uv(u, vOffset + v * vScale);
+        return this;
+    }
+
+    @Override
+    public VertexConsumer overlayCoords(int u, int v) {
+        delegate.overlayCoords(u, v);
+        return this;
+    }
+
+    @Override
+    public VertexConsumer uv2(int u, int v) {
+        delegate.uv2(u, v);
+        return this;
+    }
+
+    @Override
+    public VertexConsumer normal(float x, float y, float z) {
+        delegate.normal(x, y, z);
+        return this;
+    }
+
+    @Override
+    public void endVertex() {
+        delegate.endVertex();
+    }
+
+    @Override
+    public void vertex(
+            float x,
+            float y,
+            float z,
+            float red,
+            float green,
+            float blue,
+            float alpha,
+            float texU,
+            float texV,
+            int overlayUV,
+            int lightmapUV,
+            float normalX,
+            float normalY,
+            float normalZ) {
+        // Keep the fast path of the delegate for whole vertices
+        delegate.vertex(
+                x,
+                y,
+                z,
+                red,
+                green,
+                blue,
+                alpha,
+                texU,
+                vOffset + texV * vScale,
+                overlayUV,
+                lightmapUV,
+                normalX,
+                normalY,
+                normalZ);
+    }
+
+    @Override
+    public void defaultColor(int red, int green, int blue, int alpha) {
+        delegate.defaultColor(red, green, blue, alpha);
+    }
+
+    @Override
+    public void unsetDefaultColor() {
+        delegate.unsetDefaultColor();
+    }
+}
@@ -17,7 +17,6 @@ import net.minecraft.client.renderer.MultiBufferSource;
 import net.minecraft.client.renderer.RenderType;
 import net.minecraft.client.renderer.entity.RenderLayerParent;
 import net.minecraft.client.renderer.texture.OverlayTexture;
-import net.minecraft.resources.ResourceLocation;
 import net.minecraft.util.Mth;
 
 public final class WynntilsCapeLayer extends WynntilsLayer {
@@ -41,8 +40,8 @@ public final class WynntilsCapeLayer extends WynntilsLayer {
         if (!Managers.Feature.getFeatureInstance(WynntilsCosmeticsFeature.class).isEnabled()) return;
         if (!Models.Cosmetics.shouldRenderCape(player, false)) return;
 
-        ResourceLocation texture = Models.Cosmetics.getCapeTexture(player);
-        if (texture == null) return;
+        CapeFrame capeFrame = Models.Cosmetics.getCapeFrame(player);
+        if (capeFrame == null) return;
 
         poseStack.pushPose();
         poseStack.translate(0.0f, 0.0f, 0.125f);
@@ -79,7 +78,7 @@ public final class WynntilsCapeLayer extends WynntilsLayer {
         poseStack.mulPose(Axis.ZP.rotationDegrees(capeZ / 2.0f));
         poseStack.mulPose(Axis.YP.rotationDegrees(180.0f - capeZ / 2.0f));
 
-        VertexConsumer vertexConsumer = buffer.getBuffer(RenderType.entitySolid(texture));
+        VertexConsumer vertexConsumer = capeFrame.wrap(buffer.getBuffer(RenderType.entitySolid(capeFrame.texture())));
         this.getParentModel().renderCloak(poseStack, vertexConsumer, packedLight, OverlayTexture.NO_OVERLAY);
         poseStack.popPose();
     }
@@ -19,7 +19,6 @@ import net.minecraft.client.renderer.RenderType;
 import net.minecraft.client.renderer.entity.ItemRenderer;
 import net.minecraft.client.renderer.entity.RenderLayerParent;
 import net.minecraft.client.renderer.texture.OverlayTexture;
-import net.minecraft.resources.ResourceLocation;
 
 public final class WynntilsElytraLayer extends WynntilsLayer {
     private final ElytraModel<AbstractClientPlayer> elytraModel;
@@ -46,15 +45,15 @@ public final class WynntilsElytraLayer extends WynntilsLayer {
         if (!Managers.Feature.getFeatureInstance(WynntilsCosmeticsFeature.class).isEnabled()) return;
         if (!Models.Cosmetics.shouldRenderCape(player, true)) return;
 
-        ResourceLocation texture = Models.Cosmetics.getCapeTexture(player);
-        if (texture == null) return;
+        CapeFrame capeFrame = Models.Cosmetics.getCapeFrame(player);
+        if (capeFrame == null) return;
 
         poseStack.pushPose();
         poseStack.translate(0.0F, 0.0F, 0.125F);
         this.getParentModel().copyPropertiesTo(this.elytraModel);
         this.elytraModel.setupAnim(player, limbSwing, limbSwingAmount, ageInTicks, netHeadYaw, headPitch);
-        VertexConsumer vertexConsumer =
-                ItemRenderer.getArmorFoilBuffer(buffer, RenderType.armorCutoutNoCull(texture), false, false);
+        VertexConsumer vertexConsumer = capeFrame.wrap(ItemRenderer.getArmorFoilBuffer(
+                buffer, RenderType.armorCutoutNoCull(capeFrame.texture()), false, false));
         this.elytraModel.renderToBuffer(
                 poseStack, vertexConsumer, packedLight, OverlayTexture.NO_OVERLAY, 1.0F, 1.0F, 1.0F, 1.0F);
         poseStack.popPose();
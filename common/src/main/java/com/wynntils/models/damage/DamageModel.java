@@ -8,24 +8,20 @@ import com.wynntils.core.WynntilsMod;
 import com.wynntils.core.components.Handlers;
 import com.wynntils.core.components.Model;
 import com.wynntils.handlers.bossbar.TrackedBar;
-import com.wynntils.handlers.labels.event.EntityLabelChangedEvent;
+import com.wynntils.models.damage.labels.DamageLabelParser;
 import com.wynntils.models.damage.type.DamageDealtEvent;
+import com.wynntils.models.damage.type.DamageLabelEvent;
 import com.wynntils.models.damage.type.FocusedDamageEvent;
 import com.wynntils.models.stats.type.DamageType;
 import com.wynntils.utils.type.TimedSet;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import net.minecraft.world.entity.decoration.ArmorStand;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 
 public final class DamageModel extends Model {
-    // https://regexr.com/7968a
-    private static final Pattern DAMAGE_LABEL_PATTERN = Pattern.compile("(?:§[24bcef]-(\\d+) ([❤✦✤❉❋✹]) )");
-
     // https://regexr.com/7965g
     private static final Pattern DAMAGE_BAR_PATTERN = Pattern.compile("^§[ac](.*)§r - §c(\\d+)§4❤(?:§r - §7(.*)§7)?$");
 
@@ -41,6 +37,7 @@ public final class DamageModel extends Model {
     public DamageModel() {
         super(List.of());
         Handlers.BossBar.registerBar(damageBar);
+        Handlers.Label.registerParser(new DamageLabelParser());
     }
 
     public long getLastDamageDealtTimestamp() {
@@ -48,21 +45,8 @@ public final class DamageModel extends Model {
     }
 
     @SubscribeEvent
-    public void onLabelChange(EntityLabelChangedEvent event) {
-        if (!(event.getEntity() instanceof ArmorStand)) return;
-
-        Matcher matcher = event.getName().getMatcher(DAMAGE_LABEL_PATTERN);
-        if (!matcher.find()) return;
-
-        Map<DamageType, Integer> damages = new HashMap<>();
-        // Restart finding from the beginning
-        matcher.reset();
-        while (matcher.find()) {
-            int damage = Integer.parseInt(matcher.group(1));
-            DamageType damageType = DamageType.fromSymbol(matcher.group(2));
-
-            damages.put(damageType, damage);
-        }
+    public void onDamageLabel(DamageLabelEvent event) {
+        Map<DamageType, Integer> damages = event.getDamages();
 
         WynntilsMod.postEvent(new DamageDealtEvent(damages));
 
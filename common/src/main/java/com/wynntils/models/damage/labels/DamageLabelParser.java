@@ -0,0 +1,47 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.damage.labels;
+
+import com.wynntils.core.text.CodedString;
+import com.wynntils.handlers.labels.LabelParser;
+import com.wynntils.handlers.labels.event.LabelIdentifiedEvent;
+import com.wynntils.models.damage.type.DamageLabelEvent;
+import com.wynntils.models.stats.type.DamageType;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.decoration.ArmorStand;
+
+public final class DamageLabelParser implements LabelParser {
+    // https://regexr.com/7968a
+    private static final Pattern DAMAGE_LABEL_PATTERN = Pattern.compile("(?:§[24bcef]-(\\d+) ([❤✦✤❉❋✹]) )");
+
+    @Override
+    public String getStyleCodes() {
+        return "24bcef";
+    }
+
+    @Override
+    public LabelIdentifiedEvent getEvent(Entity entity, CodedString label) {
+        if (!(entity instanceof ArmorStand)) return null;
+
+        Matcher matcher = label.getMatcher(DAMAGE_LABEL_PATTERN);
+        if (!matcher.find()) return null;
+
+        Map<DamageType, Integer> damages = new HashMap<>();
+        // Restart finding from the beginning
+        matcher.reset();
+        while (matcher.find()) {
+            int damage = Integer.parseInt(matcher.group(1));
+            DamageType damageType = DamageType.fromSymbol(matcher.group(2));
+
+            damages.put(damageType, damage);
+        }
+
+        return new DamageLabelEvent(entity, label, damages);
+    }
+}
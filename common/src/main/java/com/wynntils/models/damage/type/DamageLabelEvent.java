@@ -0,0 +1,27 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.damage.type;
+
+import com.wynntils.core.text.CodedString;
+import com.wynntils.handlers.labels.event.LabelIdentifiedEvent;
+import com.wynntils.models.stats.type.DamageType;
+import java.util.Map;
+import net.minecraft.world.entity.Entity;
+
+/**
+ * Fired when a damage label appears above a mob, with the damage of each type shown in the label.
+ */
+public final class DamageLabelEvent extends LabelIdentifiedEvent {
+    private final Map<DamageType, Integer> damages;
+
+    public DamageLabelEvent(Entity entity, CodedString label, Map<DamageType, Integer> damages) {
+        super(entity, label);
+        this.damages = damages;
+    }
+
+    public Map<DamageType, Integer> getDamages() {
+        return damages;
+    }
+}
@@ -10,11 +10,14 @@ import com.wynntils.core.text.CodedString;
 import com.wynntils.core.text.StyledText;
 import com.wynntils.handlers.container.ScriptedContainerQuery;
 import com.wynntils.handlers.container.type.ContainerContent;
+import com.wynntils.models.discoveries.type.DiscoveryPageSnapshot;
 import com.wynntils.utils.mc.LoreUtils;
 import com.wynntils.utils.mc.McUtils;
+import com.wynntils.utils.wynn.ContainerUtils;
 import com.wynntils.utils.wynn.InventoryUtils;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import net.minecraft.ChatFormatting;
@@ -26,6 +29,8 @@ public class DiscoveryContainerQueries {
     private static final int NEXT_PAGE_SLOT = 8;
     private static final int DISCOVERIES_SLOT = 35;
     private static final int SECRET_DISCOVERIES_SLOT = 44;
+    private static final int DISCOVERY_ROWS = 6;
+    private static final int DISCOVERY_COLUMNS = 7;
 
     private static final int DISCOVERIES_PER_PAGE =
             41; // 6 * 7 items, but - 1 because last item is missing because of Wynn bug
@@ -38,6 +43,7 @@ public class DiscoveryContainerQueries {
     public static final StyledText SECRET_DISCOVERIES_STRING = StyledText.fromString("§b§lSecret Discoveries");
 
     private List<DiscoveryInfo> newDiscoveries;
+    private List<DiscoveryPageSnapshot> newDiscoveryPages;
 
     public void queryDiscoveries() {
         ScriptedContainerQuery.QueryBuilder queryBuilder = ScriptedContainerQuery.builder("Discovery Count Query")
@@ -143,30 +149,49 @@ public class DiscoveryContainerQueries {
     private void processDiscoveryPage(ContainerContent container, int page, int lastPage, boolean secretDiscovery) {
         if (page == 1) {
             newDiscoveries = new ArrayList<>();
+            newDiscoveryPages = new ArrayList<>();
         }
 
-        for (int row = 0; row < 6; row++) {
-            for (int col = 0; col < 7; col++) {
-                int slot = row * 9 + col;
-
-                ItemStack itemStack = container.items().get(slot);
-                DiscoveryInfo discoveryInfo = DiscoveryInfo.parseFromItemStack(itemStack);
-                if (discoveryInfo == null) continue;
-
-                newDiscoveries.add(discoveryInfo);
-            }
-        }
+        DiscoveryPageSnapshot pageSnapshot = getPageSnapshot(container, page, secretDiscovery);
+        newDiscoveryPages.add(pageSnapshot);
+        newDiscoveries.addAll(pageSnapshot.discoveries());
 
         if (page == lastPage) {
             // Last page finished
             if (secretDiscovery) {
                 // Secret discoveries finished
-                Models.Discovery.setSecretDiscoveries(newDiscoveries);
+                Models.Discovery.setSecretDiscoveries(newDiscoveries, newDiscoveryPages);
             } else {
                 // Normal discoveries finished
-                Models.Discovery.setDiscoveries(newDiscoveries);
+                Models.Discovery.setDiscoveries(newDiscoveries, newDiscoveryPages);
+            }
+        }
+    }
+
+    private DiscoveryPageSnapshot getPageSnapshot(ContainerContent container, int page, boolean secretDiscovery) {
+        int contentHash = ContainerUtils.getContentHash(container.items(), DISCOVERY_ROWS, DISCOVERY_COLUMNS);
+
+        // If the page looks exactly like when we last parsed it, there is no need to parse it again
+        Optional<DiscoveryPageSnapshot> previousSnapshot =
+                Models.Discovery.getDiscoveryPageSnapshot(page, secretDiscovery);
+        if (previousSnapshot.isPresent() && previousSnapshot.get().contentHash() == contentHash) {
+            return previousSnapshot.get();
+        }
+
+        List<DiscoveryInfo> pageDiscoveries = new ArrayList<>();
+        for (int row = 0; row < DISCOVERY_ROWS; row++) {
+            for (int col = 0; col < DISCOVERY_COLUMNS; col++) {
+                int slot = row * 9 + col;
+
+                ItemStack itemStack = container.items().get(slot);
+                DiscoveryInfo discoveryInfo = DiscoveryInfo.parseFromItemStack(itemStack);
+                if (discoveryInfo == null) continue;
+
+                pageDiscoveries.add(discoveryInfo);
             }
         }
+
+        return new DiscoveryPageSnapshot(page, contentHash, pageDiscoveries);
     }
 
     private static String getDiscoveryPageTitleRegex(int pageNum) {
@@ -27,7 +27,7 @@ public class DiscoveryInfo {
     private final int minLevel;
     private final boolean discovered;
     private final List<String> requirements;
-    private List<Component> displayLore = null;
+    private transient List<Component> displayLore = null;
 
     public DiscoveryInfo(DiscoveryProfile discoveryProfile) {
         this.name = discoveryProfile.getName();
@@ -12,14 +12,20 @@ import com.wynntils.core.components.Models;
 import com.wynntils.core.net.ApiResponse;
 import com.wynntils.core.net.Download;
 import com.wynntils.core.net.UrlId;
+import com.wynntils.core.storage.Storage;
+import com.wynntils.models.character.CharacterModel;
+import com.wynntils.models.character.event.CharacterUpdateEvent;
 import com.wynntils.models.characterstats.CombatXpModel;
 import com.wynntils.models.discoveries.event.DiscoveriesUpdatedEvent;
 import com.wynntils.models.discoveries.profile.DiscoveryProfile;
+import com.wynntils.models.discoveries.type.DiscoveryPageSnapshot;
+import com.wynntils.models.discoveries.type.DiscoverySnapshot;
 import com.wynntils.models.discoveries.type.DiscoveryType;
 import com.wynntils.models.map.CompassModel;
 import com.wynntils.models.quests.QuestModel;
 import com.wynntils.models.territories.TerritoryModel;
 import com.wynntils.models.territories.profile.TerritoryProfile;
+import com.wynntils.models.worlds.WorldStateModel;
 import com.wynntils.models.worlds.event.WorldStateEvent;
 import com.wynntils.screens.maps.MainMapScreen;
 import com.wynntils.utils.mc.McUtils;
@@ -28,6 +34,8 @@ import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
 import java.util.stream.Stream;
 import net.minecraft.ChatFormatting;
 import net.minecraft.network.chat.Component;
@@ -37,6 +45,9 @@ import net.minecraftforge.eventbus.api.SubscribeEvent;
 public final class DiscoveryModel extends Model {
     private static final DiscoveryContainerQueries CONTAINER_QUERIES = new DiscoveryContainerQueries();
 
+    // The discoveries as last scanned, per character id
+    private final Storage<Map<String, DiscoverySnapshot>> discoverySnapshots = new Storage<>(new TreeMap<>());
+
     private List<DiscoveryInfo> discoveries = List.of();
     private List<DiscoveryInfo> secretDiscoveries = List.of();
     private List<DiscoveryInfo> discoveryInfoList = new ArrayList<>();
@@ -44,12 +55,18 @@ public final class DiscoveryModel extends Model {
     private List<Component> discoveriesTooltip = List.of();
     private List<Component> secretDiscoveriesTooltip = List.of();
 
+    // Whether the discoveries have been scanned this session, or only restored from the last snapshot
+    private boolean discoveriesScanned;
+    private boolean secretDiscoveriesScanned;
+
     public DiscoveryModel(
+            CharacterModel characterModel,
             CombatXpModel combatXpModel,
             CompassModel compassModel,
             QuestModel questModel,
-            TerritoryModel territoryModel) {
-        super(List.of(combatXpModel, compassModel, questModel, territoryModel));
+            TerritoryModel territoryModel,
+            WorldStateModel worldStateModel) {
+        super(List.of(characterModel, combatXpModel, compassModel, questModel, territoryModel, worldStateModel));
     }
 
     @Override
@@ -61,6 +78,25 @@ public final class DiscoveryModel extends Model {
     public void onWorldStateChanged(WorldStateEvent e) {
         discoveries = List.of();
         secretDiscoveries = List.of();
+        discoveriesScanned = false;
+        secretDiscoveriesScanned = false;
+    }
+
+    @SubscribeEvent
+    public void onCharacterUpdate(CharacterUpdateEvent e) {
+        // The character id is only reliable once we are in the world
+        if (!Models.WorldState.onWorld()) return;
+
+        // Show the discoveries as we last saw them for this character, until they have been rescanned
+        DiscoverySnapshot snapshot = getDiscoverySnapshot();
+        if (!discoveriesScanned && !snapshot.discoveryPages().isEmpty()) {
+            discoveries = getSnapshotDiscoveries(snapshot.discoveryPages());
+            WynntilsMod.postEvent(new DiscoveriesUpdatedEvent.Normal());
+        }
+        if (!secretDiscoveriesScanned && !snapshot.secretDiscoveryPages().isEmpty()) {
+            secretDiscoveries = getSnapshotDiscoveries(snapshot.secretDiscoveryPages());
+            WynntilsMod.postEvent(new DiscoveriesUpdatedEvent.Secret());
+        }
     }
 
     public void openDiscoveryOnMap(DiscoveryInfo discoveryInfo) {
@@ -101,16 +137,24 @@ public final class DiscoveryModel extends Model {
         CONTAINER_QUERIES.queryDiscoveries();
     }
 
-    public void setDiscoveries(List<DiscoveryInfo> newDiscoveries) {
+    public void setDiscoveries(List<DiscoveryInfo> newDiscoveries, List<DiscoveryPageSnapshot> newPages) {
         discoveries = newDiscoveries;
+        discoveriesScanned = true;
+        storeDiscoverySnapshot(getDiscoverySnapshot().withDiscoveryPages(newPages));
         WynntilsMod.postEvent(new DiscoveriesUpdatedEvent.Normal());
     }
 
-    public void setSecretDiscoveries(List<DiscoveryInfo> newDiscoveries) {
+    public void setSecretDiscoveries(List<DiscoveryInfo> newDiscoveries, List<DiscoveryPageSnapshot> newPages) {
         secretDiscoveries = newDiscoveries;
+        secretDiscoveriesScanned = true;
+        storeDiscoverySnapshot(getDiscoverySnapshot().withSecretDiscoveryPages(newPages));
         WynntilsMod.postEvent(new DiscoveriesUpdatedEvent.Secret());
     }
 
+    Optional<DiscoveryPageSnapshot> getDiscoveryPageSnapshot(int page, boolean secretDiscovery) {
+        return getDiscoverySnapshot().getPage(page, secretDiscovery);
+    }
+
     public void setDiscoveriesTooltip(List<Component> newTooltip) {
         discoveriesTooltip = newTooltip;
     }
@@ -135,6 +179,22 @@ public final class DiscoveryModel extends Model {
         return discoveryInfoList;
     }
 
+    private DiscoverySnapshot getDiscoverySnapshot() {
+        return discoverySnapshots.get().getOrDefault(Models.Character.getId(), DiscoverySnapshot.EMPTY);
+    }
+
+    private void storeDiscoverySnapshot(DiscoverySnapshot snapshot) {
+        String characterId = Models.Character.getId();
+        if (characterId.equals(CharacterModel.NO_CHARACTER_ID)) return;
+
+        discoverySnapshots.get().put(characterId, snapshot);
+        discoverySnapshots.touched();
+    }
+
+    private static List<DiscoveryInfo> getSnapshotDiscoveries(List<DiscoveryPageSnapshot> pages) {
+        return pages.stream().flatMap(page -> page.discoveries().stream()).toList();
+    }
+
     private void locateSecretDiscovery(String name, DiscoveryOpenAction action) {
         ApiResponse apiResponse = Managers.Net.callApi(UrlId.API_WIKI_DISCOVERY_QUERY, Map.of("name", name));
         apiResponse.handleJsonObject(json -> {
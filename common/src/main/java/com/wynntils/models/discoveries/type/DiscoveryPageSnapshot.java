@@ -0,0 +1,14 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.discoveries.type;
+
+import com.wynntils.models.discoveries.DiscoveryInfo;
+import java.util.List;
+
+/**
+ * The discoveries parsed from one discovery page, together with a hash of the page's raw contents
+ * so we can tell if the page has to be parsed again.
+ */
+public record DiscoveryPageSnapshot(int page, int contentHash, List<DiscoveryInfo> discoveries) {}
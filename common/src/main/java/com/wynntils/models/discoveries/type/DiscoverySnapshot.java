@@ -0,0 +1,26 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.discoveries.type;
+
+import java.util.List;
+import java.util.Optional;
+
+public record DiscoverySnapshot(
+        List<DiscoveryPageSnapshot> discoveryPages, List<DiscoveryPageSnapshot> secretDiscoveryPages) {
+    public static final DiscoverySnapshot EMPTY = new DiscoverySnapshot(List.of(), List.of());
+
+    public Optional<DiscoveryPageSnapshot> getPage(int page, boolean secretDiscovery) {
+        return (secretDiscovery ? secretDiscoveryPages : discoveryPages)
+                .stream().filter(snapshot -> snapshot.page() == page).findFirst();
+    }
+
+    public DiscoverySnapshot withDiscoveryPages(List<DiscoveryPageSnapshot> newDiscoveryPages) {
+        return new DiscoverySnapshot(newDiscoveryPages, secretDiscoveryPages);
+    }
+
+    public DiscoverySnapshot withSecretDiscoveryPages(List<DiscoveryPageSnapshot> newSecretDiscoveryPages) {
+        return new DiscoverySnapshot(discoveryPages, newSecretDiscoveryPages);
+    }
+}
@@ -7,6 +7,7 @@ package com.wynntils.models.gear;
 import com.wynntils.core.WynntilsMod;
 import com.wynntils.core.components.Models;
 import com.wynntils.models.elements.type.Powder;
+import com.wynntils.models.gear.type.EncodedGear;
 import com.wynntils.models.gear.type.GearInfo;
 import com.wynntils.models.gear.type.GearInstance;
 import com.wynntils.models.items.items.game.GearItem;
@@ -14,14 +15,14 @@ import com.wynntils.models.stats.type.StatActualValue;
 import com.wynntils.models.stats.type.StatListOrdering;
 import com.wynntils.models.stats.type.StatPossibleValues;
 import com.wynntils.models.stats.type.StatType;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import org.apache.commons.lang3.ArrayUtils;
 
 /**
  * Encodes and decodes an item, as long as it is a standard gear item, into the following format
@@ -51,21 +52,27 @@ import org.apache.commons.lang3.ArrayUtils;
  *
  * This format is identical to that used in Wynntils 1.12, for compatibility across versions. It should not be
  * modified without also changing the encoding in legacy.
+ *
+ * Texts are scanned code point by code point, starting at each START character, so texts without one are
+ * rejected without further work. Encoded values are decoded into a buffer that is reused between calls, so
+ * this class is not thread-safe.
  */
 public class GearChatEncoding {
     // private-use unicode chars
-    private static final String START = new String(Character.toChars(0xF5FF0));
-    private static final String END = new String(Character.toChars(0xF5FF1));
-    private static final String SEPARATOR = new String(Character.toChars(0xF5FF2));
-    private static final String RANGE =
-            "[" + new String(Character.toChars(0xF5000)) + "-" + new String(Character.toChars(0xF5F00)) + "]";
-    private static final Pattern ENCODED_PATTERN = Pattern.compile(START + "(?<Name>.+?)" + SEPARATOR + "(?<Ids>"
-            + RANGE + "*)(?:" + SEPARATOR + "(?<Powders>" + RANGE + "+))?(?<Rerolls>" + RANGE + ")" + END);
+    private static final int START = 0xF5FF0;
+    private static final int END = 0xF5FF1;
+    private static final int SEPARATOR = 0xF5FF2;
     private static final int OFFSET = 0xF5000;
+    private static final int MAX_ENCODED_VALUE = 0xF5F00 - OFFSET;
+    private static final int POWDERS_PER_CHARACTER = 4;
     private static final boolean ENCODE_NAME = false;
 
+    // All encoded values after the name: the ids, the powders (if any) and the rerolls
+    private int[] valueBuffer = new int[32];
+    private int valueCount;
+
     public String toEncodedString(GearItem gearItem) {
-        String itemName = gearItem.getGearInfo().name();
+        GearInfo gearInfo = gearItem.getGearInfo();
         Optional<GearInstance> gearInstanceOpt = gearItem.getGearInstance();
         if (gearInstanceOpt.isEmpty()) {
             WynntilsMod.error("Internal error: toEncodedString called with unidentified gear");
@@ -74,40 +81,90 @@ public class GearChatEncoding {
         GearInstance gearInstance = gearInstanceOpt.get();
 
         // We must use Legacy ordering for compatibility reasons
-        List<StatType> sortedStats = Models.Stat.getSortedStats(gearItem.getGearInfo(), StatListOrdering.LEGACY);
-
-        // name
-        StringBuilder encoded = new StringBuilder(START);
-        encoded.append(ENCODE_NAME ? encodeString(itemName) : itemName);
-        encoded.append(SEPARATOR);
+        List<StatType> sortedStats = Models.Stat.getSortedStats(gearInfo, StatListOrdering.LEGACY);
 
         // ids
+        IntList ids = new IntArrayList(sortedStats.size());
         for (StatType statType : sortedStats) {
             StatActualValue actualValue = gearInstance.getActualValue(statType);
-            StatPossibleValues possibleValues = gearItem.getGearInfo().getPossibleValues(statType);
+            StatPossibleValues possibleValues = gearInfo.getPossibleValues(statType);
 
             if (possibleValues.isPreIdentified()) continue;
 
-            int valueToEncode;
-            if (Math.abs(possibleValues.baseValue()) > 100) {
-                // Express value as percent
-                valueToEncode = (int) Math.round((actualValue.value() * 100.0 / possibleValues.baseValue()) - 30);
-            } else {
-                // Express value as raw value shifted so lowest possible is 0
-                valueToEncode = actualValue.value() - possibleValues.range().low();
-            }
+            ids.add(encodeIdentification(possibleValues, actualValue.value(), actualValue.stars()));
+        }
+
+        return encode(gearInfo.name(), ids, gearInstance.powders(), gearInstance.rerolls());
+    }
+
+    public GearItem fromEncodedString(String encoded) {
+        EncodedGear encodedGear = decode(encoded);
+        if (encodedGear == null) return null;
+
+        return toGearItem(encodedGear);
+    }
 
-            // stars
-            int stars = actualValue.stars();
+    public GearItem toGearItem(EncodedGear encodedGear) {
+        GearInfo gearInfo = Models.Gear.getGearInfoFromDisplayName(encodedGear.name());
+        if (gearInfo == null) return null;
 
-            // encode value + stars in one character
-            encoded.append(encodeNumber(valueToEncode * 4 + stars));
+        // ids
+        List<StatActualValue> identifications = new ArrayList<>();
+
+        List<StatType> sortedStats = Models.Stat.getSortedStats(gearInfo, StatListOrdering.LEGACY);
+
+        IntList ids = encodedGear.ids();
+        int counter = 0; // for id value array
+        for (StatType statType : sortedStats) {
+            StatPossibleValues possibleValues = gearInfo.getPossibleValues(statType);
+
+            if (possibleValues.isPreIdentified()) continue;
+
+            if (counter >= ids.size()) return null; // some kind of mismatch, abort
+
+            int encodedId = ids.getInt(counter);
+            int value = decodeIdentificationValue(possibleValues, encodedId);
+            int stars = encodedId % 4;
+
+            counter++;
+
+            // create ID and append to list
+            identifications.add(Models.Stat.buildActualValue(statType, value, stars, possibleValues));
+        }
+
+        // powders
+        List<Powder> powders = gearInfo.powderSlots() > 0 ? encodedGear.powders() : List.of();
+
+        // create chat gear stack
+        GearInstance gearInstance =
+                GearInstance.create(gearInfo, identifications, new ArrayList<>(powders), encodedGear.rerolls());
+        return new GearItem(gearInfo, gearInstance);
+    }
+
+    /**
+     * Encodes already encoded identifications, together with the name, powders and rerolls.
+     */
+    public String encode(String name, IntList ids, List<Powder> powders, int rerolls) {
+        // Every encoded value takes two chars
+        StringBuilder encoded = new StringBuilder(name.length() * 2 + ids.size() * 2 + 16);
+
+        // name
+        encoded.appendCodePoint(START);
+        if (ENCODE_NAME) {
+            encodeString(name, encoded);
+        } else {
+            encoded.append(name);
+        }
+        encoded.appendCodePoint(SEPARATOR);
+
+        // ids
+        for (int i = 0; i < ids.size(); i++) {
+            encodeNumber(ids.getInt(i), encoded);
         }
 
         // powders
-        List<Powder> powders = gearInstance.powders();
         if (powders != null && !powders.isEmpty()) {
-            encoded.append(SEPARATOR);
+            encoded.appendCodePoint(SEPARATOR);
 
             int counter = 0;
             int encodedPowders = 0;
@@ -116,110 +173,188 @@ public class GearChatEncoding {
                 encodedPowders += p.ordinal() + 1; // 0 represents no more powders
                 counter++;
 
-                if (counter == 4) { // max # of powders encoded in a single char
-                    encoded.append(encodeNumber(encodedPowders));
+                if (counter == POWDERS_PER_CHARACTER) { // max # of powders encoded in a single char
+                    encodeNumber(encodedPowders, encoded);
                     encodedPowders = 0;
                     counter = 0;
                 }
             }
-            if (encodedPowders != 0) encoded.append(encodeNumber(encodedPowders)); // catch any leftover powders
+            if (encodedPowders != 0) encodeNumber(encodedPowders, encoded); // catch any leftover powders
         }
 
         // rerolls
-        encoded.append(encodeNumber(gearInstance.rerolls()));
+        encodeNumber(rerolls, encoded);
 
-        encoded.append(END);
+        encoded.appendCodePoint(END);
         return encoded.toString();
     }
 
-    public GearItem fromEncodedString(String encoded) {
-        Matcher m = ENCODED_PATTERN.matcher(encoded);
-        if (!m.matches()) return null;
+    /**
+     * Decodes a text that consists of exactly one encoded gear item, or returns null if it does not.
+     */
+    public EncodedGear decode(String encoded) {
+        if (encoded.isEmpty() || encoded.codePointAt(0) != START) return null;
 
-        String name = ENCODE_NAME ? decodeString(m.group("Name")) : m.group("Name");
-        int[] ids = decodeNumbers(m.group("Ids"));
-        int[] powders = m.group("Powders") != null ? decodeNumbers(m.group("Powders")) : new int[0];
-        int rerolls = decodeNumbers(m.group("Rerolls"))[0];
+        EncodedGear encodedGear = parse(encoded, 0);
+        if (encodedGear == null || encodedGear.end() != encoded.length()) return null;
 
-        GearInfo gearInfo = Models.Gear.getGearInfoFromDisplayName(name);
-        if (gearInfo == null) return null;
+        return encodedGear;
+    }
 
-        // ids
-        List<StatActualValue> identifications = new ArrayList<>();
+    /**
+     * Finds the first encoded gear item in the text, starting at the given index, or returns null if there is none.
+     */
+    public EncodedGear find(String text, int fromIndex) {
+        int start = text.indexOf(START, fromIndex);
+        while (start != -1) {
+            EncodedGear encodedGear = parse(text, start);
+            if (encodedGear != null) return encodedGear;
 
-        List<StatType> sortedStats = Models.Stat.getSortedStats(gearInfo, StatListOrdering.LEGACY);
+            start = text.indexOf(START, start + Character.charCount(START));
+        }
 
-        int counter = 0; // for id value array
-        for (StatType statType : sortedStats) {
-            StatPossibleValues possibleValues = gearInfo.getPossibleValues(statType);
+        return null;
+    }
 
-            if (possibleValues.isPreIdentified()) continue;
+    /**
+     * Encodes an identification value and its stars into a single value.
+     */
+    public static int encodeIdentification(StatPossibleValues possibleValues, int value, int stars) {
+        int valueToEncode;
+        if (Math.abs(possibleValues.baseValue()) > 100) {
+            // Express value as percent
+            valueToEncode = (int) Math.round((value * 100.0 / possibleValues.baseValue()) - 30);
+        } else {
+            // Express value as raw value shifted so lowest possible is 0
+            valueToEncode = value - possibleValues.range().low();
+        }
 
-            if (counter >= ids.length) return null; // some kind of mismatch, abort
-
-            // id value
-            int value;
-
-            int encodedValue = ids[counter] / 4;
-            if (Math.abs(possibleValues.baseValue()) > 100) {
-                // using bigdecimal here for precision when rounding
-                value = new BigDecimal(encodedValue + 30)
-                        .movePointLeft(2)
-                        .multiply(new BigDecimal(possibleValues.baseValue()))
-                        .setScale(0, RoundingMode.HALF_UP)
-                        .intValue();
-            } else {
-                value = encodedValue + possibleValues.range().low();
-            }
+        // encode value + stars in one character
+        return valueToEncode * 4 + stars;
+    }
 
-            // stars
-            int stars = ids[counter] % 4;
+    /**
+     * Decodes the identification value of a value from {@link #encodeIdentification}. The stars are the value modulo 4.
+     */
+    public static int decodeIdentificationValue(StatPossibleValues possibleValues, int encodedId) {
+        int encodedValue = encodedId / 4;
+        if (Math.abs(possibleValues.baseValue()) > 100) {
+            // using bigdecimal here for precision when rounding
+            return new BigDecimal(encodedValue + 30)
+                    .movePointLeft(2)
+                    .multiply(new BigDecimal(possibleValues.baseValue()))
+                    .setScale(0, RoundingMode.HALF_UP)
+                    .intValue();
+        }
 
-            counter++;
+        return encodedValue + possibleValues.range().low();
+    }
 
-            // create ID and append to list
-            identifications.add(Models.Stat.buildActualValue(statType, value, stars, possibleValues));
+    /**
+     * Parses the encoded gear item whose start character is at the given index. This matches what the regex
+     * {@code START(.+?)SEPARATOR(RANGE*)(?:SEPARATOR(RANGE+))?(RANGE)END} from previous versions matched, except
+     * that the name can not contain another start character, so that an item after a stray start is still found.
+     */
+    private EncodedGear parse(String text, int start) {
+        int length = text.length();
+        int index = start + Character.charCount(START);
+
+        // name, which is at least one character and ends at the first separator after that
+        int nameStart = index;
+        while (index < length) {
+            int codePoint = text.codePointAt(index);
+            if (codePoint == SEPARATOR && index > nameStart) break;
+            if (codePoint == START || isLineTerminator(codePoint)) return null;
+
+            index += Character.charCount(codePoint);
+        }
+        if (index >= length) return null;
+        int nameEnd = index;
+        index += Character.charCount(SEPARATOR);
+
+        // ids, and the rerolls if there are no powders
+        valueCount = 0;
+        index = readValues(text, index);
+        int idCount = valueCount;
+
+        // powders, and the rerolls
+        int powdersStart = valueCount;
+        if (index < length && text.codePointAt(index) == SEPARATOR) {
+            index = readValues(text, index + Character.charCount(SEPARATOR));
+            if (valueCount - powdersStart < 2) return null;
+        } else {
+            if (idCount < 1) return null;
+            idCount--;
+            powdersStart = idCount;
         }
 
-        // powders
-        List<Powder> powderList = new ArrayList<>();
-        if (gearInfo.powderSlots() > 0 && powders.length > 0) {
-            ArrayUtils.reverse(powders); // must reverse powders so they are read in reverse order
-            for (int powderNum : powders) {
-                // once powderNum is 0, all the powders have been read
-                int currentPowder = powderNum;
-                while (currentPowder > 0) {
-                    Powder p = Powder.values()[currentPowder % 6 - 1];
-                    powderList.add(0, p); // prepend powders because they are decoded in reverse
-
-                    currentPowder /= 6;
-                }
+        if (index >= length || text.codePointAt(index) != END) return null;
+        int end = index + Character.charCount(END);
+
+        List<Powder> powders = decodePowders(powdersStart, valueCount - 1);
+        if (powders == null) return null;
+
+        String name = text.substring(nameStart, nameEnd);
+        return new EncodedGear(
+                start,
+                end,
+                ENCODE_NAME ? decodeString(name) : name,
+                new IntArrayList(valueBuffer, 0, idCount),
+                powders,
+                valueBuffer[valueCount - 1]);
+    }
+
+    private int readValues(String text, int index) {
+        int length = text.length();
+        while (index < length) {
+            int codePoint = text.codePointAt(index);
+            int value = codePoint - OFFSET;
+            if (value < 0 || value > MAX_ENCODED_VALUE) break;
+
+            if (valueCount == valueBuffer.length) {
+                valueBuffer = Arrays.copyOf(valueBuffer, valueCount * 2);
             }
+            valueBuffer[valueCount++] = value;
+            index += Character.charCount(codePoint);
         }
+        return index;
+    }
 
-        // create chat gear stack
-        GearInstance gearInstance = GearInstance.create(gearInfo, identifications, powderList, rerolls);
-        return new GearItem(gearInfo, gearInstance);
+    private List<Powder> decodePowders(int from, int to) {
+        if (from == to) return List.of();
+
+        List<Powder> powders = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            // The first powder is in the highest digit
+            int insertIndex = powders.size();
+            for (int encodedPowders = valueBuffer[i]; encodedPowders > 0; encodedPowders /= 6) {
+                int powder = encodedPowders % 6;
+                if (powder == 0) return null; // not a valid powder
+
+                powders.add(insertIndex, Powder.values()[powder - 1]);
+            }
+        }
+        return powders;
     }
 
-    public Matcher gearChatEncodingMatcher(String str) {
-        return ENCODED_PATTERN.matcher(str);
+    private static boolean isLineTerminator(int codePoint) {
+        // These are the chars that "." does not match in a regex
+        return codePoint == '\n' || codePoint == '\r' || codePoint == '\u0085' || codePoint == '\u2028'
+                || codePoint == '\u2029';
     }
 
-    private String encodeString(String text) {
-        StringBuilder encoded = new StringBuilder();
+    private static void encodeString(String text, StringBuilder encoded) {
         for (char c : text.toCharArray()) {
             int value = c - 32; // offset by 32 to ignore ascii control characters
-            encoded.append(new String(Character.toChars(value + OFFSET))); // get encoded representation
+            encoded.appendCodePoint(value + OFFSET); // get encoded representation
         }
-        return encoded.toString();
     }
 
-    private String encodeNumber(int value) {
-        return new String(Character.toChars(value + OFFSET));
+    private static void encodeNumber(int value, StringBuilder encoded) {
+        encoded.appendCodePoint(value + OFFSET);
     }
 
-    private String decodeString(String text) {
+    private static String decodeString(String text) {
         StringBuilder decoded = new StringBuilder();
         for (int i = 0; i < text.length(); i += 2) {
             int value = text.codePointAt(i) - OFFSET + 32;
@@ -227,12 +362,4 @@ public class GearChatEncoding {
         }
         return decoded.toString();
     }
-
-    private int[] decodeNumbers(String text) {
-        int[] decoded = new int[text.length() / 2];
-        for (int i = 0; i < text.length(); i += 2) {
-            decoded[i / 2] = text.codePointAt(i) - OFFSET;
-        }
-        return decoded;
-    }
 }
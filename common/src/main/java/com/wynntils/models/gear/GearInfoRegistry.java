@@ -15,6 +15,7 @@ import com.google.gson.JsonParseException;
 import com.wynntils.core.WynntilsMod;
 import com.wynntils.core.components.Managers;
 import com.wynntils.core.components.Models;
+import com.wynntils.core.mod.StartupLoader;
 import com.wynntils.core.net.Download;
 import com.wynntils.core.net.UrlId;
 import com.wynntils.core.net.event.NetResultProcessedEvent;
@@ -60,18 +61,44 @@ public class GearInfoRegistry {
     // FIXME: This should be read from an external json file, and have more entries added to it
     private static final List<String> INVALID_ENTRIES = List.of("default");
 
+    // Everything the parsed gear is built from, so a snapshot is only used if none of it has changed
+    private static final List<UrlId> SNAPSHOT_SOURCES = List.of(
+            UrlId.DATA_STATIC_GEAR,
+            UrlId.DATA_STATIC_ITEM_OBTAIN,
+            UrlId.DATA_STATIC_MAJOR_IDS,
+            UrlId.DATA_STATIC_MATERIAL_CONVERSION);
+    private static final String SNAPSHOT_NAME = "gear";
+    // Not a method reference, since Models.Stat might not have been constructed yet
+    private static final GearInfoSnapshotCodec SNAPSHOT_CODEC =
+            new GearInfoSnapshotCodec(() -> Models.Stat.getAllStatTypes());
+
     private List<GearMajorId> allMajorIds = List.of();
     private List<GearInfo> gearInfoRegistry = List.of();
     private Map<String, GearInfo> gearInfoLookup = Map.of();
     private Map<String, GearInfo> gearInfoLookupApiName = Map.of();
+    private GearQueryIndex gearQueryIndex = GearQueryIndex.EMPTY;
+    private String snapshotSourceKey;
 
     public GearInfoRegistry() {
         WynntilsMod.registerEventListener(this);
 
-        reloadData();
+        StartupLoader.load("Gear", this::reloadData);
     }
 
     public void reloadData() {
+        allMajorIds = List.of();
+
+        // If nothing has changed since last time, use the gear we parsed then
+        snapshotSourceKey = Managers.Net.getSnapshotSourceKey(SNAPSHOT_SOURCES).orElse(null);
+        if (snapshotSourceKey != null) {
+            Optional<List<GearInfo>> snapshot =
+                    Managers.Net.readSnapshot(SNAPSHOT_NAME, snapshotSourceKey, SNAPSHOT_CODEC);
+            if (snapshot.isPresent()) {
+                setRegistry(snapshot.get());
+                return;
+            }
+        }
+
         // We trigger reload of all data by starting by downloading major IDs
         loadMajorIds();
     }
@@ -93,6 +120,10 @@ public class GearInfoRegistry {
         return gearInfoRegistry.stream();
     }
 
+    public GearQueryIndex getQueryIndex() {
+        return gearQueryIndex;
+    }
+
     @SubscribeEvent
     public void onDataLoaded(NetResultProcessedEvent.ForUrlId event) {
         UrlId urlId = event.getUrlId();
@@ -130,23 +161,34 @@ public class GearInfoRegistry {
                     .filter(gearInfo -> !INVALID_ENTRIES.contains(gearInfo.name()))
                     .toList();
 
-            // Create fast lookup maps
-            Map<String, GearInfo> lookupMap = new HashMap<>();
-            Map<String, GearInfo> altLookupMap = new HashMap<>();
-            for (GearInfo gearInfo : registry) {
-                lookupMap.put(gearInfo.name(), gearInfo);
-                if (gearInfo.metaInfo().apiName().isPresent()) {
-                    altLookupMap.put(gearInfo.metaInfo().apiName().get(), gearInfo);
-                }
-            }
+            setRegistry(registry);
 
-            // Make the result visisble to the world
-            gearInfoRegistry = registry;
-            gearInfoLookup = lookupMap;
-            gearInfoLookupApiName = altLookupMap;
+            if (snapshotSourceKey != null) {
+                Managers.Net.writeSnapshot(SNAPSHOT_NAME, snapshotSourceKey, SNAPSHOT_CODEC, registry);
+            }
         });
     }
 
+    private void setRegistry(List<GearInfo> registry) {
+        // Create fast lookup maps
+        Map<String, GearInfo> lookupMap = new HashMap<>();
+        Map<String, GearInfo> altLookupMap = new HashMap<>();
+        for (GearInfo gearInfo : registry) {
+            lookupMap.put(gearInfo.name(), gearInfo);
+            if (gearInfo.metaInfo().apiName().isPresent()) {
+                altLookupMap.put(gearInfo.metaInfo().apiName().get(), gearInfo);
+            }
+        }
+
+        GearQueryIndex queryIndex = new GearQueryIndex(registry);
+
+        // Make the result visisble to the world
+        gearInfoRegistry = registry;
+        gearInfoLookup = lookupMap;
+        gearInfoLookupApiName = altLookupMap;
+        gearQueryIndex = queryIndex;
+    }
+
     private static final class GearMajorIdDeserializer implements JsonDeserializer<GearMajorId> {
         @Override
         public GearMajorId deserialize(JsonElement jsonElement, Type jsonType, JsonDeserializationContext context)
@@ -0,0 +1,297 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.gear;
+
+import com.wynntils.core.net.SnapshotCodec;
+import com.wynntils.core.text.CodedString;
+import com.wynntils.models.character.type.ClassType;
+import com.wynntils.models.elements.type.Element;
+import com.wynntils.models.elements.type.Skill;
+import com.wynntils.models.gear.type.GearAttackSpeed;
+import com.wynntils.models.gear.type.GearInfo;
+import com.wynntils.models.gear.type.GearMajorId;
+import com.wynntils.models.gear.type.GearMetaInfo;
+import com.wynntils.models.gear.type.GearRequirements;
+import com.wynntils.models.gear.type.GearRestrictions;
+import com.wynntils.models.gear.type.GearTier;
+import com.wynntils.models.gear.type.GearType;
+import com.wynntils.models.stats.type.DamageType;
+import com.wynntils.models.stats.type.FixedStats;
+import com.wynntils.models.stats.type.StatPossibleValues;
+import com.wynntils.models.stats.type.StatType;
+import com.wynntils.models.wynnitem.type.ItemMaterial;
+import com.wynntils.models.wynnitem.type.ItemObtainInfo;
+import com.wynntils.models.wynnitem.type.ItemObtainType;
+import com.wynntils.utils.type.Pair;
+import com.wynntils.utils.type.RangedValue;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.world.item.ItemStack;
+
+/**
+ * Stores the parsed gear registry in a compact binary form. Major ids are written once, in a
+ * table up front, and referred to by index; stat types are referred to by key.
+ */
+public final class GearInfoSnapshotCodec implements SnapshotCodec<List<GearInfo>> {
+    private static final int VERSION = 1;
+
+    private final Supplier<List<StatType>> statTypesSupplier;
+
+    public GearInfoSnapshotCodec(Supplier<List<StatType>> statTypesSupplier) {
+        this.statTypesSupplier = statTypesSupplier;
+    }
+
+    @Override
+    public int getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public void write(DataOutput out, List<GearInfo> registry) throws IOException {
+        List<GearMajorId> majorIds = new ArrayList<>();
+        Map<String, Integer> majorIdIndices = new HashMap<>();
+        for (GearInfo gearInfo : registry) {
+            for (GearMajorId majorId : gearInfo.fixedStats().majorIds()) {
+                if (majorIdIndices.putIfAbsent(majorId.id(), majorIds.size()) == null) {
+                    majorIds.add(majorId);
+                }
+            }
+        }
+
+        out.writeInt(majorIds.size());
+        for (GearMajorId majorId : majorIds) {
+            out.writeUTF(majorId.id());
+            writeOptionalString(out, Optional.ofNullable(majorId.name()));
+            writeOptionalString(
+                    out,
+                    Optional.ofNullable(majorId.lore()).map(CodedString::getInternalCodedStringRepresentation));
+        }
+
+        out.writeInt(registry.size());
+        for (GearInfo gearInfo : registry) {
+            out.writeUTF(gearInfo.name());
+            out.writeUTF(gearInfo.type().name());
+            out.writeUTF(gearInfo.tier().name());
+            out.writeByte(gearInfo.powderSlots());
+            writeMetaInfo(out, gearInfo.metaInfo());
+            writeRequirements(out, gearInfo.requirements());
+            writeFixedStats(out, gearInfo.fixedStats(), majorIdIndices);
+            writeVariableStats(out, gearInfo.variableStats());
+        }
+    }
+
+    @Override
+    public List<GearInfo> read(DataInput in) throws IOException {
+        int majorIdCount = in.readInt();
+        List<GearMajorId> majorIds = new ArrayList<>(majorIdCount);
+        for (int i = 0; i < majorIdCount; i++) {
+            String id = in.readUTF();
+            String name = readOptionalString(in).orElse(null);
+            CodedString lore = readOptionalString(in).map(CodedString::fromString).orElse(null);
+            majorIds.add(new GearMajorId(id, name, lore));
+        }
+
+        Map<String, StatType> statTypes = new HashMap<>();
+        for (StatType statType : statTypesSupplier.get()) {
+            statTypes.put(statType.getKey(), statType);
+        }
+
+        int gearCount = in.readInt();
+        List<GearInfo> registry = new ArrayList<>(gearCount);
+        for (int i = 0; i < gearCount; i++) {
+            String name = in.readUTF();
+            GearType type = GearType.valueOf(in.readUTF());
+            GearTier tier = GearTier.valueOf(in.readUTF());
+            int powderSlots = in.readByte();
+            GearMetaInfo metaInfo = readMetaInfo(in);
+            GearRequirements requirements = readRequirements(in);
+            FixedStats fixedStats = readFixedStats(in, majorIds);
+            List<Pair<StatType, StatPossibleValues>> variableStats = readVariableStats(in, statTypes);
+
+            registry.add(new GearInfo(
+                    name, type, tier, powderSlots, metaInfo, requirements, fixedStats, variableStats));
+        }
+
+        return List.copyOf(registry);
+    }
+
+    private static void writeMetaInfo(DataOutput out, GearMetaInfo metaInfo) throws IOException {
+        // Unknown restrictions are kept as null by the parser
+        writeOptionalString(out, Optional.ofNullable(metaInfo.restrictions()).map(GearRestrictions::name));
+        NbtIo.write(metaInfo.material().itemStack().save(new CompoundTag()), out);
+
+        out.writeShort(metaInfo.obtainInfo().size());
+        for (ItemObtainInfo obtainInfo : metaInfo.obtainInfo()) {
+            out.writeUTF(obtainInfo.sourceType().name());
+            writeOptionalString(out, obtainInfo.name());
+        }
+
+        writeOptionalString(out, metaInfo.lore().map(CodedString::getInternalCodedStringRepresentation));
+        writeOptionalString(out, metaInfo.apiName());
+        out.writeBoolean(metaInfo.allowCraftsman());
+    }
+
+    private static GearMetaInfo readMetaInfo(DataInput in) throws IOException {
+        GearRestrictions restrictions =
+                readOptionalString(in).map(GearRestrictions::valueOf).orElse(null);
+        ItemMaterial material = new ItemMaterial(ItemStack.of(NbtIo.read(in)));
+
+        int obtainCount = in.readShort();
+        List<ItemObtainInfo> obtainInfo = new ArrayList<>(obtainCount);
+        for (int i = 0; i < obtainCount; i++) {
+            obtainInfo.add(new ItemObtainInfo(ItemObtainType.valueOf(in.readUTF()), readOptionalString(in)));
+        }
+
+        Optional<CodedString> lore = readOptionalString(in).map(CodedString::fromString);
+        Optional<String> apiName = readOptionalString(in);
+        boolean allowCraftsman = in.readBoolean();
+
+        return new GearMetaInfo(restrictions, material, obtainInfo, lore, apiName, allowCraftsman);
+    }
+
+    private static void writeRequirements(DataOutput out, GearRequirements requirements) throws IOException {
+        out.writeShort(requirements.level());
+        writeOptionalString(out, requirements.classType().map(ClassType::name));
+        writeSkillList(out, requirements.skills());
+        writeOptionalString(out, requirements.quest());
+    }
+
+    private static GearRequirements readRequirements(DataInput in) throws IOException {
+        int level = in.readShort();
+        Optional<ClassType> classType = readOptionalString(in).map(ClassType::valueOf);
+        List<Pair<Skill, Integer>> skills = readSkillList(in);
+        Optional<String> quest = readOptionalString(in);
+
+        return new GearRequirements(level, classType, skills, quest);
+    }
+
+    private static void writeFixedStats(DataOutput out, FixedStats fixedStats, Map<String, Integer> majorIdIndices)
+            throws IOException {
+        out.writeInt(fixedStats.healthBuff());
+        writeSkillList(out, fixedStats.skillBonuses());
+        writeOptionalString(out, fixedStats.attackSpeed().map(GearAttackSpeed::name));
+
+        out.writeByte(fixedStats.majorIds().size());
+        for (GearMajorId majorId : fixedStats.majorIds()) {
+            out.writeShort(majorIdIndices.get(majorId.id()));
+        }
+
+        out.writeByte(fixedStats.damages().size());
+        for (Pair<DamageType, RangedValue> damage : fixedStats.damages()) {
+            out.writeUTF(damage.key().name());
+            out.writeInt(damage.value().low());
+            out.writeInt(damage.value().high());
+        }
+
+        out.writeByte(fixedStats.defences().size());
+        for (Pair<Element, Integer> defence : fixedStats.defences()) {
+            out.writeUTF(defence.key().name());
+            out.writeInt(defence.value());
+        }
+    }
+
+    private static FixedStats readFixedStats(DataInput in, List<GearMajorId> allMajorIds) throws IOException {
+        int healthBuff = in.readInt();
+        List<Pair<Skill, Integer>> skillBonuses = readSkillList(in);
+        Optional<GearAttackSpeed> attackSpeed = readOptionalString(in).map(GearAttackSpeed::valueOf);
+
+        int majorIdCount = in.readByte();
+        List<GearMajorId> majorIds = new ArrayList<>(majorIdCount);
+        for (int i = 0; i < majorIdCount; i++) {
+            majorIds.add(allMajorIds.get(in.readShort()));
+        }
+
+        int damageCount = in.readByte();
+        List<Pair<DamageType, RangedValue>> damages = new ArrayList<>(damageCount);
+        for (int i = 0; i < damageCount; i++) {
+            damages.add(Pair.of(DamageType.valueOf(in.readUTF()), RangedValue.of(in.readInt(), in.readInt())));
+        }
+
+        int defenceCount = in.readByte();
+        List<Pair<Element, Integer>> defences = new ArrayList<>(defenceCount);
+        for (int i = 0; i < defenceCount; i++) {
+            defences.add(Pair.of(Element.valueOf(in.readUTF()), in.readInt()));
+        }
+
+        return new FixedStats(
+                healthBuff,
+                skillBonuses,
+                attackSpeed,
+                List.copyOf(majorIds),
+                List.copyOf(damages),
+                List.copyOf(defences));
+    }
+
+    private static void writeVariableStats(DataOutput out, List<Pair<StatType, StatPossibleValues>> variableStats)
+            throws IOException {
+        out.writeShort(variableStats.size());
+        for (Pair<StatType, StatPossibleValues> stat : variableStats) {
+            StatPossibleValues possibleValues = stat.value();
+            out.writeUTF(stat.key().getKey());
+            out.writeInt(possibleValues.range().low());
+            out.writeInt(possibleValues.range().high());
+            out.writeInt(possibleValues.baseValue());
+            out.writeBoolean(possibleValues.isPreIdentified());
+        }
+    }
+
+    private static List<Pair<StatType, StatPossibleValues>> readVariableStats(
+            DataInput in, Map<String, StatType> statTypes) throws IOException {
+        int statCount = in.readShort();
+        List<Pair<StatType, StatPossibleValues>> variableStats = new ArrayList<>(statCount);
+        for (int i = 0; i < statCount; i++) {
+            String key = in.readUTF();
+            StatType statType = statTypes.get(key);
+            if (statType == null) {
+                throw new IOException("Unknown stat type in snapshot: " + key);
+            }
+
+            RangedValue range = RangedValue.of(in.readInt(), in.readInt());
+            int baseValue = in.readInt();
+            boolean preIdentified = in.readBoolean();
+            variableStats.add(Pair.of(statType, new StatPossibleValues(statType, range, baseValue, preIdentified)));
+        }
+
+        return List.copyOf(variableStats);
+    }
+
+    private static void writeSkillList(DataOutput out, List<Pair<Skill, Integer>> skills) throws IOException {
+        out.writeByte(skills.size());
+        for (Pair<Skill, Integer> skill : skills) {
+            out.writeUTF(skill.key().name());
+            out.writeInt(skill.value());
+        }
+    }
+
+    private static List<Pair<Skill, Integer>> readSkillList(DataInput in) throws IOException {
+        int skillCount = in.readByte();
+        List<Pair<Skill, Integer>> skills = new ArrayList<>(skillCount);
+        for (int i = 0; i < skillCount; i++) {
+            skills.add(Pair.of(Skill.valueOf(in.readUTF()), in.readInt()));
+        }
+
+        return List.copyOf(skills);
+    }
+
+    private static void writeOptionalString(DataOutput out, Optional<String> value) throws IOException {
+        out.writeBoolean(value.isPresent());
+        if (value.isPresent()) {
+            out.writeUTF(value.get());
+        }
+    }
+
+    private static Optional<String> readOptionalString(DataInput in) throws IOException {
+        return in.readBoolean() ? Optional.of(in.readUTF()) : Optional.empty();
+    }
+}
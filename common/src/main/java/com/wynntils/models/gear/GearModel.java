@@ -8,8 +8,10 @@ import com.google.gson.JsonObject;
 import com.wynntils.core.WynntilsMod;
 import com.wynntils.core.components.Model;
 import com.wynntils.models.elements.ElementModel;
+import com.wynntils.models.gear.type.EncodedGear;
 import com.wynntils.models.gear.type.GearInfo;
 import com.wynntils.models.gear.type.GearInstance;
+import com.wynntils.models.gear.type.GearQuery;
 import com.wynntils.models.gear.type.GearTier;
 import com.wynntils.models.gear.type.GearType;
 import com.wynntils.models.items.items.game.CraftedGearItem;
@@ -24,7 +26,6 @@ import com.wynntils.utils.type.CappedValue;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
 import java.util.stream.Stream;
 import net.minecraft.world.item.ItemStack;
 
@@ -57,25 +58,19 @@ public final class GearModel extends Model {
         List<GearInfo> possibilities = possibilitiesCache.get(gearBoxItem);
         if (possibilities != null) return possibilities;
 
-        List<GearInfo> possibleGear = getAllGearInfos()
-                .filter(gear -> gear.type() == gearBoxItem.getGearType()
-                        && gear.tier() == gearBoxItem.getGearTier()
-                        && canBeGearBox(gear)
-                        && gearBoxItem
-                                .getLevelRange()
-                                .inRange(gear.requirements().level()))
-                .toList();
+        GearQuery query = GearQuery.builder()
+                .type(gearBoxItem.getGearType())
+                .tier(gearBoxItem.getGearTier())
+                .minLevel(gearBoxItem.getLevelRange().low())
+                .maxLevel(gearBoxItem.getLevelRange().high())
+                .gearBoxOnly()
+                .build();
+        List<GearInfo> possibleGear = queryGears(query);
         possibilitiesCache.put(gearBoxItem, possibleGear);
 
         return possibleGear;
     }
 
-    public boolean canBeGearBox(GearInfo gear) {
-        // If all the ways we can obtain this is by merchants, it cannot be in a gear box
-        return gear.metaInfo().obtainInfo().stream()
-                .anyMatch(o -> !o.sourceType().isMerchant());
-    }
-
     @Override
     public void reloadData() {
         gearInfoRegistry.reloadData();
@@ -140,8 +135,12 @@ public final class GearModel extends Model {
         return gearChatEncoding.toEncodedString(gearItem);
     }
 
-    public Matcher gearChatEncodingMatcher(String str) {
-        return gearChatEncoding.gearChatEncodingMatcher(str);
+    public GearItem fromEncodedGear(EncodedGear encodedGear) {
+        return gearChatEncoding.toGearItem(encodedGear);
+    }
+
+    public EncodedGear findEncodedGear(String text, int fromIndex) {
+        return gearChatEncoding.find(text, fromIndex);
     }
 
     public GearInfo getGearInfoFromDisplayName(String gearName) {
@@ -155,4 +154,8 @@ public final class GearModel extends Model {
     public Stream<GearInfo> getAllGearInfos() {
         return gearInfoRegistry.getGearInfoStream();
     }
+
+    public List<GearInfo> queryGears(GearQuery query) {
+        return gearInfoRegistry.getQueryIndex().query(query);
+    }
 }
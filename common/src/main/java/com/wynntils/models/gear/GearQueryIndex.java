@@ -0,0 +1,221 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.gear;
+
+import com.wynntils.models.gear.type.GearInfo;
+import com.wynntils.models.gear.type.GearQuery;
+import com.wynntils.models.gear.type.GearTier;
+import com.wynntils.models.gear.type.GearType;
+import com.wynntils.models.stats.type.StatType;
+import com.wynntils.utils.StringUtils;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An inverted index over the gear database. Gears are identified by their position in the
+ * registry, and every posting list is a sorted array of such ids. There are postings for gear
+ * type, tier, stats and gear box availability, and for the characters and 3-grams of the
+ * lowercase names. A query intersects the postings of its constraints, rarest first, and then
+ * checks level and name on the few candidates left.
+ */
+public final class GearQueryIndex {
+    public static final GearQueryIndex EMPTY = new GearQueryIndex(List.of());
+
+    private static final int GRAM_LENGTH = 3;
+    private static final int[] NO_IDS = new int[0];
+
+    private final List<GearInfo> gears;
+    private final String[] lowerCaseNames;
+    private final int[] levels;
+    private final int[] allIds;
+    private final int[] gearBoxIds;
+    private final Map<GearType, int[]> typePostings = new EnumMap<>(GearType.class);
+    private final Map<GearTier, int[]> tierPostings = new EnumMap<>(GearTier.class);
+    private final Map<StatType, int[]> statPostings = new HashMap<>();
+    private final Map<String, int[]> namePostings = new HashMap<>();
+
+    public GearQueryIndex(List<GearInfo> gears) {
+        this.gears = List.copyOf(gears);
+        this.lowerCaseNames = new String[gears.size()];
+        this.levels = new int[gears.size()];
+        this.allIds = new int[gears.size()];
+
+        Map<GearType, IntArrayList> types = new EnumMap<>(GearType.class);
+        Map<GearTier, IntArrayList> tiers = new EnumMap<>(GearTier.class);
+        Map<StatType, IntArrayList> stats = new HashMap<>();
+        Map<String, IntArrayList> names = new HashMap<>();
+        IntArrayList gearBox = new IntArrayList();
+
+        for (int id = 0; id < gears.size(); id++) {
+            GearInfo gearInfo = gears.get(id);
+            String lowerCaseName = gearInfo.name().toLowerCase(Locale.ROOT);
+            lowerCaseNames[id] = lowerCaseName;
+            levels[id] = gearInfo.requirements().level();
+            allIds[id] = id;
+
+            addPosting(types.computeIfAbsent(gearInfo.type(), k -> new IntArrayList()), id);
+            addPosting(tiers.computeIfAbsent(gearInfo.tier(), k -> new IntArrayList()), id);
+            for (StatType statType : gearInfo.getVariableStats()) {
+                addPosting(stats.computeIfAbsent(statType, k -> new IntArrayList()), id);
+            }
+            for (String gram : getNameKeys(lowerCaseName)) {
+                addPosting(names.computeIfAbsent(gram, k -> new IntArrayList()), id);
+            }
+            if (GearQuery.canBeGearBox(gearInfo)) {
+                gearBox.add(id);
+            }
+        }
+
+        types.forEach((type, ids) -> typePostings.put(type, ids.toIntArray()));
+        tiers.forEach((tier, ids) -> tierPostings.put(tier, ids.toIntArray()));
+        stats.forEach((statType, ids) -> statPostings.put(statType, ids.toIntArray()));
+        names.forEach((gram, ids) -> namePostings.put(gram, ids.toIntArray()));
+        gearBoxIds = gearBox.toIntArray();
+    }
+
+    public List<GearInfo> query(GearQuery query) {
+        int[] ids = queryIds(query);
+
+        List<GearInfo> result = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            result.add(gears.get(id));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    // Returns the ids of the matching gears, which are their positions in the registry, in order
+    private int[] queryIds(GearQuery query) {
+        List<int[]> postings = new ArrayList<>();
+
+        if (!query.types().isEmpty()) {
+            postings.add(union(query.types(), typePostings));
+        }
+        if (!query.tiers().isEmpty()) {
+            postings.add(union(query.tiers(), tierPostings));
+        }
+        for (StatType statType : query.stats()) {
+            postings.add(statPostings.getOrDefault(statType, NO_IDS));
+        }
+        if (query.gearBoxOnly()) {
+            postings.add(gearBoxIds);
+        }
+
+        // A partial match needs every character of the search term somewhere in the name
+        String nameSearch = query.nameSearch() == null ? null : query.nameSearch().toLowerCase(Locale.ROOT);
+        if (nameSearch != null) {
+            addNamePostings(postings, getCharacters(nameSearch));
+        }
+        String nameContains = query.nameContains() == null ? null : query.nameContains().toLowerCase(Locale.ROOT);
+        if (nameContains != null) {
+            addNamePostings(
+                    postings,
+                    nameContains.length() < GRAM_LENGTH ? getCharacters(nameContains) : getGrams(nameContains));
+        }
+
+        int[] candidates = intersect(postings);
+
+        // The postings only narrow down the candidates; check the rest directly
+        IntArrayList result = new IntArrayList(candidates.length);
+        for (int id : candidates) {
+            if (levels[id] < query.minLevel() || levels[id] > query.maxLevel()) continue;
+            if (nameSearch != null && !StringUtils.partialMatch(lowerCaseNames[id], nameSearch)) continue;
+            if (nameContains != null && !lowerCaseNames[id].contains(nameContains)) continue;
+
+            result.add(id);
+        }
+        return result.toIntArray();
+    }
+
+    private void addNamePostings(List<int[]> postings, Set<String> keys) {
+        for (String key : keys) {
+            postings.add(namePostings.getOrDefault(key, NO_IDS));
+        }
+    }
+
+    private int[] intersect(List<int[]> postings) {
+        if (postings.isEmpty()) return allIds;
+
+        postings.sort(Comparator.comparingInt(ids -> ids.length));
+
+        int[] result = postings.get(0);
+        for (int i = 1; i < postings.size() && result.length > 0; i++) {
+            result = intersect(result, postings.get(i));
+        }
+        return result;
+    }
+
+    private static int[] intersect(int[] first, int[] second) {
+        int[] result = new int[Math.min(first.length, second.length)];
+        int count = 0;
+
+        int i = 0;
+        int j = 0;
+        while (i < first.length && j < second.length) {
+            if (first[i] < second[j]) {
+                i++;
+            } else if (first[i] > second[j]) {
+                j++;
+            } else {
+                result[count++] = first[i];
+                i++;
+                j++;
+            }
+        }
+
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    private static <K> int[] union(Set<K> keys, Map<K, int[]> postings) {
+        if (keys.size() == 1) return postings.getOrDefault(keys.iterator().next(), NO_IDS);
+
+        IntArrayList ids = new IntArrayList();
+        for (K key : keys) {
+            ids.addElements(ids.size(), postings.getOrDefault(key, NO_IDS));
+        }
+
+        int[] result = ids.toIntArray();
+        Arrays.sort(result);
+        return result;
+    }
+
+    private static void addPosting(IntArrayList ids, int id) {
+        // A name can contain the same gram twice, but each id should only be listed once
+        if (ids.isEmpty() || ids.getInt(ids.size() - 1) != id) {
+            ids.add(id);
+        }
+    }
+
+    private static Set<String> getNameKeys(String lowerCaseName) {
+        Set<String> keys = getCharacters(lowerCaseName);
+        keys.addAll(getGrams(lowerCaseName));
+        return keys;
+    }
+
+    private static Set<String> getCharacters(String text) {
+        Set<String> characters = new HashSet<>();
+        for (int i = 0; i < text.length(); i++) {
+            characters.add(String.valueOf(text.charAt(i)));
+        }
+        return characters;
+    }
+
+    private static Set<String> getGrams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+}
@@ -4,20 +4,20 @@
  */
 package com.wynntils.models.gear.tooltip;
 
-import com.wynntils.core.text.CodedString;
 import com.wynntils.models.character.type.ClassType;
 import com.wynntils.models.elements.type.Skill;
 import com.wynntils.models.gear.type.GearInfo;
 import com.wynntils.models.gear.type.GearInstance;
 import com.wynntils.models.items.items.game.GearItem;
 import com.wynntils.models.stats.type.StatListOrdering;
-import com.wynntils.models.wynnitem.parsing.WynnItemParser;
+import com.wynntils.models.wynnitem.parsing.LoreToken;
+import com.wynntils.models.wynnitem.parsing.LoreTokenizer;
 import com.wynntils.utils.mc.ComponentUtils;
 import com.wynntils.utils.mc.LoreUtils;
 import com.wynntils.utils.type.Pair;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
+import java.util.Objects;
 import net.minecraft.network.chat.Component;
 import net.minecraft.world.item.ItemStack;
 
@@ -29,11 +29,12 @@ public final class GearTooltipBuilder {
     private final List<Component> header;
     private final List<Component> footer;
 
-    // The identificationsCache is only valid if the cached dependencies matchs
+    // The tooltipCache is only valid if the cached dependencies match
     private ClassType cachedCurrentClass;
     private GearTooltipStyle cachedStyle;
     private TooltipIdentificationDecorator cachedDecorator;
-    private List<Component> identificationsCache;
+    private Object cachedDecorationKey;
+    private List<Component> tooltipCache;
 
     private GearTooltipBuilder(
             GearInfo gearInfo, GearInstance gearInstance, List<Component> header, List<Component> footer) {
@@ -69,31 +70,33 @@ public final class GearTooltipBuilder {
 
     public List<Component> getTooltipLines(
             ClassType currentClass, GearTooltipStyle style, TooltipIdentificationDecorator decorator) {
-        List<Component> tooltip = new ArrayList<>();
-
-        // Header and footer are always constant
-        tooltip.addAll(header);
-
-        List<Component> identifications;
+        Object decorationKey = decorator == null ? null : decorator.getDecorationKey();
 
         // Identification lines are rendered differently depending on current class, requested
-        // style and provided decorator. If all match, use cache.
-        if (currentClass != cachedCurrentClass || cachedStyle != style || cachedDecorator != decorator) {
-            identifications =
-                    GearTooltipIdentifications.buildTooltip(gearInfo, gearInstance, currentClass, decorator, style);
-            identificationsCache = identifications;
+        // style and provided decorator. If all match, use cache. Styles are compared by value, since
+        // callers typically create a new style for each rendering.
+        if (tooltipCache == null
+                || currentClass != cachedCurrentClass
+                || !style.equals(cachedStyle)
+                || decorator != cachedDecorator
+                || !Objects.equals(decorationKey, cachedDecorationKey)) {
+            List<Component> tooltip = new ArrayList<>();
+
+            // Header and footer are always constant
+            tooltip.addAll(header);
+            tooltip.addAll(
+                    GearTooltipIdentifications.buildTooltip(gearInfo, gearInstance, currentClass, decorator, style));
+            tooltip.addAll(footer);
+
+            tooltipCache = List.copyOf(tooltip);
             cachedCurrentClass = currentClass;
             cachedStyle = style;
             cachedDecorator = decorator;
-        } else {
-            identifications = identificationsCache;
+            cachedDecorationKey = decorationKey;
         }
 
-        tooltip.addAll(identifications);
-
-        tooltip.addAll(footer);
-
-        return tooltip;
+        // Callers are allowed to modify the returned list
+        return new ArrayList<>(tooltipCache);
     }
 
     public List<Component> getTooltipLines(ClassType currentClass) {
@@ -107,26 +110,20 @@ public final class GearTooltipBuilder {
         boolean headerEnded = false;
         boolean footerStarted = false;
         for (Component loreLine : lore) {
-            CodedString codedLine = ComponentUtils.getCoded(loreLine).getNormalized();
+            LoreToken token = LoreTokenizer.tokenizeLine(ComponentUtils.getCoded(loreLine).getNormalized());
 
             if (!footerStarted) {
-                Matcher setBonusMatcher = codedLine.getMatcher(WynnItemParser.SET_BONUS_PATTEN);
-                if (setBonusMatcher.matches()) {
+                if (token instanceof LoreToken.SetBonusHeader) {
                     headerEnded = true;
                     footerStarted = true;
-                } else {
-                    Matcher matcher = codedLine.getMatcher(WynnItemParser.IDENTIFICATION_STAT_PATTERN);
-                    if (matcher.matches()) {
-                        String statName = matcher.group(6);
-
-                        if (Skill.isSkill(statName)) {
-                            // Skill points counts to the header since they are fixed (but look like
-                            // identified stats), so ignore those, and fall through
-                        } else {
-                            headerEnded = true;
-                            // Don't keep identifications lines at all
-                            continue;
-                        }
+                } else if (token instanceof LoreToken.Identification statToken) {
+                    if (Skill.isSkill(statToken.statName())) {
+                        // Skill points counts to the header since they are fixed (but look like
+                        // identified stats), so ignore those, and fall through
+                    } else {
+                        headerEnded = true;
+                        // Don't keep identifications lines at all
+                        continue;
                     }
                 }
             }
@@ -12,4 +12,12 @@ import net.minecraft.network.chat.MutableComponent;
 public interface TooltipIdentificationDecorator {
     MutableComponent getSuffix(
             StatActualValue statActualValue, StatPossibleValues possibleValues, GearTooltipStyle style);
+
+    /**
+     * Returns a value, compared with equals(), that changes whenever the suffixes returned by this
+     * decorator would change for the same stats. Decorated tooltips are cached until then.
+     */
+    default Object getDecorationKey() {
+        return null;
+    }
 }
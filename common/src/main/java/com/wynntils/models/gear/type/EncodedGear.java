@@ -0,0 +1,21 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.gear.type;
+
+import com.wynntils.models.elements.type.Powder;
+import it.unimi.dsi.fastutil.ints.IntList;
+import java.util.List;
+
+/**
+ * A gear item found in a text, in the chat encoding format.
+ *
+ * @param start The index of the start character in the text
+ * @param end The index after the end character in the text
+ * @param name The gear name, as it was written in the text
+ * @param ids The encoded identification values and stars, in legacy stat order
+ * @param powders The decoded powders
+ * @param rerolls The reroll count
+ */
+public record EncodedGear(int start, int end, String name, IntList ids, List<Powder> powders, int rerolls) {}
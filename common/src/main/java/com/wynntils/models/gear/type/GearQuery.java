@@ -0,0 +1,108 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.gear.type;
+
+import com.wynntils.models.stats.type.StatType;
+import com.wynntils.utils.StringUtils;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A structured query over the gear database, e.g. "mythic daggers of level 90 or above with
+ * Walk Speed". Empty sets and null strings mean "no constraint".
+ */
+public record GearQuery(
+        Set<GearType> types,
+        Set<GearTier> tiers,
+        int minLevel,
+        int maxLevel,
+        List<StatType> stats,
+        String nameSearch,
+        String nameContains,
+        boolean gearBoxOnly) {
+    public static QueryBuilder builder() {
+        return new QueryBuilder();
+    }
+
+    public static boolean canBeGearBox(GearInfo gearInfo) {
+        // If all the ways we can obtain this is by merchants, it cannot be in a gear box
+        return gearInfo.metaInfo().obtainInfo().stream()
+                .anyMatch(o -> !o.sourceType().isMerchant());
+    }
+
+    public static final class QueryBuilder {
+        private final Set<GearType> types = EnumSet.noneOf(GearType.class);
+        private final Set<GearTier> tiers = EnumSet.noneOf(GearTier.class);
+        private int minLevel = Integer.MIN_VALUE;
+        private int maxLevel = Integer.MAX_VALUE;
+        private final List<StatType> stats = new ArrayList<>();
+        private String nameSearch;
+        private String nameContains;
+        private boolean gearBoxOnly;
+
+        private QueryBuilder() {}
+
+        public QueryBuilder type(GearType type) {
+            types.add(type);
+            return this;
+        }
+
+        public QueryBuilder tier(GearTier tier) {
+            tiers.add(tier);
+            return this;
+        }
+
+        public QueryBuilder minLevel(int level) {
+            this.minLevel = level;
+            return this;
+        }
+
+        public QueryBuilder maxLevel(int level) {
+            this.maxLevel = level;
+            return this;
+        }
+
+        public QueryBuilder withStat(StatType statType) {
+            stats.add(statType);
+            return this;
+        }
+
+        /**
+         * Matches names containing the characters of the search term in order, like
+         * {@link StringUtils#partialMatch(String, String)}.
+         */
+        public QueryBuilder nameSearch(String searchTerm) {
+            this.nameSearch = searchTerm.isEmpty() ? null : searchTerm;
+            return this;
+        }
+
+        /**
+         * Matches names containing the text, ignoring case.
+         */
+        public QueryBuilder nameContains(String text) {
+            this.nameContains = text.isEmpty() ? null : text;
+            return this;
+        }
+
+        public QueryBuilder gearBoxOnly() {
+            this.gearBoxOnly = true;
+            return this;
+        }
+
+        public GearQuery build() {
+            return new GearQuery(
+                    Set.copyOf(types),
+                    Set.copyOf(tiers),
+                    minLevel,
+                    maxLevel,
+                    List.copyOf(stats),
+                    nameSearch,
+                    nameContains,
+                    gearBoxOnly);
+        }
+    }
+}
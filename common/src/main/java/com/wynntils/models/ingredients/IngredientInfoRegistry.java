@@ -16,6 +16,7 @@ import com.google.gson.JsonParseException;
 import com.wynntils.core.WynntilsMod;
 import com.wynntils.core.components.Managers;
 import com.wynntils.core.components.Models;
+import com.wynntils.core.mod.StartupLoader;
 import com.wynntils.core.net.Download;
 import com.wynntils.core.net.UrlId;
 import com.wynntils.core.net.event.NetResultProcessedEvent;
@@ -49,7 +50,7 @@ public class IngredientInfoRegistry {
     public IngredientInfoRegistry() {
         WynntilsMod.registerEventListener(this);
 
-        loadData();
+        StartupLoader.load("Ingredients", this::loadData);
     }
 
     public void loadData() {
@@ -0,0 +1,59 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.items;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A typed key for a value in a {@link WynnItemCache}. Keys are meant to be static constants; each
+ * key gets the next free slot index when it is created, so the caches can store their values in a
+ * plain array.
+ */
+public final class CacheKey<T> {
+    private static final AtomicInteger KEY_COUNT = new AtomicInteger();
+
+    private final String name;
+    private final int index;
+    private final boolean invalidatedOnUpdate;
+
+    private CacheKey(String name, boolean invalidatedOnUpdate) {
+        this.name = name;
+        this.index = KEY_COUNT.getAndIncrement();
+        this.invalidatedOnUpdate = invalidatedOnUpdate;
+    }
+
+    /**
+     * Creates a key for a value that is derived from the item contents, and is thrown away when the
+     * item is updated.
+     */
+    public static <T> CacheKey<T> create(String name) {
+        return new CacheKey<>(name, true);
+    }
+
+    /**
+     * Creates a key for a value that stays valid when the item is updated, until it is cleared or
+     * stored again.
+     */
+    public static <T> CacheKey<T> createPersistent(String name) {
+        return new CacheKey<>(name, false);
+    }
+
+    static int getKeyCount() {
+        return KEY_COUNT.get();
+    }
+
+    int getIndex() {
+        return index;
+    }
+
+    boolean isInvalidatedOnUpdate() {
+        return invalidatedOnUpdate;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheKey{" + name + "}";
+    }
+}
@@ -21,6 +21,6 @@ public class WynnItem implements ItemAnnotation {
 
     @Override
     public void onUpdate(ItemStack itemStack) {
-        cache.clearAll();
+        cache.invalidate();
     }
 }
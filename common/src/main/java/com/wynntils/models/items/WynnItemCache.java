@@ -4,42 +4,86 @@
  */
 package com.wynntils.models.items;
 
-import java.util.HashMap;
-import java.util.Map;
+import com.wynntils.models.gear.tooltip.GearTooltipBuilder;
+import java.util.Arrays;
 import java.util.function.Supplier;
 
+/**
+ * Values derived from a WynnItem, such as tooltips and highlight colors, so they do not have to be
+ * calculated for every frame. The values are kept in an array indexed by {@link CacheKey}, which is
+ * only allocated when the first value is stored.
+ *
+ * <p>When the item is updated, the content version is increased instead of clearing the values;
+ * values for keys that are invalidated on update are ignored if they were stored for an older version.
+ */
 public class WynnItemCache {
-    public static final String HIGHLIGHT_KEY = "highlight";
-    public static final String OVERLAY_KEY = "overlay";
-    public static final String TOOLTIP_KEY = "tooltip";
-    public static final String SEARCHED_KEY = "searched";
-    public static final String FAVORITE_KEY = "favorite";
+    public static final CacheKey<GearTooltipBuilder> TOOLTIP_KEY = CacheKey.create("tooltip");
+    public static final CacheKey<Boolean> SEARCHED_KEY = CacheKey.create("searched");
+    public static final CacheKey<Integer> FAVORITE_KEY = CacheKey.create("favorite");
+
+    private static final Object[] NO_VALUES = new Object[0];
+    private static final int[] NO_VERSIONS = new int[0];
+    // Stored in place of null, since a null slot means that there is no value
+    private static final Object NULL_VALUE = new Object();
 
-    private final Map<String, Object> cache = new HashMap<>();
+    private Object[] values = NO_VALUES;
+    private int[] versions = NO_VERSIONS;
+    private int contentVersion;
 
-    public <T> T get(String key) {
-        return (T) cache.get(key);
+    public <T> T get(CacheKey<T> key) {
+        Object value = getSlot(key);
+        return value == NULL_VALUE ? null : (T) value;
     }
 
-    public <T> T getOrCalculate(String key, Supplier<T> calculator) {
-        if (!cache.containsKey(key)) {
-            T value = calculator.get();
-            store(key, value);
-            return value;
-        } else {
-            return get(key);
+    public <T> T getOrCalculate(CacheKey<T> key, Supplier<T> calculator) {
+        Object value = getSlot(key);
+        if (value != null) {
+            return value == NULL_VALUE ? null : (T) value;
         }
+
+        T calculated = calculator.get();
+        store(key, calculated);
+        return calculated;
     }
 
-    public <T> void store(String key, T obj) {
-        cache.put(key, obj);
+    public <T> void store(CacheKey<T> key, T value) {
+        int index = key.getIndex();
+        if (index >= values.length) {
+            // Keys can be created after this cache, so always make room for all of them
+            int keyCount = CacheKey.getKeyCount();
+            values = Arrays.copyOf(values, keyCount);
+            versions = Arrays.copyOf(versions, keyCount);
+        }
+
+        values[index] = value == null ? NULL_VALUE : value;
+        versions[index] = contentVersion;
     }
 
-    public <T> void clear(String key) {
-        cache.remove(key);
+    public void clear(CacheKey<?> key) {
+        int index = key.getIndex();
+        if (index < values.length) {
+            values[index] = null;
+        }
     }
 
     public void clearAll() {
-        cache.clear();
+        Arrays.fill(values, null);
+    }
+
+    /**
+     * Called when the item contents change. Values for keys created with {@link CacheKey#create}
+     * are no longer returned.
+     */
+    public void invalidate() {
+        contentVersion++;
+    }
+
+    private Object getSlot(CacheKey<?> key) {
+        int index = key.getIndex();
+        if (index >= values.length) return null;
+
+        if (key.isInvalidatedOnUpdate() && versions[index] != contentVersion) return null;
+
+        return values[index];
     }
 }
@@ -9,6 +9,7 @@ import com.mojang.blaze3d.platform.NativeImage;
 import com.wynntils.core.WynntilsMod;
 import com.wynntils.core.components.Managers;
 import com.wynntils.core.components.Model;
+import com.wynntils.core.mod.StartupLoader;
 import com.wynntils.core.net.Download;
 import com.wynntils.core.net.UrlId;
 import com.wynntils.models.territories.GuildAttackTimerModel;
@@ -25,7 +26,7 @@ public final class MapModel extends Model {
     public MapModel(GuildAttackTimerModel guildAttackTimerModel) {
         super(List.of(guildAttackTimerModel));
 
-        loadData();
+        StartupLoader.load("Maps", this::loadData);
     }
 
     @Override
@@ -10,6 +10,7 @@ import com.google.gson.JsonElement;
 import com.wynntils.core.WynntilsMod;
 import com.wynntils.core.components.Managers;
 import com.wynntils.core.components.Model;
+import com.wynntils.core.mod.StartupLoader;
 import com.wynntils.core.net.Download;
 import com.wynntils.core.net.UrlId;
 import com.wynntils.core.net.event.NetResultProcessedEvent;
@@ -59,7 +60,7 @@ public class PoiModel extends Model {
     public PoiModel() {
         super(List.of());
 
-        loadData();
+        StartupLoader.load("Pois", this::loadData);
     }
 
     @Override
@@ -26,6 +26,16 @@ public abstract class PlayerPoiBase implements Poi {
         return user.getMapLocation();
     }
 
+    @Override
+    public float getRenderedX() {
+        return user.getDisplayedX();
+    }
+
+    @Override
+    public float getRenderedZ() {
+        return user.getDisplayedZ();
+    }
+
     @Override
     public boolean hasStaticLocation() {
         return false;
@@ -12,6 +12,17 @@ import net.minecraft.client.renderer.MultiBufferSource;
 public interface Poi {
     PoiLocation getLocation();
 
+    /**
+     * The x coordinate this POI is rendered at. POIs that move smoothly can return a position between blocks here.
+     */
+    default float getRenderedX() {
+        return getLocation().getX();
+    }
+
+    default float getRenderedZ() {
+        return getLocation().getZ();
+    }
+
     /**
      * Display priority is used to determine the order in which POIs are rendered.
      * A higher display priority means, that the POI is rendered later, so it will be on top of other POIs.
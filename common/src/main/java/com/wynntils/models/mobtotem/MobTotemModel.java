@@ -4,10 +4,12 @@
  */
 package com.wynntils.models.mobtotem;
 
+import com.wynntils.core.components.Handlers;
 import com.wynntils.core.components.Model;
 import com.wynntils.core.components.Models;
-import com.wynntils.handlers.labels.event.EntityLabelChangedEvent;
 import com.wynntils.mc.event.RemoveEntitiesEvent;
+import com.wynntils.models.mobtotem.event.MobTotemLabelEvent;
+import com.wynntils.models.mobtotem.labels.MobTotemLabelParser;
 import com.wynntils.models.worlds.WorldStateModel;
 import com.wynntils.models.worlds.event.WorldStateEvent;
 import com.wynntils.utils.mc.PosUtils;
@@ -15,52 +17,44 @@ import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import net.minecraft.world.entity.Entity;
-import net.minecraft.world.entity.decoration.ArmorStand;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 
 public class MobTotemModel extends Model {
-    private static final Pattern MOB_TOTEM_NAME = Pattern.compile("^§f§l(.*)'s§6§l Mob Totem$");
-    private static final Pattern MOB_TOTEM_TIMER = Pattern.compile("^§c§l([0-9]+:[0-9]+)$");
     private static final double TOTEM_COORDINATE_DIFFERENCE = 0.2d;
 
     private final Map<Integer, MobTotem> mobTotems = new LinkedHashMap<>();
 
     public MobTotemModel(WorldStateModel worldState) {
         super(List.of(worldState));
+
+        Handlers.Label.registerParser(new MobTotemLabelParser());
     }
 
     @SubscribeEvent
-    public void onTotemRename(EntityLabelChangedEvent e) {
+    public void onTotemName(MobTotemLabelEvent.Name e) {
         if (!Models.WorldState.onWorld()) return;
 
-        Entity entity = e.getEntity();
-        if (!(entity instanceof ArmorStand as)) return;
-
         // If a new mob totem just appeared, add it to the unstarted list
-        // Totem timers do not match the MOB_TOTEM_NAME pattern
-        Matcher nameMatcher = e.getName().getMatcher(MOB_TOTEM_NAME);
-        if (nameMatcher.find()) {
-            int mobTotemId = e.getEntity().getId();
+        int mobTotemId = e.getEntity().getId();
 
-            if (mobTotems.containsKey(mobTotemId)) return; // If the totem is already in the list, don't add it again
+        if (mobTotems.containsKey(mobTotemId)) return; // If the totem is already in the list, don't add it again
 
-            mobTotems.put(mobTotemId, new MobTotem(PosUtils.newPosition(as), nameMatcher.group(1)));
-            return;
-        }
+        mobTotems.put(mobTotemId, new MobTotem(PosUtils.newPosition(e.getEntity()), e.getOwner()));
+    }
 
-        Matcher timerMatcher = e.getName().getMatcher(MOB_TOTEM_TIMER);
-        if (!timerMatcher.find()) return;
+    @SubscribeEvent
+    public void onTotemTimer(MobTotemLabelEvent.Timer e) {
+        if (!Models.WorldState.onWorld()) return;
 
+        Entity entity = e.getEntity();
         mobTotems.values().stream()
                 .filter(
                         // Exact equality is fine here because the totem is stationary
-                        mobTotem -> as.getX() == mobTotem.getPosition().x()
-                                && as.getY() == (mobTotem.getPosition().y() + TOTEM_COORDINATE_DIFFERENCE)
-                                && as.getZ() == mobTotem.getPosition().z())
-                .forEach(mobTotem -> mobTotem.setTimerString(timerMatcher.group(1)));
+                        mobTotem -> entity.getX() == mobTotem.getPosition().x()
+                                && entity.getY() == (mobTotem.getPosition().y() + TOTEM_COORDINATE_DIFFERENCE)
+                                && entity.getZ() == mobTotem.getPosition().z())
+                .forEach(mobTotem -> mobTotem.setTimerString(e.getTimerString()));
     }
 
     @SubscribeEvent
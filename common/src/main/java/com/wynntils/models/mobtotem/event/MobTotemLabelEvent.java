@@ -0,0 +1,47 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.mobtotem.event;
+
+import com.wynntils.core.text.CodedString;
+import com.wynntils.handlers.labels.event.LabelIdentifiedEvent;
+import net.minecraft.world.entity.Entity;
+
+public abstract class MobTotemLabelEvent extends LabelIdentifiedEvent {
+    protected MobTotemLabelEvent(Entity entity, CodedString label) {
+        super(entity, label);
+    }
+
+    /**
+     * Fired when the name label of a mob totem appears
+     */
+    public static final class Name extends MobTotemLabelEvent {
+        private final String owner;
+
+        public Name(Entity entity, CodedString label, String owner) {
+            super(entity, label);
+            this.owner = owner;
+        }
+
+        public String getOwner() {
+            return owner;
+        }
+    }
+
+    /**
+     * Fired when the timer label below a mob totem name changes
+     */
+    public static final class Timer extends MobTotemLabelEvent {
+        private final String timerString;
+
+        public Timer(Entity entity, CodedString label, String timerString) {
+            super(entity, label);
+            this.timerString = timerString;
+        }
+
+        public String getTimerString() {
+            return timerString;
+        }
+    }
+}
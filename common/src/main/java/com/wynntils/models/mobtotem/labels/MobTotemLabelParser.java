@@ -0,0 +1,42 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.mobtotem.labels;
+
+import com.wynntils.core.text.CodedString;
+import com.wynntils.handlers.labels.LabelParser;
+import com.wynntils.handlers.labels.event.LabelIdentifiedEvent;
+import com.wynntils.models.mobtotem.event.MobTotemLabelEvent;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.decoration.ArmorStand;
+
+public final class MobTotemLabelParser implements LabelParser {
+    private static final Pattern MOB_TOTEM_NAME = Pattern.compile("^§f§l(.*)'s§6§l Mob Totem$");
+    private static final Pattern MOB_TOTEM_TIMER = Pattern.compile("^§c§l([0-9]+:[0-9]+)$");
+
+    @Override
+    public String getStyleCodes() {
+        return "fc";
+    }
+
+    @Override
+    public LabelIdentifiedEvent getEvent(Entity entity, CodedString label) {
+        if (!(entity instanceof ArmorStand)) return null;
+
+        // Totem timers do not match the MOB_TOTEM_NAME pattern
+        Matcher nameMatcher = label.getMatcher(MOB_TOTEM_NAME);
+        if (nameMatcher.find()) {
+            return new MobTotemLabelEvent.Name(entity, label, nameMatcher.group(1));
+        }
+
+        Matcher timerMatcher = label.getMatcher(MOB_TOTEM_TIMER);
+        if (timerMatcher.find()) {
+            return new MobTotemLabelEvent.Timer(entity, label, timerMatcher.group(1));
+        }
+
+        return null;
+    }
+}
@@ -4,22 +4,25 @@
  */
 package com.wynntils.models.players;
 
-import com.mojang.blaze3d.systems.RenderSystem;
 import com.wynntils.core.WynntilsMod;
 import com.wynntils.core.components.Managers;
 import com.wynntils.core.components.Model;
 import com.wynntils.core.components.Models;
 import com.wynntils.core.net.ApiResponse;
 import com.wynntils.core.net.UrlId;
+import com.wynntils.core.storage.Storage;
 import com.wynntils.core.text.StyledText;
 import com.wynntils.mc.event.PlayerJoinedWorldEvent;
 import com.wynntils.mc.event.PlayerTeamEvent;
+import com.wynntils.models.players.type.CachedUser;
 import com.wynntils.models.worlds.event.WorldStateEvent;
 import com.wynntils.models.worlds.type.WorldState;
 import com.wynntils.utils.mc.McUtils;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
@@ -34,9 +37,13 @@ public final class PlayerModel extends Model {
     private static final Pattern GHOST_WORLD_PATTERN = Pattern.compile("^_(\\d+)$");
     private static final int MAX_ERRORS = 5;
 
+    // Athena lookups from earlier sessions, by uuid, including players that are not Wynntils users
+    private final Storage<Map<String, CachedUser>> cachedUsers = new Storage<>(new TreeMap<>());
+    private final UserLookupCache userLookupCache = new UserLookupCache(cachedUsers::get, cachedUsers::touched);
+
     private final Map<UUID, WynntilsUser> users = new ConcurrentHashMap<>();
-    private final Set<UUID> fetching = ConcurrentHashMap.newKeySet();
     private final Map<UUID, Integer> ghosts = new ConcurrentHashMap<>();
+    private final Set<UUID> fetching = ConcurrentHashMap.newKeySet();
     private int errorCount;
     private final Map<UUID, String> nameMap = new ConcurrentHashMap<>();
 
@@ -46,6 +53,11 @@ public final class PlayerModel extends Model {
         errorCount = 0;
     }
 
+    @Override
+    public boolean isStorageLazyLoaded() {
+        return true;
+    }
+
     // Returns true if the player is on the same server and is not a npc
     public boolean isLocalPlayer(Player player) {
         return !isNpc(player) && !(isPlayerGhost(player));
@@ -114,29 +126,34 @@ public final class PlayerModel extends Model {
     }
 
     private void loadUser(UUID uuid, String userName) {
-        if (fetching.contains(uuid)) return;
+        nameMap.put(uuid, userName);
+        if (users.containsKey(uuid) || fetching.contains(uuid)) return;
+
+        // Show what we know right away, even if it is time to refresh it
+        userLookupCache.getUser(uuid).ifPresent(user -> setUser(uuid, user));
+        if (!userLookupCache.needsLookup(uuid, System.currentTimeMillis())) return;
+
         if (errorCount >= MAX_ERRORS) {
             // Athena is having problems, skip this
             return;
         }
 
-        fetching.add(uuid); // temporary, avoid extra loads
-        nameMap.put(uuid, userName);
+        fetching.add(uuid);
 
         ApiResponse apiResponse = Managers.Net.callApi(UrlId.API_ATHENA_USER_INFO, Map.of("uuid", uuid.toString()));
         apiResponse.handleJsonObject(
                 json -> {
-                    if (!json.has("user")) return;
-
-                    WynntilsUser user = WynntilsMod.GSON.fromJson(json.getAsJsonObject("user"), WynntilsUser.class);
-
-                    users.put(uuid, user);
-                    fetching.remove(uuid);
+                    // Players that are not Wynntils users have no user, and are cached as such too
+                    Optional<WynntilsUser> user = json.has("user")
+                            ? Optional.of(WynntilsMod.GSON.fromJson(json.getAsJsonObject("user"), WynntilsUser.class))
+                            : Optional.empty();
 
-                    // Schedule cape loading for next render tick
-                    RenderSystem.recordRenderCall(() -> Models.Cosmetics.loadCosmeticTextures(uuid, user));
+                    // The storage is only touched from the main thread
+                    Managers.TickScheduler.scheduleNextTick(() -> onUserLoaded(uuid, user));
                 },
                 onError -> {
+                    fetching.remove(uuid);
+
                     errorCount++;
                     if (errorCount >= MAX_ERRORS) {
                         WynntilsMod.error("Athena user lookup has repeating failures. Disabling future lookups.");
@@ -144,9 +161,30 @@ public final class PlayerModel extends Model {
                 });
     }
 
+    private void onUserLoaded(UUID uuid, Optional<WynntilsUser> user) {
+        fetching.remove(uuid);
+        userLookupCache.put(uuid, user, System.currentTimeMillis());
+
+        // The player might have left while we were waiting, or the user is unchanged
+        if (user.isEmpty() || !nameMap.containsKey(uuid) || user.get().equals(users.get(uuid))) return;
+
+        setUser(uuid, user.get());
+    }
+
+    private void setUser(UUID uuid, WynntilsUser user) {
+        users.put(uuid, user);
+
+        // The texture is decoded in the background, and uploaded on a later render call
+        Models.Cosmetics.loadCosmeticTextures(uuid, user);
+    }
+
     private void clearUserCache() {
         users.clear();
         nameMap.clear();
+        fetching.clear();
+
+        // Only the in-memory users are cleared; drop the expired lookups from the persistent cache
+        userLookupCache.removeExpired(System.currentTimeMillis());
     }
 
     private void clearGhostCache() {
@@ -0,0 +1,59 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.players;
+
+import com.wynntils.models.players.type.CachedUser;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Athena user lookups from this and earlier sessions, by uuid, including players that are not Wynntils
+ * users. The lookups are read through a supplier, so a lazily loaded storage is only loaded once a player
+ * is looked up.
+ */
+public final class UserLookupCache {
+    private final Supplier<Map<String, CachedUser>> cachedUsers;
+    private final Runnable onChange;
+
+    public UserLookupCache(Supplier<Map<String, CachedUser>> cachedUsers, Runnable onChange) {
+        this.cachedUsers = cachedUsers;
+        this.onChange = onChange;
+    }
+
+    /**
+     * Returns the cached user of the player, if it is a Wynntils user. Expired users are returned too,
+     * so they can be shown while they are looked up again.
+     */
+    public Optional<WynntilsUser> getUser(UUID uuid) {
+        CachedUser cachedUser = cachedUsers.get().get(uuid.toString());
+        if (cachedUser == null) return Optional.empty();
+
+        return Optional.ofNullable(cachedUser.user());
+    }
+
+    /**
+     * Returns true if the player has not been looked up yet, or if the lookup has expired.
+     */
+    public boolean needsLookup(UUID uuid, long nowMillis) {
+        CachedUser cachedUser = cachedUsers.get().get(uuid.toString());
+        return cachedUser == null || cachedUser.isExpired(nowMillis);
+    }
+
+    /**
+     * Stores the result of a lookup. An empty user means the player is not a Wynntils user.
+     */
+    public void put(UUID uuid, Optional<WynntilsUser> user, long nowMillis) {
+        cachedUsers.get().put(uuid.toString(), new CachedUser(user.orElse(null), nowMillis));
+        onChange.run();
+    }
+
+    public void removeExpired(long nowMillis) {
+        if (cachedUsers.get().values().removeIf(cachedUser -> cachedUser.isExpired(nowMillis))) {
+            onChange.run();
+        }
+    }
+}
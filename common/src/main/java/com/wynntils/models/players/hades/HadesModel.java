@@ -25,6 +25,7 @@ import com.wynntils.models.character.event.CharacterUpdateEvent;
 import com.wynntils.models.players.event.HadesRelationsUpdateEvent;
 import com.wynntils.models.players.hades.event.HadesEvent;
 import com.wynntils.models.players.hades.objects.HadesUser;
+import com.wynntils.models.players.hades.objects.MotionState;
 import com.wynntils.models.players.hades.objects.PlayerStatus;
 import com.wynntils.models.worlds.WorldStateModel;
 import com.wynntils.models.worlds.event.WorldStateEvent;
@@ -49,12 +50,20 @@ import net.minecraftforge.eventbus.api.SubscribeEvent;
 public final class HadesModel extends Model {
     private static final int TICKS_PER_UPDATE = 2;
     private static final int MS_PER_PING = 1000;
+    // Movement is only sent when the receivers' dead reckoning would be off by more than this many blocks
+    private static final float MAX_PREDICTION_ERROR = 0.5f;
+    private static final long MAX_MS_BETWEEN_MOVEMENT_UPDATES = 1000;
+
+    // These can be overridden to connect to a local stand-in server for testing
+    private static final String HADES_HOST = System.getProperty("wynntils.hades.host", "io.wynntils.com");
+    private static final int HADES_PORT = Integer.getInteger("wynntils.hades.port", 9000);
 
     private final HadesUserRegistry userRegistry = new HadesUserRegistry();
 
     private HadesConnection hadesConnection;
     private int tickCountUntilUpdate = 0;
     private PlayerStatus lastSentStatus;
+    private MotionState lastSentMotion;
     private ScheduledExecutorService pingScheduler;
 
     public HadesModel(CharacterModel characterModel, WorldStateModel worldStateModel) {
@@ -75,7 +84,7 @@ public final class HadesModel extends Model {
     private void tryCreateConnection() {
         try {
             hadesConnection = new HadesNetworkBuilder()
-                    .setAddress(InetAddress.getByName("io.wynntils.com"), 9000)
+                    .setAddress(InetAddress.getByName(HADES_HOST), HADES_PORT)
                     .setDirection(PacketDirection.SERVER)
                     .setCompressionThreshold(256)
                     .setHandlerFactory(a -> new HadesClientHandler(a, userRegistry))
@@ -83,6 +92,7 @@ public final class HadesModel extends Model {
 
             tickCountUntilUpdate = 0;
             lastSentStatus = null;
+            lastSentMotion = null;
         } catch (UnknownHostException e) {
             WynntilsMod.error("Could not resolve Hades host address.", e);
         }
@@ -207,14 +217,15 @@ public final class HadesModel extends Model {
         if (tickCountUntilUpdate <= 0) {
             LocalPlayer player = McUtils.player();
 
-            float pX = (float) player.getX();
-            float pY = (float) player.getY();
-            float pZ = (float) player.getZ();
-
-            PlayerStatus newStatus =
-                    new PlayerStatus(pX, pY, pZ, Models.CharacterStats.getHealth(), Models.CharacterStats.getMana());
+            PlayerStatus newStatus = PlayerStatus.quantized(
+                    player.getX(),
+                    player.getY(),
+                    player.getZ(),
+                    Models.CharacterStats.getHealth(),
+                    Models.CharacterStats.getMana());
+            long now = System.currentTimeMillis();
 
-            if (newStatus.equals(lastSentStatus)) {
+            if (!shouldSendStatus(newStatus, now)) {
                 tickCountUntilUpdate = 1;
                 return;
             }
@@ -222,6 +233,9 @@ public final class HadesModel extends Model {
             tickCountUntilUpdate = TICKS_PER_UPDATE;
 
             lastSentStatus = newStatus;
+            lastSentMotion = lastSentMotion == null
+                    ? MotionState.stationary(newStatus.x(), newStatus.y(), newStatus.z(), now)
+                    : lastSentMotion.next(newStatus.x(), newStatus.y(), newStatus.z(), now);
 
             hadesConnection.sendPacketAndFlush(new HCPacketUpdateStatus(
                     lastSentStatus.x(),
@@ -234,6 +248,21 @@ public final class HadesModel extends Model {
         }
     }
 
+    private boolean shouldSendStatus(PlayerStatus newStatus, long now) {
+        if (lastSentStatus == null) return true;
+
+        // Health and mana cannot be predicted, so any change is sent
+        if (!newStatus.hasSameVitals(lastSentStatus)) return true;
+        // If we have stopped, receivers need one more update to stop extrapolating our movement
+        if (newStatus.hasSamePosition(lastSentStatus)) return !lastSentMotion.isStationary();
+
+        // Receivers extrapolate our position from the last two updates, so as long as that prediction
+        // is close enough, there is no need to send our position
+        if (now - lastSentMotion.timestamp() >= MAX_MS_BETWEEN_MOVEMENT_UPDATES) return true;
+        return lastSentMotion.predictionErrorSquared(newStatus.x(), newStatus.y(), newStatus.z(), now)
+                > MAX_PREDICTION_ERROR * MAX_PREDICTION_ERROR;
+    }
+
     public void tryResendWorldData() {
         if (!isConnected()) return;
 
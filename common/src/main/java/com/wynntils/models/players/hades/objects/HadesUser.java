@@ -6,12 +6,16 @@ package com.wynntils.models.players.hades.objects;
 
 import com.wynntils.hades.protocol.packets.server.HSPacketUpdateMutual;
 import com.wynntils.models.map.PoiLocation;
+import com.wynntils.utils.MathUtils;
 import com.wynntils.utils.colors.CommonColors;
 import com.wynntils.utils.colors.CustomColor;
 import com.wynntils.utils.type.CappedValue;
 import java.util.UUID;
 
 public class HadesUser {
+    // Time over which a correction from a new update is smoothed in, instead of jumping to it
+    private static final long CORRECTION_BLEND_MS = 150;
+
     private final UUID uuid;
     private final String name;
 
@@ -19,10 +23,16 @@ public class HadesUser {
     private boolean isMutualFriend;
     private boolean isGuildMember;
     private float x, y, z;
-    private PoiLocation poiLocation;
+    private volatile Track track;
     private CappedValue health;
     private CappedValue mana;
 
+    // The displayed position is computed once per millisecond, and the map location is only replaced when
+    // the user moves to another block, so rendering does not allocate every frame
+    private long displayedTime = -1;
+    private float displayedX, displayedY, displayedZ;
+    private PoiLocation mapLocation;
+
     public HadesUser(HSPacketUpdateMutual packet) {
         uuid = packet.getUser();
         name = packet.getName();
@@ -39,7 +49,8 @@ public class HadesUser {
         this.y = 0;
         this.z = 0;
 
-        this.poiLocation = new PoiLocation((int) x, (int) y, (int) z);
+        MotionState motion = MotionState.stationary(x, y, z, System.currentTimeMillis());
+        this.track = new Track(motion, motion);
 
         this.isGuildMember = false;
         this.isMutualFriend = false;
@@ -81,8 +92,38 @@ public class HadesUser {
         return z;
     }
 
+    /**
+     * Returns the predicted current location of this user, rounded to whole blocks. Between updates, the position
+     * is extrapolated from the last known velocity, and corrections from new updates are smoothed in.
+     */
     public PoiLocation getMapLocation() {
-        return poiLocation;
+        updateDisplayedPosition(System.currentTimeMillis());
+
+        int blockX = Math.round(displayedX);
+        int blockY = Math.round(displayedY);
+        int blockZ = Math.round(displayedZ);
+        if (mapLocation == null
+                || mapLocation.getX() != blockX
+                || mapLocation.getY().orElse(blockY) != blockY
+                || mapLocation.getZ() != blockZ) {
+            mapLocation = new PoiLocation(blockX, blockY, blockZ);
+        }
+
+        return mapLocation;
+    }
+
+    /**
+     * Returns the predicted current x coordinate of this user, without rounding it to a block. This is what the
+     * map renders, so the movement between updates stays smooth.
+     */
+    public float getDisplayedX() {
+        updateDisplayedPosition(System.currentTimeMillis());
+        return displayedX;
+    }
+
+    public float getDisplayedZ() {
+        updateDisplayedPosition(System.currentTimeMillis());
+        return displayedZ;
     }
 
     public CappedValue getHealth() {
@@ -97,7 +138,7 @@ public class HadesUser {
         this.x = packet.getX();
         this.y = packet.getY();
         this.z = packet.getZ();
-        this.poiLocation = new PoiLocation((int) x, (int) y, (int) z);
+        updateTrack(System.currentTimeMillis());
 
         this.health = new CappedValue(packet.getHealth(), packet.getMaxHealth());
         this.mana = new CappedValue(packet.getMana(), packet.getMaxMana());
@@ -107,6 +148,42 @@ public class HadesUser {
         this.isGuildMember = packet.isGuildMember();
     }
 
+    private void updateTrack(long now) {
+        Track oldTrack = track;
+        if (oldTrack == null) {
+            MotionState motion = MotionState.stationary(x, y, z, now);
+            track = new Track(motion, motion);
+            return;
+        }
+
+        // Start the correction from where we are currently displaying the user
+        track = new Track(oldTrack.motion().next(x, y, z, now), getDisplayedMotion(now));
+        displayedTime = -1;
+    }
+
+    private void updateDisplayedPosition(long now) {
+        if (now == displayedTime) return;
+
+        MotionState displayed = getDisplayedMotion(now);
+        displayedX = displayed.x();
+        displayedY = displayed.y();
+        displayedZ = displayed.z();
+        displayedTime = now;
+    }
+
+    private MotionState getDisplayedMotion(long now) {
+        Track currentTrack = track;
+        MotionState motion = currentTrack.motion();
+        MotionState origin = currentTrack.origin();
+
+        float blend = Math.min(1f, (now - motion.timestamp()) / (float) CORRECTION_BLEND_MS);
+        return MotionState.stationary(
+                MathUtils.lerp(origin.x(), motion.predictX(now), blend),
+                MathUtils.lerp(origin.y(), motion.predictY(now), blend),
+                MathUtils.lerp(origin.z(), motion.predictZ(now), blend),
+                now);
+    }
+
     public CustomColor getRelationColor() {
         if (isPartyMember) return CommonColors.YELLOW;
         if (isMutualFriend) return CommonColors.GREEN;
@@ -114,4 +191,6 @@ public class HadesUser {
 
         return CustomColor.NONE;
     }
+
+    private record Track(MotionState motion, MotionState origin) {}
 }
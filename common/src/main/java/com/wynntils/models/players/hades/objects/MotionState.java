@@ -0,0 +1,64 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.players.hades.objects;
+
+/**
+ * The last known position of a player, together with the velocity derived from the update before it.
+ * This is used for dead reckoning; both the sender, to decide if the receivers' prediction is still good
+ * enough, and the receivers, to predict where the player is between updates.
+ */
+public record MotionState(float x, float y, float z, float velX, float velY, float velZ, long timestamp) {
+    // Never extrapolate further than this; if we have not heard from a player in a while, they have likely stopped
+    private static final long MAX_EXTRAPOLATION_MS = 1000;
+    // Updates further apart than this are not considered to be part of the same movement
+    private static final long MAX_VELOCITY_INTERVAL_MS = 2000;
+
+    public static MotionState stationary(float x, float y, float z, long timestamp) {
+        return new MotionState(x, y, z, 0, 0, 0, timestamp);
+    }
+
+    public MotionState next(float newX, float newY, float newZ, long newTimestamp) {
+        long interval = newTimestamp - timestamp;
+        if (interval <= 0 || interval > MAX_VELOCITY_INTERVAL_MS) {
+            return stationary(newX, newY, newZ, newTimestamp);
+        }
+
+        return new MotionState(
+                newX,
+                newY,
+                newZ,
+                (newX - x) / interval,
+                (newY - y) / interval,
+                (newZ - z) / interval,
+                newTimestamp);
+    }
+
+    public boolean isStationary() {
+        return velX == 0 && velY == 0 && velZ == 0;
+    }
+
+    public float predictX(long time) {
+        return x + velX * getExtrapolationTime(time);
+    }
+
+    public float predictY(long time) {
+        return y + velY * getExtrapolationTime(time);
+    }
+
+    public float predictZ(long time) {
+        return z + velZ * getExtrapolationTime(time);
+    }
+
+    public float predictionErrorSquared(float actualX, float actualY, float actualZ, long time) {
+        float dX = predictX(time) - actualX;
+        float dY = predictY(time) - actualY;
+        float dZ = predictZ(time) - actualZ;
+        return dX * dX + dY * dY + dZ * dZ;
+    }
+
+    private long getExtrapolationTime(long time) {
+        return Math.max(0, Math.min(time - timestamp, MAX_EXTRAPOLATION_MS));
+    }
+}
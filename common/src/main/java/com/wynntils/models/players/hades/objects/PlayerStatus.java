@@ -6,4 +6,23 @@ package com.wynntils.models.players.hades.objects;
 
 import com.wynntils.utils.type.CappedValue;
 
-public record PlayerStatus(float x, float y, float z, CappedValue health, CappedValue mana) {}
+public record PlayerStatus(float x, float y, float z, CappedValue health, CappedValue mana) {
+    // Positions are only shared with a precision of 1/8 of a block, so tiny movements do not cause updates
+    private static final float POSITION_QUANTUM = 0.125f;
+
+    public static PlayerStatus quantized(double x, double y, double z, CappedValue health, CappedValue mana) {
+        return new PlayerStatus(quantize(x), quantize(y), quantize(z), health, mana);
+    }
+
+    public boolean hasSameVitals(PlayerStatus other) {
+        return health.equals(other.health) && mana.equals(other.mana);
+    }
+
+    public boolean hasSamePosition(PlayerStatus other) {
+        return x == other.x && y == other.y && z == other.z;
+    }
+
+    private static float quantize(double value) {
+        return Math.round(value / POSITION_QUANTUM) * POSITION_QUANTUM;
+    }
+}
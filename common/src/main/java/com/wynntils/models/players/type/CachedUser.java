@@ -0,0 +1,26 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.players.type;
+
+import com.wynntils.models.players.WynntilsUser;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The result of an Athena user lookup, as cached between sessions. A null user means the player
+ * is not a Wynntils user; that is remembered too, but not for as long.
+ */
+public record CachedUser(WynntilsUser user, long fetchedAt) {
+    private static final long USER_TTL_MILLIS = TimeUnit.HOURS.toMillis(6);
+    private static final long NO_USER_TTL_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    public boolean isWynntilsUser() {
+        return user != null;
+    }
+
+    public boolean isExpired(long nowMillis) {
+        long ttl = isWynntilsUser() ? USER_TTL_MILLIS : NO_USER_TTL_MILLIS;
+        return nowMillis - fetchedAt >= ttl;
+    }
+}
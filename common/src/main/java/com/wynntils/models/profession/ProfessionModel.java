@@ -4,11 +4,13 @@
  */
 package com.wynntils.models.profession;
 
+import com.wynntils.core.components.Handlers;
 import com.wynntils.core.components.Model;
 import com.wynntils.core.text.CodedString;
 import com.wynntils.handlers.chat.event.ChatMessageReceivedEvent;
-import com.wynntils.handlers.labels.event.EntityLabelChangedEvent;
 import com.wynntils.models.character.CharacterModel;
+import com.wynntils.models.profession.event.ProfessionXpLabelEvent;
+import com.wynntils.models.profession.labels.ProfessionXpLabelParser;
 import com.wynntils.models.profession.type.ProfessionProgress;
 import com.wynntils.models.profession.type.ProfessionType;
 import com.wynntils.utils.mc.LoreUtils;
@@ -25,11 +27,6 @@ import net.minecraft.world.item.ItemStack;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 
 public class ProfessionModel extends Model {
-    // §7[+36§f Ⓙ§7 Farming§7 XP] §6[9%]
-    // §dx2.0 §7[+§d93§f Ⓙ§7 Farming§7 XP] §6[9%]
-    private static final Pattern PROFESSION_NODE_HARVERSTED_PATTERN = Pattern.compile(
-            "(§dx[\\d\\.]+ )?§7\\[\\+(§d)?(?<gain>\\d+)§f [ⓀⒸⒷⒿⒺⒹⓁⒶⒼⒻⒾⒽ]§7 (?<name>.+)§7 XP\\] §6\\[(?<current>\\d+)%\\]");
-
     // §dx2.0 §r§7[+§r§d28 §r§fⒺ §r§7Scribing XP] §r§6[56%]
     private static final Pattern PROFESSION_CRAFT_PATTERN = Pattern.compile(
             "(§dx[\\d\\.]+ §r)?§7\\[\\+(§r§d)?(?<gain>\\d+) §r§f[ⓀⒸⒷⒿⒺⒹⓁⒶⒼⒻⒾⒽ] §r§7(?<name>.+) XP\\] §r§6\\[(?<current>\\d+)%\\]");
@@ -48,18 +45,13 @@ public class ProfessionModel extends Model {
         for (ProfessionType pt : ProfessionType.values()) {
             rawXpGainInLastMinute.put(pt, new TimedSet<>(1, TimeUnit.MINUTES, true));
         }
+
+        Handlers.Label.registerParser(new ProfessionXpLabelParser());
     }
 
     @SubscribeEvent
-    public void onLabelSpawn(EntityLabelChangedEvent event) {
-        Matcher matcher = event.getName().getMatcher(PROFESSION_NODE_HARVERSTED_PATTERN);
-
-        if (matcher.matches()) {
-            updatePercentage(
-                    ProfessionType.fromString(matcher.group("name")),
-                    Float.parseFloat(matcher.group("current")),
-                    Float.parseFloat(matcher.group("gain")));
-        }
+    public void onLabelSpawn(ProfessionXpLabelEvent event) {
+        updatePercentage(event.getProfessionType(), event.getCurrentPercentage(), event.getXpGain());
     }
 
     @SubscribeEvent
@@ -0,0 +1,43 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.profession.event;
+
+import com.wynntils.core.text.CodedString;
+import com.wynntils.handlers.labels.event.LabelIdentifiedEvent;
+import com.wynntils.models.profession.type.ProfessionType;
+import net.minecraft.world.entity.Entity;
+
+/**
+ * Fired when the label showing the gained profession XP appears above a harvested resource node.
+ */
+public final class ProfessionXpLabelEvent extends LabelIdentifiedEvent {
+    private final ProfessionType professionType;
+    private final float currentPercentage;
+    private final float xpGain;
+
+    public ProfessionXpLabelEvent(
+            Entity entity,
+            CodedString label,
+            ProfessionType professionType,
+            float currentPercentage,
+            float xpGain) {
+        super(entity, label);
+        this.professionType = professionType;
+        this.currentPercentage = currentPercentage;
+        this.xpGain = xpGain;
+    }
+
+    public ProfessionType getProfessionType() {
+        return professionType;
+    }
+
+    public float getCurrentPercentage() {
+        return currentPercentage;
+    }
+
+    public float getXpGain() {
+        return xpGain;
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.profession.labels;
+
+import com.wynntils.core.text.CodedString;
+import com.wynntils.handlers.labels.LabelParser;
+import com.wynntils.handlers.labels.event.LabelIdentifiedEvent;
+import com.wynntils.models.profession.event.ProfessionXpLabelEvent;
+import com.wynntils.models.profession.type.ProfessionType;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import net.minecraft.world.entity.Entity;
+
+public final class ProfessionXpLabelParser implements LabelParser {
+    // §7[+36§f Ⓙ§7 Farming§7 XP] §6[9%]
+    // §dx2.0 §7[+§d93§f Ⓙ§7 Farming§7 XP] §6[9%]
+    private static final Pattern PROFESSION_NODE_HARVERSTED_PATTERN = Pattern.compile(
+            "(§dx[\\d\\.]+ )?§7\\[\\+(§d)?(?<gain>\\d+)§f [ⓀⒸⒷⒿⒺⒹⓁⒶⒼⒻⒾⒽ]§7 (?<name>.+)§7 XP\\] §6\\[(?<current>\\d+)%\\]");
+
+    @Override
+    public String getStyleCodes() {
+        return "d7";
+    }
+
+    @Override
+    public LabelIdentifiedEvent getEvent(Entity entity, CodedString label) {
+        Matcher matcher = label.getMatcher(PROFESSION_NODE_HARVERSTED_PATTERN);
+        if (!matcher.matches()) return null;
+
+        return new ProfessionXpLabelEvent(
+                entity,
+                label,
+                ProfessionType.fromString(matcher.group("name")),
+                Float.parseFloat(matcher.group("current")),
+                Float.parseFloat(matcher.group("gain")));
+    }
+}
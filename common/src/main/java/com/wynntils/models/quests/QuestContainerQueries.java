@@ -9,12 +9,14 @@ import com.wynntils.core.components.Models;
 import com.wynntils.core.text.StyledText;
 import com.wynntils.handlers.container.ScriptedContainerQuery;
 import com.wynntils.handlers.container.type.ContainerContent;
+import com.wynntils.models.quests.type.QuestPageSnapshot;
 import com.wynntils.utils.mc.McUtils;
 import com.wynntils.utils.wynn.ContainerUtils;
 import com.wynntils.utils.wynn.InventoryUtils;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import net.minecraft.ChatFormatting;
 import net.minecraft.network.chat.Component;
 import net.minecraft.world.item.ItemStack;
@@ -24,9 +26,13 @@ import org.lwjgl.glfw.GLFW;
 public class QuestContainerQueries {
     private static final int NEXT_PAGE_SLOT = 8;
     private static final int MINI_QUESTS_SLOT = 53;
+    private static final int QUEST_ROWS = 6;
+    private static final int QUEST_COLUMNS = 7;
 
     private List<QuestInfo> newQuests;
     private List<QuestInfo> newMiniQuests;
+    private List<QuestPageSnapshot> newQuestPages;
+    private List<QuestPageSnapshot> newMiniQuestPages;
     private QuestInfo trackedQuest;
 
     /**
@@ -56,33 +62,54 @@ public class QuestContainerQueries {
     }
 
     private void processQuestBookPage(ContainerContent container, int page) {
-        // Quests are in the top-left container area
         if (page == 1) {
             // Build new set of quests without disturbing current set
             newQuests = new ArrayList<>();
+            newQuestPages = new ArrayList<>();
         }
-        for (int row = 0; row < 6; row++) {
-            for (int col = 0; col < 7; col++) {
+
+        QuestPageSnapshot pageSnapshot = getPageSnapshot(container, page, false);
+        newQuestPages.add(pageSnapshot);
+        for (QuestInfo questInfo : pageSnapshot.quests()) {
+            newQuests.add(questInfo);
+            if (questInfo.isTracked()) {
+                trackedQuest = questInfo;
+            }
+        }
+
+        if (page == 4) {
+            // Last page finished
+            Models.Quest.updateQuestsFromQuery(newQuests, newQuestPages, trackedQuest);
+        }
+    }
+
+    private QuestPageSnapshot getPageSnapshot(ContainerContent container, int page, boolean isMiniQuest) {
+        int contentHash = ContainerUtils.getContentHash(container.items(), QUEST_ROWS, QUEST_COLUMNS);
+
+        // If the page looks exactly like when we last parsed it, there is no need to parse it again
+        Optional<QuestPageSnapshot> previousSnapshot = Models.Quest.getQuestPageSnapshot(page, isMiniQuest);
+        if (previousSnapshot.isPresent() && previousSnapshot.get().contentHash() == contentHash) {
+            return previousSnapshot.get();
+        }
+
+        // Quests are in the top-left container area
+        List<QuestInfo> pageQuests = new ArrayList<>();
+        for (int row = 0; row < QUEST_ROWS; row++) {
+            for (int col = 0; col < QUEST_COLUMNS; col++) {
                 int slot = row * 9 + col;
 
-                // Very first slot is chat history
-                if (slot == 0) continue;
+                // Very first slot is chat history, but only in the main quests page
+                if (!isMiniQuest && slot == 0) continue;
 
                 ItemStack itemStack = container.items().get(slot);
-                QuestInfo questInfo = QuestInfoParser.parseItemStack(itemStack, page, false);
+                QuestInfo questInfo = QuestInfoParser.parseItemStack(itemStack, page, isMiniQuest);
                 if (questInfo == null) continue;
 
-                newQuests.add(questInfo);
-                if (questInfo.isTracked()) {
-                    trackedQuest = questInfo;
-                }
+                pageQuests.add(questInfo);
             }
         }
 
-        if (page == 4) {
-            // Last page finished
-            Models.Quest.updateQuestsFromQuery(newQuests, trackedQuest);
-        }
+        return new QuestPageSnapshot(page, contentHash, pageQuests);
     }
 
     private StyledText getNextPageButtonName(int nextPageNum) {
@@ -115,29 +142,24 @@ public class QuestContainerQueries {
     }
 
     private void processMiniQuestBookPage(ContainerContent container, int page) {
-        // Quests are in the top-left container area
         if (page == 1) {
             // Build new set of quests without disturbing current set
             newMiniQuests = new ArrayList<>();
+            newMiniQuestPages = new ArrayList<>();
         }
-        for (int row = 0; row < 6; row++) {
-            for (int col = 0; col < 7; col++) {
-                int slot = row * 9 + col;
 
-                ItemStack itemStack = container.items().get(slot);
-                QuestInfo questInfo = QuestInfoParser.parseItemStack(itemStack, page, true);
-                if (questInfo == null) continue;
-
-                if (questInfo.isTracked()) {
-                    trackedQuest = questInfo;
-                }
-                newMiniQuests.add(questInfo);
+        QuestPageSnapshot pageSnapshot = getPageSnapshot(container, page, true);
+        newMiniQuestPages.add(pageSnapshot);
+        for (QuestInfo questInfo : pageSnapshot.quests()) {
+            if (questInfo.isTracked()) {
+                trackedQuest = questInfo;
             }
+            newMiniQuests.add(questInfo);
         }
 
         if (page == 3) {
             // Last page finished
-            Models.Quest.updateMiniQuestsFromQuery(newMiniQuests, trackedQuest);
+            Models.Quest.updateMiniQuestsFromQuery(newMiniQuests, newMiniQuestPages, trackedQuest);
         }
     }
 
@@ -11,13 +11,19 @@ import com.wynntils.core.components.Model;
 import com.wynntils.core.components.Models;
 import com.wynntils.core.net.ApiResponse;
 import com.wynntils.core.net.UrlId;
+import com.wynntils.core.storage.Storage;
 import com.wynntils.core.text.CodedString;
 import com.wynntils.core.text.StyledText;
 import com.wynntils.handlers.scoreboard.ScoreboardPart;
+import com.wynntils.models.character.CharacterModel;
+import com.wynntils.models.character.event.CharacterUpdateEvent;
 import com.wynntils.models.characterstats.CombatXpModel;
 import com.wynntils.models.quests.event.QuestBookReloadedEvent;
 import com.wynntils.models.quests.event.TrackedQuestUpdateEvent;
+import com.wynntils.models.quests.type.QuestBookSnapshot;
+import com.wynntils.models.quests.type.QuestPageSnapshot;
 import com.wynntils.models.quests.type.QuestSortOrder;
+import com.wynntils.models.worlds.WorldStateModel;
 import com.wynntils.models.worlds.event.WorldStateEvent;
 import com.wynntils.utils.mc.McUtils;
 import com.wynntils.utils.mc.type.Location;
@@ -25,6 +31,7 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 import net.minecraft.world.phys.Vec3;
 import net.minecraftforge.eventbus.api.EventPriority;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
@@ -36,15 +43,21 @@ public final class QuestModel extends Model {
     private static final DialogueHistoryQueries DIALOGUE_HISTORY_QUERIES = new DialogueHistoryQueries();
     private static final String MINI_QUEST_PREFIX = "Mini-Quest - ";
 
+    // The quest book as last scanned, per character id
+    private final Storage<Map<String, QuestBookSnapshot>> questBookSnapshots = new Storage<>(new TreeMap<>());
+
     private List<QuestInfo> quests = List.of();
     private List<QuestInfo> miniQuests = List.of();
     private List<List<StyledText>> dialogueHistory = List.of();
     private QuestInfo trackedQuest = null;
     private String afterRescanName;
     private CodedString afterRescanTask;
+    // Whether the quests have been scanned this session, or only restored from the last snapshot
+    private boolean questsScanned;
+    private boolean miniQuestsScanned;
 
-    public QuestModel(CombatXpModel combatXpModel) {
-        super(List.of(combatXpModel));
+    public QuestModel(CharacterModel characterModel, CombatXpModel combatXpModel, WorldStateModel worldStateModel) {
+        super(List.of(characterModel, combatXpModel, worldStateModel));
 
         Handlers.Scoreboard.addPart(QUEST_SCOREBOARD_PART);
     }
@@ -61,6 +74,25 @@ public final class QuestModel extends Model {
         trackedQuest = null;
         afterRescanName = null;
         afterRescanTask = null;
+        questsScanned = false;
+        miniQuestsScanned = false;
+    }
+
+    @SubscribeEvent
+    public void onCharacterUpdate(CharacterUpdateEvent e) {
+        // The character id is only reliable once we are in the world
+        if (!Models.WorldState.onWorld()) return;
+
+        // Show the quest book as we last saw it for this character, until it has been rescanned
+        QuestBookSnapshot snapshot = getQuestBookSnapshot();
+        if (!questsScanned && !snapshot.questPages().isEmpty()) {
+            quests = getSnapshotQuests(snapshot.questPages());
+            WynntilsMod.postEvent(new QuestBookReloadedEvent.QuestsReloaded());
+        }
+        if (!miniQuestsScanned && !snapshot.miniQuestPages().isEmpty()) {
+            miniQuests = getSnapshotQuests(snapshot.miniQuestPages());
+            WynntilsMod.postEvent(new QuestBookReloadedEvent.MiniQuestsReloaded());
+        }
     }
 
     public void rescanQuestBook(boolean includeQuests, boolean includeMiniQuests) {
@@ -196,8 +228,10 @@ public final class QuestModel extends Model {
     private boolean updateAfterRescan(String name, CodedString nextTask) {
         boolean isMiniQuest = name.startsWith(MINI_QUEST_PREFIX);
         List<QuestInfo> questInfoList = isMiniQuest ? miniQuests : quests;
+        boolean scanned = isMiniQuest ? miniQuestsScanned : questsScanned;
 
-        if (questInfoList.isEmpty()) {
+        // A quest missing from a restored snapshot means the snapshot is out of date
+        if (questInfoList.isEmpty() || (!scanned && getQuestInfoFromName(name).isEmpty())) {
             afterRescanTask = nextTask;
             afterRescanName = stripPrefix(name);
             rescanQuestBook(!isMiniQuest, isMiniQuest);
@@ -211,18 +245,43 @@ public final class QuestModel extends Model {
         return StringUtils.replaceOnce(name, MINI_QUEST_PREFIX, "");
     }
 
-    void updateQuestsFromQuery(List<QuestInfo> newQuests, QuestInfo trackedQuest) {
+    Optional<QuestPageSnapshot> getQuestPageSnapshot(int page, boolean isMiniQuest) {
+        return getQuestBookSnapshot().getPage(page, isMiniQuest);
+    }
+
+    void updateQuestsFromQuery(List<QuestInfo> newQuests, List<QuestPageSnapshot> newPages, QuestInfo trackedQuest) {
         quests = newQuests;
+        questsScanned = true;
+        storeQuestBookSnapshot(getQuestBookSnapshot().withQuestPages(newPages));
         maybeUpdateTrackedQuest(trackedQuest);
         WynntilsMod.postEvent(new QuestBookReloadedEvent.QuestsReloaded());
     }
 
-    void updateMiniQuestsFromQuery(List<QuestInfo> newMiniQuests, QuestInfo trackedQuest) {
+    void updateMiniQuestsFromQuery(
+            List<QuestInfo> newMiniQuests, List<QuestPageSnapshot> newPages, QuestInfo trackedQuest) {
         miniQuests = newMiniQuests;
+        miniQuestsScanned = true;
+        storeQuestBookSnapshot(getQuestBookSnapshot().withMiniQuestPages(newPages));
         maybeUpdateTrackedQuest(trackedQuest);
         WynntilsMod.postEvent(new QuestBookReloadedEvent.MiniQuestsReloaded());
     }
 
+    private QuestBookSnapshot getQuestBookSnapshot() {
+        return questBookSnapshots.get().getOrDefault(Models.Character.getId(), QuestBookSnapshot.EMPTY);
+    }
+
+    private void storeQuestBookSnapshot(QuestBookSnapshot snapshot) {
+        String characterId = Models.Character.getId();
+        if (characterId.equals(CharacterModel.NO_CHARACTER_ID)) return;
+
+        questBookSnapshots.get().put(characterId, snapshot);
+        questBookSnapshots.touched();
+    }
+
+    private static List<QuestInfo> getSnapshotQuests(List<QuestPageSnapshot> pages) {
+        return pages.stream().flatMap(page -> page.quests().stream()).toList();
+    }
+
     private void maybeUpdateTrackedQuest(QuestInfo trackedQuest) {
         if (trackedQuest != this.trackedQuest) {
             if (trackedQuest != null && trackedQuest.getName().equals(afterRescanName)) {
@@ -0,0 +1,25 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.quests.type;
+
+import java.util.List;
+import java.util.Optional;
+
+public record QuestBookSnapshot(List<QuestPageSnapshot> questPages, List<QuestPageSnapshot> miniQuestPages) {
+    public static final QuestBookSnapshot EMPTY = new QuestBookSnapshot(List.of(), List.of());
+
+    public Optional<QuestPageSnapshot> getPage(int page, boolean isMiniQuest) {
+        return (isMiniQuest ? miniQuestPages : questPages)
+                .stream().filter(snapshot -> snapshot.page() == page).findFirst();
+    }
+
+    public QuestBookSnapshot withQuestPages(List<QuestPageSnapshot> newQuestPages) {
+        return new QuestBookSnapshot(newQuestPages, miniQuestPages);
+    }
+
+    public QuestBookSnapshot withMiniQuestPages(List<QuestPageSnapshot> newMiniQuestPages) {
+        return new QuestBookSnapshot(questPages, newMiniQuestPages);
+    }
+}
@@ -0,0 +1,14 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.quests.type;
+
+import com.wynntils.models.quests.QuestInfo;
+import java.util.List;
+
+/**
+ * The quests parsed from one quest book page, together with a hash of the page's raw contents so
+ * we can tell if the page has to be parsed again.
+ */
+public record QuestPageSnapshot(int page, int contentHash, List<QuestInfo> quests) {}
@@ -9,6 +9,7 @@ import com.wynntils.core.WynntilsMod;
 import com.wynntils.core.components.Managers;
 import com.wynntils.core.components.Model;
 import com.wynntils.core.components.Models;
+import com.wynntils.core.mod.StartupLoader;
 import com.wynntils.core.net.Download;
 import com.wynntils.core.net.UrlId;
 import com.wynntils.core.text.StyledText;
@@ -38,10 +39,12 @@ public final class SeaskipperModel extends Model {
     private int boatSlot;
     private int containerId = -2;
 
+    private final StartupLoader.DeferredLoad dataLoad;
+
     public SeaskipperModel(ItemModel itemModel) {
         super(List.of(itemModel));
 
-        reloadData();
+        dataLoad = StartupLoader.loadDeferred("Seaskipper destinations", this::reloadData);
     }
 
     @Override
@@ -53,6 +56,8 @@ public final class SeaskipperModel extends Model {
     public void onMenuOpened(MenuEvent.MenuOpenedEvent event) {
         if (!Models.Container.isSeaskipper(event.getTitle())) return;
 
+        dataLoad.ensureStarted();
+
         containerId = event.getContainerId();
         availableDestinations = new ArrayList<>();
     }
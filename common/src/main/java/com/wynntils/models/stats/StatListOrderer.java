@@ -14,6 +14,7 @@ import com.wynntils.models.stats.type.StatListOrdering;
 import com.wynntils.models.stats.type.StatType;
 import com.wynntils.utils.ListUtils;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -151,6 +152,27 @@ public final class StatListOrderer {
                 createLegacyOrdering(miscStats, defenceStats, damageStats, spellStats));
     }
 
+    /**
+     * Compiles an ordering into a rank table, indexed by the stat ordinals. A stat has the rank of
+     * its first position in the ordering, like {@link List#indexOf}, or -1 if it is not in it.
+     */
+    public static int[] createRankTable(List<StatType> ordering, Map<StatType, Integer> statOrdinals) {
+        int[] ranks = new int[statOrdinals.size()];
+        Arrays.fill(ranks, -1);
+
+        for (int i = 0; i < ordering.size(); i++) {
+            StatType statType = ordering.get(i);
+            if (statType == null) continue;
+
+            Integer ordinal = statOrdinals.get(statType);
+            if (ordinal != null && ranks[ordinal] == -1) {
+                ranks[ordinal] = i;
+            }
+        }
+
+        return ranks;
+    }
+
     private static List<StatType> createDefaultOrdering(
             List<MiscStatType> miscStats,
             List<DefenceStatType> defenceStats,
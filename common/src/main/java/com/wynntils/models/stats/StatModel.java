@@ -4,6 +4,7 @@
  */
 package com.wynntils.models.stats;
 
+import com.google.common.collect.MapMaker;
 import com.wynntils.core.components.Model;
 import com.wynntils.models.character.type.ClassType;
 import com.wynntils.models.gear.type.GearInfo;
@@ -27,15 +28,25 @@ import com.wynntils.models.stats.type.StatUnit;
 import com.wynntils.utils.type.RangedValue;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.IntStream;
 
 public final class StatModel extends Model {
     private final List<StatType> statTypeRegistry = new ArrayList<>();
     private final StatLookupTable statTypeLookup = new StatLookupTable();
     private final Map<StatListOrdering, List<StatType>> orderingLists;
     private final List<SkillStatType> skillStats;
+    private final Map<String, StatType> internalRollIdLookup = new HashMap<>();
+
+    // Every registered stat type has a dense ordinal, which indexes the rank tables of the orderings
+    private final Map<StatType, Integer> statOrdinals = new HashMap<>();
+    private final Map<StatListOrdering, int[]> orderingRanks = new EnumMap<>(StatListOrdering.class);
+    // Sorted stats of a gear never change, so they are kept for as long as the gear info is around
+    private final Map<StatListOrdering, Map<GearInfo, List<StatType>>> sortedStatsCache =
+            new EnumMap<>(StatListOrdering.class);
 
     public StatModel() {
         super(List.of());
@@ -52,8 +63,15 @@ public final class StatModel extends Model {
         // Then put them all in the registry
         initRegistry(miscStats, defenceStats, damageStats, spellStats);
 
-        // Finally create ordered lists for sorting
+        // Finally create ordered lists for sorting, and compile them to rank tables
         orderingLists = StatListOrderer.createOrderingMap(miscStats, defenceStats, damageStats, spellStats);
+        for (StatType statType : statTypeRegistry) {
+            statOrdinals.putIfAbsent(statType, statOrdinals.size());
+        }
+        for (StatListOrdering ordering : StatListOrdering.values()) {
+            orderingRanks.put(ordering, StatListOrderer.createRankTable(orderingLists.get(ordering), statOrdinals));
+            sortedStatsCache.put(ordering, new MapMaker().weakKeys().makeMap());
+        }
     }
 
     public StatActualValue buildActualValue(
@@ -69,15 +87,7 @@ public final class StatModel extends Model {
     }
 
     public StatType fromInternalRollId(String id) {
-        for (StatType statType : statTypeRegistry) {
-            if (statType.getInternalRollName().equals(id)) return statType;
-        }
-
-        for (StatType statType : skillStats) {
-            if (statType.getInternalRollName().equals(id)) return statType;
-        }
-
-        return null;
+        return internalRollIdLookup.get(id);
     }
 
     public String getDisplayName(StatType statType, GearInfo gearInfo, ClassType currentClass) {
@@ -99,18 +109,36 @@ public final class StatModel extends Model {
     }
 
     public List<StatType> getSortedStats(GearInfo gearInfo, StatListOrdering ordering) {
-        List<StatType> orderingList = orderingLists.get(ordering);
-
-        List<StatType> sortedStats = new ArrayList<>(gearInfo.getVariableStats());
-        sortedStats.sort(Comparator.comparingInt(orderingList::indexOf));
-
-        return sortedStats;
+        return sortedStatsCache
+                .get(ordering)
+                .computeIfAbsent(gearInfo, info -> sortStats(info.getVariableStats(), orderingRanks.get(ordering)));
     }
 
     public List<StatType> getAllStatTypes() {
         return statTypeRegistry;
     }
 
+    private List<StatType> sortStats(List<StatType> stats, int[] ranks) {
+        // Look up the rank of each stat once, instead of on every comparison
+        int[] statRanks = new int[stats.size()];
+        for (int i = 0; i < stats.size(); i++) {
+            statRanks[i] = getRank(stats.get(i), ranks);
+        }
+
+        return IntStream.range(0, stats.size())
+                .boxed()
+                .sorted(Comparator.comparingInt(i -> statRanks[i]))
+                .map(stats::get)
+                .toList();
+    }
+
+    private int getRank(StatType statType, int[] ranks) {
+        Integer ordinal = statOrdinals.get(statType);
+
+        // Stats that are not in the ordering go first, as with List.indexOf
+        return ordinal == null ? -1 : ranks[ordinal];
+    }
+
     private static <T extends StatType> List<T> buildStats(StatBuilder<T> builder) {
         List<T> statList = new ArrayList<>();
 
@@ -128,9 +156,13 @@ public final class StatModel extends Model {
         statTypeRegistry.addAll(damageStats);
         statTypeRegistry.addAll(spellStats);
 
-        // Create a fast lookup map
+        // Create fast lookup maps
         for (StatType statType : statTypeRegistry) {
             statTypeLookup.put(statType.getDisplayName(), statType.getUnit(), statType);
+            internalRollIdLookup.putIfAbsent(statType.getInternalRollName(), statType);
+        }
+        for (StatType statType : skillStats) {
+            internalRollIdLookup.putIfAbsent(statType.getInternalRollName(), statType);
         }
         // Spell Cost stats have a lot of aliases under which they can appear
         for (SpellStatType spellStatType : spellStats) {
@@ -0,0 +1,66 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.territories;
+
+import com.wynntils.models.territories.profile.TerritoryProfile;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import net.minecraft.core.Position;
+
+/**
+ * A uniform grid over the territory areas, so looking up the territory at a position only
+ * needs to check the few territories overlapping the grid cell of that position.
+ */
+public final class TerritoryAreaIndex {
+    private static final int CELL_SIZE = 128;
+    // Territories without a known location are placed at the far edge of the world; never index huge areas
+    private static final int MAX_CELLS_PER_TERRITORY = 4096;
+
+    private final Map<Long, List<TerritoryProfile>> cells = new HashMap<>();
+
+    public TerritoryAreaIndex(Collection<TerritoryProfile> profiles) {
+        for (TerritoryProfile profile : profiles) {
+            int startCellX = toCell(profile.getStartX());
+            int endCellX = toCell(profile.getEndX());
+            int startCellZ = toCell(profile.getStartZ());
+            int endCellZ = toCell(profile.getEndZ());
+
+            long cellCount = ((long) endCellX - startCellX + 1) * ((long) endCellZ - startCellZ + 1);
+            if (cellCount > MAX_CELLS_PER_TERRITORY) continue;
+
+            for (int cellX = startCellX; cellX <= endCellX; cellX++) {
+                for (int cellZ = startCellZ; cellZ <= endCellZ; cellZ++) {
+                    cells.computeIfAbsent(getCellKey(cellX, cellZ), k -> new ArrayList<>(1))
+                            .add(profile);
+                }
+            }
+        }
+    }
+
+    public TerritoryProfile getTerritoryAt(Position position) {
+        int cellX = toCell((int) Math.floor(position.x()));
+        int cellZ = toCell((int) Math.floor(position.z()));
+
+        List<TerritoryProfile> candidates = cells.get(getCellKey(cellX, cellZ));
+        if (candidates == null) return null;
+
+        for (TerritoryProfile profile : candidates) {
+            if (profile.insideArea(position)) return profile;
+        }
+
+        return null;
+    }
+
+    private static int toCell(int coordinate) {
+        return Math.floorDiv(coordinate, CELL_SIZE);
+    }
+
+    private static long getCellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+}
@@ -17,6 +17,7 @@ import com.wynntils.mc.event.AdvancementUpdateEvent;
 import com.wynntils.models.map.pois.Poi;
 import com.wynntils.models.map.pois.TerritoryPoi;
 import com.wynntils.models.map.type.TerritoryDefenseFilterType;
+import com.wynntils.models.territories.event.TerritoryOwnershipChangedEvent;
 import com.wynntils.models.territories.profile.TerritoryProfile;
 import com.wynntils.utils.mc.ComponentUtils;
 import java.lang.reflect.Type;
@@ -54,6 +55,10 @@ public final class TerritoryModel extends Model {
 
     // This is just a cache of TerritoryPois created for all territoryProfileMap values
     private Set<TerritoryPoi> allTerritoryPois = new HashSet<>();
+    private Map<String, TerritoryPoi> territoryPoisByName = new HashMap<>();
+
+    // Spatial index over territoryProfileMap, for fast lookups by position
+    private TerritoryAreaIndex territoryAreaIndex = new TerritoryAreaIndex(List.of());
 
     private final ScheduledExecutorService timerExecutor = new ScheduledThreadPoolExecutor(1);
     private final ScheduledFuture<?> timerFuture;
@@ -101,10 +106,7 @@ public final class TerritoryModel extends Model {
     }
 
     public TerritoryProfile getTerritoryProfileForPosition(Position position) {
-        return territoryProfileMap.values().stream()
-                .filter(profile -> profile.insideArea(position))
-                .findFirst()
-                .orElse(null);
+        return territoryAreaIndex.getTerritoryAt(position);
     }
 
     public void reset() {
@@ -155,6 +157,48 @@ public final class TerritoryModel extends Model {
         }
     }
 
+    private void updateTerritories(Map<String, TerritoryProfile> newProfileMap) {
+        Map<String, TerritoryProfile> oldProfileMap = territoryProfileMap;
+        if (newProfileMap.equals(oldProfileMap)) return;
+
+        Map<String, TerritoryProfile> profileMap = new HashMap<>();
+        Map<String, TerritoryPoi> poisByName = new HashMap<>();
+        List<TerritoryOwnershipChangedEvent> ownershipChanges = new ArrayList<>();
+
+        for (Map.Entry<String, TerritoryProfile> entry : newProfileMap.entrySet()) {
+            String name = entry.getKey();
+            TerritoryProfile newProfile = entry.getValue();
+            TerritoryProfile oldProfile = oldProfileMap.get(name);
+
+            if (newProfile.equals(oldProfile)) {
+                // Keep the old instances, so the POI does not have to be recreated
+                profileMap.put(name, oldProfile);
+                poisByName.put(name, territoryPoisByName.get(name));
+                continue;
+            }
+
+            profileMap.put(name, newProfile);
+            poisByName.put(name, new TerritoryPoi(newProfile));
+
+            if (oldProfile != null && !oldProfile.isSameOwner(newProfile)) {
+                ownershipChanges.add(new TerritoryOwnershipChangedEvent(oldProfile, newProfile));
+            }
+        }
+
+        // Building the index is cheap compared to the download, so just rebuild it from scratch
+        TerritoryAreaIndex areaIndex = new TerritoryAreaIndex(profileMap.values());
+
+        territoryProfileMap = profileMap;
+        territoryPoisByName = poisByName;
+        allTerritoryPois = new HashSet<>(poisByName.values());
+        territoryAreaIndex = areaIndex;
+
+        // Only report changes compared to a previous list, not the initial load
+        if (oldProfileMap.isEmpty()) return;
+
+        ownershipChanges.forEach(WynntilsMod::postEventOnMainThread);
+    }
+
     private void updateTerritoryProfileMap() {
         // dataAthenaTerritoryList is based on
         // https://api.wynncraft.com/public_api.php?action=territoryList
@@ -169,11 +213,9 @@ public final class TerritoryModel extends Model {
                     if (!json.has("territories")) return;
 
                     Type type = new TypeToken<HashMap<String, TerritoryProfile>>() {}.getType();
-                    territoryProfileMap = TERRITORY_PROFILE_GSON.fromJson(json.get("territories"), type);
-                    allTerritoryPois = territoryProfileMap.values().stream()
-                            .map(TerritoryPoi::new)
-                            .collect(Collectors.toSet());
-                    // TODO: Add events if territories changed
+                    Map<String, TerritoryProfile> newProfileMap =
+                            TERRITORY_PROFILE_GSON.fromJson(json.get("territories"), type);
+                    updateTerritories(newProfileMap);
                 },
                 onError -> {
                     errorCount++;
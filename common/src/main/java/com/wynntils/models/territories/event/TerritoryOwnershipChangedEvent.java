@@ -0,0 +1,42 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.territories.event;
+
+import com.wynntils.models.territories.profile.TerritoryProfile;
+import net.minecraftforge.eventbus.api.Event;
+
+/**
+ * Fired on the main thread when a refresh of the territory list shows that a territory
+ * has been taken over by another guild.
+ */
+public class TerritoryOwnershipChangedEvent extends Event {
+    private final TerritoryProfile oldProfile;
+    private final TerritoryProfile newProfile;
+
+    public TerritoryOwnershipChangedEvent(TerritoryProfile oldProfile, TerritoryProfile newProfile) {
+        this.oldProfile = oldProfile;
+        this.newProfile = newProfile;
+    }
+
+    public String getTerritoryName() {
+        return newProfile.getName();
+    }
+
+    public String getOldGuild() {
+        return oldProfile.getGuild();
+    }
+
+    public String getNewGuild() {
+        return newProfile.getGuild();
+    }
+
+    public TerritoryProfile getOldProfile() {
+        return oldProfile;
+    }
+
+    public TerritoryProfile getNewProfile() {
+        return newProfile;
+    }
+}
@@ -18,6 +18,7 @@ import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.Locale;
+import java.util.Objects;
 import net.minecraft.ChatFormatting;
 import net.minecraft.core.Position;
 
@@ -175,6 +176,35 @@ public class TerritoryProfile {
         }
     }
 
+    public boolean isSameOwner(TerritoryProfile other) {
+        return Objects.equals(guild, other.guild) && Objects.equals(guildPrefix, other.guildPrefix);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) return true;
+        if (other == null || getClass() != other.getClass()) return false;
+
+        TerritoryProfile that = (TerritoryProfile) other;
+        return startX == that.startX
+                && startZ == that.startZ
+                && endX == that.endX
+                && endZ == that.endZ
+                && level == that.level
+                && Objects.equals(name, that.name)
+                && Objects.equals(friendlyName, that.friendlyName)
+                && Objects.equals(guild, that.guild)
+                && Objects.equals(guildPrefix, that.guildPrefix)
+                && Objects.equals(guildColor, that.guildColor)
+                && Objects.equals(attacker, that.attacker)
+                && Objects.equals(acquired, that.acquired);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, friendlyName, guild, acquired);
+    }
+
     public static class TerritoryDeserializer implements JsonDeserializer<TerritoryProfile> {
         @Override
         public TerritoryProfile deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context)
@@ -15,6 +15,7 @@ import com.google.gson.JsonParseException;
 import com.wynntils.core.WynntilsMod;
 import com.wynntils.core.components.Managers;
 import com.wynntils.core.components.Model;
+import com.wynntils.core.mod.StartupLoader;
 import com.wynntils.core.net.Download;
 import com.wynntils.core.net.UrlId;
 import com.wynntils.models.wynnitem.type.ItemObtainInfo;
@@ -35,8 +36,8 @@ public class WynnItemModel extends Model {
     public WynnItemModel() {
         super(List.of());
 
-        loadObtainData();
-        loadMaterialConversionData();
+        StartupLoader.load("Item obtain info", this::loadObtainData);
+        StartupLoader.load("Material conversions", this::loadMaterialConversionData);
     }
 
     public List<ItemObtainInfo> getObtainInfo(String name) {
@@ -0,0 +1,43 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.wynnitem.parsing;
+
+import com.wynntils.core.text.CodedString;
+import com.wynntils.models.gear.type.GearTier;
+
+/**
+ * A classified lore line, as produced by {@link LoreTokenizer}.
+ */
+public interface LoreToken {
+    /**
+     * A powder slot line. The coded powders are null if no powders are applied.
+     */
+    record Powders(int usedSlots, int maxSlots, String codedPowders) implements LoreToken {}
+
+    /**
+     * The tier and item type line. The tier count is either the rerolls (for re-identified
+     * gear), or the current durability (for crafted gear).
+     */
+    record TierAndRerolls(GearTier tier, String itemType, int tierCount, int durabilityMax) implements LoreToken {}
+
+    record MinLevel(int level) implements LoreToken {}
+
+    record SetBonusHeader() implements LoreToken {}
+
+    record EffectHeader(String colorCode) implements LoreToken {}
+
+    record EffectLine(String colorCode, String type, int value, String suffix) implements LoreToken {}
+
+    /**
+     * An identified stat, or a skill point bonus, which looks the same. The unit is null for raw
+     * stats.
+     */
+    record Identification(int value, String unit, int stars, String statName) implements LoreToken {}
+
+    /**
+     * Any line that is none of the above.
+     */
+    record Other(CodedString line) implements LoreToken {}
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.wynnitem.parsing;
+
+import com.wynntils.core.text.CodedString;
+import com.wynntils.core.text.StyledText;
+import com.wynntils.models.gear.type.GearTier;
+import com.wynntils.utils.mc.ComponentUtils;
+import com.wynntils.utils.mc.LoreUtils;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.item.ItemStack;
+
+/**
+ * Splits item lore into {@link LoreToken}s. Each line is classified by looking at its first
+ * characters, so at most one pattern is tried per line.
+ */
+public final class LoreTokenizer {
+    // Test suite: https://regexr.com/776qt
+    private static final Pattern IDENTIFICATION_STAT_PATTERN = Pattern.compile(
+            "^§[ac]([-+]\\d+)(?:§r§[24] to §r§[ac](-?\\d+))?(%| tier|/[35]s)?(?:§r§8/(\\d+)(?:%| tier|/[35]s)?)?(?:§r§2(\\*{1,3}))? ?§r§7 ?(.*)$");
+
+    // Test suite: https://regexr.com/782rk
+    private static final Pattern TIER_AND_REROLL_PATTERN = Pattern.compile(
+            "^(§fNormal|§eUnique|§dRare|§bLegendary|§cFabled|§5Mythic|§aSet|§3Crafted) ([A-Za-z\\d _]+)(?:§r§8)?(?: \\[(\\d+)(?:\\/(\\d+) Durability)?\\])?$");
+
+    // Test suite: https://regexr.com/778gk
+    private static final Pattern POWDER_PATTERN =
+            Pattern.compile("^§7\\[(\\d+)/(\\d+)\\] Powder Slots(?: \\[§r§(.*)§r§7\\])?$");
+
+    // Test suite: https://regexr.com/79atu
+    private static final Pattern EFFECT_LINE_PATTERN =
+            Pattern.compile("^§(.)- §r§7(.*): §r§f([+-]?\\d+)(?:§.§.)? ?(.*)$");
+
+    // Test suite: https://regexr.com/798o0
+    private static final Pattern MIN_LEVEL_PATTERN = Pattern.compile("^§..§r§7 Combat Lv. Min: (\\d+)$");
+
+    private static final String MIN_LEVEL_PREFIX = "§r§7 Combat Lv. Min: ";
+    private static final String EFFECT_HEADER = "Effect:";
+    private static final String SET_BONUS_HEADER = "§aSet Bonus:";
+
+    /**
+     * Tokenizes the lore of an item, without the item name.
+     */
+    public static List<LoreToken> tokenize(ItemStack itemStack) {
+        List<Component> lore = ComponentUtils.stripDuplicateBlank(LoreUtils.getTooltipLines(itemStack));
+        lore.remove(0); // remove item name
+
+        return tokenize(lore);
+    }
+
+    /**
+     * Tokenizes lore lines, as they are in the tooltip.
+     */
+    public static List<LoreToken> tokenize(List<Component> lore) {
+        List<LoreToken> tokens = new ArrayList<>(lore.size());
+        for (Component loreLine : lore) {
+            tokens.add(tokenizeLine(ComponentUtils.getCoded(loreLine).getNormalized()));
+        }
+        return tokens;
+    }
+
+    /**
+     * Tokenizes a single, normalized lore line.
+     */
+    public static LoreToken tokenizeLine(CodedString normalizedLine) {
+        String line = normalizedLine.getInternalCodedStringRepresentation();
+        if (line.length() < 3 || line.charAt(0) != '§') return new LoreToken.Other(normalizedLine);
+
+        // Lines start with a color code, the character after that tells most lines apart
+        LoreToken token;
+        if (line.startsWith(MIN_LEVEL_PREFIX, 3)) {
+            token = parseMinLevel(line);
+        } else {
+            token = switch (line.charAt(2)) {
+                case '[' -> parsePowders(line);
+                case '+' -> parseIdentification(line);
+                case '-' -> line.length() > 3 && line.charAt(3) == ' '
+                        ? parseEffectLine(line)
+                        : parseIdentification(line);
+                default -> {
+                    if (line.length() == 2 + EFFECT_HEADER.length() && line.startsWith(EFFECT_HEADER, 2)) {
+                        yield new LoreToken.EffectHeader(line.substring(1, 2));
+                    }
+                    if (line.equals(SET_BONUS_HEADER)) {
+                        yield new LoreToken.SetBonusHeader();
+                    }
+                    yield parseTierAndRerolls(line);
+                }
+            };
+        }
+
+        return token != null ? token : new LoreToken.Other(normalizedLine);
+    }
+
+    private static LoreToken parseMinLevel(String line) {
+        Matcher matcher = MIN_LEVEL_PATTERN.matcher(line);
+        if (!matcher.matches()) return null;
+
+        return new LoreToken.MinLevel(Integer.parseInt(matcher.group(1)));
+    }
+
+    private static LoreToken parsePowders(String line) {
+        Matcher matcher = POWDER_PATTERN.matcher(line);
+        if (!matcher.matches()) return null;
+
+        return new LoreToken.Powders(
+                Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)), matcher.group(3));
+    }
+
+    private static LoreToken parseIdentification(String line) {
+        Matcher matcher = IDENTIFICATION_STAT_PATTERN.matcher(line);
+        if (!matcher.matches()) return null;
+
+        int value = Integer.parseInt(matcher.group(1));
+        // group 2 is only present for unidentified gears, as the to-part of the range
+        String unit = matcher.group(3);
+        // group 4 is only present for crafted gear, as the top value for that stat
+        String starString = matcher.group(5);
+        int stars = starString == null ? 0 : starString.length();
+
+        return new LoreToken.Identification(value, unit, stars, matcher.group(6));
+    }
+
+    private static LoreToken parseEffectLine(String line) {
+        Matcher matcher = EFFECT_LINE_PATTERN.matcher(line);
+        if (!matcher.matches()) return null;
+
+        return new LoreToken.EffectLine(
+                matcher.group(1), matcher.group(2), Integer.parseInt(matcher.group(3)), matcher.group(4));
+    }
+
+    private static LoreToken parseTierAndRerolls(String line) {
+        Matcher matcher = TIER_AND_REROLL_PATTERN.matcher(line);
+        if (!matcher.matches()) return null;
+
+        GearTier tier = GearTier.fromStyledText(StyledText.fromString(matcher.group(1)));
+
+        // This is either the rerolls (for re-identified gear), or the
+        // current durability (for crafted gear)
+        String tierCountString = matcher.group(3);
+        int tierCount = tierCountString != null ? Integer.parseInt(tierCountString) : 0;
+
+        // If we have a crafted gear, we also have a durability max
+        String durabilityMaxString = matcher.group(4);
+        int durabilityMax = durabilityMaxString != null ? Integer.parseInt(durabilityMaxString) : 0;
+
+        return new LoreToken.TierAndRerolls(tier, matcher.group(2), tierCount, durabilityMax);
+    }
+}
@@ -8,8 +8,6 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.wynntils.core.WynntilsMod;
 import com.wynntils.core.components.Models;
-import com.wynntils.core.text.CodedString;
-import com.wynntils.core.text.StyledText;
 import com.wynntils.models.elements.type.Powder;
 import com.wynntils.models.elements.type.Skill;
 import com.wynntils.models.gear.type.GearInfo;
@@ -20,43 +18,16 @@ import com.wynntils.models.stats.type.StatActualValue;
 import com.wynntils.models.stats.type.StatPossibleValues;
 import com.wynntils.models.stats.type.StatType;
 import com.wynntils.models.wynnitem.type.ItemEffect;
-import com.wynntils.utils.mc.ComponentUtils;
-import com.wynntils.utils.mc.LoreUtils;
 import com.wynntils.utils.type.RangedValue;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import net.minecraft.network.chat.Component;
 import net.minecraft.world.item.ItemStack;
 
 public final class WynnItemParser {
-    // Test suite: https://regexr.com/776qt
-    public static final Pattern IDENTIFICATION_STAT_PATTERN = Pattern.compile(
-            "^§[ac]([-+]\\d+)(?:§r§[24] to §r§[ac](-?\\d+))?(%| tier|/[35]s)?(?:§r§8/(\\d+)(?:%| tier|/[35]s)?)?(?:§r§2(\\*{1,3}))? ?§r§7 ?(.*)$");
-
-    // Test suite: https://regexr.com/782rk
-    private static final Pattern TIER_AND_REROLL_PATTERN = Pattern.compile(
-            "^(§fNormal|§eUnique|§dRare|§bLegendary|§cFabled|§5Mythic|§aSet|§3Crafted) ([A-Za-z\\d _]+)(?:§r§8)?(?: \\[(\\d+)(?:\\/(\\d+) Durability)?\\])?$");
-
-    // Test suite: https://regexr.com/778gk
-    private static final Pattern POWDER_PATTERN =
-            Pattern.compile("^§7\\[(\\d+)/(\\d+)\\] Powder Slots(?: \\[§r§(.*)§r§7\\])?$");
-
-    // Test suite: https://regexr.com/79atu
-    private static final Pattern EFFECT_LINE_PATTERN =
-            Pattern.compile("^§(.)- §r§7(.*): §r§f([+-]?\\d+)(?:§.§.)? ?(.*)$");
-
-    // Test suite: https://regexr.com/798o0
-    public static final Pattern MIN_LEVEL_PATTERN = Pattern.compile("^§..§r§7 Combat Lv. Min: (\\d+)$");
-
-    private static final Pattern EFFECT_HEADER_PATTERN = Pattern.compile("^§(.)Effect:$");
-
     private static final Pattern POWDER_MARKERS = Pattern.compile("[^✹✦❋❉✤]");
 
-    public static final Pattern SET_BONUS_PATTEN = Pattern.compile("^§aSet Bonus:$");
-
     public static WynnItemParseResult parseItemStack(ItemStack itemStack, GearInfo gearInfo) {
         List<StatActualValue> identifications = new ArrayList<>();
         List<ItemEffect> effects = new ArrayList<>();
@@ -71,18 +42,11 @@ public final class WynnItemParser {
         String effectsColorCode = "";
 
         // Parse lore for identifications, powders and rerolls
-        List<Component> lore = ComponentUtils.stripDuplicateBlank(LoreUtils.getTooltipLines(itemStack));
-        lore.remove(0); // remove item name
-
-        for (Component loreLine : lore) {
-            CodedString coded = ComponentUtils.getCoded(loreLine);
-            CodedString normalizedCoded = coded.getNormalized();
-
+        for (LoreToken token : LoreTokenizer.tokenize(itemStack)) {
             // Look for powder
-            Matcher powderMatcher = normalizedCoded.getMatcher(POWDER_PATTERN);
-            if (powderMatcher.matches()) {
-                int usedSlots = Integer.parseInt(powderMatcher.group(1));
-                String codedPowders = powderMatcher.group(3);
+            if (token instanceof LoreToken.Powders powderToken) {
+                int usedSlots = powderToken.usedSlots();
+                String codedPowders = powderToken.codedPowders();
                 if (codedPowders == null) continue;
 
                 String powderString = POWDER_MARKERS.matcher(codedPowders).replaceAll("");
@@ -103,62 +67,41 @@ public final class WynnItemParser {
             }
 
             // Look for tier and rerolls
-            Matcher tierMatcher = normalizedCoded.getMatcher(TIER_AND_REROLL_PATTERN);
-            if (tierMatcher.matches()) {
-                String tierString = tierMatcher.group(1);
-                tier = GearTier.fromStyledText(StyledText.fromString(tierString));
-                itemType = tierMatcher.group(2);
-
-                // This is either the rerolls (for re-identified gear), or the
-                // current durability (for crafted gear)
-                String tierCountString = tierMatcher.group(3);
-                tierCount = tierCountString != null ? Integer.parseInt(tierCountString) : 0;
-
-                // If we have a crafted gear, we also have a durability max
-                String durabilityMaxString = tierMatcher.group(4);
-                durabilityMax = durabilityMaxString != null ? Integer.parseInt(durabilityMaxString) : 0;
+            if (token instanceof LoreToken.TierAndRerolls tierToken) {
+                tier = tierToken.tier();
+                itemType = tierToken.itemType();
+                tierCount = tierToken.tierCount();
+                durabilityMax = tierToken.durabilityMax();
                 continue;
             }
 
             // Look for level requirements
-            Matcher levelMatcher = normalizedCoded.getMatcher(MIN_LEVEL_PATTERN);
-            if (levelMatcher.matches()) {
-                level = Integer.parseInt(levelMatcher.group(1));
+            if (token instanceof LoreToken.MinLevel minLevelToken) {
+                level = minLevelToken.level();
                 continue;
             }
 
-            Matcher setBonusMatcher = normalizedCoded.getMatcher(SET_BONUS_PATTEN);
-            if (setBonusMatcher.matches()) {
+            if (token instanceof LoreToken.SetBonusHeader) {
                 // Any stat lines that follow from now on belongs to the Set Bonus
                 // Maybe these could be collected separately, but for now, ignore them
                 setBonusStats = true;
             }
 
             // Look for effects (only on consumables)
-            Matcher effectHeaderMatcher = normalizedCoded.getMatcher(EFFECT_HEADER_PATTERN);
-            if (effectHeaderMatcher.matches()) {
-                effectsColorCode = effectHeaderMatcher.group(1);
+            if (token instanceof LoreToken.EffectHeader effectHeaderToken) {
+                effectsColorCode = effectHeaderToken.colorCode();
                 parsingEffects = true;
                 continue;
             }
             if (parsingEffects) {
-                Matcher effectMatcher = normalizedCoded.getMatcher(EFFECT_LINE_PATTERN);
-                if (effectMatcher.matches()) {
-                    String colorCode = effectMatcher.group(1);
-                    String type = effectMatcher.group(2);
-                    int value = Integer.parseInt(effectMatcher.group(3));
-                    String suffix = effectMatcher.group(4);
-
-                    // A sanity check; otherwise fall through
-                    if (colorCode.equals(effectsColorCode)) {
-                        // If type is "Heal", "Mana" or "Duration", keep it, otherwise
-                        // replace it with the actual effect type
-                        if (type.equals("Effect")) {
-                            type = suffix;
-                        }
-                        effects.add(new ItemEffect(type, value));
-                        continue;
-                    }
+                // A sanity check; otherwise fall through
+                if (token instanceof LoreToken.EffectLine effectToken
+                        && effectToken.colorCode().equals(effectsColorCode)) {
+                    // If type is "Heal", "Mana" or "Duration", keep it, otherwise
+                    // replace it with the actual effect type
+                    String type = effectToken.type().equals("Effect") ? effectToken.suffix() : effectToken.type();
+                    effects.add(new ItemEffect(type, effectToken.value()));
+                    continue;
                 }
 
                 parsingEffects = false;
@@ -166,16 +109,11 @@ public final class WynnItemParser {
             }
 
             // Look for identifications
-            Matcher statMatcher = normalizedCoded.getMatcher(IDENTIFICATION_STAT_PATTERN);
-            if (statMatcher.matches() && !setBonusStats) {
-                int value = Integer.parseInt(statMatcher.group(1));
-                // group 2 is only present for unidentified gears, as the to-part of the range
-                String unit = statMatcher.group(3);
-                // group 4 is only present for crafted gear, as the top value for that stat
-                String starString = statMatcher.group(5);
-                String statDisplayName = statMatcher.group(6);
+            if (token instanceof LoreToken.Identification statToken && !setBonusStats) {
+                int value = statToken.value();
+                String statDisplayName = statToken.statName();
 
-                StatType statType = Models.Stat.fromDisplayName(statDisplayName, unit);
+                StatType statType = Models.Stat.fromDisplayName(statDisplayName, statToken.unit());
                 if (statType == null) {
                     // Skill bonuses looks like stats when parsing, ignore them
                     if (Skill.isSkill(statDisplayName)) continue;
@@ -189,10 +127,9 @@ public final class WynnItemParser {
                     value = -value;
                 }
 
-                int stars = starString == null ? 0 : starString.length();
-
                 StatPossibleValues possibleValues = gearInfo != null ? gearInfo.getPossibleValues(statType) : null;
-                StatActualValue actualValue = Models.Stat.buildActualValue(statType, value, stars, possibleValues);
+                StatActualValue actualValue =
+                        Models.Stat.buildActualValue(statType, value, statToken.stars(), possibleValues);
                 identifications.add(actualValue);
             }
         }
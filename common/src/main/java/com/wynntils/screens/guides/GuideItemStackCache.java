@@ -0,0 +1,33 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.screens.guides;
+
+import com.wynntils.utils.type.LruCache;
+import java.util.function.Function;
+
+/**
+ * Creates the item stacks of a guide screen only when they are shown. The guide screens list
+ * their lightweight info records, and ask this cache for the item stack of an element when
+ * they create its button. The item stacks of the last few viewed pages are kept, so paging back
+ * and forth, or changing the search, does not rebuild them.
+ */
+public final class GuideItemStackCache<T, S extends GuideItemStack> {
+    private static final int CACHED_PAGES = 4;
+
+    // Keyed by name, since hashing the info records would hash all their stats
+    private final Function<T, String> nameFunction;
+    private final Function<T, S> itemStackFactory;
+    private final LruCache<String, S> itemStacks;
+
+    public GuideItemStackCache(Function<T, String> nameFunction, Function<T, S> itemStackFactory, int elementsPerPage) {
+        this.nameFunction = nameFunction;
+        this.itemStackFactory = itemStackFactory;
+        this.itemStacks = new LruCache<>(CACHED_PAGES * elementsPerPage);
+    }
+
+    public S get(T info) {
+        return itemStacks.computeIfAbsent(nameFunction.apply(info), name -> itemStackFactory.apply(info));
+    }
+}
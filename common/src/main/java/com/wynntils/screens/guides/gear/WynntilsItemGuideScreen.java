@@ -7,28 +7,29 @@ package com.wynntils.screens.guides.gear;
 import com.mojang.blaze3d.vertex.PoseStack;
 import com.wynntils.core.components.Models;
 import com.wynntils.core.text.CodedString;
+import com.wynntils.models.gear.type.GearInfo;
+import com.wynntils.models.gear.type.GearQuery;
 import com.wynntils.screens.base.WynntilsListScreen;
 import com.wynntils.screens.base.widgets.BackButton;
 import com.wynntils.screens.base.widgets.PageSelectorButton;
+import com.wynntils.screens.guides.GuideItemStackCache;
 import com.wynntils.screens.guides.WynntilsGuidesListScreen;
-import com.wynntils.utils.StringUtils;
 import com.wynntils.utils.colors.CommonColors;
-import com.wynntils.utils.mc.ComponentUtils;
 import com.wynntils.utils.render.FontRenderer;
 import com.wynntils.utils.render.Texture;
 import com.wynntils.utils.render.type.HorizontalAlignment;
 import com.wynntils.utils.render.type.TextShadow;
 import com.wynntils.utils.render.type.VerticalAlignment;
-import java.util.List;
 import net.minecraft.client.gui.screens.Screen;
 import net.minecraft.client.resources.language.I18n;
 import net.minecraft.network.chat.Component;
 
-public final class WynntilsItemGuideScreen extends WynntilsListScreen<GuideGearItemStack, GuideGearItemStackButton> {
+public final class WynntilsItemGuideScreen extends WynntilsListScreen<GearInfo, GuideGearItemStackButton> {
     private static final int ELEMENTS_COLUMNS = 7;
     private static final int ELEMENT_ROWS = 7;
 
-    private List<GuideGearItemStack> allGearItems = List.of();
+    private final GuideItemStackCache<GearInfo, GuideGearItemStack> itemStacks =
+            new GuideItemStackCache<>(GearInfo::name, GuideGearItemStack::new, getElementsPerPage());
 
     private WynntilsItemGuideScreen() {
         super(Component.translatable("screens.wynntils.wynntilsGuides.itemGuide.name"));
@@ -115,25 +116,17 @@ public final class WynntilsItemGuideScreen extends WynntilsListScreen<GuideGearI
         int yOffset = ((i % getElementsPerPage()) / ELEMENTS_COLUMNS) * 20;
 
         return new GuideGearItemStackButton(
-                xOffset + Texture.QUEST_BOOK_BACKGROUND.width() / 2 + 13, yOffset + 43, 18, 18, elements.get(i), this);
+                xOffset + Texture.QUEST_BOOK_BACKGROUND.width() / 2 + 13,
+                yOffset + 43,
+                18,
+                18,
+                itemStacks.get(elements.get(i)),
+                this);
     }
 
     @Override
     protected void reloadElementsList(String searchTerm) {
-        elements.addAll(getAllGearItems().stream()
-                .filter(gearItemStack -> StringUtils.partialMatch(
-                        ComponentUtils.getUnformatted(gearItemStack.getHoverName()), searchTerm))
-                .toList());
-    }
-
-    private List<GuideGearItemStack> getAllGearItems() {
-        if (allGearItems.isEmpty()) {
-            // Populate list
-            allGearItems =
-                    Models.Gear.getAllGearInfos().map(GuideGearItemStack::new).toList();
-        }
-
-        return allGearItems;
+        elements.addAll(Models.Gear.queryGears(GearQuery.builder().nameSearch(searchTerm).build()));
     }
 
     @Override
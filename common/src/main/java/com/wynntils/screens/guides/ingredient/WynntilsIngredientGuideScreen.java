@@ -7,30 +7,31 @@ package com.wynntils.screens.guides.ingredient;
 import com.mojang.blaze3d.vertex.PoseStack;
 import com.wynntils.core.components.Models;
 import com.wynntils.core.text.CodedString;
+import com.wynntils.models.ingredients.type.IngredientInfo;
 import com.wynntils.screens.base.WynntilsListScreen;
 import com.wynntils.screens.base.widgets.BackButton;
 import com.wynntils.screens.base.widgets.PageSelectorButton;
+import com.wynntils.screens.guides.GuideItemStackCache;
 import com.wynntils.screens.guides.WynntilsGuidesListScreen;
 import com.wynntils.utils.StringUtils;
 import com.wynntils.utils.colors.CommonColors;
-import com.wynntils.utils.mc.ComponentUtils;
 import com.wynntils.utils.render.FontRenderer;
 import com.wynntils.utils.render.RenderUtils;
 import com.wynntils.utils.render.Texture;
 import com.wynntils.utils.render.type.HorizontalAlignment;
 import com.wynntils.utils.render.type.TextShadow;
 import com.wynntils.utils.render.type.VerticalAlignment;
-import java.util.List;
 import net.minecraft.client.gui.screens.Screen;
 import net.minecraft.client.resources.language.I18n;
 import net.minecraft.network.chat.Component;
 
 public final class WynntilsIngredientGuideScreen
-        extends WynntilsListScreen<GuideIngredientItemStack, GuideIngredientItemStackButton> {
+        extends WynntilsListScreen<IngredientInfo, GuideIngredientItemStackButton> {
     private static final int ELEMENTS_COLUMNS = 7;
     private static final int ELEMENT_ROWS = 7;
 
-    private List<GuideIngredientItemStack> allIngredientItems = List.of();
+    private final GuideItemStackCache<IngredientInfo, GuideIngredientItemStack> itemStacks =
+            new GuideItemStackCache<>(IngredientInfo::name, GuideIngredientItemStack::new, getElementsPerPage());
 
     private WynntilsIngredientGuideScreen() {
         super(Component.translatable("screens.wynntils.wynntilsGuides.ingredientGuide.name"));
@@ -140,27 +141,21 @@ public final class WynntilsIngredientGuideScreen
         int yOffset = ((i % getElementsPerPage()) / ELEMENTS_COLUMNS) * 20;
 
         return new GuideIngredientItemStackButton(
-                xOffset + Texture.QUEST_BOOK_BACKGROUND.width() / 2 + 13, yOffset + 43, 18, 18, elements.get(i), this);
+                xOffset + Texture.QUEST_BOOK_BACKGROUND.width() / 2 + 13,
+                yOffset + 43,
+                18,
+                18,
+                itemStacks.get(elements.get(i)),
+                this);
     }
 
     @Override
     protected void reloadElementsList(String searchTerm) {
-        elements.addAll(getAllIngredientItems().stream()
-                .filter(itemStack ->
-                        StringUtils.partialMatch(ComponentUtils.getUnformatted(itemStack.getHoverName()), searchTerm))
+        elements.addAll(Models.Ingredient.getAllIngredientInfos()
+                .filter(ingredientInfo -> StringUtils.partialMatch(ingredientInfo.name(), searchTerm))
                 .toList());
     }
 
-    private List<GuideIngredientItemStack> getAllIngredientItems() {
-        if (allIngredientItems.isEmpty()) {
-            allIngredientItems = Models.Ingredient.getAllIngredientInfos()
-                    .map(GuideIngredientItemStack::new)
-                    .toList();
-        }
-
-        return allIngredientItems;
-    }
-
     @Override
     protected int getElementsPerPage() {
         return ELEMENT_ROWS * ELEMENTS_COLUMNS;
@@ -12,6 +12,7 @@ import com.google.gson.JsonSyntaxException;
 import com.wynntils.core.text.CodedString;
 import com.wynntils.core.text.StyledText;
 import com.wynntils.utils.StringUtils;
+import com.wynntils.utils.type.LruCache;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.LinkedList;
@@ -31,6 +32,11 @@ import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.TooltipFlag;
 
 public final class LoreUtils {
+    // The same lore lines recur across many items, so keep decoded lines around by their raw json
+    private static final int MAX_CACHED_LORE_LINES = 4096;
+    private static final LruCache<String, CodedString> CODED_LORE_LINES = new LruCache<>(MAX_CACHED_LORE_LINES);
+    private static final LruCache<String, StyledText> STYLED_LORE_LINES = new LruCache<>(MAX_CACHED_LORE_LINES);
+
     /**
      * Get the lore from an item, note that it may not be fully parsed. To do so, check out {@link
      * ComponentUtils}
@@ -44,7 +50,7 @@ public final class LoreUtils {
         if (loreTag == null) return lore;
 
         for (int i = 0; i < loreTag.size(); ++i) {
-            lore.add(ComponentUtils.getStyledTextFromJson(loreTag.getString(i)));
+            lore.add(getStyledLoreLine(loreTag.getString(i)));
         }
 
         return lore;
@@ -63,7 +69,7 @@ public final class LoreUtils {
         if (loreTag == null) return lore;
 
         for (int i = 0; i < loreTag.size(); ++i) {
-            lore.add(ComponentUtils.getCoded(loreTag.getString(i)));
+            lore.add(getCodedLoreLine(loreTag.getString(i)));
         }
 
         return lore;
@@ -81,7 +87,7 @@ public final class LoreUtils {
         if (loreTag == null) return lore;
 
         for (int i = 0; i < loreTag.size(); ++i) {
-            lore.add(ComponentUtils.getStyledTextFromJson(loreTag.getString(i)));
+            lore.add(getStyledLoreLine(loreTag.getString(i)));
         }
 
         return lore;
@@ -95,7 +101,7 @@ public final class LoreUtils {
         ListTag loreTag = getLoreTag(itemStack);
         if (loreTag == null) return CodedString.EMPTY;
 
-        return ComponentUtils.getCoded(loreTag.getString(line));
+        return getCodedLoreLine(loreTag.getString(line));
     }
 
     /**
@@ -286,8 +292,8 @@ public final class LoreUtils {
      * It might have additional lines added, but these are not checked.
      */
     public static boolean loreSoftMatches(ItemStack firstItem, ItemStack secondItem, int tolerance) {
-        List<CodedString> firstLines = getLore(firstItem);
-        List<CodedString> secondLines = getLore(secondItem);
+        ListTag firstLines = getLoreTagElseEmpty(firstItem);
+        ListTag secondLines = getLoreTagElseEmpty(secondItem);
         int firstLinesLen = firstLines.size();
         int secondLinesLen = secondLines.size();
 
@@ -299,13 +305,26 @@ public final class LoreUtils {
         if (linesToCheck < 3 && firstLinesLen != secondLinesLen) return false;
 
         for (int i = 0; i < linesToCheck; i++) {
-            if (!firstLines.get(i).equals(secondLines.get(i))) return false;
+            String firstLine = firstLines.getString(i);
+            String secondLine = secondLines.getString(i);
+            // Identical json decodes to identical lines, so only decode lines that differ
+            if (firstLine.equals(secondLine)) continue;
+
+            if (!getCodedLoreLine(firstLine).equals(getCodedLoreLine(secondLine))) return false;
         }
 
         // Every lore line matches from the first to the second (or second to the first), so we have a match
         return true;
     }
 
+    private static CodedString getCodedLoreLine(String json) {
+        return CODED_LORE_LINES.computeIfAbsent(json, ComponentUtils::getCoded);
+    }
+
+    private static StyledText getStyledLoreLine(String json) {
+        return STYLED_LORE_LINES.computeIfAbsent(json, ComponentUtils::getStyledTextFromJson);
+    }
+
     /**
      * This is used to extract the lore from an ingame item that is held by another player.
      * This lore has a completely different format from the normal lore shown to the player
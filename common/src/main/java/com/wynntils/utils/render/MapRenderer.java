@@ -153,7 +153,7 @@ public final class MapRenderer {
      * {@param currentZoom} the bigger, the more detailed the map is
      */
     public static float getRenderX(Poi poi, float mapCenterX, float centerX, float currentZoom) {
-        double distanceX = poi.getLocation().getX() - mapCenterX;
+        double distanceX = poi.getRenderedX() - mapCenterX;
         return (float) (centerX + distanceX * currentZoom);
     }
 
@@ -164,7 +164,7 @@ public final class MapRenderer {
      * {@param currentZoom} the bigger, the more detailed the map is
      */
     public static float getRenderZ(Poi poi, float mapCenterZ, float centerZ, float currentZoom) {
-        double distanceZ = poi.getLocation().getZ() - mapCenterZ;
+        double distanceZ = poi.getRenderedZ() - mapCenterZ;
         return (float) (centerZ + distanceZ * currentZoom);
     }
 }
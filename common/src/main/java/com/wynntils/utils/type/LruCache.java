@@ -0,0 +1,58 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.utils.type;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A thread-safe map with a maximum size, which drops the least recently used entry when full.
+ */
+public final class LruCache<K, V> {
+    private final Map<K, V> map;
+
+    public LruCache(int maxSize) {
+        this.map = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+        return map.get(key);
+    }
+
+    public synchronized void put(K key, V value) {
+        map.put(key, value);
+    }
+
+    /**
+     * Returns the cached value for the key, or computes and caches it. The value is computed
+     * outside the lock, so it may be computed more than once if several threads ask at once.
+     */
+    public V computeIfAbsent(K key, Function<K, V> mappingFunction) {
+        V value = get(key);
+        if (value != null) return value;
+
+        value = mappingFunction.apply(key);
+        put(key, value);
+        return value;
+    }
+
+    public synchronized void remove(K key) {
+        map.remove(key);
+    }
+
+    public synchronized void clear() {
+        map.clear();
+    }
+
+    public synchronized int size() {
+        return map.size();
+    }
+}
@@ -8,9 +8,11 @@ import com.wynntils.utils.mc.McUtils;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import java.util.List;
+import java.util.Objects;
 import net.minecraft.client.gui.screens.Screen;
 import net.minecraft.client.gui.screens.inventory.AbstractContainerScreen;
 import net.minecraft.core.NonNullList;
+import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.network.protocol.game.ServerboundContainerClickPacket;
 import net.minecraft.network.protocol.game.ServerboundContainerClosePacket;
 import net.minecraft.network.protocol.game.ServerboundSetCarriedItemPacket;
@@ -68,4 +70,24 @@ public final class ContainerUtils {
     public static void closeContainer(int containerId) {
         McUtils.sendPacket(new ServerboundContainerClosePacket(containerId));
     }
+
+    /**
+     * Returns a hash of the items in the top-left area of a container, with the given number of
+     * rows and columns. This only looks at the item types and raw item data, so it is much cheaper than
+     * parsing the items, and can be used to tell if a container page has changed since it was last parsed.
+     * The hash is stored with snapshots, so it only uses values that are the same in every session.
+     */
+    public static int getContentHash(List<ItemStack> items, int rows, int cols) {
+        int hash = 1;
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                ItemStack itemStack = items.get(row * 9 + col);
+                boolean empty = itemStack.isEmpty();
+                hash = 31 * hash + (empty ? 0 : BuiltInRegistries.ITEM.getId(itemStack.getItem()));
+                hash = 31 * hash + (empty ? 0 : Objects.hashCode(itemStack.getTag()));
+                hash = 31 * hash + itemStack.getCount();
+            }
+        }
+        return hash;
+    }
 }
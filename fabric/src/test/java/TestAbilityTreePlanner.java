@@ -0,0 +1,162 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+import com.google.common.collect.ImmutableMap;
+import com.google.gson.Gson;
+import com.wynntils.models.abilitytree.AbilityTreePlanner;
+import com.wynntils.models.abilitytree.type.AbilityTreeInfo;
+import com.wynntils.models.abilitytree.type.AbilityTreeNodeState;
+import com.wynntils.models.abilitytree.type.AbilityTreePlan;
+import com.wynntils.models.abilitytree.type.AbilityTreeSkillNode;
+import com.wynntils.models.abilitytree.type.ArchetypeRequirement;
+import com.wynntils.models.abilitytree.type.ParsedAbilityTree;
+import com.wynntils.utils.type.Pair;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class TestAbilityTreePlanner {
+    private static AbilityTreeInfo abilityTree;
+    private static AbilityTreePlanner planner;
+
+    @BeforeAll
+    public static void setup() throws Exception {
+        // A small tree in the format written by AbilityTreeDataDumpFeature
+        try (InputStream in = TestAbilityTreePlanner.class.getResourceAsStream("/archer_abilities.json")) {
+            abilityTree = new Gson()
+                    .fromJson(new InputStreamReader(in, StandardCharsets.UTF_8), AbilityTreeInfo.class);
+        }
+        planner = new AbilityTreePlanner(abilityTree);
+    }
+
+    @Test
+    public void plan_shouldTakeCheapestPath() {
+        AbilityTreePlan plan = planner.plan(nodes("Arrow Hurricane"));
+
+        Assertions.assertEquals(
+                List.of(
+                        "Arrow Bomb",
+                        "Cheaper Arrow Bomb",
+                        "Heart Shatter",
+                        "Double Shots",
+                        "Triple Shots",
+                        "Arrow Hurricane"),
+                names(plan.nodes()));
+        Assertions.assertEquals(7, plan.cost());
+        Assertions.assertEquals(2, plan.archetypeCounts().get("Boltslinger"));
+
+        // Arrow Hurricane needs three other Boltslinger abilities
+        Assertions.assertFalse(plan.isValid());
+        Assertions.assertEquals(List.of(new ArchetypeRequirement("Boltslinger", 3)), plan.missingArchetypes());
+    }
+
+    @Test
+    public void plan_shouldFulfillArchetypeRequirements() {
+        AbilityTreePlan plan = planner.plan(nodes("Arrow Hurricane", "Windy Feet", "Arrow Storm", "Triple Shots"));
+
+        Assertions.assertTrue(plan.isValid());
+        Assertions.assertEquals(12, plan.cost());
+        Assertions.assertEquals(4, plan.archetypeCounts().get("Boltslinger"));
+        assertUnlockOrder(plan);
+    }
+
+    @Test
+    public void plan_shouldAddRequiredAbilities() {
+        AbilityTreePlan plan = planner.plan(nodes("Initiator"));
+
+        Assertions.assertTrue(plan.isValid());
+        Assertions.assertTrue(names(plan.nodes()).contains("Bow Proficiency"));
+        Assertions.assertTrue(names(plan.nodes()).contains("Focus"));
+        Assertions.assertEquals(9, plan.cost());
+        Assertions.assertEquals(Map.of("Sharpshooter", 3), plan.archetypeCounts());
+        assertUnlockOrder(plan);
+    }
+
+    @Test
+    public void plan_shouldReportBlockedTargets() {
+        AbilityTreePlan plan = planner.plan(nodes("Double Shots", "Power Shots"));
+
+        Assertions.assertFalse(plan.isValid());
+        Assertions.assertEquals(List.of(Pair.of(node("Double Shots"), node("Power Shots"))), plan.conflicts());
+        Assertions.assertFalse(plan.nodes().contains(node("Power Shots")));
+    }
+
+    @Test
+    public void plan_shouldReportUnreachableTargets() {
+        // Focus can only be reached through Power Shots, which Double Shots blocks
+        AbilityTreePlan plan = planner.plan(nodes("Double Shots", "Focus"));
+
+        Assertions.assertFalse(plan.isValid());
+        Assertions.assertEquals(List.of(node("Focus")), plan.unreachable());
+        Assertions.assertTrue(plan.conflicts().isEmpty());
+    }
+
+    @Test
+    public void parsedAbilityTree_shouldLookUpStatesById() {
+        AbilityTreeSkillNode unlocked = node("Arrow Bomb");
+        AbilityTreeSkillNode unlockable = node("Cheaper Arrow Bomb");
+        AbilityTreeSkillNode blocked = node("Power Shots");
+        ParsedAbilityTree parsedTree = new ParsedAbilityTree(ImmutableMap.of(
+                unlocked, AbilityTreeNodeState.UNLOCKED,
+                unlockable, AbilityTreeNodeState.UNLOCKABLE,
+                blocked, AbilityTreeNodeState.BLOCKED,
+                node("Focus"), AbilityTreeNodeState.LOCKED));
+
+        Assertions.assertEquals(AbilityTreeNodeState.UNLOCKED, parsedTree.getNodeState(unlocked));
+        Assertions.assertEquals(AbilityTreeNodeState.UNLOCKABLE, parsedTree.getNodeState(unlockable));
+        Assertions.assertEquals(AbilityTreeNodeState.BLOCKED, parsedTree.getNodeState(blocked));
+        Assertions.assertEquals(AbilityTreeNodeState.LOCKED, parsedTree.getNodeState(node("Focus")));
+        Assertions.assertEquals(AbilityTreeNodeState.LOCKED, parsedTree.getNodeState(node("Initiator")));
+
+        // A node with a known id, but from another tree, is not in this tree
+        AbilityTreeSkillNode otherNode = new AbilityTreeSkillNode(
+                unlocked.id(),
+                "Other",
+                "§fOther",
+                List.of(),
+                unlocked.itemInformation(),
+                unlocked.cost(),
+                List.of(),
+                null,
+                null,
+                null,
+                unlocked.location(),
+                List.of());
+        Assertions.assertEquals(AbilityTreeNodeState.LOCKED, parsedTree.getNodeState(otherNode));
+    }
+
+    private static void assertUnlockOrder(AbilityTreePlan plan) {
+        // Every node after the root must be connected to a node unlocked before it
+        List<AbilityTreeSkillNode> unlockedNodes = new ArrayList<>();
+        for (AbilityTreeSkillNode node : plan.nodes()) {
+            if (!unlockedNodes.isEmpty()) {
+                Assertions.assertTrue(
+                        unlockedNodes.stream()
+                                .anyMatch(other -> other.connections().contains(node.id())
+                                        || node.connections().contains(other.id())),
+                        node.name() + " is not connected to an unlocked node");
+            }
+            unlockedNodes.add(node);
+        }
+    }
+
+    private static AbilityTreeSkillNode node(String name) {
+        return planner.getNode(name).orElseThrow();
+    }
+
+    private static List<AbilityTreeSkillNode> nodes(String... names) {
+        return Arrays.stream(names).map(TestAbilityTreePlanner::node).toList();
+    }
+
+    private static List<String> names(List<AbilityTreeSkillNode> nodes) {
+        return nodes.stream().map(AbilityTreeSkillNode::name).toList();
+    }
+}
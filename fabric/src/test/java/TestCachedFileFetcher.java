@@ -0,0 +1,201 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+import com.sun.net.httpserver.HttpServer;
+import com.wynntils.core.net.CachedFileFetcher;
+import com.wynntils.core.net.type.UrlMetrics;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TestCachedFileFetcher {
+    private static final String BODY = "{\"hello\": \"world\"}";
+    private static final String ETAG = "\"v1\"";
+
+    private HttpServer server;
+    private Path tempDir;
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private final AtomicReference<String> lastIfNoneMatch = new AtomicReference<>();
+    // Lets a test hold back responses, so several fetches are in flight at once
+    private volatile CountDownLatch responseGate = new CountDownLatch(0);
+
+    @BeforeEach
+    public void setup() throws IOException {
+        tempDir = Files.createTempDirectory("wynntils-fetcher");
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/data.json", exchange -> {
+            requestCount.incrementAndGet();
+            String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+            lastIfNoneMatch.set(ifNoneMatch);
+
+            try {
+                responseGate.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ignored) {
+            }
+
+            if (ETAG.equals(ifNoneMatch)) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+
+            byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+            String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+                body = gzip(body);
+                exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            }
+
+            exchange.getResponseHeaders().set("ETag", ETAG);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/missing.json", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    public void teardown() throws IOException {
+        server.stop(0);
+
+        try (var files = Files.walk(tempDir)) {
+            files.sorted((a, b) -> b.compareTo(a)).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Test
+    public void fetch_shouldDecodeGzipResponse() throws Exception {
+        CachedFileFetcher fetcher = new CachedFileFetcher(HttpClient.newHttpClient());
+        File localFile = tempDir.resolve("data.json").toFile();
+
+        CachedFileFetcher.FetchResult result =
+                fetcher.fetch(request("/data.json"), localFile).get(5, TimeUnit.SECONDS);
+
+        Assertions.assertTrue(result.modified());
+        Assertions.assertEquals(BODY, Files.readString(localFile.toPath(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void fetch_shouldRevalidateWithEtag() throws Exception {
+        CachedFileFetcher fetcher = new CachedFileFetcher(HttpClient.newHttpClient());
+        File localFile = tempDir.resolve("data.json").toFile();
+
+        fetcher.fetch(request("/data.json"), localFile).get(5, TimeUnit.SECONDS);
+        Assertions.assertNull(lastIfNoneMatch.get());
+
+        CachedFileFetcher.FetchResult result =
+                fetcher.fetch(request("/data.json"), localFile).get(5, TimeUnit.SECONDS);
+
+        Assertions.assertEquals(ETAG, lastIfNoneMatch.get());
+        Assertions.assertFalse(result.modified());
+        Assertions.assertEquals(BODY, Files.readString(localFile.toPath(), StandardCharsets.UTF_8));
+
+        UrlMetrics metrics = fetcher.getMetrics().iterator().next();
+        Assertions.assertEquals(2, metrics.requestCount());
+        Assertions.assertEquals(1, metrics.notModifiedCount());
+    }
+
+    @Test
+    public void fetch_shouldNotRevalidateWithoutLocalFile() throws Exception {
+        CachedFileFetcher fetcher = new CachedFileFetcher(HttpClient.newHttpClient());
+        File localFile = tempDir.resolve("data.json").toFile();
+
+        fetcher.fetch(request("/data.json"), localFile).get(5, TimeUnit.SECONDS);
+        Files.delete(localFile.toPath());
+
+        CachedFileFetcher.FetchResult result =
+                fetcher.fetch(request("/data.json"), localFile).get(5, TimeUnit.SECONDS);
+
+        Assertions.assertNull(lastIfNoneMatch.get());
+        Assertions.assertTrue(result.modified());
+        Assertions.assertTrue(localFile.exists());
+    }
+
+    @Test
+    public void fetch_shouldNotRevalidateAfterDroppingValidators() throws Exception {
+        CachedFileFetcher fetcher = new CachedFileFetcher(HttpClient.newHttpClient());
+        File localFile = tempDir.resolve("data.json").toFile();
+
+        fetcher.fetch(request("/data.json"), localFile).get(5, TimeUnit.SECONDS);
+        // As if the cached file did not have the expected hash
+        Files.writeString(localFile.toPath(), "{\"broken\"", StandardCharsets.UTF_8);
+        CachedFileFetcher.dropValidators(localFile);
+
+        CachedFileFetcher.FetchResult result =
+                fetcher.fetch(request("/data.json"), localFile).get(5, TimeUnit.SECONDS);
+
+        Assertions.assertNull(lastIfNoneMatch.get());
+        Assertions.assertTrue(result.modified());
+        Assertions.assertEquals(BODY, Files.readString(localFile.toPath(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void fetch_shouldCoalesceConcurrentRequests() throws Exception {
+        CachedFileFetcher fetcher = new CachedFileFetcher(HttpClient.newHttpClient());
+        File localFile = tempDir.resolve("data.json").toFile();
+
+        responseGate = new CountDownLatch(1);
+        List<CompletableFuture<CachedFileFetcher.FetchResult>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            futures.add(fetcher.fetch(request("/data.json"), localFile));
+        }
+        responseGate.countDown();
+
+        for (CompletableFuture<CachedFileFetcher.FetchResult> future : futures) {
+            Assertions.assertTrue(future.get(5, TimeUnit.SECONDS).modified());
+        }
+        Assertions.assertEquals(1, requestCount.get());
+    }
+
+    @Test
+    public void fetch_shouldFailOnErrorStatus() {
+        CachedFileFetcher fetcher = new CachedFileFetcher(HttpClient.newHttpClient());
+        File localFile = tempDir.resolve("missing.json").toFile();
+
+        CompletableFuture<CachedFileFetcher.FetchResult> future = fetcher.fetch(request("/missing.json"), localFile);
+
+        Assertions.assertThrows(Exception.class, () -> future.get(5, TimeUnit.SECONDS));
+        Assertions.assertFalse(localFile.exists());
+        Assertions.assertEquals(1, fetcher.getMetrics().iterator().next().failureCount());
+    }
+
+    private HttpRequest request(String path) {
+        URI uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + path);
+        return HttpRequest.newBuilder().uri(uri).build();
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(data);
+        }
+        return bytes.toByteArray();
+    }
+}
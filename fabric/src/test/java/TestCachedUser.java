@@ -0,0 +1,26 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.models.players.WynntilsUser;
+import com.wynntils.models.players.type.AccountType;
+import com.wynntils.models.players.type.CachedUser;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestCachedUser {
+    @Test
+    public void isExpired_shouldExpireNonUsersSooner() {
+        CachedUser user = new CachedUser(new WynntilsUser(AccountType.NORMAL, null), 0);
+        CachedUser noUser = new CachedUser(null, 0);
+        long twoHours = TimeUnit.HOURS.toMillis(2);
+
+        Assertions.assertTrue(user.isWynntilsUser());
+        Assertions.assertFalse(noUser.isWynntilsUser());
+
+        Assertions.assertFalse(user.isExpired(twoHours));
+        Assertions.assertTrue(noUser.isExpired(twoHours));
+        Assertions.assertTrue(user.isExpired(TimeUnit.DAYS.toMillis(1)));
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.handlers.chat.type.RecipientType;
+import com.wynntils.models.chathistory.ChatHistorySegment;
+import com.wynntils.models.chathistory.type.ChatHistoryEntry;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TestChatHistorySegment {
+    private static final String SEGMENT_NAME = "2023-06-01";
+
+    private File dir;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("wynntils-chathistory").toFile();
+    }
+
+    @AfterEach
+    public void teardown() throws IOException {
+        try (var files = Files.walk(dir.toPath())) {
+            files.sorted((a, b) -> b.compareTo(a)).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Test
+    public void search_shouldReturnMatchesNewestFirst() throws IOException {
+        ChatHistorySegment segment = ChatHistorySegment.load(dir, SEGMENT_NAME);
+        segment.append(List.of(
+                entry(1, RecipientType.LOCAL, "§fAnyone selling a Nirvana?"),
+                entry(2, RecipientType.GUILD, "§3[Guild] §bWarp is cheap today")));
+        segment.append(List.of(entry(3, RecipientType.LOCAL, "§fNirvana sold, thanks!")));
+
+        Assertions.assertEquals(List.of(3L, 1L), timestamps(segment.search(Set.of("nirvana"), 10)));
+        Assertions.assertEquals(List.of(3L), timestamps(segment.search(Set.of("nirvana"), 1)));
+        // All tokens have to be in the same message
+        Assertions.assertEquals(List.of(1L), timestamps(segment.search(Set.of("nirvana", "selling"), 10)));
+        Assertions.assertEquals(List.of(), segment.search(Set.of("nirvana", "warp"), 10));
+        // Formatting codes are not part of the words
+        Assertions.assertEquals(List.of(), segment.search(Set.of("fanyone"), 10));
+    }
+
+    @Test
+    public void search_shouldFindMessagesByRecipientType() throws IOException {
+        ChatHistorySegment segment = ChatHistorySegment.load(dir, SEGMENT_NAME);
+        segment.append(List.of(
+                entry(1, RecipientType.LOCAL, "§fWarp for sale"),
+                entry(2, RecipientType.GUILD, "§3[Guild] §bWarp for the guild")));
+
+        String guildToken = ChatHistorySegment.getRecipientToken(RecipientType.GUILD);
+        Assertions.assertEquals(List.of(2L), timestamps(segment.search(Set.of(guildToken, "warp"), 10)));
+        Assertions.assertEquals(List.of(2L), timestamps(segment.search(Set.of(guildToken), 10)));
+
+        List<ChatHistoryEntry> results = segment.search(Set.of(guildToken), 10);
+        Assertions.assertEquals(RecipientType.GUILD, results.get(0).recipientType());
+        Assertions.assertEquals("§3[Guild] §bWarp for the guild", results.get(0).codedMessage());
+    }
+
+    @Test
+    public void load_shouldReadTheSavedIndex() throws IOException {
+        ChatHistorySegment segment = ChatHistorySegment.load(dir, SEGMENT_NAME);
+        segment.append(List.of(entry(1, RecipientType.LOCAL, "§fFirst message")));
+        segment.append(List.of(entry(2, RecipientType.PARTY, "§7[§eParty§7] §fSecond message")));
+        Assertions.assertTrue(segment.isIndexDirty());
+
+        segment.saveIndex();
+        Assertions.assertFalse(segment.isIndexDirty());
+
+        ChatHistorySegment loaded = ChatHistorySegment.load(dir, SEGMENT_NAME);
+        // Nothing had to be rebuilt, so there is nothing to save either
+        Assertions.assertFalse(loaded.isIndexDirty());
+        Assertions.assertEquals(List.of(2L, 1L), timestamps(loaded.search(Set.of("message"), 10)));
+        Assertions.assertEquals(
+                List.of(2L),
+                timestamps(loaded.search(Set.of(ChatHistorySegment.getRecipientToken(RecipientType.PARTY)), 10)));
+
+        // Appending to a loaded segment continues the message ids
+        loaded.append(List.of(entry(3, RecipientType.LOCAL, "§fThird message")));
+        Assertions.assertEquals(List.of(3L, 2L, 1L), timestamps(loaded.search(Set.of("message"), 10)));
+    }
+
+    @Test
+    public void load_shouldRebuildMissingOrStaleIndex() throws IOException {
+        ChatHistorySegment segment = ChatHistorySegment.load(dir, SEGMENT_NAME);
+        segment.append(List.of(entry(1, RecipientType.LOCAL, "§fFirst message")));
+        segment.saveIndex();
+        // Written after the index was saved, as if the game crashed before the next save
+        segment.append(List.of(entry(2, RecipientType.LOCAL, "§fSecond message")));
+
+        ChatHistorySegment rebuilt = ChatHistorySegment.load(dir, SEGMENT_NAME);
+        Assertions.assertTrue(rebuilt.isIndexDirty());
+        Assertions.assertEquals(List.of(2L, 1L), timestamps(rebuilt.search(Set.of("message"), 10)));
+
+        Files.delete(dir.toPath().resolve(SEGMENT_NAME + ".idx"));
+        ChatHistorySegment withoutIndex = ChatHistorySegment.load(dir, SEGMENT_NAME);
+        Assertions.assertEquals(List.of(1L), timestamps(withoutIndex.search(Set.of("first"), 10)));
+    }
+
+    @Test
+    public void load_shouldKeepReadableMessagesOfTruncatedSegment() throws IOException {
+        ChatHistorySegment segment = ChatHistorySegment.load(dir, SEGMENT_NAME);
+        segment.append(List.of(entry(1, RecipientType.LOCAL, "§fFirst message")));
+
+        // A gzip member that was cut off while being written
+        try (OutputStream out =
+                Files.newOutputStream(dir.toPath().resolve(SEGMENT_NAME + ".log.gz"), StandardOpenOption.APPEND)) {
+            out.write(new byte[] {0x1f, (byte) 0x8b, 8, 0});
+        }
+
+        ChatHistorySegment rebuilt = ChatHistorySegment.load(dir, SEGMENT_NAME);
+        Assertions.assertEquals(List.of(1L), timestamps(rebuilt.search(Set.of("message"), 10)));
+    }
+
+    @Test
+    public void getSegmentNames_shouldListSegmentsUntilDeleted() throws IOException {
+        ChatHistorySegment segment = ChatHistorySegment.load(dir, SEGMENT_NAME);
+        segment.append(List.of(entry(1, RecipientType.LOCAL, "§fFirst message")));
+        segment.saveIndex();
+
+        Assertions.assertEquals(List.of(SEGMENT_NAME), ChatHistorySegment.getSegmentNames(dir));
+        long dataSize = dir.toPath().resolve(SEGMENT_NAME + ".log.gz").toFile().length();
+        Assertions.assertTrue(ChatHistorySegment.getSize(dir, SEGMENT_NAME) > dataSize);
+
+        ChatHistorySegment.delete(dir, SEGMENT_NAME);
+
+        Assertions.assertEquals(List.of(), ChatHistorySegment.getSegmentNames(dir));
+        Assertions.assertEquals(0, ChatHistorySegment.getSize(dir, SEGMENT_NAME));
+    }
+
+    private static ChatHistoryEntry entry(long timestamp, RecipientType recipientType, String codedMessage) {
+        return new ChatHistoryEntry(timestamp, recipientType, codedMessage);
+    }
+
+    private static List<Long> timestamps(List<ChatHistoryEntry> entries) {
+        return entries.stream().map(ChatHistoryEntry::timestamp).toList();
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.models.containers.ContainerContentIndex;
+import com.wynntils.models.containers.type.IndexedContainerItem;
+import com.wynntils.models.containers.type.IndexedContainerPage;
+import com.wynntils.models.containers.type.SearchableContainerType;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestContainerContentIndex {
+    private static final String GUILD_BANK_NAME = "Wynntils: Bank (Everyone)";
+
+    @Test
+    public void getMatchingPages_shouldFindPagesByNameAndLoreTokens() {
+        ContainerContentIndex index = new ContainerContentIndex(new TreeMap<>());
+        index.putPage(bankPage(3, item("Warp", "Walk Speed +20%", "Legendary Item")));
+        index.putPage(bankPage(1, item("Nirvana", "Water Damage +25%", "Mythic Item")));
+        index.putPage(bankPage(2, item("Stardew", "Mana Regen +3/5s", "Legendary Item")));
+
+        Assertions.assertEquals(List.of(3), index.getMatchingPages(SearchableContainerType.BANK, "", "warp"));
+        // Only the start of words is matched
+        Assertions.assertEquals(List.of(1), index.getMatchingPages(SearchableContainerType.BANK, "", "nirv"));
+        Assertions.assertEquals(List.of(), index.getMatchingPages(SearchableContainerType.BANK, "", "rvan"));
+        // Every search word has to be the start of a token of the same item
+        Assertions.assertEquals(List.of(2, 3), index.getMatchingPages(SearchableContainerType.BANK, "", "legend"));
+        Assertions.assertEquals(
+                List.of(3), index.getMatchingPages(SearchableContainerType.BANK, "", "legendary walk"));
+        Assertions.assertEquals(List.of(), index.getMatchingPages(SearchableContainerType.BANK, "", "mythic walk"));
+        Assertions.assertEquals(List.of(), index.getMatchingPages(SearchableContainerType.BANK, "", "  "));
+    }
+
+    @Test
+    public void getMatchingPages_shouldOnlyReturnPagesOfTheContainer() {
+        ContainerContentIndex index = new ContainerContentIndex(new TreeMap<>());
+        index.putPage(bankPage(1, item("Warp")));
+        index.putPage(new IndexedContainerPage(SearchableContainerType.MISC_BUCKET, "", 4, List.of(item("Warp"))));
+        index.putPage(guildBankPage(GUILD_BANK_NAME, 2, item("Warp")));
+        index.putPage(guildBankPage("Other: Bank (Everyone)", 5, item("Warp")));
+
+        Assertions.assertEquals(List.of(1), index.getMatchingPages(SearchableContainerType.BANK, "", "warp"));
+        Assertions.assertEquals(List.of(4), index.getMatchingPages(SearchableContainerType.MISC_BUCKET, "", "warp"));
+        Assertions.assertEquals(
+                List.of(2), index.getMatchingPages(SearchableContainerType.GUILD_BANK, GUILD_BANK_NAME, "warp"));
+    }
+
+    @Test
+    public void putPage_shouldReplaceTheIndexedItemsOfThePage() {
+        Map<String, IndexedContainerPage> pages = new TreeMap<>();
+        ContainerContentIndex index = new ContainerContentIndex(pages);
+
+        Assertions.assertTrue(index.putPage(bankPage(1, item("Warp"))));
+        Assertions.assertFalse(index.putPage(bankPage(1, item("Warp"))));
+        Assertions.assertTrue(index.putPage(bankPage(1, item("Nirvana"))));
+
+        Assertions.assertEquals(List.of(), index.getMatchingPages(SearchableContainerType.BANK, "", "warp"));
+        Assertions.assertEquals(List.of(1), index.getMatchingPages(SearchableContainerType.BANK, "", "nirvana"));
+        // The pages are stored in the given map, so they can be persisted
+        Assertions.assertEquals(1, pages.size());
+    }
+
+    @Test
+    public void load_shouldIndexStoredPagesWithoutConfirmingThem() {
+        Map<String, IndexedContainerPage> storedPages = new HashMap<>();
+        IndexedContainerPage storedPage = guildBankPage(GUILD_BANK_NAME, 3, item("Warp"));
+        storedPages.put(storedPage.getKey(), storedPage);
+
+        ContainerContentIndex index = new ContainerContentIndex(new TreeMap<>());
+        index.putPage(bankPage(1, item("Nirvana")));
+        index.load(storedPages);
+
+        Assertions.assertEquals(
+                List.of(3), index.getMatchingPages(SearchableContainerType.GUILD_BANK, GUILD_BANK_NAME, "warp"));
+        Assertions.assertEquals(List.of(), index.getMatchingPages(SearchableContainerType.BANK, "", "nirvana"));
+        // Stored pages may be out of date, so a page with matches further on does not allow skipping them
+        Assertions.assertFalse(index.isConfirmed(SearchableContainerType.GUILD_BANK, GUILD_BANK_NAME, 3));
+    }
+
+    @Test
+    public void isConfirmed_shouldOnlyIncludePagesSeenThisSession() {
+        ContainerContentIndex index = new ContainerContentIndex(new TreeMap<>());
+        index.putPage(guildBankPage(GUILD_BANK_NAME, 1));
+        index.putPage(guildBankPage(GUILD_BANK_NAME, 2, item("Warp")));
+
+        Assertions.assertTrue(index.isConfirmed(SearchableContainerType.GUILD_BANK, GUILD_BANK_NAME, 1));
+        Assertions.assertTrue(index.isConfirmed(SearchableContainerType.GUILD_BANK, GUILD_BANK_NAME, 2));
+        Assertions.assertFalse(index.isConfirmed(SearchableContainerType.GUILD_BANK, GUILD_BANK_NAME, 3));
+        Assertions.assertFalse(index.isConfirmed(SearchableContainerType.GUILD_BANK, "Other: Bank (Everyone)", 1));
+
+        index.clearSession();
+
+        Assertions.assertFalse(index.isConfirmed(SearchableContainerType.GUILD_BANK, GUILD_BANK_NAME, 1));
+        // The contents are still remembered, only the confirmation is gone
+        Assertions.assertEquals(
+                List.of(2), index.getMatchingPages(SearchableContainerType.GUILD_BANK, GUILD_BANK_NAME, "warp"));
+
+        // An unchanged page seen again is confirmed again
+        Assertions.assertFalse(index.putPage(guildBankPage(GUILD_BANK_NAME, 1)));
+        Assertions.assertTrue(index.isConfirmed(SearchableContainerType.GUILD_BANK, GUILD_BANK_NAME, 1));
+    }
+
+    private static IndexedContainerPage bankPage(int page, IndexedContainerItem... items) {
+        return new IndexedContainerPage(SearchableContainerType.BANK, "", page, List.of(items));
+    }
+
+    private static IndexedContainerPage guildBankPage(String name, int page, IndexedContainerItem... items) {
+        return new IndexedContainerPage(SearchableContainerType.GUILD_BANK, name, page, List.of(items));
+    }
+
+    private static IndexedContainerItem item(String name, String... loreLines) {
+        List<String> tokens = new ArrayList<>(ContainerContentIndex.tokenize(name));
+        for (String loreLine : loreLines) {
+            tokens.addAll(ContainerContentIndex.tokenize(loreLine));
+        }
+        return new IndexedContainerItem(name.toLowerCase(Locale.ROOT), List.copyOf(tokens));
+    }
+}
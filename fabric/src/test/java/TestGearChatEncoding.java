@@ -0,0 +1,172 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.models.elements.type.Powder;
+import com.wynntils.models.gear.GearChatEncoding;
+import com.wynntils.models.gear.type.EncodedGear;
+import com.wynntils.models.stats.type.StatPossibleValues;
+import com.wynntils.utils.type.RangedValue;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class TestGearChatEncoding {
+    // Items encoded in the Wynntils 1.12 format
+    private static final String LEGACY_POWDERED =
+            "\uDB97\uDFF0Cataclysm\uDB97\uDFF2\uDB94\uDC51\uDB94\uDD90\uDB94\uDC2A\uDB94\uDC00\uDB97\uDFF2"
+                    + "\uDB94\uDE0C\uDB94\uDC05\uDB94\uDC03\uDB97\uDFF1";
+    private static final String LEGACY_UNPOWDERED =
+            "\uDB97\uDFF0Warp\uDB97\uDFF2\uDB94\uDDF3\uDB94\uDC00\uDB97\uDFF1";
+    private static final String LEGACY_NO_IDS =
+            "\uDB97\uDFF0Nirvana\uDB97\uDFF2\uDB97\uDFF2\uDB94\uDC01\uDB94\uDC0C\uDB97\uDFF1";
+
+    private final GearChatEncoding encoding = new GearChatEncoding();
+
+    @BeforeAll
+    public static void setup() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+    }
+
+    @Test
+    public void decode_legacyExamples() {
+        assertEncodedGear(
+                new EncodedGear(
+                        0,
+                        LEGACY_POWDERED.length(),
+                        "Cataclysm",
+                        IntList.of(0x51, 0x190, 0x2A, 0),
+                        List.of(Powder.THUNDER, Powder.THUNDER, Powder.WATER, Powder.THUNDER, Powder.AIR),
+                        3),
+                encoding.decode(LEGACY_POWDERED));
+        assertEncodedGear(
+                new EncodedGear(0, LEGACY_UNPOWDERED.length(), "Warp", IntList.of(0x1F3), List.of(), 0),
+                encoding.decode(LEGACY_UNPOWDERED));
+        assertEncodedGear(
+                new EncodedGear(0, LEGACY_NO_IDS.length(), "Nirvana", IntList.of(), List.of(Powder.EARTH), 12),
+                encoding.decode(LEGACY_NO_IDS));
+    }
+
+    @Test
+    public void encode_legacyExamples() {
+        Assertions.assertEquals(
+                LEGACY_POWDERED,
+                encoding.encode(
+                        "Cataclysm",
+                        IntList.of(0x51, 0x190, 0x2A, 0),
+                        List.of(Powder.THUNDER, Powder.THUNDER, Powder.WATER, Powder.THUNDER, Powder.AIR),
+                        3));
+        Assertions.assertEquals(LEGACY_UNPOWDERED, encoding.encode("Warp", IntList.of(0x1F3), List.of(), 0));
+        Assertions.assertEquals(LEGACY_NO_IDS, encoding.encode("Nirvana", IntList.of(), List.of(Powder.EARTH), 12));
+    }
+
+    @Test
+    public void encodeAndDecode_shouldRoundTrip() {
+        Random random = new Random(46);
+
+        for (int i = 0; i < 1000; i++) {
+            String name = randomName(random);
+            IntList ids = new IntArrayList();
+            for (int id = random.nextInt(20); id > 0; id--) {
+                ids.add(random.nextInt(0xF01));
+            }
+            List<Powder> powders = new ArrayList<>();
+            for (int powder = random.nextInt(7); powder > 0; powder--) {
+                powders.add(Powder.values()[random.nextInt(Powder.values().length)]);
+            }
+            int rerolls = random.nextInt(100);
+
+            String encoded = encoding.encode(name, ids, powders, rerolls);
+            String text = "[Player] look at " + encoded + " and " + LEGACY_UNPOWDERED;
+
+            EncodedGear expected = new EncodedGear(0, encoded.length(), name, ids, powders, rerolls);
+            assertEncodedGear(expected, encoding.decode(encoded));
+
+            EncodedGear found = encoding.find(text, 0);
+            Assertions.assertEquals(17, found.start(), "Start in " + text);
+            Assertions.assertEquals(17 + encoded.length(), found.end(), "End in " + text);
+            Assertions.assertEquals(ids, found.ids());
+
+            EncodedGear next = encoding.find(text, found.end());
+            Assertions.assertEquals("Warp", next.name());
+            Assertions.assertEquals(text.length(), next.end());
+            Assertions.assertNull(encoding.find(text, next.end()));
+        }
+    }
+
+    @Test
+    public void find_shouldSkipMalformedItems() {
+        String start = "\uDB97\uDFF0";
+        String separator = "\uDB97\uDFF2";
+
+        Assertions.assertNull(encoding.find("No items here", 0));
+        Assertions.assertNull(encoding.find(start + "Unterminated" + separator, 0));
+        // No rerolls
+        Assertions.assertNull(encoding.decode(start + "Empty" + separator + "\uDB97\uDFF1"));
+        // A line break in the name
+        Assertions.assertNull(encoding.find(start + "Line\nBreak" + separator + "\uDB94\uDC00\uDB97\uDFF1", 0));
+        // Powder digit 0 in between powders
+        Assertions.assertNull(
+                encoding.decode(start + "Bad" + separator + separator + "\uDB94\uDC06\uDB94\uDC00\uDB97\uDFF1"));
+        // Trailing text is found, but is not a whole encoded item
+        Assertions.assertNull(encoding.decode(LEGACY_UNPOWDERED + " "));
+
+        // A stray start character before an item
+        String text = start + "broken " + LEGACY_NO_IDS;
+        EncodedGear found = encoding.find(text, 0);
+        Assertions.assertEquals(text.length() - LEGACY_NO_IDS.length(), found.start());
+        Assertions.assertEquals("Nirvana", found.name());
+    }
+
+    @Test
+    public void identifications_shouldRoundTrip() {
+        Random random = new Random(1);
+
+        for (int i = 0; i < 1000; i++) {
+            int baseValue = (random.nextBoolean() ? 1 : -1) * (1 + random.nextInt(1000));
+            int low = Math.round(baseValue * (baseValue > 0 ? 0.3f : 1.3f));
+            int high = Math.round(baseValue * (baseValue > 0 ? 1.3f : 0.7f));
+            StatPossibleValues possibleValues =
+                    new StatPossibleValues(null, RangedValue.of(low, high), baseValue, false);
+
+            for (int value = low; value <= high; value++) {
+                int stars = random.nextInt(4);
+                int encoded = GearChatEncoding.encodeIdentification(possibleValues, value, stars);
+                int decoded = GearChatEncoding.decodeIdentificationValue(possibleValues, encoded);
+
+                Assertions.assertEquals(stars, encoded % 4);
+                if (Math.abs(baseValue) > 100) {
+                    // Large values are stored as percent, so they are rounded to the closest percent
+                    Assertions.assertEquals(
+                            encoded, GearChatEncoding.encodeIdentification(possibleValues, decoded, stars));
+                    Assertions.assertTrue(
+                            Math.abs(decoded - value) <= Math.abs(baseValue) / 200 + 1,
+                            value + " decoded as " + decoded + " for base " + baseValue);
+                } else {
+                    Assertions.assertEquals(value, decoded, "Raw value for base " + baseValue);
+                }
+            }
+        }
+    }
+
+    private static void assertEncodedGear(EncodedGear expected, EncodedGear actual) {
+        Assertions.assertNotNull(actual, "Expected " + expected.name());
+        Assertions.assertEquals(expected, actual);
+    }
+
+    private static String randomName(Random random) {
+        StringBuilder name = new StringBuilder();
+        for (int length = 1 + random.nextInt(20); length > 0; length--) {
+            name.append((char) (' ' + random.nextInt(95)));
+        }
+        return name.toString();
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.core.text.CodedString;
+import com.wynntils.models.character.type.ClassType;
+import com.wynntils.models.elements.type.Element;
+import com.wynntils.models.elements.type.Skill;
+import com.wynntils.models.gear.GearInfoSnapshotCodec;
+import com.wynntils.models.gear.type.GearAttackSpeed;
+import com.wynntils.models.gear.type.GearInfo;
+import com.wynntils.models.gear.type.GearMajorId;
+import com.wynntils.models.gear.type.GearMetaInfo;
+import com.wynntils.models.gear.type.GearRequirements;
+import com.wynntils.models.gear.type.GearRestrictions;
+import com.wynntils.models.gear.type.GearTier;
+import com.wynntils.models.gear.type.GearType;
+import com.wynntils.models.stats.StatModel;
+import com.wynntils.models.stats.type.DamageType;
+import com.wynntils.models.stats.type.FixedStats;
+import com.wynntils.models.stats.type.StatPossibleValues;
+import com.wynntils.models.stats.type.StatType;
+import com.wynntils.models.wynnitem.type.ItemMaterial;
+import com.wynntils.models.wynnitem.type.ItemObtainInfo;
+import com.wynntils.models.wynnitem.type.ItemObtainType;
+import com.wynntils.utils.colors.CustomColor;
+import com.wynntils.utils.type.Pair;
+import com.wynntils.utils.type.RangedValue;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.item.ItemStack;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class TestGearInfoSnapshotCodec {
+    private static StatModel statModel;
+    private static GearInfoSnapshotCodec codec;
+
+    @BeforeAll
+    public static void setup() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+
+        statModel = new StatModel();
+        codec = new GearInfoSnapshotCodec(statModel::getAllStatTypes);
+    }
+
+    @Test
+    public void read_shouldRestoreWrittenGear() throws IOException {
+        GearMajorId majorId = new GearMajorId("PLAGUE", "Plague", CodedString.fromString("§3Poisoned mobs spread"));
+        List<GearInfo> registry = List.of(
+                createWeapon("Nullification", majorId), createWeapon("Cataclysm", majorId), createHelmet());
+
+        List<GearInfo> restored = roundTrip(registry);
+
+        Assertions.assertEquals(registry.size(), restored.size());
+        for (int i = 0; i < registry.size(); i++) {
+            assertGearEquals(registry.get(i), restored.get(i));
+        }
+        // Major ids are written once and shared by all gear having them
+        Assertions.assertSame(
+                restored.get(0).fixedStats().majorIds().get(0),
+                restored.get(1).fixedStats().majorIds().get(0));
+    }
+
+    @Test
+    public void read_shouldKeepMissingMajorIdLore() throws IOException {
+        GearMajorId majorId = new GearMajorId("HERO", null, null);
+
+        List<GearInfo> restored = roundTrip(List.of(createWeapon("Warp", majorId)));
+
+        Assertions.assertEquals(majorId, restored.get(0).fixedStats().majorIds().get(0));
+    }
+
+    @Test
+    public void read_shouldRejectUnknownStatTypes() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        codec.write(new DataOutputStream(bytes), List.of(createHelmet()));
+
+        GearInfoSnapshotCodec codecWithoutStats = new GearInfoSnapshotCodec(List::of);
+        Assertions.assertThrows(
+                IOException.class,
+                () -> codecWithoutStats.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))));
+    }
+
+    private static List<GearInfo> roundTrip(List<GearInfo> registry) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        codec.write(new DataOutputStream(bytes), registry);
+
+        return codec.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+
+    private static GearInfo createWeapon(String name, GearMajorId majorId) {
+        StatType statType = statModel.getAllStatTypes().get(0);
+
+        return new GearInfo(
+                name,
+                GearType.DAGGER,
+                GearTier.MYTHIC,
+                3,
+                new GearMetaInfo(
+                        GearRestrictions.UNTRADABLE,
+                        ItemMaterial.fromGearType(GearType.DAGGER),
+                        List.of(
+                                new ItemObtainInfo(ItemObtainType.BOSS_ALTAR, Optional.of("Orphion")),
+                                new ItemObtainInfo(ItemObtainType.LOOT_CHEST, Optional.empty())),
+                        Optional.of(CodedString.fromString("§8An ancient blade")),
+                        Optional.of(name + "Api"),
+                        false),
+                new GearRequirements(
+                        95,
+                        Optional.of(ClassType.ASSASSIN),
+                        List.of(Pair.of(Skill.DEXTERITY, 60), Pair.of(Skill.DEFENCE, 40)),
+                        Optional.of("The Qira Hive")),
+                new FixedStats(
+                        -1500,
+                        List.of(Pair.of(Skill.AGILITY, 10)),
+                        Optional.of(GearAttackSpeed.FAST),
+                        List.of(majorId),
+                        List.of(
+                                Pair.of(DamageType.NEUTRAL, RangedValue.of(40, 80)),
+                                Pair.of(DamageType.THUNDER, RangedValue.of(10, 220))),
+                        List.of(Pair.of(Element.WATER, -120))),
+                List.of(Pair.of(statType, new StatPossibleValues(statType, RangedValue.of(-12, 39), 30, false))));
+    }
+
+    private static GearInfo createHelmet() {
+        StatType fixedStat = statModel.getAllStatTypes().get(1);
+        StatType rolledStat = statModel.getAllStatTypes().get(2);
+
+        // Unknown restrictions and empty lists are kept as they are, as are missing optional values
+        return new GearInfo(
+                "Cancer",
+                GearType.HELMET,
+                GearTier.NORMAL,
+                0,
+                new GearMetaInfo(
+                        null,
+                        ItemMaterial.fromArmorType("leather", GearType.HELMET, new CustomColor(12, 34, 56)),
+                        List.of(),
+                        Optional.empty(),
+                        Optional.empty(),
+                        true),
+                new GearRequirements(1, Optional.empty(), List.of(), Optional.empty()),
+                new FixedStats(0, List.of(), Optional.empty(), List.of(), List.of(), List.of()),
+                List.of(
+                        Pair.of(fixedStat, new StatPossibleValues(fixedStat, RangedValue.of(5, 5), 5, true)),
+                        Pair.of(rolledStat, new StatPossibleValues(rolledStat, RangedValue.of(1, 4), 3, false))));
+    }
+
+    private static void assertGearEquals(GearInfo expected, GearInfo actual) {
+        Assertions.assertEquals(expected.name(), actual.name());
+        Assertions.assertEquals(expected.type(), actual.type());
+        Assertions.assertEquals(expected.tier(), actual.tier());
+        Assertions.assertEquals(expected.powderSlots(), actual.powderSlots());
+        Assertions.assertEquals(expected.requirements(), actual.requirements());
+        Assertions.assertEquals(expected.fixedStats(), actual.fixedStats());
+        Assertions.assertEquals(expected.variableStats(), actual.variableStats());
+
+        GearMetaInfo expectedMetaInfo = expected.metaInfo();
+        GearMetaInfo actualMetaInfo = actual.metaInfo();
+        Assertions.assertEquals(expectedMetaInfo.restrictions(), actualMetaInfo.restrictions());
+        Assertions.assertEquals(expectedMetaInfo.obtainInfo(), actualMetaInfo.obtainInfo());
+        Assertions.assertEquals(expectedMetaInfo.lore(), actualMetaInfo.lore());
+        Assertions.assertEquals(expectedMetaInfo.apiName(), actualMetaInfo.apiName());
+        Assertions.assertEquals(expectedMetaInfo.allowCraftsman(), actualMetaInfo.allowCraftsman());
+        // ItemStack does not implement equals, so compare the item, damage and tag instead
+        Assertions.assertTrue(ItemStack.matches(
+                expectedMetaInfo.material().itemStack(), actualMetaInfo.material().itemStack()));
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.wynntils.models.gear.GearQueryIndex;
+import com.wynntils.models.gear.type.GearInfo;
+import com.wynntils.models.gear.type.GearMetaInfo;
+import com.wynntils.models.gear.type.GearQuery;
+import com.wynntils.models.gear.type.GearRequirements;
+import com.wynntils.models.gear.type.GearRestrictions;
+import com.wynntils.models.gear.type.GearTier;
+import com.wynntils.models.gear.type.GearType;
+import com.wynntils.models.stats.builders.MiscStatKind;
+import com.wynntils.models.stats.type.FixedStats;
+import com.wynntils.models.stats.type.MiscStatType;
+import com.wynntils.models.stats.type.StatPossibleValues;
+import com.wynntils.models.stats.type.StatType;
+import com.wynntils.models.stats.type.StatUnit;
+import com.wynntils.models.wynnitem.type.ItemMaterial;
+import com.wynntils.models.wynnitem.type.ItemObtainInfo;
+import com.wynntils.models.wynnitem.type.ItemObtainType;
+import com.wynntils.utils.StringUtils;
+import com.wynntils.utils.type.Pair;
+import com.wynntils.utils.type.RangedValue;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.item.ItemStack;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class TestGearQueryIndex {
+    private static final StatType WALK_SPEED = createStat("walkSpeed", "Walk Speed", MiscStatKind.WALK_SPEED);
+    private static final StatType LIFE_STEAL = createStat("lifeSteal", "Life Steal", MiscStatKind.LIFE_STEAL);
+    private static final StatType HEALTH_REGEN =
+            createStat("healthRegen", "Health Regen", MiscStatKind.HEALTH_REGEN_PERCENT);
+    private static final Map<String, StatType> STATS =
+            Map.of("walkSpeed", WALK_SPEED, "lifeSteal", LIFE_STEAL, "healthRegen", HEALTH_REGEN);
+
+    private static List<GearInfo> gears;
+    private static GearQueryIndex index;
+
+    @BeforeAll
+    public static void setup() throws Exception {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+
+        gears = loadFixture();
+        index = new GearQueryIndex(gears);
+    }
+
+    @Test
+    public void structuredQuery_shouldMatchLinearFilter() {
+        // "mythic daggers lvl 90+ with Walk Speed"
+        GearQuery query = GearQuery.builder()
+                .type(GearType.DAGGER)
+                .tier(GearTier.MYTHIC)
+                .minLevel(90)
+                .withStat(WALK_SPEED)
+                .build();
+
+        List<GearInfo> result = index.query(query);
+
+        Assertions.assertEquals(List.of("Nullification", "Cataclysm"), names(result));
+        assertMatchesLinearFilter(
+                query,
+                gear -> gear.type() == GearType.DAGGER
+                        && gear.tier() == GearTier.MYTHIC
+                        && gear.requirements().level() >= 90
+                        && gear.getVariableStats().contains(WALK_SPEED));
+    }
+
+    @Test
+    public void gearBoxQuery_shouldMatchLinearFilter() {
+        GearQuery query = gearBoxQuery(GearType.DAGGER, GearTier.RARE, RangedValue.of(30, 40));
+
+        // The Sand Dagger is only sold by a merchant
+        Assertions.assertEquals(List.of("Sandstorm"), names(index.query(query)));
+
+        for (GearType type : GearType.values()) {
+            for (GearTier tier : GearTier.values()) {
+                for (RangedValue levelRange : List.of(RangedValue.of(1, 100), RangedValue.of(30, 40))) {
+                    assertMatchesLinearFilter(
+                            gearBoxQuery(type, tier, levelRange),
+                            gear -> isPossibleGearBoxGear(gear, type, tier, levelRange));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void nameSearch_shouldMatchLinearFilter() {
+        for (String searchTerm : List.of("dagger", "dgr", "sand", "a", "az", "ZZZ", "gale's", "o p c", "")) {
+            // This is how the item guide searched before it used the index
+            assertMatchesLinearFilter(
+                    GearQuery.builder().nameSearch(searchTerm).build(),
+                    gear -> StringUtils.partialMatch(gear.name(), searchTerm));
+        }
+
+        Assertions.assertEquals(
+                List.of("Hive Dagger", "Dagger of the Dunes", "Rusty Dagger", "Sand Dagger"),
+                names(index.query(GearQuery.builder().nameSearch("dagger").build())));
+    }
+
+    @Test
+    public void nameContains_shouldMatchLinearFilter() {
+        for (String text : List.of("dagger", "sand", "STORM", "ea", "x", "force")) {
+            assertMatchesLinearFilter(
+                    GearQuery.builder().nameContains(text).build(),
+                    gear -> gear.name().toLowerCase(Locale.ROOT).contains(text.toLowerCase(Locale.ROOT)));
+        }
+    }
+
+    @Test
+    public void combinedQueries_shouldMatchLinearFilter() {
+        assertMatchesLinearFilter(
+                GearQuery.builder()
+                        .type(GearType.BOW)
+                        .type(GearType.WAND)
+                        .withStat(WALK_SPEED)
+                        .nameSearch("r")
+                        .build(),
+                gear -> (gear.type() == GearType.BOW || gear.type() == GearType.WAND)
+                        && gear.getVariableStats().contains(WALK_SPEED)
+                        && StringUtils.partialMatch(gear.name(), "r"));
+        assertMatchesLinearFilter(
+                GearQuery.builder()
+                        .tier(GearTier.LEGENDARY)
+                        .tier(GearTier.UNIQUE)
+                        .withStat(HEALTH_REGEN)
+                        .withStat(LIFE_STEAL)
+                        .build(),
+                gear -> (gear.tier() == GearTier.LEGENDARY || gear.tier() == GearTier.UNIQUE)
+                        && gear.getVariableStats().contains(HEALTH_REGEN)
+                        && gear.getVariableStats().contains(LIFE_STEAL));
+        assertMatchesLinearFilter(
+                GearQuery.builder().maxLevel(50).build(), gear -> gear.requirements().level() <= 50);
+        assertMatchesLinearFilter(GearQuery.builder().build(), gear -> true);
+    }
+
+    private static GearQuery gearBoxQuery(GearType type, GearTier tier, RangedValue levelRange) {
+        return GearQuery.builder()
+                .type(type)
+                .tier(tier)
+                .minLevel(levelRange.low())
+                .maxLevel(levelRange.high())
+                .gearBoxOnly()
+                .build();
+    }
+
+    // This is how GearModel found the possible gears of a gear box before it used the index
+    private static boolean isPossibleGearBoxGear(GearInfo gear, GearType type, GearTier tier, RangedValue levelRange) {
+        return gear.type() == type
+                && gear.tier() == tier
+                && gear.metaInfo().obtainInfo().stream().anyMatch(o -> !o.sourceType().isMerchant())
+                && levelRange.inRange(gear.requirements().level());
+    }
+
+    // The gear list stands in for GearInfoRegistry, which needs a running client to load
+    private static void assertMatchesLinearFilter(GearQuery query, Predicate<GearInfo> linearFilter) {
+        List<GearInfo> expected = gears.stream().filter(linearFilter).toList();
+        Assertions.assertEquals(names(expected), names(index.query(query)), "Query " + query);
+    }
+
+    private static List<String> names(List<GearInfo> gearInfos) {
+        return gearInfos.stream().map(GearInfo::name).toList();
+    }
+
+    private static StatType createStat(String key, String displayName, MiscStatKind kind) {
+        return new MiscStatType(key, displayName, key, key, StatUnit.RAW, kind);
+    }
+
+    private static List<GearInfo> loadFixture() throws Exception {
+        JsonArray json;
+        try (InputStream in = TestGearQueryIndex.class.getResourceAsStream("/gear_query_fixture.json")) {
+            json = JsonParser.parseReader(new InputStreamReader(in, StandardCharsets.UTF_8))
+                    .getAsJsonArray();
+        }
+
+        List<GearInfo> result = new ArrayList<>();
+        for (JsonElement element : json) {
+            JsonObject gear = element.getAsJsonObject();
+
+            List<ItemObtainInfo> obtainInfo = new ArrayList<>();
+            for (JsonElement obtain : gear.getAsJsonArray("obtain")) {
+                obtainInfo.add(new ItemObtainInfo(ItemObtainType.valueOf(obtain.getAsString()), Optional.empty()));
+            }
+
+            List<Pair<StatType, StatPossibleValues>> stats = new ArrayList<>();
+            for (JsonElement stat : gear.getAsJsonArray("stats")) {
+                StatType statType = STATS.get(stat.getAsString());
+                stats.add(Pair.of(statType, new StatPossibleValues(statType, RangedValue.of(1, 10), 5, false)));
+            }
+
+            result.add(new GearInfo(
+                    gear.get("name").getAsString(),
+                    GearType.valueOf(gear.get("type").getAsString()),
+                    GearTier.valueOf(gear.get("tier").getAsString()),
+                    0,
+                    new GearMetaInfo(
+                            GearRestrictions.NONE,
+                            new ItemMaterial(ItemStack.EMPTY),
+                            obtainInfo,
+                            Optional.empty(),
+                            Optional.empty(),
+                            false),
+                    new GearRequirements(gear.get("level").getAsInt(), Optional.empty(), List.of(), Optional.empty()),
+                    new FixedStats(0, List.of(), Optional.empty(), List.of(), List.of(), List.of()),
+                    stats));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.core.mod.type.TaskStats;
+import com.wynntils.core.text.CodedString;
+import com.wynntils.handlers.labels.LabelHandler;
+import com.wynntils.handlers.labels.LabelParser;
+import com.wynntils.handlers.labels.event.LabelIdentifiedEvent;
+import com.wynntils.models.profession.event.ProfessionXpLabelEvent;
+import com.wynntils.models.profession.labels.ProfessionXpLabelParser;
+import com.wynntils.models.profession.type.ProfessionType;
+import java.util.ArrayList;
+import java.util.List;
+import net.minecraft.world.entity.Entity;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestLabelHandler {
+    @Test
+    public void classifyLabel_shouldOnlyAskParsersForTheLabelStyle() {
+        LabelHandler handler = new LabelHandler();
+        CountingParser redParser = new CountingParser("c", "§c");
+        CountingParser greenParser = new CountingParser("a", "§a");
+        CountingParser anyParser = new CountingParser("", "Sign");
+        handler.registerParser(redParser);
+        handler.registerParser(greenParser);
+        handler.registerParser(anyParser);
+
+        Assertions.assertNotNull(handler.classifyLabel(1, null, CodedString.fromString("§c12s")));
+        Assertions.assertNull(handler.classifyLabel(2, null, CodedString.fromString("§eNothing")));
+        Assertions.assertNotNull(handler.classifyLabel(3, null, CodedString.fromString("Sign")));
+
+        Assertions.assertEquals(List.of("§c12s"), redParser.labels);
+        Assertions.assertEquals(List.of(), greenParser.labels);
+        // Parsers without style codes are asked about every label that no other parser recognized
+        Assertions.assertEquals(List.of("§eNothing", "Sign"), anyParser.labels);
+    }
+
+    @Test
+    public void classifyLabel_shouldSkipUnchangedLabels() {
+        LabelHandler handler = new LabelHandler();
+        CountingParser parser = new CountingParser("c", "§c");
+        handler.registerParser(parser);
+
+        Assertions.assertNotNull(handler.classifyLabel(1, null, CodedString.fromString("§c12s")));
+        Assertions.assertNull(handler.classifyLabel(1, null, CodedString.fromString("§c12s")));
+        Assertions.assertNotNull(handler.classifyLabel(1, null, CodedString.fromString("§c11s")));
+        // Another entity with the same label is classified on its own
+        Assertions.assertNotNull(handler.classifyLabel(2, null, CodedString.fromString("§c11s")));
+
+        Assertions.assertEquals(List.of("§c12s", "§c11s", "§c11s"), parser.labels);
+    }
+
+    @Test
+    public void classifyLabel_shouldAskPreviousParserFirst() {
+        LabelHandler handler = new LabelHandler();
+        CountingParser damageParser = new CountingParser("c", "§c-");
+        CountingParser timerParser = new CountingParser("c", "§c1");
+        handler.registerParser(damageParser);
+        handler.registerParser(timerParser);
+
+        handler.classifyLabel(1, null, CodedString.fromString("§c12s"));
+        handler.classifyLabel(1, null, CodedString.fromString("§c11s"));
+        handler.classifyLabel(1, null, CodedString.fromString("§c10s"));
+
+        // Only the first label had to go through the damage parser
+        Assertions.assertEquals(List.of("§c12s"), damageParser.labels);
+        Assertions.assertEquals(List.of("§c12s", "§c11s", "§c10s"), timerParser.labels);
+    }
+
+    @Test
+    public void classifyLabel_shouldRecordParserTimings() {
+        LabelHandler handler = new LabelHandler();
+        handler.registerParser(new CountingParser("c", "§c"));
+
+        handler.classifyLabel(1, null, CodedString.fromString("§c12s"));
+        handler.classifyLabel(2, null, CodedString.fromString("§c12s"));
+
+        List<TaskStats> stats = List.copyOf(handler.getParserStats());
+        Assertions.assertEquals(1, stats.size());
+        Assertions.assertEquals("CountingParser", stats.get(0).label());
+        Assertions.assertEquals(2, stats.get(0).runCount());
+
+        handler.resetParserStats();
+        Assertions.assertTrue(handler.getParserStats().isEmpty());
+    }
+
+    @Test
+    public void professionXpLabelParser_shouldParseHarvestLabels() {
+        LabelHandler handler = new LabelHandler();
+        handler.registerParser(new ProfessionXpLabelParser());
+
+        LabelIdentifiedEvent event =
+                handler.classifyLabel(1, null, CodedString.fromString("§dx2.0 §7[+§d93§f Ⓙ§7 Farming§7 XP] §6[9%]"));
+
+        ProfessionXpLabelEvent xpEvent = Assertions.assertInstanceOf(ProfessionXpLabelEvent.class, event);
+        Assertions.assertEquals(ProfessionType.FARMING, xpEvent.getProfessionType());
+        Assertions.assertEquals(9f, xpEvent.getCurrentPercentage());
+        Assertions.assertEquals(93f, xpEvent.getXpGain());
+
+        Assertions.assertNull(handler.classifyLabel(2, null, CodedString.fromString("§7Get §e[Token]")));
+    }
+
+    private static final class CountingParser implements LabelParser {
+        private final String styleCodes;
+        private final String prefix;
+        private final List<String> labels = new ArrayList<>();
+
+        private CountingParser(String styleCodes, String prefix) {
+            this.styleCodes = styleCodes;
+            this.prefix = prefix;
+        }
+
+        @Override
+        public String getStyleCodes() {
+            return styleCodes;
+        }
+
+        @Override
+        public LabelIdentifiedEvent getEvent(Entity entity, CodedString label) {
+            labels.add(label.getInternalCodedStringRepresentation());
+            if (!label.getInternalCodedStringRepresentation().startsWith(prefix)) return null;
+
+            return new LabelIdentifiedEvent(entity, label) {};
+        }
+    }
+}
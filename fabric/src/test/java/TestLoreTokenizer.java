@@ -0,0 +1,86 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.core.text.CodedString;
+import com.wynntils.models.wynnitem.parsing.LoreToken;
+import com.wynntils.models.wynnitem.parsing.LoreTokenizer;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class TestLoreTokenizer {
+    @BeforeAll
+    public static void setup() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+    }
+
+    @Test
+    public void tokenize_identifiedGear() throws IOException {
+        assertTokens("mythic_dagger");
+    }
+
+    @Test
+    public void tokenize_unidentifiedGear() throws IOException {
+        assertTokens("unidentified_wand");
+    }
+
+    @Test
+    public void tokenize_craftedGear() throws IOException {
+        assertTokens("crafted_spear");
+    }
+
+    @Test
+    public void tokenize_potionEffects() throws IOException {
+        assertTokens("healing_potion");
+    }
+
+    @Test
+    public void tokenize_setBonus() throws IOException {
+        assertTokens("set_helmet");
+    }
+
+    @Test
+    public void tokenizeLine_shouldKeepUnknownLines() {
+        CodedString line = CodedString.fromString("§7Attack Speed: Very Fast");
+        Assertions.assertEquals(new LoreToken.Other(line), LoreTokenizer.tokenizeLine(line));
+
+        // Starts like an effect line, but is not one
+        CodedString notEffect = CodedString.fromString("§d- §r§7Heal");
+        Assertions.assertEquals(new LoreToken.Other(notEffect), LoreTokenizer.tokenizeLine(notEffect));
+
+        Assertions.assertEquals(
+                new LoreToken.Other(CodedString.EMPTY), LoreTokenizer.tokenizeLine(CodedString.EMPTY));
+    }
+
+    // Each line of <name>.lore is a normalized lore line, and the same line of
+    // <name>.tokens is the token it should be turned into
+    private static void assertTokens(String name) throws IOException {
+        List<String> lore = readLines("/lore/" + name + ".lore");
+        List<String> expected = readLines("/lore/" + name + ".tokens");
+
+        List<String> actual = lore.stream()
+                .map(line -> LoreTokenizer.tokenizeLine(CodedString.fromString(line)).toString())
+                .toList();
+
+        Assertions.assertEquals(expected, actual, "Tokens of " + name);
+    }
+
+    private static List<String> readLines(String path) throws IOException {
+        try (InputStream in = TestLoreTokenizer.class.getResourceAsStream(path)) {
+            Assertions.assertNotNull(in, "Missing fixture " + path);
+            return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))
+                    .lines()
+                    .toList();
+        }
+    }
+}
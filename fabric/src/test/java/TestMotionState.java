@@ -0,0 +1,68 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.models.players.hades.objects.MotionState;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestMotionState {
+    private static final float DELTA = 1e-4f;
+
+    @Test
+    public void next_shouldDeriveVelocityFromTheLastUpdate() {
+        MotionState start = MotionState.stationary(10, 64, -20, 1000);
+        Assertions.assertTrue(start.isStationary());
+
+        MotionState moving = start.next(12, 64, -21, 1500);
+
+        Assertions.assertFalse(moving.isStationary());
+        Assertions.assertEquals(12, moving.x(), DELTA);
+        Assertions.assertEquals(0.004f, moving.velX(), DELTA);
+        Assertions.assertEquals(0, moving.velY(), DELTA);
+        Assertions.assertEquals(-0.002f, moving.velZ(), DELTA);
+        Assertions.assertEquals(1500, moving.timestamp());
+
+        // Standing still after moving gives a stationary state again
+        Assertions.assertTrue(moving.next(12, 64, -21, 2000).isStationary());
+    }
+
+    @Test
+    public void next_shouldStopWhenUpdatesAreNotPartOfTheSameMovement() {
+        MotionState start = MotionState.stationary(0, 0, 0, 1000);
+
+        // Too far apart to derive a velocity from
+        Assertions.assertTrue(start.next(100, 0, 0, 3001).isStationary());
+        // Out of order or duplicate timestamps
+        Assertions.assertTrue(start.next(1, 0, 0, 1000).isStationary());
+        Assertions.assertTrue(start.next(1, 0, 0, 500).isStationary());
+
+        // Just within the limit still counts as one movement
+        Assertions.assertFalse(start.next(100, 0, 0, 3000).isStationary());
+    }
+
+    @Test
+    public void predict_shouldExtrapolateForAtMostOneSecond() {
+        MotionState moving = MotionState.stationary(0, 0, 0, 0).next(1, 2, 3, 100);
+
+        Assertions.assertEquals(1, moving.predictX(100), DELTA);
+        Assertions.assertEquals(6, moving.predictX(600), DELTA);
+        Assertions.assertEquals(12, moving.predictY(600), DELTA);
+        Assertions.assertEquals(18, moving.predictZ(600), DELTA);
+        Assertions.assertEquals(11, moving.predictX(1100), DELTA);
+        Assertions.assertEquals(11, moving.predictX(5000), DELTA);
+        // Times before the update are not extrapolated backwards
+        Assertions.assertEquals(1, moving.predictX(50), DELTA);
+    }
+
+    @Test
+    public void predictionErrorSquared_shouldMeasureDistanceToPrediction() {
+        MotionState moving = MotionState.stationary(0, 0, 0, 0).next(1, 0, 0, 100);
+
+        Assertions.assertEquals(0, moving.predictionErrorSquared(3, 0, 0, 300), DELTA);
+        Assertions.assertEquals(25, moving.predictionErrorSquared(3, 3, 4, 300), DELTA);
+        // A stationary state predicts the player stays put
+        Assertions.assertEquals(
+                4, MotionState.stationary(5, 5, 5, 0).predictionErrorSquared(5, 7, 5, 500), DELTA);
+    }
+}
@@ -0,0 +1,282 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.mc.event.BossHealthUpdateEvent;
+import com.wynntils.mc.event.ChatPacketReceivedEvent;
+import com.wynntils.mc.event.ContainerSetContentEvent;
+import com.wynntils.mc.event.MenuEvent;
+import com.wynntils.mc.event.PacketEvent;
+import com.wynntils.mc.event.ScoreboardSetObjectiveEvent;
+import com.wynntils.mc.event.ScoreboardSetScoreEvent;
+import com.wynntils.mc.event.SetEntityDataEvent;
+import com.wynntils.mc.replay.PacketRecordingReader;
+import com.wynntils.mc.replay.PacketRecordingWriter;
+import com.wynntils.mc.replay.PacketReplayer;
+import com.wynntils.mc.replay.RecordedPacket;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+import net.minecraft.SharedConstants;
+import net.minecraft.core.NonNullList;
+import net.minecraft.network.chat.ChatType;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.FilterMask;
+import net.minecraft.network.chat.LastSeenMessages;
+import net.minecraft.network.chat.SignedMessageBody;
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.game.ClientboundBossEventPacket;
+import net.minecraft.network.protocol.game.ClientboundContainerClosePacket;
+import net.minecraft.network.protocol.game.ClientboundContainerSetContentPacket;
+import net.minecraft.network.protocol.game.ClientboundOpenScreenPacket;
+import net.minecraft.network.protocol.game.ClientboundPlayerChatPacket;
+import net.minecraft.network.protocol.game.ClientboundSetEntityDataPacket;
+import net.minecraft.network.protocol.game.ClientboundSetObjectivePacket;
+import net.minecraft.network.protocol.game.ClientboundSetScorePacket;
+import net.minecraft.network.protocol.game.ClientboundSetTimePacket;
+import net.minecraft.network.protocol.game.ClientboundSystemChatPacket;
+import net.minecraft.network.syncher.EntityDataAccessor;
+import net.minecraft.network.syncher.EntityDataSerializers;
+import net.minecraft.network.syncher.SynchedEntityData;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.server.ServerScoreboard;
+import net.minecraft.server.level.ServerBossEvent;
+import net.minecraft.world.BossEvent;
+import net.minecraft.world.inventory.MenuType;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.scores.Objective;
+import net.minecraft.world.scores.Scoreboard;
+import net.minecraft.world.scores.criteria.ObjectiveCriteria;
+import net.minecraftforge.eventbus.api.Event;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class TestPacketReplay {
+    @BeforeAll
+    public static void setup() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+    }
+
+    @Test
+    public void recording_shouldRoundTripPacketsAndTimestamps() throws IOException {
+        List<RecordedPacket> session = createSession();
+
+        List<RecordedPacket> readBack = readRecording(writeRecording(session));
+
+        Assertions.assertEquals(session.size(), readBack.size());
+        for (int i = 0; i < session.size(); i++) {
+            Assertions.assertEquals(
+                    session.get(i).timeMillis() - session.get(0).timeMillis(),
+                    readBack.get(i).timeMillis(),
+                    "Timestamp of packet " + i);
+            Assertions.assertEquals(
+                    session.get(i).packet().getClass(), readBack.get(i).packet().getClass(), "Class of packet " + i);
+        }
+
+        ClientboundSystemChatPacket chatPacket = (ClientboundSystemChatPacket) readBack.get(0).packet();
+        Assertions.assertEquals("[Wynntils] Hello", chatPacket.content().getString());
+        Assertions.assertFalse(chatPacket.overlay());
+
+        ClientboundContainerSetContentPacket contentPacket =
+                (ClientboundContainerSetContentPacket) readBack.get(5).packet();
+        Assertions.assertEquals(3, contentPacket.getItems().size());
+        Assertions.assertEquals(Items.DIAMOND_SWORD, contentPacket.getItems().get(1).getItem());
+    }
+
+    @Test
+    public void recording_shouldOnlyRecordHandledPackets() {
+        Assertions.assertTrue(
+                PacketRecordingWriter.isRecorded(new ClientboundSystemChatPacket(Component.literal("Hi"), false)));
+        Assertions.assertTrue(PacketRecordingWriter.isRecorded(new ClientboundContainerClosePacket(1)));
+        Assertions.assertTrue(PacketRecordingWriter.isRecorded(new ClientboundPlayerChatPacket(
+                UUID.randomUUID(),
+                0,
+                null,
+                new SignedMessageBody.Packed("Hi", Instant.ofEpochMilli(0), 0, LastSeenMessages.Packed.EMPTY),
+                null,
+                FilterMask.PASS_THROUGH,
+                new ChatType.BoundNetwork(0, Component.literal("Player"), null))));
+        Assertions.assertFalse(PacketRecordingWriter.isRecorded(new ClientboundSetTimePacket(0, 0, false)));
+    }
+
+    @Test
+    public void recording_shouldRejectOtherFiles() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12});
+        }
+
+        Assertions.assertThrows(IOException.class, () -> readRecording(bytes.toByteArray()));
+    }
+
+    @Test
+    public void replay_shouldPostMixinEventsInOrder() throws Exception {
+        List<RecordedPacket> session = readRecording(writeRecording(createSession()));
+        List<Event> events = new ArrayList<>();
+
+        PacketReplayer.Result result = new PacketReplayer(events::add).replay(session, PacketReplayer.Speed.MAXIMAL);
+
+        Assertions.assertEquals(session.size(), result.packetCount());
+        Assertions.assertEquals(events.size(), result.eventCount());
+
+        List<Class<?>> handlerEvents = events.stream()
+                .filter(event -> !(event instanceof PacketEvent.PacketReceivedEvent<?>))
+                .<Class<?>>map(Event::getClass)
+                .toList();
+        Assertions.assertEquals(
+                List.of(
+                        ChatPacketReceivedEvent.System.class,
+                        ChatPacketReceivedEvent.GameInfo.class,
+                        ScoreboardSetObjectiveEvent.class,
+                        ScoreboardSetScoreEvent.class,
+                        MenuEvent.MenuOpenedEvent.class,
+                        ContainerSetContentEvent.Pre.class,
+                        ContainerSetContentEvent.Post.class,
+                        MenuEvent.MenuClosedEvent.class,
+                        SetEntityDataEvent.class,
+                        BossHealthUpdateEvent.class,
+                        BossHealthUpdateEvent.class,
+                        ChatPacketReceivedEvent.Player.class),
+                handlerEvents);
+
+        // Without unsigned content, the player chat event gets the signed message
+        ChatPacketReceivedEvent playerChatEvent = (ChatPacketReceivedEvent) events.stream()
+                .filter(event -> event instanceof ChatPacketReceivedEvent.Player)
+                .findFirst()
+                .orElseThrow();
+        Assertions.assertEquals("Hello from a player", playerChatEvent.getMessage().getString());
+
+        ScoreboardSetScoreEvent scoreEvent = (ScoreboardSetScoreEvent) events.stream()
+                .filter(event -> event instanceof ScoreboardSetScoreEvent)
+                .findFirst()
+                .orElseThrow();
+        Assertions.assertEquals("§bOnline: 12", scoreEvent.getOwner().getInternalCodedStringRepresentation());
+        Assertions.assertEquals(4, scoreEvent.getScore());
+
+        SetEntityDataEvent entityDataEvent = (SetEntityDataEvent) events.stream()
+                .filter(event -> event instanceof SetEntityDataEvent)
+                .findFirst()
+                .orElseThrow();
+        Assertions.assertEquals(42, entityDataEvent.getId());
+        Assertions.assertEquals(
+                Optional.of(Component.literal("Label")), entityDataEvent.getPackedItems().get(0).value());
+    }
+
+    @Test
+    public void replay_shouldTrackBossBars() throws Exception {
+        List<RecordedPacket> session = readRecording(writeRecording(createSession()));
+        List<BossHealthUpdateEvent> bossEvents = new ArrayList<>();
+        List<Integer> bossBarCounts = new ArrayList<>();
+
+        new PacketReplayer(event -> {
+                    if (event instanceof BossHealthUpdateEvent bossEvent) {
+                        bossEvents.add(bossEvent);
+                        bossBarCounts.add(bossEvent.getBossEvents().size());
+                    }
+                })
+                .replay(session, PacketReplayer.Speed.MAXIMAL);
+
+        // The map is updated after the event, like in BossHealthOverlay
+        Assertions.assertEquals(List.of(0, 1), bossBarCounts);
+        Assertions.assertTrue(bossEvents.get(1).getBossEvents().isEmpty());
+    }
+
+    @Test
+    public void replay_shouldSkipPacketsWhenReceivedEventIsCanceled() throws Exception {
+        List<RecordedPacket> session = readRecording(writeRecording(createSession()));
+        List<Event> events = new ArrayList<>();
+
+        PacketReplayer.Result result = new PacketReplayer(event -> {
+                    events.add(event);
+                    if (event instanceof PacketEvent.PacketReceivedEvent<?>) {
+                        event.setCanceled(true);
+                    }
+                })
+                .replay(session, PacketReplayer.Speed.MAXIMAL);
+
+        Assertions.assertEquals(session.size(), result.eventCount());
+        Assertions.assertTrue(events.stream().allMatch(event -> event instanceof PacketEvent.PacketReceivedEvent<?>));
+    }
+
+    @Test
+    public void replay_shouldKeepRecordedSpacing() throws Exception {
+        List<RecordedPacket> session = readRecording(writeRecording(List.of(
+                new RecordedPacket(1000, new ClientboundContainerClosePacket(1)),
+                new RecordedPacket(1050, new ClientboundContainerClosePacket(2)))));
+
+        PacketReplayer.Result result = new PacketReplayer(event -> {}).replay(session, PacketReplayer.Speed.RECORDED);
+
+        Assertions.assertTrue(result.elapsedNanos() >= 40_000_000L, "Replay took " + result.elapsedNanos() + " ns");
+    }
+
+    private static List<RecordedPacket> createSession() {
+        Objective objective = new Objective(
+                new Scoreboard(),
+                "sidebar",
+                ObjectiveCriteria.DUMMY,
+                Component.literal("Wynncraft"),
+                ObjectiveCriteria.RenderType.INTEGER);
+        NonNullList<ItemStack> items = NonNullList.of(
+                ItemStack.EMPTY, ItemStack.EMPTY, new ItemStack(Items.DIAMOND_SWORD), new ItemStack(Items.BREAD, 5));
+        ServerBossEvent bossBar = new ServerBossEvent(
+                Component.literal("Boss"), BossEvent.BossBarColor.RED, BossEvent.BossBarOverlay.PROGRESS);
+
+        List<Packet<?>> packets = List.of(
+                new ClientboundSystemChatPacket(Component.literal("[Wynntils] Hello"), false),
+                new ClientboundSystemChatPacket(Component.literal("100/100 ❤"), true),
+                new ClientboundSetObjectivePacket(objective, ClientboundSetObjectivePacket.METHOD_ADD),
+                new ClientboundSetScorePacket(ServerScoreboard.Method.CHANGE, "sidebar", "§bOnline: 12", 4),
+                new ClientboundOpenScreenPacket(3, MenuType.GENERIC_9x1, Component.literal("Bank")),
+                new ClientboundContainerSetContentPacket(3, 7, items, ItemStack.EMPTY),
+                new ClientboundContainerClosePacket(3),
+                new ClientboundSetEntityDataPacket(
+                        42,
+                        List.of(SynchedEntityData.DataValue.create(
+                                new EntityDataAccessor<>(2, EntityDataSerializers.OPTIONAL_COMPONENT),
+                                Optional.of(Component.literal("Label"))))),
+                ClientboundBossEventPacket.createAddPacket(bossBar),
+                ClientboundBossEventPacket.createRemovePacket(bossBar.getId()),
+                new ClientboundPlayerChatPacket(
+                        UUID.fromString("8667ba71-b85a-4004-af54-457a9734eed7"),
+                        0,
+                        null,
+                        new SignedMessageBody.Packed(
+                                "Hello from a player", Instant.ofEpochMilli(0), 0, LastSeenMessages.Packed.EMPTY),
+                        null,
+                        FilterMask.PASS_THROUGH,
+                        new ChatType.BoundNetwork(0, Component.literal("Player"), null)));
+
+        List<RecordedPacket> session = new ArrayList<>();
+        long timeMillis = 1_700_000_000_000L;
+        for (Packet<?> packet : packets) {
+            session.add(new RecordedPacket(timeMillis, packet));
+            timeMillis += 25 * session.size();
+        }
+        return session;
+    }
+
+    private static byte[] writeRecording(List<RecordedPacket> session) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (PacketRecordingWriter writer = new PacketRecordingWriter(bytes)) {
+            for (RecordedPacket recordedPacket : session) {
+                writer.write(recordedPacket.timeMillis(), recordedPacket.packet());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static List<RecordedPacket> readRecording(byte[] bytes) throws IOException {
+        try (PacketRecordingReader reader = new PacketRecordingReader(new ByteArrayInputStream(bytes))) {
+            return reader.readAll();
+        }
+    }
+}
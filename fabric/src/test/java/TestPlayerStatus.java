@@ -0,0 +1,43 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.models.players.hades.objects.PlayerStatus;
+import com.wynntils.utils.type.CappedValue;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestPlayerStatus {
+    private static final CappedValue HEALTH = new CappedValue(500, 1000);
+    private static final CappedValue MANA = new CappedValue(20, 100);
+
+    @Test
+    public void quantized_shouldRoundToTheNearestEighthOfABlock() {
+        PlayerStatus status = PlayerStatus.quantized(10.06, 64.0, -3.3, HEALTH, MANA);
+
+        Assertions.assertEquals(10.0f, status.x());
+        Assertions.assertEquals(64.0f, status.y());
+        Assertions.assertEquals(-3.25f, status.z());
+
+        // Rounding, not truncation, so this goes up, also for negative coordinates
+        Assertions.assertEquals(10.125f, PlayerStatus.quantized(10.07, 0, 0, HEALTH, MANA).x());
+        Assertions.assertEquals(-3.375f, PlayerStatus.quantized(-3.33, 0, 0, HEALTH, MANA).x());
+    }
+
+    @Test
+    public void hasSamePosition_shouldIgnoreMovementWithinTheQuantum() {
+        PlayerStatus status = PlayerStatus.quantized(100.01, 70.0, 200.02, HEALTH, MANA);
+
+        Assertions.assertTrue(status.hasSamePosition(PlayerStatus.quantized(99.95, 70.05, 199.97, HEALTH, MANA)));
+        Assertions.assertFalse(status.hasSamePosition(PlayerStatus.quantized(100.1, 70.0, 200.0, HEALTH, MANA)));
+    }
+
+    @Test
+    public void hasSameVitals_shouldCompareHealthAndMana() {
+        PlayerStatus status = PlayerStatus.quantized(0, 0, 0, HEALTH, MANA);
+
+        Assertions.assertTrue(status.hasSameVitals(PlayerStatus.quantized(50, 50, 50, HEALTH, MANA)));
+        Assertions.assertFalse(status.hasSameVitals(PlayerStatus.quantized(0, 0, 0, HEALTH.withCurrent(499), MANA)));
+        Assertions.assertFalse(status.hasSameVitals(PlayerStatus.quantized(0, 0, 0, HEALTH, MANA.withCurrent(21))));
+    }
+}
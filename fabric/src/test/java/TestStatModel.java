@@ -0,0 +1,121 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.models.gear.type.GearInfo;
+import com.wynntils.models.gear.type.GearMetaInfo;
+import com.wynntils.models.gear.type.GearRequirements;
+import com.wynntils.models.gear.type.GearRestrictions;
+import com.wynntils.models.gear.type.GearTier;
+import com.wynntils.models.gear.type.GearType;
+import com.wynntils.models.stats.StatModel;
+import com.wynntils.models.stats.type.FixedStats;
+import com.wynntils.models.stats.type.StatListOrdering;
+import com.wynntils.models.stats.type.StatPossibleValues;
+import com.wynntils.models.stats.type.StatType;
+import com.wynntils.models.wynnitem.type.ItemMaterial;
+import com.wynntils.utils.type.Pair;
+import com.wynntils.utils.type.RangedValue;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.item.ItemStack;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class TestStatModel {
+    private static StatModel statModel;
+
+    @BeforeAll
+    public static void setup() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+
+        statModel = new StatModel();
+    }
+
+    @Test
+    public void getSortedStats_shouldMatchOrderingList() {
+        for (GearInfo gearInfo : createRandomGears(500, new Random(42))) {
+            for (StatListOrdering ordering : StatListOrdering.values()) {
+                Assertions.assertEquals(
+                        sortWithIndexOf(gearInfo, ordering),
+                        statModel.getSortedStats(gearInfo, ordering),
+                        "Ordering " + ordering + " of " + gearInfo.name());
+            }
+        }
+    }
+
+    @Test
+    public void getSortedStats_shouldBeMemoized() {
+        GearInfo gearInfo = createRandomGears(1, new Random(7)).get(0);
+
+        List<StatType> sortedStats = statModel.getSortedStats(gearInfo, StatListOrdering.LEGACY);
+
+        Assertions.assertSame(sortedStats, statModel.getSortedStats(gearInfo, StatListOrdering.LEGACY));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> sortedStats.add(sortedStats.get(0)));
+    }
+
+    @Test
+    public void fromInternalRollId_shouldFindFirstRegisteredStat() {
+        for (StatType statType : statModel.getAllStatTypes()) {
+            StatType expected = statModel.getAllStatTypes().stream()
+                    .filter(other -> other.getInternalRollName().equals(statType.getInternalRollName()))
+                    .findFirst()
+                    .orElseThrow();
+
+            Assertions.assertSame(expected, statModel.fromInternalRollId(statType.getInternalRollName()));
+        }
+
+        // Skill points are not variable stats, but can still be looked up
+        Assertions.assertNotNull(statModel.fromInternalRollId("STRENGTHPOINTS"));
+        Assertions.assertNull(statModel.fromInternalRollId("noSuchStat"));
+    }
+
+    private static List<StatType> sortWithIndexOf(GearInfo gearInfo, StatListOrdering ordering) {
+        List<StatType> orderingList = statModel.getOrderingList(ordering);
+
+        List<StatType> sortedStats = new ArrayList<>(gearInfo.getVariableStats());
+        sortedStats.sort(Comparator.comparingInt(orderingList::indexOf));
+        return sortedStats;
+    }
+
+    private static List<GearInfo> createRandomGears(int count, Random random) {
+        List<StatType> allStats = statModel.getAllStatTypes();
+
+        List<GearInfo> gears = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            List<StatType> stats = new ArrayList<>(allStats);
+            Collections.shuffle(stats, random);
+
+            List<Pair<StatType, StatPossibleValues>> variableStats = new ArrayList<>();
+            for (StatType statType : stats.subList(0, 1 + random.nextInt(15))) {
+                variableStats.add(
+                        Pair.of(statType, new StatPossibleValues(statType, RangedValue.of(1, 10), 5, false)));
+            }
+
+            gears.add(new GearInfo(
+                    "Gear " + i,
+                    GearType.SPEAR,
+                    GearTier.LEGENDARY,
+                    0,
+                    new GearMetaInfo(
+                            GearRestrictions.NONE,
+                            new ItemMaterial(ItemStack.EMPTY),
+                            List.of(),
+                            Optional.empty(),
+                            Optional.empty(),
+                            false),
+                    new GearRequirements(1, Optional.empty(), List.of(), Optional.empty()),
+                    new FixedStats(0, List.of(), Optional.empty(), List.of(), List.of(), List.of()),
+                    variableStats));
+        }
+        return gears;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.models.players.UserLookupCache;
+import com.wynntils.models.players.WynntilsUser;
+import com.wynntils.models.players.type.AccountType;
+import com.wynntils.models.players.type.CachedUser;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TestUserLookupCache {
+    private static final UUID PLAYER = UUID.fromString("8667ba71-b85a-4004-af54-457a9734eed7");
+    private static final WynntilsUser USER = new WynntilsUser(AccountType.NORMAL, null);
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+
+    private Map<String, CachedUser> storedUsers;
+    private int loads;
+    private int changes;
+    private UserLookupCache cache;
+
+    @BeforeEach
+    public void setup() {
+        storedUsers = new TreeMap<>();
+        loads = 0;
+        changes = 0;
+        cache = new UserLookupCache(
+                () -> {
+                    loads++;
+                    return storedUsers;
+                },
+                () -> changes++);
+    }
+
+    @Test
+    public void getUser_shouldOnlyLoadTheStorageWhenLookingUpPlayers() {
+        Assertions.assertEquals(0, loads);
+
+        Assertions.assertTrue(cache.needsLookup(PLAYER, 0));
+        Assertions.assertEquals(Optional.empty(), cache.getUser(PLAYER));
+        Assertions.assertTrue(loads > 0);
+        Assertions.assertEquals(0, changes);
+    }
+
+    @Test
+    public void getUser_shouldReturnUsersFromEarlierSessions() {
+        storedUsers.put(PLAYER.toString(), new CachedUser(USER, 0));
+
+        Assertions.assertEquals(Optional.of(USER), cache.getUser(PLAYER));
+        Assertions.assertFalse(cache.needsLookup(PLAYER, HOUR));
+    }
+
+    @Test
+    public void getUser_shouldKeepReturningExpiredUsersUntilRefreshed() {
+        cache.put(PLAYER, Optional.of(USER), 0);
+        Assertions.assertEquals(1, changes);
+
+        Assertions.assertFalse(cache.needsLookup(PLAYER, 5 * HOUR));
+        Assertions.assertTrue(cache.needsLookup(PLAYER, 6 * HOUR));
+        // Shown while the lookup is refreshed
+        Assertions.assertEquals(Optional.of(USER), cache.getUser(PLAYER));
+
+        cache.put(PLAYER, Optional.of(USER), 6 * HOUR);
+        Assertions.assertFalse(cache.needsLookup(PLAYER, 7 * HOUR));
+    }
+
+    @Test
+    public void needsLookup_shouldRecheckNonUsersSooner() {
+        cache.put(PLAYER, Optional.empty(), 0);
+
+        Assertions.assertEquals(Optional.empty(), cache.getUser(PLAYER));
+        Assertions.assertFalse(cache.needsLookup(PLAYER, HOUR / 2));
+        Assertions.assertTrue(cache.needsLookup(PLAYER, HOUR));
+
+        // A player who became a Wynntils user is picked up on the next lookup
+        cache.put(PLAYER, Optional.of(USER), HOUR);
+        Assertions.assertEquals(Optional.of(USER), cache.getUser(PLAYER));
+    }
+
+    @Test
+    public void removeExpired_shouldOnlyReportChangesWhenSomethingWasRemoved() {
+        UUID otherPlayer = UUID.fromString("069a79f4-44e9-4726-a5be-fca90e38aaf5");
+        cache.put(PLAYER, Optional.of(USER), 0);
+        cache.put(otherPlayer, Optional.empty(), 0);
+        changes = 0;
+
+        cache.removeExpired(HOUR / 2);
+        Assertions.assertEquals(0, changes);
+
+        cache.removeExpired(2 * HOUR);
+        Assertions.assertEquals(1, changes);
+        Assertions.assertTrue(cache.needsLookup(otherPlayer, 2 * HOUR));
+        Assertions.assertEquals(Optional.of(USER), cache.getUser(PLAYER));
+        Assertions.assertEquals(1, storedUsers.size());
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright © Wynntils 2023.
+ * This file is released under AGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.models.items.CacheKey;
+import com.wynntils.models.items.WynnItemCache;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestWynnItemCache {
+    private static final CacheKey<String> NAME_KEY = CacheKey.create("testName");
+    private static final CacheKey<Integer> COUNT_KEY = CacheKey.create("testCount");
+    private static final CacheKey<String> PERSISTENT_KEY = CacheKey.createPersistent("testPersistent");
+
+    @Test
+    public void store_shouldKeepValuesPerKey() {
+        WynnItemCache cache = new WynnItemCache();
+        Assertions.assertNull(cache.get(NAME_KEY));
+
+        cache.store(NAME_KEY, "Dagger");
+        cache.store(COUNT_KEY, 3);
+
+        Assertions.assertEquals("Dagger", cache.get(NAME_KEY));
+        Assertions.assertEquals(3, cache.get(COUNT_KEY));
+
+        cache.clear(NAME_KEY);
+        Assertions.assertNull(cache.get(NAME_KEY));
+        Assertions.assertEquals(3, cache.get(COUNT_KEY));
+
+        cache.clearAll();
+        Assertions.assertNull(cache.get(COUNT_KEY));
+    }
+
+    @Test
+    public void getOrCalculate_shouldCacheNullResults() {
+        WynnItemCache cache = new WynnItemCache();
+        AtomicInteger calculations = new AtomicInteger();
+
+        Assertions.assertNull(cache.getOrCalculate(NAME_KEY, () -> {
+            calculations.incrementAndGet();
+            return null;
+        }));
+        Assertions.assertNull(cache.getOrCalculate(NAME_KEY, () -> {
+            calculations.incrementAndGet();
+            return "Not used";
+        }));
+
+        Assertions.assertEquals(1, calculations.get());
+    }
+
+    @Test
+    public void invalidate_shouldOnlyDropValuesInvalidatedOnUpdate() {
+        WynnItemCache cache = new WynnItemCache();
+        cache.store(NAME_KEY, "Dagger");
+        cache.store(PERSISTENT_KEY, "Favorite");
+
+        cache.invalidate();
+
+        Assertions.assertNull(cache.get(NAME_KEY));
+        Assertions.assertEquals("Favorite", cache.get(PERSISTENT_KEY));
+        Assertions.assertEquals("Spear", cache.getOrCalculate(NAME_KEY, () -> "Spear"));
+
+        // Values stored after the update are valid until the next one
+        Assertions.assertEquals("Spear", cache.get(NAME_KEY));
+    }
+
+    @Test
+    public void store_shouldAcceptKeysCreatedAfterTheCache() {
+        WynnItemCache cache = new WynnItemCache();
+        cache.store(NAME_KEY, "Dagger");
+
+        CacheKey<String> lateKey = CacheKey.create("testLate");
+        Assertions.assertNull(cache.get(lateKey));
+        cache.store(lateKey, "Late");
+
+        Assertions.assertEquals("Late", cache.get(lateKey));
+        Assertions.assertEquals("Dagger", cache.get(NAME_KEY));
+    }
+}